@@ -0,0 +1,81 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.spotlight.platform.userprofile.api.model.profile.BenchmarkProfiles;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing and deserializing a {@link UserProfile} as JSON, Smile and CBOR with the mappers the application registers. The encoded
+ * size is reported as the {@code payloadBytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserProfileFormatBenchmark {
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"20", "200"})
+    public int propertyCount;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private UserProfile profile;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case "smile" -> JsonMapper.createInstance(new SmileFactory());
+            case "cbor" -> JsonMapper.createInstance(new CBORFactory());
+            default -> JsonMapper.createInstance(new JsonFactory());
+        };
+        writer = mapper.writerFor(UserProfile.class);
+        reader = mapper.readerFor(UserProfile.class);
+        profile = BenchmarkProfiles.profile(UserId.valueOf("de4310e5-b139-441a-99db-77c9c4a5fada"), propertyCount);
+        encoded = writer.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize payloadSize) throws IOException {
+        var bytes = writer.writeValueAsBytes(profile);
+        payloadSize.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public UserProfile deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.spotlight.platform.userprofile.api.model.profile.BenchmarkProfiles;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.jackson.Jackson;
+
+/**
+ * Serializing and deserializing a {@link UserProfile} with {@link JsonMapper#getInstance()}, whose {@link ModelSerializersModule} writes
+ * and reads profiles by hand, compared with a mapper configured the same way but without that module, which derives bean serializers
+ * and creators from the annotations of the model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserProfileJsonBenchmark {
+    @Param({"5", "500"})
+    public int propertyCount;
+
+    @Param({"handWritten", "reflective"})
+    public String serializers;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private UserProfile profile;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        var mapper = serializers.equals("reflective") ? reflectiveMapper() : JsonMapper.getInstance();
+        writer = mapper.writerFor(UserProfile.class);
+        reader = mapper.readerFor(UserProfile.class);
+        profile = BenchmarkProfiles.profile(UserId.valueOf("benchmark-user"), propertyCount);
+        json = writer.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public UserProfile deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    private static ObjectMapper reflectiveMapper() {
+        var mapper = Jackson.newObjectMapper();
+        JsonMapper.toggleFeatures(mapper);
+        JsonMapper.setVisibilities(mapper);
+        mapper.registerModule(new IdentifiersModule());
+        return mapper;
+    }
+}
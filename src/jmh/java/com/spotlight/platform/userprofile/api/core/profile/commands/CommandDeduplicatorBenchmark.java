@@ -0,0 +1,69 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.BenchmarkProfiles;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Per-command cost of deduplication with a million remembered ids: a command without id, a retried command and a new command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandDeduplicatorBenchmark {
+    private static final int REMEMBERED_IDS = 1_000_000;
+    private static final int QUERIED_COMMANDS = 1024;
+    private static final UserId USER_ID = UserId.valueOf("benchmark-user");
+
+    private CommandDeduplicator deduplicator;
+    private List<UserProfileCommand> withoutId;
+    private List<List<UserProfileCommand>> retried;
+    private List<List<UserProfileCommand>> unseen;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        deduplicator = new CommandDeduplicator(Clock.systemUTC(), Duration.ofMinutes(10), 4, 16, 4 * REMEMBERED_IDS);
+        withoutId = List.of(new UserProfileCommand(USER_ID, UserProfileCommandType.INCREMENT, BenchmarkProfiles.properties(1)));
+        IntStream.range(0, REMEMBERED_IDS).forEach(i -> deduplicator.record(USER_ID, List.of(command("retried-" + i))));
+        // few distinct commands are queried, so the cost of loading them does not hide the lookup in the large tables
+        retried = IntStream.range(0, QUERIED_COMMANDS).mapToObj(i -> List.of(command("retried-" + i * 977))).toList();
+        unseen = IntStream.range(0, QUERIED_COMMANDS).mapToObj(i -> List.of(command("unseen-" + i))).toList();
+    }
+
+    @Benchmark
+    public List<UserProfileCommand> commandWithoutId() {
+        return deduplicator.unseen(USER_ID, withoutId);
+    }
+
+    @Benchmark
+    public List<UserProfileCommand> retriedCommand() {
+        return deduplicator.unseen(USER_ID, retried.get(next++ & (QUERIED_COMMANDS - 1)));
+    }
+
+    @Benchmark
+    public List<UserProfileCommand> unseenCommand() {
+        return deduplicator.unseen(USER_ID, unseen.get(next++ & (QUERIED_COMMANDS - 1)));
+    }
+
+    private static UserProfileCommand command(String commandId) {
+        return new UserProfileCommand(USER_ID, UserProfileCommandType.INCREMENT, BenchmarkProfiles.properties(1),
+                CommandId.valueOf(commandId));
+    }
+}
@@ -0,0 +1,85 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.BenchmarkProfiles;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying a command of each type that touches one or ten properties of a profile with 50 or 300 properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserProfileCommandApplierBenchmark {
+    private static final UserId USER_ID = UserId.valueOf("benchmark-user");
+
+    @Param({"replace", "increment", "collect"})
+    public String commandType;
+
+    @Param({"50", "300"})
+    public int profileProperties;
+
+    @Param({"1", "10"})
+    public int commandProperties;
+
+    private UserProfileCommandApplier applier;
+    private Optional<UserProfile> currentProfile;
+    private List<UserProfileCommand> commands;
+
+    @Setup
+    public void setUp() {
+        var handlers = Set.of(new ReplaceCommandHandler(), new IncrementCommandHandler(), new CollectCommandHandler());
+        applier = new UserProfileCommandApplier(handlers, Clock.fixed(BenchmarkProfiles.UPDATE_TIME, ZoneOffset.UTC));
+        var type = UserProfileCommandType.fromValue(commandType);
+        currentProfile = Optional.of(BenchmarkProfiles.profile(USER_ID, profileProperties));
+        commands = List.of(new UserProfileCommand(USER_ID, type, commandProperties(type)));
+    }
+
+    @Benchmark
+    public UserProfile apply() {
+        return applier.apply(USER_ID, currentProfile, commands);
+    }
+
+    /**
+     * Properties the command can be applied to: counters for increments, string lists for collects.
+     */
+    private Map<UserProfilePropertyName, UserProfilePropertyValue> commandProperties(UserProfileCommandType type) {
+        Map<UserProfilePropertyName, UserProfilePropertyValue> properties = new HashMap<>();
+        for (int i = 0; i < commandProperties; i++) {
+            var value = switch (type) {
+                case REPLACE -> UserProfilePropertyValue.valueOf("replaced-" + i);
+                case INCREMENT -> UserProfilePropertyValue.valueOf(i);
+                case COLLECT -> UserProfilePropertyValue.valueOf(List.of("collected-" + i));
+            };
+            int propertyIndex = switch (type) {
+                case REPLACE -> i;
+                case INCREMENT -> i * 4;
+                case COLLECT -> i * 4 + 3;
+            };
+            properties.put(UserProfilePropertyName.valueOf("property" + propertyIndex), value);
+        }
+        return properties;
+    }
+}
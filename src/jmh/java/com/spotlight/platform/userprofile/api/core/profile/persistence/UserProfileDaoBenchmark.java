@@ -0,0 +1,98 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.offheap.OffHeapMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.offheap.UserProfileDaoOffHeap;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned.UserProfileDaoPartitioned;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned.UserProfilePartition;
+import com.spotlight.platform.userprofile.api.model.profile.BenchmarkProfiles;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of reads and blind writes of small profiles spread over many users, for each storage backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserProfileDaoBenchmark {
+    private static final int USER_COUNT = 100_000;
+    private static final int PARTITION_COUNT = 4;
+
+    @Param({"inMemory", "offHeap", "partitioned"})
+    public String storage;
+
+    private UserProfileDao dao;
+    private UserProfile[] profiles;
+
+    @Setup
+    public void setUp() {
+        dao = switch (storage) {
+            case "offHeap" -> new UserProfileDaoOffHeap(new UserProfileBinaryCodec(JsonMapper.getInstance()),
+                    new OffHeapMemory(1 << 26, 64), Duration.ofSeconds(1), 0.5);
+            case "partitioned" -> new UserProfileDaoPartitioned(IntStream.range(0, PARTITION_COUNT)
+                    .mapToObj(i -> UserProfilePartition.local("partition-" + i, new UserProfileDaoInMemory()))
+                    .toList(), 128);
+            default -> new UserProfileDaoInMemory();
+        };
+        profiles = IntStream.range(0, USER_COUNT)
+                .mapToObj(i -> BenchmarkProfiles.profile(UserId.valueOf("user-" + i), 5))
+                .toArray(UserProfile[]::new);
+        for (var profile : profiles) {
+            dao.put(profile);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (dao instanceof UserProfileDaoPartitioned partitionedDao) {
+            partitionedDao.stop();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<UserProfile> get_1Thread() {
+        return dao.get(randomProfile().userId());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<UserProfile> get_8Threads() {
+        return dao.get(randomProfile().userId());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void put_1Thread() {
+        dao.put(randomProfile());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void put_8Threads() {
+        dao.put(randomProfile());
+    }
+
+    private UserProfile randomProfile() {
+        return profiles[ThreadLocalRandom.current().nextInt(profiles.length)];
+    }
+}
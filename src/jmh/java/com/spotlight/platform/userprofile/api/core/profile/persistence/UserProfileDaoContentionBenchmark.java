@@ -0,0 +1,79 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of atomic read-modify-write updates on {@link UserProfileDaoInMemory}. With {@code hot} user ids every thread increments
+ * the counter of a handful of users, with {@code uniform} ids the updates are spread over a large population.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserProfileDaoContentionBenchmark {
+    private static final UserProfilePropertyName COUNTER = UserProfilePropertyName.valueOf("counter");
+    private static final UserProfilePropertyValue ONE = UserProfilePropertyValue.valueOf(1);
+    private static final Instant UPDATE_TIME = Instant.parse("2023-01-01T00:00:00Z");
+
+    @Param({"hot", "uniform"})
+    public String userDistribution;
+
+    private UserProfileDao dao;
+    private UserId[] userIds;
+
+    @Setup
+    public void setUp() {
+        dao = new UserProfileDaoInMemory();
+        int userCount = "hot".equals(userDistribution) ? 4 : 100_000;
+        userIds = IntStream.range(0, userCount).mapToObj(i -> UserId.valueOf("user-" + i)).toArray(UserId[]::new);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserProfile update_1Thread() {
+        return incrementRandomUser();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserProfile update_8Threads() {
+        return incrementRandomUser();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserProfile update_64Threads() {
+        return incrementRandomUser();
+    }
+
+    private UserProfile incrementRandomUser() {
+        var userId = userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+        return dao.update(userId, currentProfile -> increment(userId, currentProfile));
+    }
+
+    private static UserProfile increment(UserId userId, Optional<UserProfile> currentProfile) {
+        var counter = currentProfile.map(profile -> profile.userProfileProperties().get(COUNTER))
+                .map(value -> value.add(ONE))
+                .orElse(ONE);
+        return new UserProfile(userId, UPDATE_TIME, Map.of(COUNTER, counter));
+    }
+}
@@ -0,0 +1,126 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time until the stored profiles can be served after a restart: loading every profile from JSON, loading every profile from a binary
+ * snapshot, and mapping the binary snapshot to decode profiles on access. Loading 10M profiles needs a large heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class SnapshotStartupBenchmark {
+    private static final long SNAPSHOT_SEQUENCE = 1;
+    private static final Instant UPDATE_TIME = Instant.parse("2023-01-01T00:00:00Z");
+    private static final UserId FIRST_USER_ID = UserId.valueOf("user-0");
+
+    @Param({"1000000", "10000000"})
+    public int profileCount;
+
+    private final ObjectMapper objectMapper = JsonMapper.getInstance();
+    private final UserProfileBinaryCodec codec = new UserProfileBinaryCodec(objectMapper);
+    private Path directory;
+    private Path jsonFile;
+    private SnapshotStore snapshots;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot-startup");
+        jsonFile = directory.resolve("profiles.ndjson");
+        snapshots = new SnapshotStore(directory, codec);
+
+        var contents = new UserProfileDaoInMemory();
+        for (int i = 0; i < profileCount; i++) {
+            contents.put(profile(i));
+        }
+        snapshots.write(SNAPSHOT_SEQUENCE, contents);
+        try (var output = new BufferedOutputStream(Files.newOutputStream(jsonFile));
+                var writer = objectMapper.writerFor(UserProfile.class).withRootValueSeparator("\n").writeValues(output)) {
+            contents.forEach(profile -> write(writer, profile));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<UserProfile> eagerJsonLoad() throws IOException {
+        var dao = new UserProfileDaoInMemory();
+        try (var profiles = objectMapper.readerFor(UserProfile.class).<UserProfile>readValues(jsonFile.toFile())) {
+            profiles.forEachRemaining(dao::put);
+        }
+        return dao.get(FIRST_USER_ID);
+    }
+
+    @Benchmark
+    public Optional<UserProfile> eagerBinaryLoad() throws IOException {
+        UserProfileDao dao = new UserProfileDaoInMemory();
+        snapshots.load(SNAPSHOT_SEQUENCE, dao::put);
+        return dao.get(FIRST_USER_ID);
+    }
+
+    @Benchmark
+    public Optional<UserProfile> mappedLazyLoad() throws IOException {
+        return snapshots.open(SNAPSHOT_SEQUENCE).get(FIRST_USER_ID);
+    }
+
+    private static void write(SequenceWriter writer, UserProfile profile) {
+        try {
+            writer.write(profile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UserProfile profile(int index) {
+        return new UserProfile(UserId.valueOf("user-" + index), UPDATE_TIME,
+                Map.of(UserProfilePropertyName.valueOf("currentGold"), UserProfilePropertyValue.valueOf(index),
+                        UserProfilePropertyName.valueOf("battleFought"), UserProfilePropertyValue.valueOf(index % 100),
+                        UserProfilePropertyName.valueOf("country"), UserProfilePropertyValue.valueOf("EE"),
+                        UserProfilePropertyName.valueOf("inventory"), UserProfilePropertyValue.valueOf(List.of("sword", "shield"))));
+    }
+}
@@ -0,0 +1,41 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Profiles shared by the benchmarks. Property values cycle through counters, decimals, strings and string lists.
+ */
+public final class BenchmarkProfiles {
+    public static final Instant UPDATE_TIME = Instant.parse("2023-01-01T00:00:00Z");
+
+    private BenchmarkProfiles() {
+    }
+
+    public static UserProfile profile(UserId userId, int propertyCount) {
+        return new UserProfile(userId, UPDATE_TIME, properties(propertyCount));
+    }
+
+    public static Map<UserProfilePropertyName, UserProfilePropertyValue> properties(int propertyCount) {
+        Map<UserProfilePropertyName, UserProfilePropertyValue> properties = new HashMap<>();
+        for (int i = 0; i < propertyCount; i++) {
+            properties.put(UserProfilePropertyName.valueOf("property" + i), value(i));
+        }
+        return properties;
+    }
+
+    private static UserProfilePropertyValue value(int index) {
+        return switch (index % 4) {
+            case 0 -> UserProfilePropertyValue.valueOf(index * 100L);
+            case 1 -> UserProfilePropertyValue.valueOf(index + 0.5);
+            case 2 -> UserProfilePropertyValue.valueOf("value-" + index);
+            default -> UserProfilePropertyValue.valueOf(List.of("item-" + index, "item-" + (index + 1)));
+        };
+    }
+}
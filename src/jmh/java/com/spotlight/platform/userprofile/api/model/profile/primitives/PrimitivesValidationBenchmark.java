@@ -0,0 +1,52 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.jersey.validation.Validators;
+
+/**
+ * Bean validation of the wrapped strings of a request, as done by Jersey for every {@code @Valid} parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrimitivesValidationBenchmark {
+    private Validator validator;
+    private UserId userId;
+    private UserProfilePropertyName propertyName;
+    private UserId invalidUserId;
+
+    @Setup
+    public void setUp() {
+        validator = Validators.newValidator();
+        userId = UserId.valueOf("de4310e5-b139-441a-99db-77c9c4a5fada");
+        propertyName = UserProfilePropertyName.valueOf("currentGold");
+        invalidUserId = UserId.valueOf("not a valid id!");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserId>> validateUserId() {
+        return validator.validate(userId);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserProfilePropertyName>> validatePropertyName() {
+        return validator.validate(propertyName);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserId>> validateInvalidUserId() {
+        return validator.validate(invalidUserId);
+    }
+}
@@ -0,0 +1,45 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Collecting one value into a list which is at its maximum length, so that the oldest value is removed, as a plain list and as a set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringListPropertyValueBenchmark {
+    @Param({"100", "10000"})
+    public int length;
+
+    @Param({"false", "true"})
+    public boolean distinct;
+
+    private StringListPropertyValue current;
+    private List<String> collected;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        collected = IntStream.range(0, 4 * length).mapToObj(i -> "value-" + i).toList();
+        current = new StringListPropertyValue(collected.subList(0, length));
+        next = length;
+    }
+
+    @Benchmark
+    public StringListPropertyValue append() {
+        current = current.append(List.of(collected.get(next++ % collected.size())), distinct, length);
+        return current;
+    }
+}
@@ -0,0 +1,79 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.spotlight.platform.userprofile.api.core.json.AlphaNumericalStringKeyDeserializer;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializing a population of profiles with pooled property names and with a fresh name instance per key. The bytes retained by the
+ * distinct name instances of the population, including their strings, are reported as the {@code nameBytes} secondary result; the
+ * score includes walking the name instances to measure them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserProfilePropertyNameFootprintBenchmark {
+    private static final String PROFILE = """
+            {"userId":"de4310e5-b139-441a-99db-77c9c4a5fada","latestUpdateTime":"2021-06-01T09:16:36.123Z",\
+            "userProfileProperties":{"battleFought":10,"currentGold":500,"inventory":["sword1"]}}""";
+
+    @Param({"pooled", "unpooled"})
+    public String names;
+
+    @Param({"100000"})
+    public int profileCount;
+
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        var mapper = JsonMapper.createInstance();
+        if (names.equals("unpooled")) {
+            mapper.registerModule(new SimpleModule().addKeyDeserializer(UserProfilePropertyName.class,
+                    new AlphaNumericalStringKeyDeserializer<>(UserProfilePropertyName::new)));
+        }
+        reader = mapper.readerFor(UserProfile.class);
+    }
+
+    @Benchmark
+    public Set<UserProfilePropertyName> deserializeProfiles(NameFootprint footprint) throws IOException {
+        Set<UserProfilePropertyName> distinctNames = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < profileCount; i++) {
+            UserProfile profile = reader.readValue(PROFILE);
+            distinctNames.addAll(profile.userProfileProperties().keySet());
+        }
+        footprint.nameBytes = GraphLayout.parseInstance(distinctNames.toArray()).totalSize();
+        return distinctNames;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NameFootprint {
+        public long nameBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nameBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.spotlight.platform.userprofile.api.web.metrics;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.matcher.Matchers;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.profile.BenchmarkProfiles;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.inject.Inject;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the method metrics on a cheap call, a lookup in the in-memory DAO: called directly, through a Guice-intercepted class and
+ * through an instrumented DAO proxy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MethodMetricsInterceptorBenchmark {
+    private static final int USER_COUNT = 10_000;
+
+    private UserId[] userIds;
+    private UserProfileDao dao;
+    private UserProfileDao instrumentedDao;
+    private Lookup lookup;
+    private Lookup interceptedLookup;
+
+    @Setup
+    public void setUp() {
+        userIds = IntStream.range(0, USER_COUNT).mapToObj(i -> UserId.valueOf("user-" + i)).toArray(UserId[]::new);
+        dao = new UserProfileDaoInMemory();
+        for (var userId : userIds) {
+            dao.put(BenchmarkProfiles.profile(userId, 5));
+        }
+        var interceptor = new MethodMetricsInterceptor();
+        interceptor.setMetrics(new MetricRegistry());
+        instrumentedDao = interceptor.instrument(UserProfileDao.class, dao);
+        lookup = new Lookup(dao);
+        interceptedLookup = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(UserProfileDao.class).toInstance(dao);
+                bindInterceptor(Matchers.subclassesOf(Lookup.class), Matchers.any(), interceptor);
+            }
+        }).getInstance(Lookup.class);
+    }
+
+    @Benchmark
+    public Optional<UserProfile> direct() {
+        return lookup.get(randomUserId());
+    }
+
+    @Benchmark
+    public Optional<UserProfile> guiceIntercepted() {
+        return interceptedLookup.get(randomUserId());
+    }
+
+    @Benchmark
+    public Optional<UserProfile> instrumentedProxy() {
+        return instrumentedDao.get(randomUserId());
+    }
+
+    private UserId randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    public static class Lookup {
+        private final UserProfileDao dao;
+
+        @Inject
+        public Lookup(UserProfileDao dao) {
+            this.dao = dao;
+        }
+
+        public Optional<UserProfile> get(UserId userId) {
+            return dao.get(userId);
+        }
+    }
+}
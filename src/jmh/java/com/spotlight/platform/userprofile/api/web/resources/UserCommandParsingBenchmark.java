@@ -0,0 +1,79 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.dropwizard.jersey.validation.Validators;
+
+/**
+ * CPU spent on a command batch with 1000 properties before it reaches the service: parsing it with {@link JsonMapper} and validating
+ * the parsed commands like Jersey does for the {@code @Valid} parameter of {@link UserCommandResource}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserCommandParsingBenchmark {
+    private static final int PROPERTY_COUNT = 1000;
+
+    @Param({"1", "10"})
+    public int commandCount;
+
+    private ObjectReader reader;
+    private Validator validator;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        reader = JsonMapper.getInstance().readerFor(new TypeReference<List<UserProfileCommand>>() {});
+        validator = Validators.newValidator();
+        int propertiesPerCommand = PROPERTY_COUNT / commandCount;
+        var commands = IntStream.range(0, commandCount)
+                .mapToObj(i -> new UserProfileCommand(UserId.valueOf("user-" + i), UserProfileCommandType.INCREMENT,
+                        properties(propertiesPerCommand)))
+                .toList();
+        json = JsonMapper.getInstance().writeValueAsBytes(commands);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserProfileCommand>> parseAndValidate() throws IOException {
+        List<UserProfileCommand> commands = reader.readValue(json);
+        Set<ConstraintViolation<UserProfileCommand>> violations = Set.of();
+        for (var command : commands) {
+            violations = validator.validate(command);
+        }
+        return violations;
+    }
+
+    private static Map<UserProfilePropertyName, UserProfilePropertyValue> properties(int count) {
+        Map<UserProfilePropertyName, UserProfilePropertyValue> properties = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            properties.put(UserProfilePropertyName.valueOf("property_" + i), UserProfilePropertyValue.valueOf(i));
+        }
+        return properties;
+    }
+}
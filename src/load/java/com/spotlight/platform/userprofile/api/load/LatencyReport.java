@@ -0,0 +1,67 @@
+package com.spotlight.platform.userprofile.api.load;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of a load run, written as JSON with a stable order of keys so that the reports of two builds can be diffed. Latencies are in
+ * microseconds and cover successful requests only; failed requests are counted as errors.
+ */
+record LatencyReport(@JsonProperty int users, @JsonProperty int threads, @JsonProperty long durationSeconds,
+        @JsonProperty double zipfianExponent, @JsonProperty String mix, @JsonProperty long throughputPerSecond,
+        @JsonProperty Map<String, OperationLatency> operations) {
+
+    static LatencyReport of(LoadOptions options, Map<LoadOperation, Histogram> latencies, Map<LoadOperation, Long> errors) {
+        Map<String, OperationLatency> operations = new LinkedHashMap<>();
+        long count = 0;
+        for (var operation : LoadOperation.values()) {
+            var operationLatencies = latencies.get(operation);
+            long operationErrors = errors.getOrDefault(operation, 0L);
+            if (operationLatencies.getTotalCount() + operationErrors > 0) {
+                operations.put(operation.key(), OperationLatency.of(operationLatencies, operationErrors, options.duration()));
+                count += operationLatencies.getTotalCount();
+            }
+        }
+        return new LatencyReport(options.users(), options.threads(), options.duration().toSeconds(), options.zipfianExponent(),
+                options.mix().toString(), perSecond(count, options.duration()), operations);
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, toString());
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return JsonMapper.getInstance().writerWithDefaultPrettyPrinter().writeValueAsString(this) + System.lineSeparator();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long perSecond(long count, Duration duration) {
+        return Math.round(count * 1_000_000_000.0 / duration.toNanos());
+    }
+
+    record OperationLatency(@JsonProperty long count, @JsonProperty long errors, @JsonProperty long throughputPerSecond,
+            @JsonProperty long p50, @JsonProperty long p99, @JsonProperty long p999, @JsonProperty long max) {
+
+        static OperationLatency of(Histogram latencies, long errors, Duration duration) {
+            return new OperationLatency(latencies.getTotalCount(), errors, perSecond(latencies.getTotalCount(), duration),
+                    latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(99), latencies.getValueAtPercentile(99.9),
+                    latencies.getMaxValue());
+        }
+    }
+}
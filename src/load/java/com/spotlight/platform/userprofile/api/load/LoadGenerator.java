@@ -0,0 +1,176 @@
+package com.spotlight.platform.userprofile.api.load;
+
+import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.testing.DropwizardTestSupport;
+
+/**
+ * Starts the application in-process and drives it over HTTP with a mix of profile reads and {@code replace}, {@code increment} and
+ * {@code collect} commands for users drawn from a Zipfian distribution, so that a few hot users get most of the traffic as in
+ * production. Every user is created before the run, then the load runs for a warmup period whose latencies are discarded and for the
+ * measured period. Run it with {@code ./gradlew loadTest}, see {@link LoadOptions} for the settings.
+ *
+ * <p>The load is a closed loop: every thread sends its next request as soon as the previous one is answered, so the report shows the
+ * throughput the service sustains and the latencies at that throughput, not at a fixed arrival rate.
+ */
+public final class LoadGenerator {
+    private static final String CONFIGURATION_RESOURCE = "load.yml";
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final int ITEM_COUNT = 1000;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadOptions options;
+    private final URI baseUri;
+    private final ZipfianGenerator userRanks;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    LoadGenerator(LoadOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.userRanks = new ZipfianGenerator(options.users(), options.zipfianExponent());
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadOptions.fromSystemProperties();
+        var application = new DropwizardTestSupport<>(UserProfileApiApplication.class, CONFIGURATION_RESOURCE,
+                new ResourceConfigurationSourceProvider());
+        application.before();
+        try {
+            var report = new LoadGenerator(options, URI.create("http://localhost:%d/".formatted(application.getLocalPort()))).run();
+            report.write(options.report());
+            System.out.printf("Latency report written to %s%n%s", options.report().toAbsolutePath(), report);
+        } finally {
+            application.after();
+        }
+    }
+
+    LatencyReport run() throws IOException, InterruptedException {
+        seed();
+        drive(options.warmup().toNanos());
+        return drive(options.duration().toNanos());
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int from = 0; from < options.users(); from += SEED_BATCH_SIZE) {
+            var commands = IntStream.range(from, Math.min(options.users(), from + SEED_BATCH_SIZE))
+                    .mapToObj(rank -> command(userId(rank), "replace", """
+                            {"currentGold": 0, "battleFought": 0, "inventory": []}"""))
+                    .collect(Collectors.joining(",", "[", "]"));
+            var response = client.send(commandsRequest(commands), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("Creating users failed with %d: %s".formatted(response.statusCode(), response.body()));
+            }
+        }
+    }
+
+    private LatencyReport drive(long durationNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + durationNanos;
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.threads(); i++) {
+            var worker = new Worker(deadline);
+            workers.add(worker);
+            threads.add(new Thread(worker, "load-" + i));
+        }
+        threads.forEach(Thread::start);
+        for (var thread : threads) {
+            thread.join();
+        }
+        Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+        Map<LoadOperation, Long> errors = new EnumMap<>(LoadOperation.class);
+        for (var operation : LoadOperation.values()) {
+            var merged = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            for (var worker : workers) {
+                merged.add(worker.latencies.get(operation));
+                errors.merge(operation, worker.errors[operation.ordinal()], Long::sum);
+            }
+            latencies.put(operation, merged);
+        }
+        return LatencyReport.of(options, latencies, errors);
+    }
+
+    private HttpRequest request(LoadOperation operation, String userId, Random random) {
+        return switch (operation) {
+            case READ -> HttpRequest.newBuilder(baseUri.resolve("users/%s/profile".formatted(userId))).GET().build();
+            case REPLACE -> commandsRequest("[" + command(userId, "replace", """
+                    {"currentGold": %d}""".formatted(random.nextInt(1_000_000))) + "]");
+            case INCREMENT -> commandsRequest("[" + command(userId, "increment", """
+                    {"battleFought": 1}""") + "]");
+            case COLLECT -> commandsRequest("[" + command(userId, "collect", """
+                    {"inventory": ["item-%d"]}""".formatted(random.nextInt(ITEM_COUNT))) + "]");
+        };
+    }
+
+    private HttpRequest commandsRequest(String commands) {
+        return HttpRequest.newBuilder(baseUri.resolve("users/commands"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(commands))
+                .build();
+    }
+
+    private static String command(String userId, String type, String properties) {
+        return """
+                {"userId": "%s", "type": "%s", "properties": %s}""".formatted(userId, type, properties);
+    }
+
+    private static String userId(int rank) {
+        return "user-" + rank;
+    }
+
+    private class Worker implements Runnable {
+        private final long deadline;
+        private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+        private final long[] errors = new long[LoadOperation.values().length];
+
+        private Worker(long deadline) {
+            this.deadline = deadline;
+            for (var operation : LoadOperation.values()) {
+                latencies.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            }
+        }
+
+        @Override
+        public void run() {
+            var random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                var operation = options.mix().next(random);
+                var request = request(operation, userId(userRanks.next(random)), random);
+                long start = System.nanoTime();
+                boolean succeeded;
+                try {
+                    succeeded = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 300;
+                } catch (IOException e) {
+                    succeeded = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                if (succeeded) {
+                    latencies.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+                } else {
+                    errors[operation.ordinal()]++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.spotlight.platform.userprofile.api.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Relative weights of the operations, written as {@code read=70,replace=10,increment=15,collect=5}. Operations left out are not run.
+ */
+final class LoadMix {
+    private final Map<LoadOperation, Integer> weights;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    private LoadMix(Map<LoadOperation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(LoadOperation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Load mix must have a positive weight");
+        }
+    }
+
+    static LoadMix parse(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Load mix entries must look like read=70, got '%s'".formatted(entry));
+            }
+            var weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Load mix weights must not be negative, got '%s'".formatted(entry));
+            }
+            weights.put(LoadOperation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        return new LoadMix(weights);
+    }
+
+    LoadOperation next(Random random) {
+        int drawn = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (cumulativeWeights[i] <= drawn) {
+            i++;
+        }
+        return operations[i];
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream().map(entry -> entry.getKey().key() + "=" + entry.getValue()).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,14 @@
+package com.spotlight.platform.userprofile.api.load;
+
+import java.util.Locale;
+
+enum LoadOperation {
+    READ,
+    REPLACE,
+    INCREMENT,
+    COLLECT;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,21 @@
+package com.spotlight.platform.userprofile.api.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load run, read from {@code load.*} system properties, which the {@code loadTest} Gradle task passes on from
+ * {@code -Pload.*} project properties.
+ */
+record LoadOptions(int users, int threads, Duration warmup, Duration duration, double zipfianExponent, LoadMix mix, Path report) {
+    static LoadOptions fromSystemProperties() {
+        return new LoadOptions(
+                Integer.getInteger("load.users", 100_000),
+                Integer.getInteger("load.threads", 16),
+                Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 30)),
+                Double.parseDouble(System.getProperty("load.zipfianExponent", "0.99")),
+                LoadMix.parse(System.getProperty("load.mix", "read=70,replace=10,increment=15,collect=5")),
+                Path.of(System.getProperty("load.report", "build/reports/load/latency.json")));
+    }
+}
@@ -0,0 +1,53 @@
+package com.spotlight.platform.userprofile.api.load;
+
+import java.util.Random;
+
+/**
+ * Draws ranks from {@code 0} to {@code items - 1} with Zipfian probabilities, rank 0 the most frequent, using the rejection-free method
+ * of Gray et al., "Quickly Generating Billion-Record Synthetic Databases", as YCSB does. Computing the zeta constant costs one pass over
+ * the items up front; every draw costs constant time.
+ */
+final class ZipfianGenerator {
+    private final int items;
+    private final double exponent;
+    private final double zetaItems;
+    private final double alpha;
+    private final double eta;
+
+    /**
+     * @param exponent skew of the distribution between 0 and 1, exclusive; YCSB uses 0.99
+     */
+    ZipfianGenerator(int items, double exponent) {
+        if (items < 2) {
+            throw new IllegalArgumentException("Zipfian distribution needs at least 2 items, got %d".formatted(items));
+        }
+        if (exponent <= 0 || exponent >= 1) {
+            throw new IllegalArgumentException("Zipfian exponent must be between 0 and 1, got %s".formatted(exponent));
+        }
+        this.items = items;
+        this.exponent = exponent;
+        this.zetaItems = zeta(items, exponent);
+        this.alpha = 1 / (1 - exponent);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - exponent)) / (1 - zeta(2, exponent) / zetaItems);
+    }
+
+    int next(Random random) {
+        double u = random.nextDouble();
+        double uz = u * zetaItems;
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < 1 + Math.pow(0.5, exponent)) {
+            return 1;
+        }
+        return Math.min(items - 1, (int) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    private static double zeta(int items, double exponent) {
+        double sum = 0;
+        for (int i = 1; i <= items; i++) {
+            sum += 1 / Math.pow(i, exponent);
+        }
+        return sum;
+    }
+}
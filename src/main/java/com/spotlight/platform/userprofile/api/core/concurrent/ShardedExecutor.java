@@ -0,0 +1,65 @@
+package com.spotlight.platform.userprofile.api.core.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Fixed set of single-threaded executors. Tasks submitted with equal keys always run on the same thread in submission order, so state
+ * owned by a key can be mutated without locking as long as every writer goes through this executor.
+ */
+public class ShardedExecutor implements Managed {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ExecutorService[] shards;
+
+    public ShardedExecutor(String name, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = Executors.newSingleThreadExecutor(namedDaemonThreads("%s-%d".formatted(name, i)));
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(Object key, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, shards[shardOf(key)]);
+    }
+
+    public int shardOf(Object key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        for (ExecutorService shard : shards) {
+            shard.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private static ThreadFactory namedDaemonThreads(String name) {
+        return runnable -> {
+            var thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.spotlight.platform.userprofile.api.core.exceptions;
+
+public class InvalidCommandException extends RuntimeException {
+    public InvalidCommandException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.spotlight.platform.userprofile.api.core.exceptions;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.List;
+
+/**
+ * Thrown when the commands of some users in a batch cannot be applied while those of other users were applied and stored. Retrying
+ * the whole batch would apply the latter twice, so the users whose commands were applied are reported.
+ */
+public class PartiallyAppliedCommandsException extends InvalidCommandException {
+    private final List<UserId> appliedUserIds;
+
+    public PartiallyAppliedCommandsException(InvalidCommandException cause, List<UserId> appliedUserIds) {
+        super(cause.getMessage(), cause);
+        this.appliedUserIds = List.copyOf(appliedUserIds);
+    }
+
+    public List<UserId> getAppliedUserIds() {
+        return appliedUserIds;
+    }
+}
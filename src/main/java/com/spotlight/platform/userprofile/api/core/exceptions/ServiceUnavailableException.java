@@ -0,0 +1,11 @@
+package com.spotlight.platform.userprofile.api.core.exceptions;
+
+/**
+ * Thrown when a bounded part of the service, such as the command queue or the change feed, cannot take more work right now; the
+ * client should retry later.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
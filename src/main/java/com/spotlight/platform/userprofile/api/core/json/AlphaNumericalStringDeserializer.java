@@ -0,0 +1,37 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Validates identifiers while they are parsed, so bean validation does not have to visit them afterwards. Only JSON strings are
+ * accepted, numbers are not coerced.
+ */
+public class AlphaNumericalStringDeserializer<T extends AlphaNumericalStringWithMaxLength> extends StdScalarDeserializer<T> {
+    private final Function<String, T> factory;
+
+    public AlphaNumericalStringDeserializer(Class<T> type, Function<String, T> factory) {
+        super(type);
+        this.factory = factory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return (T) context.handleUnexpectedToken(handledType(), parser);
+        }
+        var value = parser.getText();
+        var violations = AlphaNumericalStringWithMaxLength.violationsOf(value);
+        if (!violations.isEmpty()) {
+            throw new InvalidAlphaNumericalStringException(parser, value, false, violations);
+        }
+        return factory.apply(value);
+    }
+}
@@ -0,0 +1,28 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Validates identifiers used as map keys while they are parsed, before they are interned or stored.
+ */
+public class AlphaNumericalStringKeyDeserializer<T extends AlphaNumericalStringWithMaxLength> extends KeyDeserializer {
+    private final Function<String, T> factory;
+
+    public AlphaNumericalStringKeyDeserializer(Function<String, T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public T deserializeKey(String key, DeserializationContext context) throws IOException {
+        var violations = AlphaNumericalStringWithMaxLength.violationsOf(key);
+        if (!violations.isEmpty()) {
+            throw new InvalidAlphaNumericalStringException(context.getParser(), key, true, violations);
+        }
+        return factory.apply(key);
+    }
+}
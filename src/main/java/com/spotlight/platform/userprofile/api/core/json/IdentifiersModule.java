@@ -0,0 +1,20 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+
+/**
+ * Parses user ids, command ids and property names with deserializers that reject invalid identifiers during parsing.
+ */
+public class IdentifiersModule extends SimpleModule {
+    public IdentifiersModule() {
+        super(IdentifiersModule.class.getSimpleName());
+        addDeserializer(UserId.class, new AlphaNumericalStringDeserializer<>(UserId.class, UserId::valueOf));
+        addDeserializer(CommandId.class, new AlphaNumericalStringDeserializer<>(CommandId.class, CommandId::valueOf));
+        addDeserializer(UserProfilePropertyName.class,
+                new AlphaNumericalStringDeserializer<>(UserProfilePropertyName.class, UserProfilePropertyName::valueOf));
+        addKeyDeserializer(UserProfilePropertyName.class, new AlphaNumericalStringKeyDeserializer<>(UserProfilePropertyName::valueOf));
+    }
+}
@@ -0,0 +1,36 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.util.List;
+
+/**
+ * Thrown while parsing when an identifier violates the rules of
+ * {@link com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength}.
+ */
+public class InvalidAlphaNumericalStringException extends JsonMappingException {
+    private final String value;
+    private final boolean mapKey;
+    private final List<String> violations;
+
+    public InvalidAlphaNumericalStringException(JsonParser parser, String value, boolean mapKey, List<String> violations) {
+        super(parser, "Invalid value \"%s\": %s".formatted(value, String.join(", ", violations)));
+        this.value = value;
+        this.mapKey = mapKey;
+        this.violations = violations;
+    }
+
+    /**
+     * @return one message per violation, formatted like the messages of a failed bean validation of the parsed object
+     */
+    public List<String> validationErrors() {
+        var field = getPath().stream()
+                .map(Reference::getFieldName)
+                .filter(fieldName -> fieldName != null)
+                .reduce((first, second) -> second)
+                .orElse("");
+        var path = mapKey ? "%s<K>[%s].value".formatted(field, value) : field.isEmpty() ? "value" : field + ".value";
+        return violations.stream().map(violation -> path + " " + violation).toList();
+    }
+}
@@ -2,6 +2,7 @@ package com.spotlight.platform.userprofile.api.core.json;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -15,16 +16,29 @@ public class JsonMapper {
     }
 
     public static ObjectMapper createInstance() {
-        var objectMapper = Jackson.newObjectMapper();
-        toggleFeatures(objectMapper);
-        setVisibilities(objectMapper);
-        return objectMapper;
+        return configure(Jackson.newObjectMapper());
+    }
+
+    /**
+     * Creates a mapper for another format backed by a Jackson streaming factory, e.g. Smile or CBOR, with the same modules and settings
+     * as the JSON mapper.
+     */
+    public static ObjectMapper createInstance(JsonFactory factory) {
+        return configure(Jackson.newObjectMapper(factory));
     }
 
     public static ObjectMapper getInstance() {
         return MAPPER_INSTANCE;
     }
 
+    private static ObjectMapper configure(ObjectMapper objectMapper) {
+        toggleFeatures(objectMapper);
+        setVisibilities(objectMapper);
+        objectMapper.registerModule(new IdentifiersModule());
+        objectMapper.registerModule(new ModelSerializersModule());
+        return objectMapper;
+    }
+
     public static void toggleFeatures(ObjectMapper objectMapper) {
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         objectMapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
@@ -0,0 +1,23 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.spotlight.platform.userprofile.api.model.common.WrappedString;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+/**
+ * Serializes and parses profiles, property values and identifiers with hand-written serializers instead of the bean serializers and
+ * creators Jackson derives from the annotations of the model by reflection. The output is the same.
+ */
+public class ModelSerializersModule extends SimpleModule {
+    public ModelSerializersModule() {
+        super(ModelSerializersModule.class.getSimpleName());
+        addSerializer(WrappedString.class, new WrappedStringSerializer());
+        addKeySerializer(UserProfilePropertyName.class, new PropertyNameKeySerializer());
+        addSerializer(UserProfilePropertyValue.class, new UserProfilePropertyValueSerializer());
+        addDeserializer(UserProfilePropertyValue.class, new UserProfilePropertyValueDeserializer());
+        addSerializer(UserProfile.class, new UserProfileSerializer());
+        addDeserializer(UserProfile.class, new UserProfileDeserializer());
+    }
+}
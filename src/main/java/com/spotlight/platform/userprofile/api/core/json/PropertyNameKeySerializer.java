@@ -0,0 +1,23 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+
+import java.io.IOException;
+
+/**
+ * Writes property names used as map keys from the serialized form each name keeps, see
+ * {@link UserProfilePropertyName#serializedValue()}.
+ */
+public class PropertyNameKeySerializer extends StdSerializer<UserProfilePropertyName> {
+    public PropertyNameKeySerializer() {
+        super(UserProfilePropertyName.class);
+    }
+
+    @Override
+    public void serialize(UserProfilePropertyName name, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeFieldName(name.serializedValue());
+    }
+}
@@ -0,0 +1,100 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.spotlight.platform.userprofile.api.model.common.PersistentHashMap;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Reads a profile field by field with deserializers resolved once, and collects the properties straight into the
+ * {@link PersistentHashMap} the profile keeps them in. Missing fields are null, unknown fields are handled as the context is configured,
+ * and errors carry the same path as with the bean deserializer Jackson derives from the record.
+ */
+public class UserProfileDeserializer extends StdDeserializer<UserProfile> implements ResolvableDeserializer {
+    private static final String USER_ID = "userId";
+    private static final String LATEST_UPDATE_TIME = "latestUpdateTime";
+    private static final String USER_PROFILE_PROPERTIES = "userProfileProperties";
+
+    private JsonDeserializer<Object> userIdDeserializer;
+    private JsonDeserializer<Object> instantDeserializer;
+    private KeyDeserializer propertyNameDeserializer;
+    private JsonDeserializer<Object> valueDeserializer;
+
+    public UserProfileDeserializer() {
+        super(UserProfile.class);
+    }
+
+    @Override
+    public void resolve(DeserializationContext context) throws JsonMappingException {
+        userIdDeserializer = context.findRootValueDeserializer(context.constructType(UserId.class));
+        instantDeserializer = context.findRootValueDeserializer(context.constructType(Instant.class));
+        propertyNameDeserializer = context.findKeyDeserializer(context.constructType(UserProfilePropertyName.class), null);
+        valueDeserializer = context.findRootValueDeserializer(context.constructType(UserProfilePropertyValue.class));
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    @Override
+    public UserProfile deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        String fieldName;
+        if (parser.isExpectedStartObjectToken()) {
+            fieldName = parser.nextFieldName();
+        } else if (parser.hasToken(JsonToken.FIELD_NAME)) {
+            fieldName = parser.currentName();
+        } else {
+            return (UserProfile) context.handleUnexpectedToken(UserProfile.class, parser);
+        }
+        UserId userId = null;
+        Instant latestUpdateTime = null;
+        Map<UserProfilePropertyName, UserProfilePropertyValue> properties = null;
+        for (; fieldName != null; fieldName = parser.nextFieldName()) {
+            var token = parser.nextToken();
+            try {
+                switch (fieldName) {
+                    case USER_ID -> userId = (UserId) valueOrNull(token, userIdDeserializer, parser, context);
+                    case LATEST_UPDATE_TIME -> latestUpdateTime = (Instant) valueOrNull(token, instantDeserializer, parser, context);
+                    case USER_PROFILE_PROPERTIES -> properties = token == JsonToken.VALUE_NULL ? null : readProperties(parser, context);
+                    default -> context.handleUnknownProperty(parser, this, UserProfile.class, fieldName);
+                }
+            } catch (JsonMappingException e) {
+                throw JsonMappingException.wrapWithPath(e, UserProfile.class, fieldName);
+            }
+        }
+        return new UserProfile(userId, latestUpdateTime, properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UserProfilePropertyName, UserProfilePropertyValue> readProperties(JsonParser parser, DeserializationContext context)
+            throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (Map<UserProfilePropertyName, UserProfilePropertyValue>) context.handleUnexpectedToken(Map.class, parser);
+        }
+        var properties = new PersistentHashMap.Builder<UserProfilePropertyName, UserProfilePropertyValue>(PersistentHashMap.empty());
+        for (var key = parser.nextFieldName(); key != null; key = parser.nextFieldName()) {
+            var name = (UserProfilePropertyName) propertyNameDeserializer.deserializeKey(key, context);
+            properties.put(name, (UserProfilePropertyValue) valueOrNull(parser.nextToken(), valueDeserializer, parser, context));
+        }
+        return properties.build();
+    }
+
+    private static Object valueOrNull(JsonToken token, JsonDeserializer<Object> deserializer, JsonParser parser,
+            DeserializationContext context) throws IOException {
+        return token == JsonToken.VALUE_NULL ? deserializer.getNullValue(context) : deserializer.deserialize(parser, context);
+    }
+}
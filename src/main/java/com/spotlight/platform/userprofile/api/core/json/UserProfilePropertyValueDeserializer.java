@@ -0,0 +1,63 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.DoublePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.LongPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringListPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads counters, decimals, strings and lists of strings straight into their specialized property values, without building the boxed
+ * number, string or list {@link UserProfilePropertyValue#valueOf(Object)} would be handed first. Anything else, and every value if the
+ * context asks for other number or array types, is read as an untyped value and passed to {@code valueOf}, which keeps the result the
+ * same as with the creator alone.
+ */
+public class UserProfilePropertyValueDeserializer extends StdDeserializer<UserProfilePropertyValue> {
+    private static final int UNTYPED_FEATURES = F_MASK_INT_COERCIONS | DeserializationFeature.USE_JAVA_ARRAY_FOR_JSON_ARRAY.getMask();
+
+    public UserProfilePropertyValueDeserializer() {
+        super(UserProfilePropertyValue.class);
+    }
+
+    @Override
+    public UserProfilePropertyValue deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (context.hasSomeOfFeatures(UNTYPED_FEATURES)) {
+            return UserProfilePropertyValue.valueOf(context.readValue(parser, Object.class));
+        }
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? UserProfilePropertyValue.valueOf(parser.getBigIntegerValue())
+                    : LongPropertyValue.of(parser.getLongValue());
+            case VALUE_NUMBER_FLOAT -> DoublePropertyValue.of(parser.getDoubleValue());
+            case VALUE_STRING -> StringPropertyValue.of(parser.getText());
+            case START_ARRAY -> readList(parser, context);
+            default -> UserProfilePropertyValue.valueOf(context.readValue(parser, Object.class));
+        };
+    }
+
+    private static UserProfilePropertyValue readList(JsonParser parser, DeserializationContext context) throws IOException {
+        List<String> strings = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.VALUE_STRING) {
+            strings.add(parser.getText());
+        }
+        if (token == JsonToken.END_ARRAY) {
+            return StringListPropertyValue.of(strings);
+        }
+        // the list holds other values as well, the rest of it is read untyped
+        List<Object> values = new ArrayList<>(strings);
+        do {
+            values.add(context.readValue(parser, Object.class));
+        } while (parser.nextToken() != JsonToken.END_ARRAY);
+        return UserProfilePropertyValue.valueOf(values);
+    }
+}
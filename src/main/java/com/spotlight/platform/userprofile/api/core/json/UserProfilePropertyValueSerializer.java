@@ -0,0 +1,48 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.DoublePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.LongPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.ObjectPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringListPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the specialized property values straight to the generator: counters and decimals without boxing them, lists of strings without
+ * looking up a serializer for the list and its elements. Other values are written by the serializer Jackson finds for them.
+ */
+public class UserProfilePropertyValueSerializer extends StdSerializer<UserProfilePropertyValue> {
+    public UserProfilePropertyValueSerializer() {
+        super(UserProfilePropertyValue.class);
+    }
+
+    @Override
+    public void serialize(UserProfilePropertyValue value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (value instanceof LongPropertyValue longValue) {
+            generator.writeNumber(longValue.longValue());
+        } else if (value instanceof DoublePropertyValue doubleValue) {
+            generator.writeNumber(doubleValue.doubleValue());
+        } else if (value instanceof StringPropertyValue stringValue) {
+            generator.writeString(stringValue.stringValue());
+        } else if (value instanceof StringListPropertyValue stringListValue) {
+            writeStrings(stringListValue.values(), generator);
+        } else {
+            provider.defaultSerializeValue(((ObjectPropertyValue) value).objectValue(), generator);
+        }
+    }
+
+    private static void writeStrings(List<String> values, JsonGenerator generator) throws IOException {
+        int size = values.size();
+        generator.writeStartArray(values, size);
+        for (int i = 0; i < size; i++) {
+            generator.writeString(values.get(i));
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,72 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes a profile field by field, with the same output as the bean serializer Jackson derives from the record: field names and
+ * property names come from {@link SerializedString}s, values go through {@link UserProfilePropertyValueSerializer} without a lookup
+ * per value, and the update time is written as an ISO-8601 string like {@code InstantSerializer} does for the string shape.
+ */
+public class UserProfileSerializer extends StdSerializer<UserProfile> {
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString LATEST_UPDATE_TIME = new SerializedString("latestUpdateTime");
+    private static final SerializedString USER_PROFILE_PROPERTIES = new SerializedString("userProfileProperties");
+
+    private final UserProfilePropertyValueSerializer valueSerializer = new UserProfilePropertyValueSerializer();
+
+    public UserProfileSerializer() {
+        super(UserProfile.class);
+    }
+
+    @Override
+    public void serialize(UserProfile profile, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(profile);
+        generator.writeFieldName(USER_ID);
+        if (profile.userId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(profile.userId().toString());
+        }
+        generator.writeFieldName(LATEST_UPDATE_TIME);
+        if (profile.latestUpdateTime() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(profile.latestUpdateTime().toString());
+        }
+        generator.writeFieldName(USER_PROFILE_PROPERTIES);
+        if (profile.userProfileProperties() == null) {
+            generator.writeNull();
+        } else {
+            writeProperties(profile.userProfileProperties(), generator, provider);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeProperties(Map<UserProfilePropertyName, UserProfilePropertyValue> properties, JsonGenerator generator,
+            SerializerProvider provider) throws IOException {
+        if (provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)) {
+            properties = new TreeMap<>(properties);
+        }
+        generator.writeStartObject(properties);
+        for (var property : properties.entrySet()) {
+            generator.writeFieldName(property.getKey().serializedValue());
+            if (property.getValue() == null) {
+                generator.writeNull();
+            } else {
+                valueSerializer.serialize(property.getValue(), generator, provider);
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,22 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.spotlight.platform.userprofile.api.model.common.WrappedString;
+
+import java.io.IOException;
+
+/**
+ * Writes identifiers as the plain strings they wrap, without looking up their {@code @JsonValue} accessor.
+ */
+public class WrappedStringSerializer extends StdScalarSerializer<WrappedString> {
+    public WrappedStringSerializer() {
+        super(WrappedString.class);
+    }
+
+    @Override
+    public void serialize(WrappedString value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeString(value.toString());
+    }
+}
@@ -1,21 +1,157 @@
 package com.spotlight.platform.userprofile.api.core.profile;
 
+import com.spotlight.platform.userprofile.api.core.concurrent.ShardedExecutor;
 import com.spotlight.platform.userprofile.api.core.exceptions.EntityNotFoundException;
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.core.exceptions.PartiallyAppliedCommandsException;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandDeduplicator;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCoalescer;
+import com.spotlight.platform.userprofile.api.core.profile.commands.UserProfileCommandApplier;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class UserProfileService {
     private final UserProfileDao userProfileDao;
+    private final UserProfileCommandApplier commandApplier;
+    private final ShardedExecutor commandShards;
+    private final CommandDeduplicator commandDeduplicator;
+    private final IncrementCoalescer incrementCoalescer;
 
     @Inject
-    public UserProfileService(UserProfileDao userProfileDao) {
+    public UserProfileService(UserProfileDao userProfileDao, UserProfileCommandApplier commandApplier, ShardedExecutor commandShards,
+            CommandDeduplicator commandDeduplicator, IncrementCoalescer incrementCoalescer) {
         this.userProfileDao = userProfileDao;
+        this.commandApplier = commandApplier;
+        this.commandShards = commandShards;
+        this.commandDeduplicator = commandDeduplicator;
+        this.incrementCoalescer = incrementCoalescer;
     }
 
+    /**
+     * Reads of a user wait for the increments of the user which are still being coalesced, so they never miss an applied command.
+     */
     public UserProfile get(UserId userId) {
+        incrementCoalescer.awaitApplied(userId);
         return userProfileDao.get(userId).orElseThrow(EntityNotFoundException::new);
     }
+
+    /**
+     * Looks up all users with one batch lookup of the DAO.
+     *
+     * @return the profiles of those users who have one
+     */
+    public Map<UserId, UserProfile> getAll(List<UserId> userIds) {
+        var distinctUserIds = new LinkedHashSet<>(userIds);
+        distinctUserIds.forEach(incrementCoalescer::awaitApplied);
+        return userProfileDao.getAll(distinctUserIds);
+    }
+
+    /**
+     * @return the profile with only those of the given properties which the user has
+     */
+    public UserProfile get(UserId userId, Set<UserProfilePropertyName> propertyNames) {
+        var userProfile = get(userId);
+        Map<UserProfilePropertyName, UserProfilePropertyValue> projectedProperties = new HashMap<>();
+        propertyNames.forEach(propertyName -> {
+            var propertyValue = userProfile.userProfileProperties().get(propertyName);
+            if (propertyValue != null) {
+                projectedProperties.put(propertyName, propertyValue);
+            }
+        });
+        return new UserProfile(userId, userProfile.latestUpdateTime(), projectedProperties);
+    }
+
+    /**
+     * @throws EntityNotFoundException if the user does not exist or does not have the property
+     */
+    public UserProfilePropertyValue getProperty(UserId userId, UserProfilePropertyName propertyName) {
+        var propertyValue = get(userId).userProfileProperties().get(propertyName);
+        if (propertyValue == null) {
+            throw new EntityNotFoundException();
+        }
+        return propertyValue;
+    }
+
+    /**
+     * Groups the commands by user and applies every group on the shard owning that user. Commands of one user are applied in the order
+     * they appear in the batch and stored with a single atomic update; groups of different users are applied in parallel. Commands
+     * with the id of a command already applied to the user are skipped. Increments are merged with concurrent increments of the same
+     * user if coalescing is enabled, so the call returns once the merged write is stored.
+     *
+     * <p>Groups are applied independently: if the commands of one user cannot be applied, the groups of the other users stay applied.
+     *
+     * @throws PartiallyAppliedCommandsException if the commands of some users could not be applied while those of others were
+     */
+    public void apply(List<UserProfileCommand> commands) {
+        var pendingGroups = applyAsync(commands);
+        try {
+            CompletableFuture.allOf(pendingGroups.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // every group is done once allOf is, so the applied ones are known
+            var appliedUserIds = pendingGroups.entrySet()
+                    .stream()
+                    .filter(group -> !group.getValue().isCompletedExceptionally())
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (e.getCause() instanceof InvalidCommandException cause && !appliedUserIds.isEmpty()) {
+                throw new PartiallyAppliedCommandsException(cause, appliedUserIds);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Submits the commands like {@link #apply(List)} without waiting for them to be applied.
+     *
+     * @return the pending update of every user in the batch, which fails if the commands of that user cannot be applied, and completes
+     *         with the current profile, or null if there is none, if all commands of the user were skipped as duplicates
+     */
+    public Map<UserId, CompletableFuture<UserProfile>> applyAsync(List<UserProfileCommand> commands) {
+        Map<UserId, CompletableFuture<UserProfile>> pendingGroups = new LinkedHashMap<>();
+        groupByUser(commands).forEach((userId, group) -> pendingGroups.put(userId, incrementCoalescer.accepts(group)
+                ? incrementCoalescer.add(userId, group, increments -> applyForUser(userId, increments))
+                : submit(userId, group)));
+        return pendingGroups;
+    }
+
+    private CompletableFuture<UserProfile> submit(UserId userId, List<UserProfileCommand> commands) {
+        // increments of the user which arrived earlier are submitted first, the shard applies both in order
+        incrementCoalescer.flush(userId);
+        return commandShards.submit(userId, () -> applyForUser(userId, commands));
+    }
+
+    private UserProfile applyForUser(UserId userId, List<UserProfileCommand> commands) {
+        // every command of a user is applied on the same shard, so no other thread records ids of the user in between
+        var unseenCommands = commandDeduplicator.unseen(userId, commands);
+        if (unseenCommands.isEmpty()) {
+            return userProfileDao.get(userId).orElse(null);
+        }
+        var updatedProfile = userProfileDao.update(userId, currentProfile -> commandApplier.apply(userId, currentProfile, unseenCommands));
+        commandDeduplicator.record(userId, unseenCommands);
+        return updatedProfile;
+    }
+
+    private static Map<UserId, List<UserProfileCommand>> groupByUser(List<UserProfileCommand> commands) {
+        Map<UserId, List<UserProfileCommand>> groups = new LinkedHashMap<>();
+        commands.forEach(command -> groups.computeIfAbsent(command.userId(), userId -> new ArrayList<>()).add(command));
+        return groups;
+    }
 }
@@ -0,0 +1,139 @@
+package com.spotlight.platform.userprofile.api.core.profile.changes;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileChange;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes waiting to be sent to one subscriber of the {@link ProfileChangeFeed}. The buffer is bounded: if the subscriber falls so far
+ * behind that a batch does not fit, the buffered changes are dropped and the subscriber is told how many changes it missed instead, so
+ * that it can resync by reading the profiles it cares about. A slow subscriber therefore never holds more than the buffer in memory, and
+ * never slows down writers or other subscribers.
+ */
+public class ChangeSubscription implements AutoCloseable {
+    private final ProfileChangeFeed feed;
+    private final Set<UserProfilePropertyName> propertyNames;
+    private final int capacity;
+    private final Deque<List<UserProfileChange>> batches = new ArrayDeque<>();
+    private int bufferedChanges;
+    private long droppedChanges;
+    private boolean closed;
+
+    ChangeSubscription(ProfileChangeFeed feed, Set<UserProfilePropertyName> propertyNames, int capacity) {
+        this.feed = feed;
+        this.propertyNames = Set.copyOf(propertyNames);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Waits for changes.
+     *
+     * @return all changes buffered since the last delivery, or the number of changes dropped since then if there are any; null if
+     *         nothing arrived within the timeout or the subscription is closed
+     */
+    public synchronized ChangeDelivery poll(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (batches.isEmpty() && droppedChanges == 0 && !closed) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return null;
+            }
+            wait(remainingNanos / 1_000_000, (int) (remainingNanos % 1_000_000));
+        }
+        if (droppedChanges > 0) {
+            var delivery = ChangeDelivery.resync(droppedChanges);
+            droppedChanges = 0;
+            return delivery;
+        }
+        if (batches.isEmpty()) {
+            return null;
+        }
+        // everything buffered is sent with one write, so a subscriber which is behind catches up with fewer and larger writes
+        List<UserProfileChange> changes = batches.size() == 1 ? batches.poll() : new ArrayList<>(bufferedChanges);
+        while (!batches.isEmpty()) {
+            changes.addAll(batches.poll());
+        }
+        bufferedChanges = 0;
+        return ChangeDelivery.of(changes);
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Ends the subscription; a subscriber waiting for changes returns.
+     */
+    @Override
+    public void close() {
+        feed.unsubscribe(this);
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Buffers those changes of the batch the subscriber is interested in.
+     *
+     * @return whether the changes had to be dropped
+     */
+    synchronized boolean offer(List<UserProfileChange> batch) {
+        var changes = propertyNames.isEmpty() ? batch : selected(batch);
+        if (changes.isEmpty() || closed) {
+            return false;
+        }
+        if (bufferedChanges + changes.size() > capacity) {
+            drop(changes.size());
+            return true;
+        }
+        batches.add(changes);
+        bufferedChanges += changes.size();
+        notifyAll();
+        return false;
+    }
+
+    /**
+     * Drops the buffered changes because further changes were lost.
+     */
+    synchronized void drop(long lostChanges) {
+        droppedChanges += bufferedChanges + lostChanges;
+        batches.clear();
+        bufferedChanges = 0;
+        notifyAll();
+    }
+
+    private List<UserProfileChange> selected(List<UserProfileChange> batch) {
+        List<UserProfileChange> changes = new ArrayList<>();
+        for (var change : batch) {
+            var selectedChange = change.only(propertyNames);
+            if (selectedChange != null) {
+                changes.add(selectedChange);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Either changes or, if changes were dropped, the number of dropped changes.
+     */
+    public record ChangeDelivery(List<UserProfileChange> changes, long droppedChanges) {
+        static ChangeDelivery of(List<UserProfileChange> changes) {
+            return new ChangeDelivery(changes, 0);
+        }
+
+        static ChangeDelivery resync(long droppedChanges) {
+            return new ChangeDelivery(List.of(), droppedChanges);
+        }
+
+        public boolean isResync() {
+            return droppedChanges > 0;
+        }
+    }
+}
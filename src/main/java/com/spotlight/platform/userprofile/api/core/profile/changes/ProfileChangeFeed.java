@@ -0,0 +1,166 @@
+package com.spotlight.platform.userprofile.api.core.profile.changes;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.exceptions.ServiceUnavailableException;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileChange;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Fans out profile changes to subscribers. Writers only put a change into a bounded queue; a single dispatcher thread collects the
+ * changes arriving within a batch interval and hands the batch to every subscriber at once, so the cost of waking up and filtering for
+ * a subscriber is paid per batch rather than per change. Every subscriber has a bounded {@link ChangeSubscription buffer} of its own.
+ *
+ * <p>Changes which do not fit into the queue are dropped and every subscriber is asked to resync, as each may have missed one of them.
+ * Changes of a user are delivered in the order they were published.
+ */
+public class ProfileChangeFeed implements Managed {
+    private static final String DISPATCHER_THREAD_NAME = "change-feed";
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final Duration batchInterval;
+    private final int maxBatchSize;
+    private final int subscriberBufferSize;
+    private final int maxSubscribers;
+    private final BlockingQueue<UserProfileChange> queue;
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong lostChanges = new AtomicLong();
+    private final Meter published = new Meter();
+    private final Meter lost = new Meter();
+    private final Meter resyncs = new Meter();
+    private final Histogram batchSizes = new Histogram(new ExponentiallyDecayingReservoir());
+    private volatile boolean stopped;
+    private Thread dispatcher;
+
+    public ProfileChangeFeed(Duration batchInterval, int maxBatchSize, int queueCapacity, int subscriberBufferSize, int maxSubscribers) {
+        this.batchInterval = batchInterval;
+        this.maxBatchSize = maxBatchSize;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Writers check this before working out what they changed, which costs nothing while nobody listens.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public void publish(UserProfileChange change) {
+        if (queue.offer(change)) {
+            published.mark();
+        } else {
+            lostChanges.incrementAndGet();
+            lost.mark();
+        }
+    }
+
+    /**
+     * @param propertyNames the properties whose changes the subscriber receives, all properties if empty
+     * @throws ServiceUnavailableException if the feed has as many subscribers as it allows, or is stopped
+     */
+    public synchronized ChangeSubscription subscribe(Set<UserProfilePropertyName> propertyNames) {
+        if (stopped) {
+            throw new ServiceUnavailableException("Change feed is stopped");
+        }
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Change feed has %d subscribers already".formatted(maxSubscribers));
+        }
+        var subscription = new ChangeSubscription(this, propertyNames, subscriberBufferSize);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    void unsubscribe(ChangeSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    public void registerMetrics(MetricRegistry metrics) {
+        metrics.register(MetricRegistry.name(getClass(), "subscribers"), (Gauge<Integer>) subscriptions::size);
+        metrics.register(MetricRegistry.name(getClass(), "queued"), (Gauge<Integer>) queue::size);
+        metrics.register(MetricRegistry.name(getClass(), "published"), published);
+        metrics.register(MetricRegistry.name(getClass(), "lost"), lost);
+        metrics.register(MetricRegistry.name(getClass(), "resyncs"), resyncs);
+        metrics.register(MetricRegistry.name(getClass(), "batchSize"), batchSizes);
+    }
+
+    @Override
+    public void start() {
+        dispatcher = new Thread(this::dispatchLoop, DISPATCHER_THREAD_NAME);
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Stops dispatching and closes every subscription; changes not dispatched yet are dropped.
+     */
+    @Override
+    public void stop() throws InterruptedException {
+        closeSubscriptions();
+        if (dispatcher != null) {
+            dispatcher.join();
+        }
+    }
+
+    /**
+     * Closes every subscription and rejects new ones. Subscribers hold their requests open, so the server calls this as soon as it
+     * begins to stop rather than waiting for them.
+     */
+    public synchronized void closeSubscriptions() {
+        stopped = true;
+        subscriptions.forEach(ChangeSubscription::close);
+    }
+
+    private void dispatchLoop() {
+        while (!stopped) {
+            List<UserProfileChange> batch = new ArrayList<>();
+            try {
+                var first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    // the changes arriving meanwhile join the batch
+                    TimeUnit.NANOSECONDS.sleep(batchInterval.toNanos());
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<UserProfileChange> batch) {
+        long lostSinceLastBatch = lostChanges.getAndSet(0);
+        if (lostSinceLastBatch > 0) {
+            subscriptions.forEach(subscription -> subscription.drop(lostSinceLastBatch));
+            resyncs.mark(subscriptions.size());
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.update(batch.size());
+        // subscribers without filter share the batch, the dispatcher collects the next one into a new list
+        for (var subscription : subscriptions) {
+            if (subscription.offer(batch)) {
+                resyncs.mark();
+            }
+        }
+    }
+}
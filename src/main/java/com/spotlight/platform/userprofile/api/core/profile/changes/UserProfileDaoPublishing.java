@@ -0,0 +1,49 @@
+package com.spotlight.platform.userprofile.api.core.profile.changes;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.ForwardingUserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileChange;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Publishes the properties every write changes to the {@link ProfileChangeFeed}. An update is compared with the profile it was
+ * applied to, a put publishes all properties of the profile. While the feed has no subscribers, writes pass through untouched.
+ */
+public class UserProfileDaoPublishing extends ForwardingUserProfileDao {
+    private final ProfileChangeFeed changeFeed;
+
+    public UserProfileDaoPublishing(UserProfileDao delegate, ProfileChangeFeed changeFeed) {
+        super(delegate);
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        delegate.put(userProfile);
+        if (changeFeed.hasSubscribers()) {
+            changeFeed.publish(UserProfileChange.between(null, userProfile));
+        }
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        if (!changeFeed.hasSubscribers()) {
+            return delegate.update(userId, updater);
+        }
+        // the updater may run more than once, the profile of its last run is the one it was applied to
+        var previousProfile = new UserProfile[1];
+        var updatedProfile = delegate.update(userId, currentProfile -> {
+            previousProfile[0] = currentProfile.orElse(null);
+            return updater.apply(currentProfile);
+        });
+        var change = UserProfileChange.between(previousProfile[0], updatedProfile);
+        if (!change.changedProperties().isEmpty()) {
+            changeFeed.publish(change);
+        }
+        return updatedProfile;
+    }
+}
@@ -0,0 +1,59 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.configuration.CollectConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.CollectMode;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringListPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects strings into lists, deduplicated and bounded as configured per property. Other values are appended as they are, which turns
+ * the list into a plain list of values that is neither deduplicated nor bounded.
+ */
+public class CollectCommandHandler implements UserProfileCommandHandler {
+    private final CollectConfiguration configuration;
+
+    public CollectCommandHandler() {
+        this(new CollectConfiguration());
+    }
+
+    public CollectCommandHandler(CollectConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public UserProfileCommandType getType() {
+        return UserProfileCommandType.COLLECT;
+    }
+
+    @Override
+    public void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> properties,
+            Map<UserProfilePropertyName, UserProfilePropertyValue> commandProperties) {
+        commandProperties.forEach((name, values) -> {
+            var current = properties.getOrDefault(name, UserProfilePropertyValue.emptyList());
+            var strings = stringsOf(values);
+            if (current instanceof StringListPropertyValue stringListValue && strings != null) {
+                var propertyConfiguration = configuration.forProperty(name);
+                properties.put(name, stringListValue.append(strings, propertyConfiguration.getMode() == CollectMode.SET,
+                        propertyConfiguration.getMaxLength()));
+            } else {
+                properties.put(name, current.append(values));
+            }
+        });
+    }
+
+    private static List<String> stringsOf(UserProfilePropertyValue values) {
+        if (values instanceof StringListPropertyValue stringListValue) {
+            return stringListValue.values();
+        }
+        if (values instanceof StringPropertyValue stringValue) {
+            return List.of(stringValue.stringValue());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,280 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the ids of applied commands for a time window, so retried commands can be skipped. Only a 64-bit hash of user id and
+ * command id is kept, in open-addressing tables of primitive longs. The window is split into time buckets; a bucket is dropped as a
+ * whole once it falls out of the window, so there is no per-entry expiry, and ids are remembered for between {@code window - window /
+ * buckets} and {@code window}. The tables are sharded by hash, so threads applying commands of different users rarely contend.
+ *
+ * <p>Memory is bounded by {@code maxCommandIds}, spread evenly over all shards and buckets. Once a bucket is full, further ids are
+ * not remembered until the next bucket starts, so retries of those commands are applied again. Two commands colliding on the 64-bit
+ * hash are taken for the same command, which is unlikely enough to be ignored.
+ */
+public class CommandDeduplicator {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int INITIAL_TABLE_LENGTH = 16;
+
+    private final Clock clock;
+    private final long bucketMillis;
+    private final Shard[] shards;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public CommandDeduplicator(Clock clock, Duration window, int bucketCount, int shardCount, int maxCommandIds) {
+        this.clock = clock;
+        this.bucketMillis = Math.max(1, window.toMillis() / bucketCount);
+        int maxIdsPerBucket = Math.max(1, maxCommandIds / (shardCount * bucketCount));
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(bucketCount, maxIdsPerBucket);
+        }
+    }
+
+    /**
+     * Drops the commands whose id was recorded for the user within the window, and all but the first of commands sharing an id.
+     * Commands without id are always kept.
+     *
+     * @return the given list if no command was dropped
+     */
+    public List<UserProfileCommand> unseen(UserId userId, List<UserProfileCommand> commands) {
+        long bucket = currentBucket();
+        // allocated only once a command is dropped, or a second id has to be compared with the first
+        List<UserProfileCommand> unseenCommands = null;
+        Set<Long> hashesInBatch = null;
+        for (int i = 0; i < commands.size(); i++) {
+            var command = commands.get(i);
+            if (command.commandId() == null) {
+                if (unseenCommands != null) {
+                    unseenCommands.add(command);
+                }
+                continue;
+            }
+            long hash = hash(userId, command.commandId());
+            lookups.increment();
+            if (commands.size() > 1 && hashesInBatch == null) {
+                hashesInBatch = new HashSet<>();
+            }
+            if (shardOf(hash).contains(hash, bucket) || (hashesInBatch != null && !hashesInBatch.add(hash))) {
+                hits.increment();
+                if (unseenCommands == null) {
+                    unseenCommands = new ArrayList<>(commands.subList(0, i));
+                }
+            } else if (unseenCommands != null) {
+                unseenCommands.add(command);
+            }
+        }
+        return unseenCommands == null ? commands : unseenCommands;
+    }
+
+    /**
+     * Records the ids of the applied commands of the user.
+     */
+    public void record(UserId userId, List<UserProfileCommand> commands) {
+        long bucket = currentBucket();
+        for (var command : commands) {
+            if (command.commandId() != null) {
+                long hash = hash(userId, command.commandId());
+                if (!shardOf(hash).add(hash, bucket)) {
+                    overflows.increment();
+                }
+            }
+        }
+    }
+
+    public void registerMetrics(MetricRegistry metrics) {
+        metrics.register(MetricRegistry.name(getClass(), "lookups"), (Gauge<Long>) lookups::sum);
+        metrics.register(MetricRegistry.name(getClass(), "hits"), (Gauge<Long>) hits::sum);
+        metrics.register(MetricRegistry.name(getClass(), "hitRate"), (Gauge<Double>) this::hitRate);
+        metrics.register(MetricRegistry.name(getClass(), "overflows"), (Gauge<Long>) overflows::sum);
+        metrics.register(MetricRegistry.name(getClass(), "size"), (Gauge<Long>) this::size);
+        metrics.register(MetricRegistry.name(getClass(), "memoryBytes"), (Gauge<Long>) this::memoryBytes);
+    }
+
+    double hitRate() {
+        long lookupCount = lookups.sum();
+        return lookupCount == 0 ? 0 : (double) hits.sum() / lookupCount;
+    }
+
+    /**
+     * @return the number of ids remembered, including those of buckets which fell out of the window but were not reused yet
+     */
+    long size() {
+        long size = 0;
+        for (var shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    long memoryBytes() {
+        long bytes = 0;
+        for (var shard : shards) {
+            bytes += shard.memoryBytes();
+        }
+        return bytes;
+    }
+
+    private long currentBucket() {
+        return clock.millis() / bucketMillis;
+    }
+
+    private Shard shardOf(long hash) {
+        // the low bits pick the slot within a table
+        return shards[(int) Math.floorMod(hash >>> 32, (long) shards.length)];
+    }
+
+    /**
+     * FNV-1a over the characters of both ids, finished with the MurmurHash3 mixer so every input bit affects the low bits used for
+     * indexing. Zero marks an empty slot and is never returned.
+     */
+    static long hash(UserId userId, CommandId commandId) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, userId.toString());
+        // a separator, so "ab" + "c" and "a" + "bc" differ; it cannot occur in the ids
+        hash = (hash ^ ':') * FNV_PRIME;
+        hash = hash(hash, commandId.toString());
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static class Shard {
+        private final Bucket[] buckets;
+
+        private Shard(int bucketCount, int maxIdsPerBucket) {
+            buckets = new Bucket[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                buckets[i] = new Bucket(maxIdsPerBucket);
+            }
+        }
+
+        private synchronized boolean contains(long hash, long currentBucket) {
+            // newest bucket first, retries usually follow the original quickly
+            for (int age = 0; age < buckets.length; age++) {
+                var bucket = buckets[(int) Math.floorMod(currentBucket - age, (long) buckets.length)];
+                if (bucket.number == currentBucket - age && bucket.contains(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized boolean add(long hash, long currentBucket) {
+            var bucket = buckets[(int) Math.floorMod(currentBucket, (long) buckets.length)];
+            if (bucket.number != currentBucket) {
+                bucket.reset(currentBucket);
+            }
+            return bucket.add(hash);
+        }
+
+        private synchronized long size() {
+            long size = 0;
+            for (var bucket : buckets) {
+                size += bucket.size;
+            }
+            return size;
+        }
+
+        private synchronized long memoryBytes() {
+            long bytes = 0;
+            for (var bucket : buckets) {
+                bytes += (long) bucket.table.length * Long.BYTES;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Open-addressing hash set of non-zero longs with linear probing, kept at most half full.
+     */
+    private static class Bucket {
+        private final int maxSize;
+        private long number = -1;
+        private long[] table = new long[INITIAL_TABLE_LENGTH];
+        private int size;
+
+        private Bucket(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        private boolean contains(long hash) {
+            int mask = table.length - 1;
+            for (int slot = (int) hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                if (table[slot] == hash) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return false if the bucket is full and the hash was not added
+         */
+        private boolean add(long hash) {
+            if (contains(hash)) {
+                return true;
+            }
+            if (size == maxSize) {
+                return false;
+            }
+            if (2 * (size + 1) > table.length) {
+                grow();
+            }
+            insert(table, hash);
+            size++;
+            return true;
+        }
+
+        private void reset(long bucketNumber) {
+            number = bucketNumber;
+            // the previous table is released rather than cleared, so memory shrinks again after a burst
+            table = new long[INITIAL_TABLE_LENGTH];
+            size = 0;
+        }
+
+        private void grow() {
+            var grown = new long[table.length * 2];
+            for (long hash : table) {
+                if (hash != 0) {
+                    insert(grown, hash);
+                }
+            }
+            table = grown;
+        }
+
+        private static void insert(long[] table, long hash) {
+            int mask = table.length - 1;
+            int slot = (int) hash & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = hash;
+        }
+    }
+}
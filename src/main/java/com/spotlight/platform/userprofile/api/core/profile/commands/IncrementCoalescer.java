@@ -0,0 +1,247 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.spotlight.platform.userprofile.api.core.concurrent.ShardedExecutor;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.DoublePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.LongPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Merges the {@code increment} commands a user receives within a short window into one write. Increments commute, so the deltas of
+ * every property are summed and the sum is applied as a single command on the shard of the user once the window has passed, or as
+ * soon as the user has {@code maxCommandsPerUser} commands pending. The callers of all merged commands wait for that write.
+ *
+ * <p>Only increments by numbers without command id are merged: ids have to be recorded one by one, and other values may fail to add up
+ * where the single commands would not. If the merged write fails anyway, the commands are applied one by one, so only the callers of
+ * failing commands see the failure. Readers call {@link #awaitApplied(UserId)} first, so no read misses an increment which was
+ * accepted before it, and other commands of a user call {@link #flush(UserId)} first, so they are applied after the increments which
+ * arrived before them.
+ */
+public class IncrementCoalescer implements Managed {
+    private static final String TIMER_THREAD_NAME = "increment-coalescer";
+
+    private final ShardedExecutor commandShards;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxCommandsPerUser;
+    private final ScheduledExecutorService timer;
+    private final ConcurrentMap<UserId, PendingIncrements> pending = new ConcurrentHashMap<>();
+    // the latest write of every user which is submitted to its shard but not stored yet
+    private final ConcurrentMap<UserId, CompletableFuture<Void>> flushing = new ConcurrentHashMap<>();
+    private final Meter coalescedCommands = new Meter();
+    private final Meter writes = new Meter();
+    private final Meter readFlushes = new Meter();
+
+    public IncrementCoalescer(ShardedExecutor commandShards, Duration window, int maxCommandsPerUser) {
+        this(commandShards, true, window, maxCommandsPerUser);
+    }
+
+    private IncrementCoalescer(ShardedExecutor commandShards, boolean enabled, Duration window, int maxCommandsPerUser) {
+        this.commandShards = commandShards;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxCommandsPerUser = maxCommandsPerUser;
+        this.timer = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, TIMER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * @return a coalescer which accepts no commands, for when coalescing is turned off
+     */
+    public static IncrementCoalescer disabled() {
+        return new IncrementCoalescer(null, false, Duration.ZERO, 1);
+    }
+
+    /**
+     * @return whether the commands of a user can be merged with other increments
+     */
+    public boolean accepts(List<UserProfileCommand> commands) {
+        if (!enabled) {
+            return false;
+        }
+        for (var command : commands) {
+            if (command.type() != UserProfileCommandType.INCREMENT || command.commandId() != null) {
+                return false;
+            }
+            for (var delta : command.properties().values()) {
+                if (!(delta instanceof LongPropertyValue || delta instanceof DoublePropertyValue)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Buffers {@link #accepts(List) accepted} commands of a user until they are merged with the other increments of the window.
+     *
+     * @param applier applies commands of the user and returns the updated profile; it runs on the shard of the user
+     * @return the update of the user which includes the commands
+     */
+    public CompletableFuture<UserProfile> add(UserId userId, List<UserProfileCommand> commands,
+            Function<List<UserProfileCommand>, UserProfile> applier) {
+        var applied = new CompletableFuture<UserProfile>();
+        pending.compute(userId, (key, entry) -> {
+            if (entry == null) {
+                var newEntry = new PendingIncrements(userId, applier);
+                timer.schedule(() -> flush(userId, newEntry), windowNanos, TimeUnit.NANOSECONDS);
+                entry = newEntry;
+            }
+            entry.add(commands, applied);
+            if (entry.commandCount >= maxCommandsPerUser) {
+                submit(entry);
+                return null;
+            }
+            return entry;
+        });
+        coalescedCommands.mark(commands.size());
+        return applied;
+    }
+
+    /**
+     * Submits the pending increments of the user to its shard right away, without waiting for them to be stored.
+     */
+    public void flush(UserId userId) {
+        pending.computeIfPresent(userId, (key, entry) -> {
+            submit(entry);
+            return null;
+        });
+    }
+
+    /**
+     * Flushes the pending increments of the user and waits until they, and increments flushed before, are stored.
+     */
+    public void awaitApplied(UserId userId) {
+        flush(userId);
+        var write = flushing.get(userId);
+        if (write != null) {
+            readFlushes.mark();
+            write.join();
+        }
+    }
+
+    public void registerMetrics(MetricRegistry metrics) {
+        metrics.register(MetricRegistry.name(getClass(), "coalescedCommands"), coalescedCommands);
+        metrics.register(MetricRegistry.name(getClass(), "writes"), writes);
+        metrics.register(MetricRegistry.name(getClass(), "readFlushes"), readFlushes);
+        metrics.register(MetricRegistry.name(getClass(), "coalescingRatio"), new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(coalescedCommands.getCount(), writes.getCount());
+            }
+        });
+        metrics.register(MetricRegistry.name(getClass(), "pendingUsers"), (Gauge<Integer>) pending::size);
+    }
+
+    @Override
+    public void start() {
+    }
+
+    /**
+     * Submits all pending increments; the shards, which stop later, store them.
+     */
+    @Override
+    public void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        pending.keySet().forEach(this::flush);
+    }
+
+    private void flush(UserId userId, PendingIncrements expectedEntry) {
+        pending.computeIfPresent(userId, (key, entry) -> {
+            if (entry != expectedEntry) {
+                // flushed early, these increments arrived later and have a timer of their own
+                return entry;
+            }
+            submit(entry);
+            return null;
+        });
+    }
+
+    /**
+     * Called while the entry of the user is locked, so a reader finds either the pending increments or the write storing them.
+     */
+    private void submit(PendingIncrements entry) {
+        var write = commandShards.submit(entry.userId, entry::apply);
+        flushing.put(entry.userId, write);
+        write.whenComplete((ignored, e) -> flushing.remove(entry.userId, write));
+    }
+
+    private final class PendingIncrements {
+        private final UserId userId;
+        private final Function<List<UserProfileCommand>, UserProfile> applier;
+        private final List<List<UserProfileCommand>> groups = new ArrayList<>();
+        private final List<CompletableFuture<UserProfile>> callers = new ArrayList<>();
+        // null once a sum overflowed, the commands are applied one by one then
+        private Map<UserProfilePropertyName, UserProfilePropertyValue> deltas = new HashMap<>();
+        private int commandCount;
+
+        private PendingIncrements(UserId userId, Function<List<UserProfileCommand>, UserProfile> applier) {
+            this.userId = userId;
+            this.applier = applier;
+        }
+
+        private void add(List<UserProfileCommand> commands, CompletableFuture<UserProfile> caller) {
+            groups.add(commands);
+            callers.add(caller);
+            commandCount += commands.size();
+            if (deltas != null) {
+                try {
+                    commands.forEach(command -> command.properties().forEach((name, delta) -> deltas.merge(name, delta,
+                            UserProfilePropertyValue::add)));
+                } catch (ArithmeticException e) {
+                    deltas = null;
+                }
+            }
+        }
+
+        private Void apply() {
+            if (groups.size() > 1 && deltas != null) {
+                try {
+                    var updatedProfile = applier.apply(List.of(new UserProfileCommand(userId, UserProfileCommandType.INCREMENT, deltas)));
+                    writes.mark();
+                    callers.forEach(caller -> caller.complete(updatedProfile));
+                    return null;
+                } catch (RuntimeException e) {
+                    // some command cannot be applied, applying them one by one fails only its caller
+                }
+            }
+            for (int i = 0; i < groups.size(); i++) {
+                try {
+                    callers.get(i).complete(applier.apply(groups.get(i)));
+                    writes.mark();
+                } catch (RuntimeException e) {
+                    callers.get(i).completeExceptionally(e);
+                }
+            }
+            return null;
+        }
+    }
+}
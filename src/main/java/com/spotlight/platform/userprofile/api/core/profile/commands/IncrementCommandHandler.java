@@ -0,0 +1,20 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.Map;
+
+public class IncrementCommandHandler implements UserProfileCommandHandler {
+    @Override
+    public UserProfileCommandType getType() {
+        return UserProfileCommandType.INCREMENT;
+    }
+
+    @Override
+    public void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> properties,
+            Map<UserProfilePropertyName, UserProfilePropertyValue> commandProperties) {
+        commandProperties.forEach((name, delta) -> properties.merge(name, delta, UserProfilePropertyValue::add));
+    }
+}
@@ -0,0 +1,20 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.Map;
+
+public class ReplaceCommandHandler implements UserProfileCommandHandler {
+    @Override
+    public UserProfileCommandType getType() {
+        return UserProfileCommandType.REPLACE;
+    }
+
+    @Override
+    public void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> properties,
+            Map<UserProfilePropertyName, UserProfilePropertyValue> commandProperties) {
+        properties.putAll(commandProperties);
+    }
+}
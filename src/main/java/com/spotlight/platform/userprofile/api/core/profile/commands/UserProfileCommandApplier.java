@@ -0,0 +1,64 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.model.common.PersistentHashMap;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class UserProfileCommandApplier {
+    private final Map<UserProfileCommandType, UserProfileCommandHandler> handlers = new EnumMap<>(UserProfileCommandType.class);
+    private final Clock clock;
+
+    @Inject
+    public UserProfileCommandApplier(Set<UserProfileCommandHandler> handlers, Clock clock) {
+        handlers.forEach(handler -> this.handlers.put(handler.getType(), handler));
+        this.clock = clock;
+    }
+
+    public UserProfile apply(UserId userId, Optional<UserProfile> currentProfile, List<UserProfileCommand> commands) {
+        // the handlers change a view of the current properties, every change copies only the path to the changed property
+        var properties = new PersistentHashMap.Builder<>(PersistentHashMap.copyOf(
+                currentProfile.map(UserProfile::userProfileProperties).orElse(Map.of())));
+        commands.forEach(command -> apply(properties, command));
+        return new UserProfile(userId, nextUpdateTime(currentProfile), properties.build());
+    }
+
+    /**
+     * The latest update time is the version of a profile, cached serialized profiles and entity tags are keyed by it. It is the time
+     * of the clock, but always at least a microsecond after the one of the current profile, so that two writes within one tick of the
+     * clock, or a clock going back, never give two versions of a profile the same time.
+     */
+    private Instant nextUpdateTime(Optional<UserProfile> currentProfile) {
+        var now = clock.instant();
+        var previous = currentProfile.map(UserProfile::latestUpdateTime);
+        return previous.isPresent() && !now.isAfter(previous.get()) ? previous.get().plus(1, ChronoUnit.MICROS) : now;
+    }
+
+    private void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> properties, UserProfileCommand command) {
+        var handler = handlers.get(command.type());
+        if (handler == null) {
+            throw new InvalidCommandException("No handler registered for command type " + command.type().getValue(), null);
+        }
+        try {
+            handler.apply(properties, command.properties());
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            var message = "Command %s for user %s cannot be applied: %s".formatted(command.type().getValue(), command.userId(),
+                    e.getMessage());
+            throw new InvalidCommandException(message, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.Map;
+
+/**
+ * Applies the properties of a single command type onto a mutable copy of the profile properties. New command types are added by
+ * implementing this interface and registering the implementation in {@code CommandModule}.
+ */
+public interface UserProfileCommandHandler {
+    UserProfileCommandType getType();
+
+    void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> properties,
+            Map<UserProfilePropertyName, UserProfilePropertyValue> commandProperties);
+}
@@ -0,0 +1,164 @@
+package com.spotlight.platform.userprofile.api.core.profile.ingestion;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.spotlight.platform.userprofile.api.core.exceptions.ServiceUnavailableException;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandReceipt;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Accepts command batches for asynchronous application. A batch is only queued, so the request thread returns right away; a single
+ * dispatcher takes batches off the queue in order and submits each through {@link UserProfileService#applyAsync(List)}, which hands the
+ * commands of every user to the shard owning that user. The queue is bounded, and a batch which does not fit is rejected rather than
+ * waited for, so callers learn about the backlog instead of tying up request threads.
+ *
+ * <p>Shards apply the commands of a user in submission order, so the commands of a user are applied in the order their batches were
+ * queued, while up to a bounded number of batches is applied concurrently. Stopping the queue rejects new batches and applies those
+ * already accepted.
+ */
+public class CommandQueue implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandQueue.class);
+    private static final String DISPATCHER_THREAD_NAME = "command-queue";
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final UserProfileService userProfileService;
+    private final Clock clock;
+    private final int maxBatchesInFlight;
+    private final Semaphore batchesInFlight;
+    private final BlockingQueue<QueuedBatch> queue;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private Thread dispatcher;
+    private final Meter accepted = new Meter();
+    private final Meter rejected = new Meter();
+    private final Meter failed = new Meter();
+    private final Timer queueWait = new Timer();
+    private final Timer enqueueToApplied = new Timer();
+
+    public CommandQueue(UserProfileService userProfileService, Clock clock, int capacity, int maxBatchesInFlight) {
+        this.userProfileService = userProfileService;
+        this.clock = clock;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.batchesInFlight = new Semaphore(maxBatchesInFlight);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queues the batch without waiting for it to be applied.
+     *
+     * @throws ServiceUnavailableException if the queue is full or stopped
+     */
+    public CommandReceipt enqueue(List<UserProfileCommand> commands) {
+        var receipt = new CommandReceipt(UUID.randomUUID().toString(), commands.size(), clock.instant());
+        if (stopped.get()) {
+            rejected.mark();
+            throw new ServiceUnavailableException("Command queue is stopped");
+        }
+        if (!queue.offer(new QueuedBatch(receipt, commands, System.nanoTime()))) {
+            rejected.mark();
+            throw new ServiceUnavailableException("Command queue is full");
+        }
+        accepted.mark();
+        return receipt;
+    }
+
+    public void registerMetrics(MetricRegistry metrics) {
+        metrics.register(MetricRegistry.name(getClass(), "depth"), (Gauge<Integer>) queue::size);
+        metrics.register(MetricRegistry.name(getClass(), "accepted"), accepted);
+        metrics.register(MetricRegistry.name(getClass(), "rejected"), rejected);
+        metrics.register(MetricRegistry.name(getClass(), "failed"), failed);
+        metrics.register(MetricRegistry.name(getClass(), "queueWait"), queueWait);
+        metrics.register(MetricRegistry.name(getClass(), "enqueueToApplied"), enqueueToApplied);
+    }
+
+    @Override
+    public void start() {
+        dispatcher = new Thread(this::dispatchLoop, DISPATCHER_THREAD_NAME);
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        stopped.set(true);
+        if (dispatcher != null) {
+            dispatcher.join();
+        }
+        // a batch may have been queued after the dispatcher saw the queue empty
+        QueuedBatch batch;
+        while ((batch = queue.poll()) != null) {
+            batchesInFlight.acquire();
+            dispatch(batch);
+        }
+        batchesInFlight.acquire(maxBatchesInFlight);
+        batchesInFlight.release(maxBatchesInFlight);
+    }
+
+    /**
+     * Takes a batch only once fewer than the maximum number of batches are in flight, so a backlog stays in the bounded queue rather
+     * than piling up in the shards.
+     */
+    private void dispatchLoop() {
+        while (!stopped.get() || !queue.isEmpty()) {
+            batchesInFlight.acquireUninterruptibly();
+            QueuedBatch batch;
+            try {
+                batch = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                batchesInFlight.release();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == null) {
+                batchesInFlight.release();
+            } else {
+                dispatch(batch);
+            }
+        }
+    }
+
+    private void dispatch(QueuedBatch batch) {
+        queueWait.update(System.nanoTime() - batch.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        Collection<CompletableFuture<UserProfile>> pendingGroups;
+        try {
+            pendingGroups = userProfileService.applyAsync(batch.commands()).values();
+        } catch (RuntimeException e) {
+            completed(batch, e);
+            return;
+        }
+        CompletableFuture.allOf(pendingGroups.toArray(CompletableFuture[]::new)).whenComplete(
+                (ignored, failure) -> completed(batch, failure instanceof CompletionException ? failure.getCause() : failure));
+    }
+
+    private void completed(QueuedBatch batch, Throwable failure) {
+        if (failure != null) {
+            failed.mark();
+            LOGGER.warn("Commands of receipt {} could not be applied: {}", batch.receipt().receiptId(), failure.getMessage());
+        }
+        enqueueToApplied.update(System.nanoTime() - batch.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        batchesInFlight.release();
+    }
+
+    private record QueuedBatch(CommandReceipt receipt, List<UserProfileCommand> commands, long enqueuedNanos) {
+    }
+}
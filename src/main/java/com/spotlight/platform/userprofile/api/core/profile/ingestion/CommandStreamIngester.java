@@ -0,0 +1,268 @@
+package com.spotlight.platform.userprofile.api.core.profile.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.spotlight.platform.userprofile.api.core.json.InvalidAlphaNumericalStringException;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.model.configuration.IngestionConfiguration;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandIngestionSummary;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandLineError;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Applies newline-delimited JSON commands read from a stream, one command per line. Lines are parsed one at a time with the streaming
+ * parser of the JSON mapper and applied in chunks while reading continues. A line longer than the configured maximum is rejected and
+ * skipped without being buffered, so a single line cannot exhaust memory. Only a bounded number of chunks is applied at a time; when
+ * the apply stage falls behind, reading pauses, so memory stays bounded and the sender is slowed down by flow control.
+ *
+ * <p>A line which cannot be parsed or validated is skipped. The commands of a user within one chunk are applied atomically, so if they
+ * cannot be applied, all their lines are rejected.
+ */
+public class CommandStreamIngester {
+    private final ObjectMapper objectMapper;
+    private final ObjectReader commandReader;
+    private final Validator validator;
+    private final UserProfileService userProfileService;
+    private final IngestionConfiguration configuration;
+
+    public CommandStreamIngester(ObjectMapper objectMapper, Validator validator, UserProfileService userProfileService,
+            IngestionConfiguration configuration) {
+        this.objectMapper = objectMapper;
+        this.commandReader = objectMapper.readerFor(UserProfileCommand.class).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.validator = validator;
+        this.userProfileService = userProfileService;
+        this.configuration = configuration;
+    }
+
+    public CommandIngestionSummary ingest(InputStream input) throws IOException {
+        var progress = new Progress(configuration.getMaxReportedErrors());
+        Deque<Chunk> chunksInFlight = new ArrayDeque<>();
+        var chunk = new Chunk(configuration.getChunkSize());
+        var reader = new LineReader(input, (int) configuration.getMaxLineLength().toBytes());
+        long lineNumber = 0;
+        while (reader.next()) {
+            lineNumber++;
+            if (reader.isTooLong()) {
+                progress.reject(lineNumber, "line is longer than %d bytes".formatted(reader.maxLength()));
+                continue;
+            }
+            if (reader.isBlank()) {
+                continue;
+            }
+            var command = parse(reader, lineNumber, progress);
+            if (command == null) {
+                continue;
+            }
+            chunk.add(lineNumber, command);
+            if (chunk.isFull()) {
+                submit(chunk, chunksInFlight, progress);
+                chunk = new Chunk(configuration.getChunkSize());
+            }
+        }
+        if (!chunk.isEmpty()) {
+            submit(chunk, chunksInFlight, progress);
+        }
+        while (!chunksInFlight.isEmpty()) {
+            complete(chunksInFlight.poll(), progress);
+        }
+        return progress.summary(lineNumber);
+    }
+
+    private UserProfileCommand parse(LineReader line, long lineNumber, Progress progress) {
+        try (var parser = objectMapper.getFactory().createParser(line.buffer, 0, line.length)) {
+            UserProfileCommand command = commandReader.readValue(parser);
+            if (command == null) {
+                progress.reject(lineNumber, "command must not be null");
+                return null;
+            }
+            var violations = validator.validate(command);
+            if (!violations.isEmpty()) {
+                progress.reject(lineNumber, format(violations));
+                return null;
+            }
+            return command;
+        } catch (InvalidAlphaNumericalStringException e) {
+            progress.reject(lineNumber, String.join(", ", e.validationErrors()));
+        } catch (JsonProcessingException e) {
+            progress.reject(lineNumber, e.getOriginalMessage());
+        } catch (IOException e) {
+            progress.reject(lineNumber, e.getMessage());
+        }
+        return null;
+    }
+
+    private void submit(Chunk chunk, Deque<Chunk> chunksInFlight, Progress progress) {
+        if (chunksInFlight.size() == configuration.getMaxChunksInFlight()) {
+            complete(chunksInFlight.poll(), progress);
+        }
+        chunk.pendingUpdates = userProfileService.applyAsync(chunk.commands);
+        chunksInFlight.add(chunk);
+    }
+
+    private static void complete(Chunk chunk, Progress progress) {
+        long rejected = 0;
+        for (var pendingUpdate : chunk.pendingUpdates.entrySet()) {
+            try {
+                pendingUpdate.getValue().join();
+            } catch (CompletionException e) {
+                rejected += chunk.rejectUser(pendingUpdate.getKey(), e.getCause().getMessage(), progress);
+            }
+        }
+        progress.applied += chunk.commands.size() - rejected;
+    }
+
+    private static String format(Iterable<ConstraintViolation<UserProfileCommand>> violations) {
+        var messages = new ArrayList<String>();
+        violations.forEach(violation -> messages.add(violation.getPropertyPath() + " " + violation.getMessage()));
+        return messages.stream().sorted().collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Splits the stream into lines of UTF-8 bytes, so no line is decoded before it is parsed. A newline byte never occurs within a
+     * multibyte character. Of a line longer than the maximum only the bytes up to the maximum are kept.
+     */
+    private static class LineReader {
+        private final InputStream input;
+        private final byte[] buffer;
+        private final byte[] readAhead = new byte[8192];
+        private int readAheadPosition;
+        private int readAheadLimit;
+        private int length;
+        private boolean tooLong;
+
+        private LineReader(InputStream input, int maxLength) {
+            this.input = input;
+            this.buffer = new byte[maxLength];
+        }
+
+        /**
+         * Reads the next line, returns false at the end of the stream.
+         */
+        private boolean next() throws IOException {
+            length = 0;
+            tooLong = false;
+            boolean read = false;
+            while (readAheadPosition < readAheadLimit || fill()) {
+                read = true;
+                int start = readAheadPosition;
+                int end = start;
+                while (end < readAheadLimit && readAhead[end] != '\n') {
+                    end++;
+                }
+                readAheadPosition = end < readAheadLimit ? end + 1 : end;
+                append(start, end);
+                if (end < readAheadLimit) {
+                    return true;
+                }
+            }
+            return read;
+        }
+
+        private boolean fill() throws IOException {
+            readAheadPosition = 0;
+            readAheadLimit = Math.max(input.read(readAhead), 0);
+            return readAheadLimit > 0;
+        }
+
+        private void append(int start, int end) {
+            int count = Math.min(end - start, buffer.length - length);
+            System.arraycopy(readAhead, start, buffer, length, count);
+            length += count;
+            tooLong |= count < end - start;
+        }
+
+        private boolean isTooLong() {
+            return tooLong;
+        }
+
+        private boolean isBlank() {
+            for (int i = 0; i < length; i++) {
+                if (buffer[i] != ' ' && buffer[i] != '\t' && buffer[i] != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int maxLength() {
+            return buffer.length;
+        }
+    }
+
+    private static class Chunk {
+        private final List<UserProfileCommand> commands;
+        private final long[] lineNumbers;
+        private Map<UserId, CompletableFuture<UserProfile>> pendingUpdates;
+
+        private Chunk(int size) {
+            commands = new ArrayList<>(size);
+            lineNumbers = new long[size];
+        }
+
+        private void add(long lineNumber, UserProfileCommand command) {
+            lineNumbers[commands.size()] = lineNumber;
+            commands.add(command);
+        }
+
+        private boolean isFull() {
+            return commands.size() == lineNumbers.length;
+        }
+
+        private boolean isEmpty() {
+            return commands.isEmpty();
+        }
+
+        private long rejectUser(UserId userId, String error, Progress progress) {
+            long rejected = 0;
+            for (int i = 0; i < commands.size(); i++) {
+                if (commands.get(i).userId().equals(userId)) {
+                    progress.reject(lineNumbers[i], error);
+                    rejected++;
+                }
+            }
+            return rejected;
+        }
+    }
+
+    private static class Progress {
+        private final int maxReportedErrors;
+        private final List<CommandLineError> errors = new ArrayList<>();
+        private long applied;
+        private long rejected;
+
+        private Progress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(long lineNumber, String error) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new CommandLineError(lineNumber, error));
+            }
+        }
+
+        private CommandIngestionSummary summary(long lines) {
+            // lines rejected while applying are reported after lines read later, restore the line order
+            errors.sort(Comparator.comparingLong(CommandLineError::line));
+            return new CommandIngestionSummary(lines, applied, rejected, List.copyOf(errors));
+        }
+    }
+}
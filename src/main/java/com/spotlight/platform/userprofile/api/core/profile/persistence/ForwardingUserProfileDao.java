@@ -0,0 +1,63 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Base of the DAOs which decorate another one. Every call is forwarded to the delegate, which is also started and stopped with the
+ * decorator if it is managed, so subclasses only override the calls they add behaviour to.
+ */
+public abstract class ForwardingUserProfileDao implements UserProfileDao, Managed {
+    protected final UserProfileDao delegate;
+
+    protected ForwardingUserProfileDao(UserProfileDao delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        return delegate.get(userId);
+    }
+
+    @Override
+    public Map<UserId, UserProfile> getAll(Collection<UserId> userIds) {
+        return delegate.getAll(userIds);
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        delegate.put(userProfile);
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        return delegate.update(userId, updater);
+    }
+
+    @Override
+    public void forEach(Consumer<UserProfile> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public void start() throws Exception {
+        if (delegate instanceof Managed managedDelegate) {
+            managedDelegate.start();
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (delegate instanceof Managed managedDelegate) {
+            managedDelegate.stop();
+        }
+    }
+}
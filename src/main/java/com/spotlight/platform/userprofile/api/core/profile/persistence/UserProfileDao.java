@@ -3,10 +3,38 @@ package com.spotlight.platform.userprofile.api.core.profile.persistence;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public interface UserProfileDao {
     Optional<UserProfile> get(UserId userId);
 
+    /**
+     * Looks up several users at once. Backends override it when they can serve a batch more efficiently than one lookup per user.
+     *
+     * @return the profiles of those users who have one
+     */
+    default Map<UserId, UserProfile> getAll(Collection<UserId> userIds) {
+        Map<UserId, UserProfile> userProfiles = new HashMap<>();
+        userIds.forEach(userId -> get(userId).ifPresent(userProfile -> userProfiles.put(userId, userProfile)));
+        return userProfiles;
+    }
+
     void put(UserProfile userProfile);
+
+    /**
+     * Atomically replaces the profile of the user with the result of the updater, which receives the current profile or empty if the user
+     * has none yet. Concurrent updates of the same user are serialized, so no update is lost. The updater must be fast and must not access
+     * this DAO.
+     */
+    UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater);
+
+    /**
+     * Passes every stored profile to the action. Profiles written concurrently may or may not be visited.
+     */
+    void forEach(Consumer<UserProfile> action);
 }
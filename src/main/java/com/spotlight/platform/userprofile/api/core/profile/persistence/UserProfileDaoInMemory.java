@@ -3,12 +3,13 @@ package com.spotlight.platform.userprofile.api.core.profile.persistence;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class UserProfileDaoInMemory implements UserProfileDao {
-    private final Map<UserId, UserProfile> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UserId, UserProfile> storage = new ConcurrentHashMap<>();
 
     @Override
     public Optional<UserProfile> get(UserId userId) {
@@ -19,4 +20,15 @@ public class UserProfileDaoInMemory implements UserProfileDao {
     public void put(UserProfile userProfile) {
         storage.put(userProfile.userId(), userProfile);
     }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        // compute only locks the hash bin of the user, so updates of different users do not contend
+        return storage.compute(userId, (id, currentProfile) -> updater.apply(Optional.ofNullable(currentProfile)));
+    }
+
+    @Override
+    public void forEach(Consumer<UserProfile> action) {
+        storage.values().forEach(action);
+    }
 }
@@ -0,0 +1,188 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.model.common.PersistentHashMap;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.DoublePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.LongPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringListPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a {@link UserProfile}. Lengths and counters are written as variable length integers, so small profiles take
+ * a few dozen bytes. Values without a specialized representation are embedded as JSON.
+ */
+public class UserProfileBinaryCodec {
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_DOUBLE = 2;
+    private static final byte TYPE_STRING = 3;
+    private static final byte TYPE_STRING_LIST = 4;
+    private static final byte TYPE_JSON = 5;
+
+    private static final byte NO_UPDATE_TIME = 0;
+    private static final byte HAS_UPDATE_TIME = 1;
+
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public UserProfileBinaryCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(UserProfile userProfile) {
+        var output = new ByteArrayOutputStream(64);
+        writeString(output, userProfile.userId().toString());
+        if (userProfile.latestUpdateTime() == null) {
+            output.write(NO_UPDATE_TIME);
+        } else {
+            output.write(HAS_UPDATE_TIME);
+            writeVarLong(output, zigZag(userProfile.latestUpdateTime().getEpochSecond()));
+            writeVarLong(output, userProfile.latestUpdateTime().getNano());
+        }
+        var properties = userProfile.userProfileProperties() == null ? Map.<UserProfilePropertyName, UserProfilePropertyValue>of()
+                : userProfile.userProfileProperties();
+        writeVarLong(output, properties.size());
+        properties.forEach((name, value) -> {
+            writeString(output, name.toString());
+            writeValue(output, value);
+        });
+        return output.toByteArray();
+    }
+
+    public UserProfile decode(byte[] encoded) {
+        return decode(ByteBuffer.wrap(encoded));
+    }
+
+    /**
+     * Decodes a profile starting at the current position of the buffer and leaves the position after its last byte.
+     */
+    public UserProfile decode(ByteBuffer input) {
+        var userId = UserId.valueOf(readString(input));
+        Instant latestUpdateTime = null;
+        if (input.get() == HAS_UPDATE_TIME) {
+            latestUpdateTime = Instant.ofEpochSecond(unZigZag(readVarLong(input)), readVarLong(input));
+        }
+        int propertyCount = (int) readVarLong(input);
+        var properties = new PersistentHashMap.Builder<UserProfilePropertyName, UserProfilePropertyValue>(PersistentHashMap.empty());
+        for (int i = 0; i < propertyCount; i++) {
+            properties.put(UserProfilePropertyName.valueOf(readString(input)), readValue(input));
+        }
+        return new UserProfile(userId, latestUpdateTime, properties.build());
+    }
+
+    private void writeValue(ByteArrayOutputStream output, UserProfilePropertyValue value) {
+        if (value instanceof LongPropertyValue longValue) {
+            output.write(TYPE_LONG);
+            writeVarLong(output, zigZag(longValue.longValue()));
+        } else if (value instanceof DoublePropertyValue doubleValue) {
+            output.write(TYPE_DOUBLE);
+            output.writeBytes(ByteBuffer.allocate(Double.BYTES).putDouble(doubleValue.doubleValue()).array());
+        } else if (value instanceof StringPropertyValue stringValue) {
+            output.write(TYPE_STRING);
+            writeString(output, stringValue.stringValue());
+        } else if (value instanceof StringListPropertyValue stringListValue) {
+            output.write(TYPE_STRING_LIST);
+            writeVarLong(output, stringListValue.values().size());
+            stringListValue.values().forEach(element -> writeString(output, element));
+        } else {
+            output.write(TYPE_JSON);
+            writeBytes(output, toJson(value));
+        }
+    }
+
+    private UserProfilePropertyValue readValue(ByteBuffer input) {
+        byte type = input.get();
+        return switch (type) {
+            case TYPE_LONG -> LongPropertyValue.of(unZigZag(readVarLong(input)));
+            case TYPE_DOUBLE -> DoublePropertyValue.of(input.getDouble());
+            case TYPE_STRING -> UserProfilePropertyValue.valueOf(readString(input));
+            case TYPE_STRING_LIST -> {
+                int size = (int) readVarLong(input);
+                List<String> elements = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    elements.add(readString(input));
+                }
+                yield UserProfilePropertyValue.valueOf(elements);
+            }
+            case TYPE_JSON -> fromJson(readBytes(input));
+            default -> throw new IllegalStateException("Unknown property value type " + type);
+        };
+    }
+
+    private byte[] toJson(UserProfilePropertyValue value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private UserProfilePropertyValue fromJson(byte[] json) {
+        try {
+            return objectMapper.readValue(json, UserProfilePropertyValue.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream output, String value) {
+        writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(ByteBuffer input) {
+        return new String(readBytes(input), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream output, byte[] bytes) {
+        writeVarLong(output, bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer input) {
+        var bytes = new byte[(int) readVarLong(input)];
+        input.get(bytes);
+        return bytes;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer input) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.get();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Profiles as they were serialized for responses, per user and format, so that a profile read many times between writes is serialized
+ * once. Every entry belongs to one version of the profile, its latest update time, which every write of the user advances; a lookup
+ * for another version misses, so a reader never gets the bytes of a version other than the one it read, even if it races with a
+ * write. Writes invalidate the entry of the user as well, which frees its bytes right away rather than when it is evicted.
+ *
+ * <p>The cache is bounded by the number of bytes it holds and evicts with Caffeine's W-TinyLFU policy, like
+ * {@link UserProfileDaoCaching}.
+ */
+public class SerializedProfileCache {
+    private static final int ENTRY_BYTES = 128;
+
+    private final Cache<UserId, SerializedProfile> cache;
+    private final Meter hits = new Meter();
+    private final Meter misses = new Meter();
+
+    public SerializedProfileCache(long maximumBytes) {
+        this(maximumBytes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param maintenanceExecutor runs evictions and other maintenance; tests pass the calling thread to make eviction deterministic
+     */
+    SerializedProfileCache(long maximumBytes, Executor maintenanceExecutor) {
+        this.cache = Caffeine.newBuilder()
+                .executor(maintenanceExecutor)
+                .maximumWeight(maximumBytes)
+                .weigher((UserId userId, SerializedProfile serializedProfile) -> serializedProfile.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param format the media type the profile is serialized in
+     * @return the serialized profile, or null if this version of the profile has not been serialized in the format
+     */
+    public byte[] get(UserProfile userProfile, String format) {
+        var serializedProfile = cache.getIfPresent(userProfile.userId());
+        var bytes = serializedProfile != null && serializedProfile.version().equals(userProfile.latestUpdateTime())
+                ? serializedProfile.formats().get(format) : null;
+        (bytes != null ? hits : misses).mark();
+        return bytes;
+    }
+
+    public void put(UserProfile userProfile, String format, byte[] bytes) {
+        var version = userProfile.latestUpdateTime();
+        cache.asMap().compute(userProfile.userId(), (userId, serializedProfile) -> {
+            if (serializedProfile == null || serializedProfile.version().isBefore(version)) {
+                return new SerializedProfile(version, Map.of(format, bytes));
+            }
+            // a newer version is cached already, the profile was written since it was read
+            return serializedProfile.version().equals(version) ? serializedProfile.with(format, bytes) : serializedProfile;
+        });
+    }
+
+    public void invalidate(UserId userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Runs pending maintenance, such as evictions, which otherwise happens asynchronously.
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    public void registerMetrics(MetricRegistry metrics) {
+        metrics.register(MetricRegistry.name(getClass(), "hits"), hits);
+        metrics.register(MetricRegistry.name(getClass(), "misses"), misses);
+        metrics.register(MetricRegistry.name(getClass(), "hitRatio"), new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(hits.getCount(), hits.getCount() + misses.getCount());
+            }
+        });
+        metrics.register(MetricRegistry.name(getClass(), "evictions"), (Gauge<Long>) () -> cache.stats().evictionCount());
+        metrics.register(MetricRegistry.name(getClass(), "size"), (Gauge<Long>) cache::estimatedSize);
+        metrics.register(MetricRegistry.name(getClass(), "bytes"),
+                (Gauge<Long>) () -> cache.policy().eviction().orElseThrow().weightedSize().orElse(0));
+    }
+
+    private record SerializedProfile(Instant version, Map<String, byte[]> formats) {
+        SerializedProfile with(String format, byte[] bytes) {
+            Map<String, byte[]> extendedFormats = new HashMap<>(formats);
+            extendedFormats.put(format, bytes);
+            return new SerializedProfile(version, Map.copyOf(extendedFormats));
+        }
+
+        int weight() {
+            long bytes = ENTRY_BYTES;
+            for (var serialized : formats.values()) {
+                bytes += serialized.length;
+            }
+            return (int) Math.min(bytes, Integer.MAX_VALUE);
+        }
+    }
+}
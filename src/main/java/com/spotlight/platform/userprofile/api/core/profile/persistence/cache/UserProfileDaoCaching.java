@@ -0,0 +1,115 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.ForwardingUserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.configuration.CacheBound;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Read-through, write-through cache in front of another DAO. Eviction uses Caffeine's W-TinyLFU policy: a small window admits new
+ * profiles, and a profile only replaces one in the main space if it was accessed more frequently, so a scan over many users does not
+ * flush the users that are read all the time.
+ *
+ * <p>Concurrent misses for the same user load it from the delegate once and share the result. Writes go to the delegate first and then
+ * replace the cache entry, so no cache lock is held while the delegate writes; callers must not write the same user concurrently,
+ * which the command shards of {@code UserProfileService} guarantee, or the cache may keep the earlier of two racing writes. Users the
+ * delegate does not know are cached as well.
+ */
+public class UserProfileDaoCaching extends ForwardingUserProfileDao {
+    private final LoadingCache<UserId, Optional<UserProfile>> cache;
+
+    public UserProfileDaoCaching(UserProfileDao delegate, CacheBound bound, long maximum) {
+        this(delegate, bound, maximum, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param maintenanceExecutor runs evictions and other maintenance; tests pass the calling thread to make eviction deterministic
+     */
+    UserProfileDaoCaching(UserProfileDao delegate, CacheBound bound, long maximum, Executor maintenanceExecutor) {
+        super(delegate);
+        var builder = Caffeine.newBuilder().executor(maintenanceExecutor).recordStats();
+        if (bound == CacheBound.BYTES) {
+            builder.maximumWeight(maximum).weigher(new UserProfileWeigher());
+        } else {
+            builder.maximumSize(maximum);
+        }
+        this.cache = builder.build(new DelegateLoader());
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        return cache.get(userId);
+    }
+
+    /**
+     * Serves cached users from the cache and loads all missing users with a single batch lookup of the delegate.
+     */
+    @Override
+    public Map<UserId, UserProfile> getAll(Collection<UserId> userIds) {
+        Map<UserId, UserProfile> userProfiles = new HashMap<>();
+        cache.getAll(userIds).forEach((userId, userProfile) -> userProfile.ifPresent(profile -> userProfiles.put(userId, profile)));
+        return userProfiles;
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        delegate.put(userProfile);
+        cache.put(userProfile.userId(), Optional.of(userProfile));
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        var updatedProfile = delegate.update(userId, updater);
+        cache.put(userId, Optional.of(updatedProfile));
+        return updatedProfile;
+    }
+
+    public void registerMetrics(MetricRegistry metrics) {
+        metrics.register(MetricRegistry.name(getClass(), "hits"), (Gauge<Long>) () -> cache.stats().hitCount());
+        metrics.register(MetricRegistry.name(getClass(), "misses"), (Gauge<Long>) () -> cache.stats().missCount());
+        metrics.register(MetricRegistry.name(getClass(), "hitRate"), (Gauge<Double>) () -> cache.stats().hitRate());
+        metrics.register(MetricRegistry.name(getClass(), "evictions"), (Gauge<Long>) () -> cache.stats().evictionCount());
+        metrics.register(MetricRegistry.name(getClass(), "size"), (Gauge<Long>) cache::estimatedSize);
+    }
+
+    /**
+     * Runs pending maintenance, such as evictions, which otherwise happens asynchronously.
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private class DelegateLoader implements CacheLoader<UserId, Optional<UserProfile>> {
+        @Override
+        public Optional<UserProfile> load(UserId userId) {
+            return delegate.get(userId);
+        }
+
+        @Override
+        public Map<UserId, Optional<UserProfile>> loadAll(Iterable<? extends UserId> userIds) {
+            List<UserId> missingUserIds = new ArrayList<>();
+            userIds.forEach(missingUserIds::add);
+            var loadedProfiles = delegate.getAll(missingUserIds);
+            // users the delegate does not know are cached as absent, like single lookups do
+            Map<UserId, Optional<UserProfile>> result = new HashMap<>();
+            missingUserIds.forEach(userId -> result.put(userId, Optional.ofNullable(loadedProfiles.get(userId))));
+            return result;
+        }
+    }
+}
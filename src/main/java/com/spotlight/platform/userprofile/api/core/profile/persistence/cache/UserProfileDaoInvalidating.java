@@ -0,0 +1,34 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.ForwardingUserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Drops the serialized profile of a user from the {@link SerializedProfileCache} whenever the user is written.
+ */
+public class UserProfileDaoInvalidating extends ForwardingUserProfileDao {
+    private final SerializedProfileCache serializedProfileCache;
+
+    public UserProfileDaoInvalidating(UserProfileDao delegate, SerializedProfileCache serializedProfileCache) {
+        super(delegate);
+        this.serializedProfileCache = serializedProfileCache;
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        delegate.put(userProfile);
+        serializedProfileCache.invalidate(userProfile.userId());
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        var updatedProfile = delegate.update(userId, updater);
+        serializedProfileCache.invalidate(userId);
+        return updatedProfile;
+    }
+}
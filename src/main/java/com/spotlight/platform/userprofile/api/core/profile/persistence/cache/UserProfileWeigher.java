@@ -0,0 +1,60 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.DoublePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.LongPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringListPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.Optional;
+
+/**
+ * Estimates the heap size of a cached profile from the shape of its properties. Property names are interned and shared between
+ * profiles, so only the map entry referencing them is counted. The estimate is meant for bounding the cache, not for exact accounting.
+ */
+public class UserProfileWeigher implements Weigher<UserId, Optional<UserProfile>> {
+    private static final int ENTRY_BYTES = 64;
+    private static final int PROFILE_BYTES = 96;
+    private static final int MAP_ENTRY_BYTES = 40;
+    private static final int NUMBER_BYTES = 16;
+    private static final int STRING_BYTES = 40;
+    private static final int LIST_BYTES = 32;
+    private static final int OBJECT_BYTES = 128;
+
+    @Override
+    public int weigh(UserId userId, Optional<UserProfile> userProfile) {
+        long weight = ENTRY_BYTES + stringBytes(userId.toString()) + userProfile.map(UserProfileWeigher::estimateBytes).orElse(0L);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    static long estimateBytes(UserProfile userProfile) {
+        long bytes = PROFILE_BYTES;
+        if (userProfile.userProfileProperties() != null) {
+            for (var value : userProfile.userProfileProperties().values()) {
+                bytes += MAP_ENTRY_BYTES + estimateBytes(value);
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(UserProfilePropertyValue value) {
+        if (value instanceof LongPropertyValue || value instanceof DoublePropertyValue) {
+            return NUMBER_BYTES;
+        }
+        if (value instanceof StringPropertyValue stringValue) {
+            return stringBytes(stringValue.stringValue());
+        }
+        if (value instanceof StringListPropertyValue stringListValue) {
+            // the list keeps the total length of its values, so weighing it does not depend on its length
+            return LIST_BYTES + (long) stringListValue.values().size() * (Integer.BYTES + STRING_BYTES) + stringListValue.characterCount();
+        }
+        return OBJECT_BYTES;
+    }
+
+    private static long stringBytes(String value) {
+        return STRING_BYTES + value.length();
+    }
+}
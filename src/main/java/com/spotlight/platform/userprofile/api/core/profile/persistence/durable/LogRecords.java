@@ -0,0 +1,60 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Framing shared by log segments and snapshots: every record is preceded by its length and a CRC32C checksum of its bytes.
+ */
+final class LogRecords {
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    // guards against allocating a huge array for the garbage length of a torn record
+    private static final int MAX_RECORD_BYTES = 1 << 30;
+
+    private LogRecords() {
+    }
+
+    static ByteBuffer frame(byte[] record) {
+        return ByteBuffer.allocate(HEADER_BYTES + record.length).putInt(record.length).putInt(checksum(record)).put(record).flip();
+    }
+
+    /**
+     * Passes every record of the stream to the consumer.
+     *
+     * @return true if the stream ended after a complete record, false if reading stopped at a truncated or corrupt record
+     */
+    static boolean readAll(DataInputStream input, Consumer<byte[]> consumer) throws IOException {
+        while (true) {
+            int length;
+            try {
+                length = input.readInt();
+            } catch (EOFException e) {
+                return true;
+            }
+            try {
+                int checksum = input.readInt();
+                if (length < 0 || length > MAX_RECORD_BYTES) {
+                    return false;
+                }
+                var record = new byte[length];
+                input.readFully(record);
+                if (checksum(record) != checksum) {
+                    return false;
+                }
+                consumer.accept(record);
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+    }
+
+    static int checksum(byte[] record) {
+        var crc = new CRC32C();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+}
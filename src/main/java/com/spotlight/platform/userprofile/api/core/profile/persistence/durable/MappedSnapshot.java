@@ -0,0 +1,148 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of a snapshot file mapped into memory. Opening it only validates the header, so a snapshot of any size is available
+ * immediately; a profile is decoded when it is looked up, by a binary search over the hash index at the end of the file. The file is
+ * mapped in regions, because a single mapping is limited to 2 GiB.
+ */
+public class MappedSnapshot {
+    static final int DEFAULT_REGION_BYTES = 1 << 30;
+
+    private final UserProfileBinaryCodec codec;
+    private final MappedByteBuffer[] regions;
+    private final int regionBytes;
+    private final long profileCount;
+    private final long indexOffset;
+
+    MappedSnapshot(Path file, UserProfileBinaryCodec codec, int regionBytes) throws IOException {
+        this.codec = codec;
+        this.regionBytes = regionBytes;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            regions = new MappedByteBuffer[(int) ((size + regionBytes - 1) / regionBytes)];
+            for (int i = 0; i < regions.length; i++) {
+                long position = (long) i * regionBytes;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionBytes, size - position));
+            }
+            if (size < SnapshotFormat.HEADER_BYTES || getInt(0) != SnapshotFormat.MAGIC
+                    || getInt(Integer.BYTES) != SnapshotFormat.VERSION) {
+                throw new IllegalStateException("Unsupported snapshot format: " + file);
+            }
+            profileCount = getLong(SnapshotFormat.PROFILE_COUNT_OFFSET);
+            indexOffset = getLong(SnapshotFormat.INDEX_OFFSET_OFFSET);
+            if (indexOffset + profileCount * SnapshotFormat.INDEX_ENTRY_BYTES != size) {
+                throw new IllegalStateException("Corrupt snapshot: " + file);
+            }
+        }
+    }
+
+    public static MappedSnapshot open(Path file, UserProfileBinaryCodec codec) throws IOException {
+        return new MappedSnapshot(file, codec, DEFAULT_REGION_BYTES);
+    }
+
+    public long size() {
+        return profileCount;
+    }
+
+    public Optional<UserProfile> get(UserId userId) {
+        int hash = SnapshotFormat.hash(userId);
+        for (long entry = firstEntryWithHash(hash); entry < profileCount && entryHash(entry) == hash; entry++) {
+            var profile = readProfile(entryOffset(entry));
+            if (profile.userId().equals(userId)) {
+                return Optional.of(profile);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Decodes every profile of the snapshot in file order.
+     */
+    public void forEach(Consumer<UserProfile> action) {
+        long offset = SnapshotFormat.HEADER_BYTES;
+        while (offset < indexOffset) {
+            action.accept(readProfile(offset));
+            offset += LogRecords.HEADER_BYTES + getInt(offset);
+        }
+    }
+
+    private long firstEntryWithHash(int hash) {
+        long low = 0;
+        long high = profileCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (entryHash(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int entryHash(long entry) {
+        return getInt(indexOffset + entry * SnapshotFormat.INDEX_ENTRY_BYTES);
+    }
+
+    private long entryOffset(long entry) {
+        return getLong(indexOffset + entry * SnapshotFormat.INDEX_ENTRY_BYTES + Integer.BYTES);
+    }
+
+    private UserProfile readProfile(long offset) {
+        var record = new byte[getInt(offset)];
+        read(offset + LogRecords.HEADER_BYTES, record);
+        if (LogRecords.checksum(record) != getInt(offset + Integer.BYTES)) {
+            throw new IllegalStateException("Corrupt snapshot record at offset " + offset);
+        }
+        return codec.decode(record);
+    }
+
+    private int getInt(long position) {
+        int region = (int) (position / regionBytes);
+        int offset = (int) (position % regionBytes);
+        if (offset + Integer.BYTES <= regions[region].limit()) {
+            return regions[region].getInt(offset);
+        }
+        var bytes = new byte[Integer.BYTES];
+        read(position, bytes);
+        return ByteBuffer.wrap(bytes).getInt();
+    }
+
+    private long getLong(long position) {
+        int region = (int) (position / regionBytes);
+        int offset = (int) (position % regionBytes);
+        if (offset + Long.BYTES <= regions[region].limit()) {
+            return regions[region].getLong(offset);
+        }
+        var bytes = new byte[Long.BYTES];
+        read(position, bytes);
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * Copies bytes starting at the absolute file position, which may span several regions.
+     */
+    private void read(long position, byte[] destination) {
+        int copied = 0;
+        while (copied < destination.length) {
+            int region = (int) ((position + copied) / regionBytes);
+            int offset = (int) ((position + copied) % regionBytes);
+            int length = Math.min(destination.length - copied, regions[region].limit() - offset);
+            regions[region].get(offset, destination, copied, length);
+            copied += length;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+/**
+ * Layout of a snapshot file:
+ * <pre>
+ * header   magic (int), version (int), profile count (long), index offset (long)
+ * records  one framed {@link LogRecords record} per profile
+ * index    one entry per profile sorted by hash: user id hash (int), record offset (long)
+ * </pre>
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x55505346;
+    static final int VERSION = 2;
+    static final int PROFILE_COUNT_OFFSET = 2 * Integer.BYTES;
+    static final int INDEX_OFFSET_OFFSET = PROFILE_COUNT_OFFSET + Long.BYTES;
+    static final int HEADER_BYTES = INDEX_OFFSET_OFFSET + Long.BYTES;
+    static final int INDEX_ENTRY_BYTES = Integer.BYTES + Long.BYTES;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * Hash of the user id that stays the same across JVM runs.
+     */
+    static int hash(UserId userId) {
+        return userId.toString().hashCode();
+    }
+}
@@ -0,0 +1,177 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot files holding every profile of a DAO in the {@link SnapshotFormat binary snapshot format}. A snapshot is named after the
+ * first log segment it does not cover, so recovery opens the latest snapshot and replays the log from that segment on. Snapshots are
+ * written to a temporary file and renamed once complete, so a crash never leaves a partial snapshot behind.
+ */
+public class SnapshotStore {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final UserProfileBinaryCodec codec;
+
+    public SnapshotStore(Path directory, UserProfileBinaryCodec codec) {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    public OptionalLong latestSequence() throws IOException {
+        var sequences = snapshotSequences();
+        return sequences.isEmpty() ? OptionalLong.empty() : OptionalLong.of(sequences.get(sequences.size() - 1));
+    }
+
+    /**
+     * Maps the snapshot with the given sequence; profiles are decoded on access.
+     */
+    public MappedSnapshot open(long sequence) throws IOException {
+        return MappedSnapshot.open(snapshotPath(sequence), codec);
+    }
+
+    /**
+     * Decodes every profile of the snapshot with the given sequence.
+     */
+    public void load(long sequence, Consumer<UserProfile> consumer) throws IOException {
+        open(sequence).forEach(consumer);
+    }
+
+    /**
+     * Writes every profile of the DAO into the snapshot with the given sequence and syncs it to disk.
+     */
+    public void write(long sequence, UserProfileDao contents) throws IOException {
+        Files.createDirectories(directory);
+        var target = snapshotPath(sequence);
+        var temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            var output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_BYTES));
+            output.write(new byte[SnapshotFormat.HEADER_BYTES]);
+            var index = new IndexBuilder();
+            contents.forEach(profile -> index.add(profile.userId(), write(output, codec.encode(profile))));
+            long indexOffset = index.nextOffset();
+            index.writeTo(output);
+            output.flush();
+            var header = ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES)
+                    .putInt(SnapshotFormat.MAGIC)
+                    .putInt(SnapshotFormat.VERSION)
+                    .putLong(index.size())
+                    .putLong(indexOffset)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(false);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+    }
+
+    public void deleteBefore(long sequence) throws IOException {
+        for (long existing : snapshotSequences()) {
+            if (existing < sequence) {
+                Files.deleteIfExists(snapshotPath(existing));
+            }
+        }
+    }
+
+    private List<Long> snapshotSequences() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void syncDirectory() {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not every platform can sync a directory; the rename is still atomic
+        }
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    private static int write(DataOutputStream output, byte[] record) {
+        var framed = LogRecords.frame(record).array();
+        try {
+            output.write(framed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return framed.length;
+    }
+
+    private Path snapshotPath(long sequence) {
+        return directory.resolve(SNAPSHOT_PREFIX + "%020d".formatted(sequence) + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Collects the index entries while records are written, starting right after the header, and sorts them by hash. An entry is kept
+     * as its hash in the upper and its position in the lower half of a long, so sorting a primitive array orders the entries.
+     */
+    private static class IndexBuilder {
+        private long[] entries = new long[1024];
+        private long[] offsets = new long[1024];
+        private int size;
+        private long nextOffset = SnapshotFormat.HEADER_BYTES;
+
+        private void add(UserId userId, int recordBytes) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            entries[size] = ((long) SnapshotFormat.hash(userId) << Integer.SIZE) | size;
+            offsets[size] = nextOffset;
+            nextOffset += recordBytes;
+            size++;
+        }
+
+        private long nextOffset() {
+            return nextOffset;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void writeTo(DataOutputStream output) throws IOException {
+            Arrays.sort(entries, 0, size);
+            for (int i = 0; i < size; i++) {
+                output.writeInt((int) (entries[i] >> Integer.SIZE));
+                output.writeLong(offsets[(int) entries[i]]);
+            }
+        }
+    }
+}
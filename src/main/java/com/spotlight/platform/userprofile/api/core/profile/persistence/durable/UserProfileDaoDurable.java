@@ -0,0 +1,202 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.ForwardingUserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Makes another DAO durable. Every write appends the resulting profile to a {@link WriteAheadLog} once the delegate stored it, so a
+ * write the delegate rejects is never replayed, and returns once the log committed it. Writes of a user hold one of a fixed set of
+ * striped locks until their record is appended, so the log holds them in the order they were applied. Snapshots taken periodically let
+ * the log be truncated.
+ *
+ * <p>On start the latest snapshot is memory-mapped rather than loaded and the log written after it is replayed into the delegate, so
+ * startup time depends on the length of the log only. Profiles the delegate does not hold yet are decoded from the mapped snapshot on
+ * first access and then kept by the delegate.
+ *
+ * <p>A written profile is visible to readers of the delegate slightly before it is committed to the log.
+ */
+public class UserProfileDaoDurable extends ForwardingUserProfileDao {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserProfileDaoDurable.class);
+    private static final int LOCK_STRIPES = 64;
+
+    private final UserProfileBinaryCodec codec;
+    private final WriteAheadLog log;
+    private final SnapshotStore snapshots;
+    private final Duration snapshotInterval;
+    // writes share the lock from storing the profile in the delegate until appending it to the log; rolling the log takes it
+    // exclusively, so every record in a segment older than a snapshot is contained in the snapshot
+    private final ReadWriteLock rollLock = new ReentrantReadWriteLock();
+    private final Lock[] writeLocks = new Lock[LOCK_STRIPES];
+    private MappedSnapshot recoveredSnapshot;
+    private ScheduledExecutorService snapshotExecutor;
+
+    public UserProfileDaoDurable(UserProfileDao delegate, UserProfileBinaryCodec codec, WriteAheadLog log, SnapshotStore snapshots,
+            Duration snapshotInterval) {
+        super(delegate);
+        this.codec = codec;
+        this.log = log;
+        this.snapshots = snapshots;
+        this.snapshotInterval = snapshotInterval;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        var userProfile = delegate.get(userId);
+        if (userProfile.isPresent() || recoveredSnapshot == null) {
+            return userProfile;
+        }
+        return recoveredSnapshot.get(userId)
+                .map(snapshotProfile -> delegate.update(userId, currentProfile -> currentProfile.orElse(snapshotProfile)));
+    }
+
+    @Override
+    public Map<UserId, UserProfile> getAll(Collection<UserId> userIds) {
+        var userProfiles = delegate.getAll(userIds);
+        if (recoveredSnapshot == null || userProfiles.size() == userIds.size()) {
+            return userProfiles;
+        }
+        Map<UserId, UserProfile> allProfiles = new HashMap<>(userProfiles);
+        userIds.stream().filter(userId -> !userProfiles.containsKey(userId)).forEach(userId -> get(userId).ifPresent(
+                userProfile -> allProfiles.put(userId, userProfile)));
+        return allProfiles;
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        update(userProfile.userId(), currentProfile -> userProfile);
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        CompletableFuture<?> committed;
+        UserProfile updatedProfile;
+        var lock = rollLock.readLock();
+        var writeLock = writeLocks[Math.floorMod(userId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        writeLock.lock();
+        try {
+            updatedProfile = delegate.update(userId,
+                    currentProfile -> updater.apply(currentProfile.or(() -> fromRecoveredSnapshot(userId))));
+            committed = log.append(codec.encode(updatedProfile));
+        } finally {
+            writeLock.unlock();
+            lock.unlock();
+        }
+        awaitCommit(committed);
+        return updatedProfile;
+    }
+
+    @Override
+    public void forEach(Consumer<UserProfile> action) {
+        // profiles are only ever added to the delegate, so visiting the snapshot first never misses a profile moved meanwhile
+        if (recoveredSnapshot != null) {
+            recoveredSnapshot.forEach(snapshotProfile -> {
+                if (delegate.get(snapshotProfile.userId()).isEmpty()) {
+                    action.accept(snapshotProfile);
+                }
+            });
+        }
+        delegate.forEach(action);
+    }
+
+    /**
+     * Writes a snapshot of all profiles and deletes the log segments and snapshots it supersedes.
+     */
+    public synchronized void snapshot() throws IOException {
+        long sequence;
+        var lock = rollLock.writeLock();
+        lock.lock();
+        try {
+            sequence = log.roll();
+        } finally {
+            lock.unlock();
+        }
+        snapshots.write(sequence, this);
+        snapshots.deleteBefore(sequence);
+        log.deleteSegmentsBefore(sequence);
+    }
+
+    @Override
+    public void start() throws Exception {
+        super.start();
+        recover();
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotExecutor.scheduleWithFixedDelay(this::scheduledSnapshot, snapshotInterval.toMillis(), snapshotInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        // stopped without having been started if a later part of the application failed to start
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdown();
+            snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        log.close();
+        super.stop();
+    }
+
+    private void recover() throws IOException {
+        var snapshotSequence = snapshots.latestSequence();
+        if (snapshotSequence.isPresent()) {
+            recoveredSnapshot = snapshots.open(snapshotSequence.getAsLong());
+        }
+        long lastSequence = log.replay(snapshotSequence.orElse(0), record -> delegate.put(codec.decode(record)));
+        // never append to a replayed segment, its tail may be torn
+        log.open(lastSequence + 1);
+    }
+
+    private Optional<UserProfile> fromRecoveredSnapshot(UserId userId) {
+        return recoveredSnapshot == null ? Optional.empty() : recoveredSnapshot.get(userId);
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Taking a snapshot failed, the write-ahead log keeps growing until a snapshot succeeds", e);
+        }
+    }
+
+    private static void awaitCommit(CompletableFuture<?> committed) {
+        try {
+            committed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.model.configuration.LogSyncMode;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of records, split into numbered segment files. Appended records are queued for a single writer thread, which writes
+ * everything queued at that moment with one gathering write and, in {@link LogSyncMode#COMMIT} mode, forces the whole group to disk
+ * with one fsync before acknowledging it. Concurrent writers therefore share the cost of a sync; the optional commit delay makes groups
+ * larger at the price of latency.
+ *
+ * <p>Rolling the log starts a new segment, so segments a snapshot already covers can be deleted.
+ */
+public class WriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final Path directory;
+    private final LogSyncMode syncMode;
+    private final Duration commitDelay;
+    private final Duration syncInterval;
+    private final BlockingQueue<PendingRecord> pendingRecords = new LinkedBlockingQueue<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private Thread writer;
+    // guarded by this
+    private FileChannel segment;
+    private long segmentSequence;
+    private boolean unsynced;
+    private long lastSyncNanos;
+
+    public WriteAheadLog(Path directory, LogSyncMode syncMode, Duration commitDelay, Duration syncInterval) {
+        this.directory = directory;
+        this.syncMode = syncMode;
+        this.commitDelay = commitDelay;
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * Passes the records of all segments starting with the given sequence to the consumer, oldest first. Reading a segment stops at a
+     * record torn by a crash.
+     *
+     * @return the sequence of the last existing segment, or {@code fromSequence - 1} if there is none
+     */
+    public long replay(long fromSequence, Consumer<byte[]> consumer) throws IOException {
+        long lastSequence = fromSequence - 1;
+        for (long sequence : segmentSequences()) {
+            if (sequence < fromSequence) {
+                continue;
+            }
+            try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentPath(sequence))))) {
+                LogRecords.readAll(input, consumer);
+            }
+            lastSequence = sequence;
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Creates the segment with the given sequence and starts accepting appends.
+     */
+    public synchronized void open(long sequence) throws IOException {
+        Files.createDirectories(directory);
+        segment = openSegment(sequence);
+        segmentSequence = sequence;
+        lastSyncNanos = System.nanoTime();
+        writer = new Thread(this::writeLoop, "write-ahead-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the record for the next commit group.
+     *
+     * @return a future completed once the record is committed according to the sync mode
+     */
+    public CompletableFuture<Void> append(byte[] record) {
+        var pendingRecord = new PendingRecord(LogRecords.frame(record), new CompletableFuture<>());
+        if (closed.get()) {
+            pendingRecord.committed().completeExceptionally(new IllegalStateException("Write-ahead log is closed"));
+        } else {
+            pendingRecords.add(pendingRecord);
+        }
+        return pendingRecord.committed();
+    }
+
+    /**
+     * Syncs and closes the current segment and continues in a new one.
+     *
+     * @return the sequence of the new segment
+     */
+    public synchronized long roll() throws IOException {
+        segment.force(false);
+        segment.close();
+        segment = openSegment(segmentSequence + 1);
+        segmentSequence++;
+        unsynced = false;
+        return segmentSequence;
+    }
+
+    public void deleteSegmentsBefore(long sequence) throws IOException {
+        for (long existing : segmentSequences()) {
+            if (existing < sequence) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+
+    public List<Long> segmentSequences() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Commits all records appended so far and closes the current segment. Records appended afterwards are rejected.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true) || writer == null) {
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // a record may have been queued after the writer saw the log closed
+        pendingRecords.forEach(
+                pendingRecord -> pendingRecord.committed().completeExceptionally(new IllegalStateException("Write-ahead log is closed")));
+        synchronized (this) {
+            segment.force(false);
+            segment.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> group = new ArrayList<>();
+        while (!closed.get() || !pendingRecords.isEmpty()) {
+            PendingRecord first;
+            try {
+                first = pendingRecords.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                syncIfDue();
+                continue;
+            }
+            group.add(first);
+            if (!commitDelay.isZero()) {
+                LockSupport.parkNanos(commitDelay.toNanos());
+            }
+            pendingRecords.drainTo(group);
+            commit(group);
+            group.clear();
+        }
+    }
+
+    private synchronized void commit(List<PendingRecord> group) {
+        try {
+            var buffers = group.stream().map(PendingRecord::framed).toArray(ByteBuffer[]::new);
+            long remaining = group.stream().mapToLong(pendingRecord -> pendingRecord.framed().remaining()).sum();
+            while (remaining > 0) {
+                remaining -= segment.write(buffers);
+            }
+            if (syncMode == LogSyncMode.COMMIT) {
+                segment.force(false);
+            } else {
+                unsynced = true;
+                syncIfDue();
+            }
+            group.forEach(pendingRecord -> pendingRecord.committed().complete(null));
+        } catch (IOException e) {
+            var failure = new UncheckedIOException("Appending to the write-ahead log failed", e);
+            group.forEach(pendingRecord -> pendingRecord.committed().completeExceptionally(failure));
+        }
+    }
+
+    private synchronized void syncIfDue() {
+        if (!unsynced || System.nanoTime() - lastSyncNanos < syncInterval.toNanos()) {
+            return;
+        }
+        try {
+            segment.force(false);
+            unsynced = false;
+            lastSyncNanos = System.nanoTime();
+        } catch (IOException e) {
+            // the records are already acknowledged; the next sync retries
+        }
+    }
+
+    private FileChannel openSegment(long sequence) throws IOException {
+        return FileChannel.open(segmentPath(sequence), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(SEGMENT_PREFIX + "%020d".formatted(sequence) + SEGMENT_SUFFIX);
+    }
+
+    private record PendingRecord(ByteBuffer framed, CompletableFuture<Void> committed) {
+    }
+}
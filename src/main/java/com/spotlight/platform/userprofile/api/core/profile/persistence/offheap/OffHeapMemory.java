@@ -0,0 +1,202 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Slab allocator over fixed size direct buffers ("segments"). Records are stored in slots whose capacity is the next power of two of
+ * the record length, which leaves headroom to rewrite a growing record in place. Freed slots are kept in free lists per capacity and
+ * reused by later allocations. A slot is addressed by a long packing its size class, segment and offset.
+ *
+ * <p>Allocation bookkeeping is synchronized. Reading and writing a slot is not; callers must make sure a slot is not accessed
+ * concurrently with being written or freed.
+ */
+public class OffHeapMemory {
+    private static final int LENGTH_HEADER_BYTES = Integer.BYTES;
+    private static final int MIN_SIZE_CLASS = 5;
+    private static final int OFFSET_BITS = 32;
+    private static final int SEGMENT_BITS = 24;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final int segmentSize;
+    private final int maxSegments;
+    // copy-on-write, so slots can be read and written without holding the allocation lock
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Deque<Integer> emptySegments = new ArrayDeque<>();
+    private final List<Deque<Long>> freeSlots = new ArrayList<>();
+    private int currentSegment = -1;
+
+    public OffHeapMemory(int segmentSize, int maxSegments) {
+        if (Integer.bitCount(segmentSize) != 1 || segmentSize < (1 << MIN_SIZE_CLASS)) {
+            throw new IllegalArgumentException("Segment size must be a power of two of at least %d bytes".formatted(1 << MIN_SIZE_CLASS));
+        }
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        for (int sizeClass = 0; sizeClass <= Integer.numberOfTrailingZeros(segmentSize); sizeClass++) {
+            freeSlots.add(new ArrayDeque<>());
+        }
+    }
+
+    public synchronized long allocate(int recordLength) {
+        int sizeClass = sizeClassFor(recordLength);
+        var reusable = freeSlots.get(sizeClass).pollFirst();
+        long address = reusable != null ? reusable : allocateFresh(sizeClass);
+        segments.get(segmentOf(address)).liveBytes += capacityOf(address);
+        return address;
+    }
+
+    public synchronized void free(long address) {
+        var segment = segments.get(segmentOf(address));
+        segment.liveBytes -= capacityOf(address);
+        if (!segment.retired) {
+            freeSlots.get(sizeClassOf(address)).addFirst(address);
+        }
+    }
+
+    /**
+     * Whether a record of the given length can be rewritten into the slot. Slots of retired segments never fit, so records are moved out
+     * of them on their next write.
+     */
+    public synchronized boolean fits(long address, int recordLength) {
+        return !segments.get(segmentOf(address)).retired && recordLength + LENGTH_HEADER_BYTES <= capacityOf(address);
+    }
+
+    public void write(long address, byte[] record) {
+        var buffer = segments.get(segmentOf(address)).buffer;
+        int offset = offsetOf(address);
+        buffer.putInt(offset, record.length);
+        buffer.put(offset + LENGTH_HEADER_BYTES, record);
+    }
+
+    public byte[] read(long address) {
+        var buffer = segments.get(segmentOf(address)).buffer;
+        int offset = offsetOf(address);
+        var record = new byte[buffer.getInt(offset)];
+        buffer.get(offset + LENGTH_HEADER_BYTES, record);
+        return record;
+    }
+
+    /**
+     * Returns the segment with the lowest share of live bytes if that share is below the threshold, or -1 if there is none. The segment
+     * currently used for fresh allocations is never returned.
+     */
+    public synchronized int mostFragmentedSegment(double liveRatioThreshold) {
+        int candidate = -1;
+        double candidateRatio = liveRatioThreshold;
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            if (i == currentSegment || segment.retired || segment.usedBytes == 0) {
+                continue;
+            }
+            double liveRatio = (double) segment.liveBytes / segment.usedBytes;
+            if (liveRatio < candidateRatio) {
+                candidate = i;
+                candidateRatio = liveRatio;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Stops allocating from the segment so its live records can be moved elsewhere.
+     */
+    public synchronized void retire(int segment) {
+        segments.get(segment).retired = true;
+        freeSlots.forEach(slots -> slots.removeIf(address -> segmentOf(address) == segment));
+    }
+
+    /**
+     * Makes a retired segment without live records available for allocations again.
+     *
+     * @return false if the segment still holds live records and was left retired
+     */
+    public synchronized boolean release(int segment) {
+        var released = segments.get(segment);
+        if (released.liveBytes != 0) {
+            return false;
+        }
+        released.usedBytes = 0;
+        released.retired = false;
+        emptySegments.addLast(segment);
+        return true;
+    }
+
+    public int segmentOf(long address) {
+        return (int) ((address >>> OFFSET_BITS) & SEGMENT_MASK);
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized long getLiveBytes() {
+        return segments.stream().mapToLong(segment -> segment.liveBytes).sum();
+    }
+
+    public synchronized long getUsedBytes() {
+        return segments.stream().mapToLong(segment -> segment.usedBytes).sum();
+    }
+
+    private long allocateFresh(int sizeClass) {
+        int capacity = 1 << sizeClass;
+        if (currentSegment < 0 || segments.get(currentSegment).usedBytes + capacity > segmentSize) {
+            currentSegment = nextSegment();
+        }
+        var segment = segments.get(currentSegment);
+        long address = addressOf(sizeClass, currentSegment, segment.usedBytes);
+        segment.usedBytes += capacity;
+        return address;
+    }
+
+    private int nextSegment() {
+        if (!emptySegments.isEmpty()) {
+            return emptySegments.pollFirst();
+        }
+        if (segments.size() >= maxSegments) {
+            throw new IllegalStateException("Off-heap storage is full: all %d segments are in use".formatted(maxSegments));
+        }
+        segments.add(new Segment(ByteBuffer.allocateDirect(segmentSize)));
+        return segments.size() - 1;
+    }
+
+    private int sizeClassFor(int recordLength) {
+        int slotLength = recordLength + LENGTH_HEADER_BYTES;
+        if (slotLength > segmentSize) {
+            throw new IllegalArgumentException(
+                    "Record of %d bytes exceeds the segment size of %d bytes".formatted(recordLength, segmentSize));
+        }
+        return Math.max(MIN_SIZE_CLASS, Long.SIZE - Long.numberOfLeadingZeros(slotLength - 1L));
+    }
+
+    private static long addressOf(int sizeClass, int segment, int offset) {
+        return ((long) sizeClass << (OFFSET_BITS + SEGMENT_BITS)) | ((long) segment << OFFSET_BITS) | offset;
+    }
+
+    private static int sizeClassOf(long address) {
+        return (int) (address >>> (OFFSET_BITS + SEGMENT_BITS));
+    }
+
+    private static int capacityOf(long address) {
+        return 1 << sizeClassOf(address);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) (address & OFFSET_MASK);
+    }
+
+    private static class Segment {
+        private final ByteBuffer buffer;
+        private int usedBytes;
+        private long liveBytes;
+        private boolean retired;
+
+        private Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.offheap;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Keeps profiles binary encoded in off-heap memory, so the Java heap only holds the index from user id to slot address. Access to a
+ * user is guarded by one of a fixed set of striped read-write locks. A background task compacts segments in which most slots are free
+ * by moving their live records elsewhere.
+ */
+public class UserProfileDaoOffHeap implements UserProfileDao, Managed {
+    private static final int LOCK_STRIPES = 64;
+
+    private final UserProfileBinaryCodec codec;
+    private final OffHeapMemory memory;
+    private final Map<UserId, Long> index = new ConcurrentHashMap<>();
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
+    private final Duration compactionInterval;
+    private final double compactionThreshold;
+    private ScheduledExecutorService compactionExecutor;
+
+    public UserProfileDaoOffHeap(UserProfileBinaryCodec codec, OffHeapMemory memory, Duration compactionInterval,
+            double compactionThreshold) {
+        this.codec = codec;
+        this.memory = memory;
+        this.compactionInterval = compactionInterval;
+        this.compactionThreshold = compactionThreshold;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        byte[] record;
+        var lock = lockOf(userId).readLock();
+        lock.lock();
+        try {
+            record = read(userId);
+        } finally {
+            lock.unlock();
+        }
+        return Optional.ofNullable(record).map(codec::decode);
+    }
+
+    /**
+     * Takes the lock of every stripe involved once for all users guarded by it and decodes the profiles after releasing the locks.
+     */
+    @Override
+    public Map<UserId, UserProfile> getAll(Collection<UserId> userIds) {
+        List<List<UserId>> userIdsByStripe = new ArrayList<>(LOCK_STRIPES);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            userIdsByStripe.add(new ArrayList<>());
+        }
+        userIds.forEach(userId -> userIdsByStripe.get(stripeOf(userId)).add(userId));
+        Map<UserId, byte[]> records = new HashMap<>();
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            if (userIdsByStripe.get(stripe).isEmpty()) {
+                continue;
+            }
+            var lock = locks[stripe].readLock();
+            lock.lock();
+            try {
+                for (var userId : userIdsByStripe.get(stripe)) {
+                    var record = read(userId);
+                    if (record != null) {
+                        records.put(userId, record);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        Map<UserId, UserProfile> userProfiles = new HashMap<>();
+        records.forEach((userId, record) -> userProfiles.put(userId, codec.decode(record)));
+        return userProfiles;
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        var record = codec.encode(userProfile);
+        var lock = lockOf(userProfile.userId()).writeLock();
+        lock.lock();
+        try {
+            write(userProfile.userId(), record);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        var lock = lockOf(userId).writeLock();
+        lock.lock();
+        try {
+            var updatedProfile = updater.apply(Optional.ofNullable(read(userId)).map(codec::decode));
+            write(userId, codec.encode(updatedProfile));
+            return updatedProfile;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<UserProfile> action) {
+        index.keySet().forEach(userId -> get(userId).ifPresent(action));
+    }
+
+    /**
+     * Moves all live records out of the most fragmented segment and makes it available for new records.
+     *
+     * @return whether a segment was compacted
+     */
+    public boolean compact() {
+        int segment = memory.mostFragmentedSegment(compactionThreshold);
+        if (segment < 0) {
+            return false;
+        }
+        memory.retire(segment);
+        // every user present when the iteration starts is visited; users added later are never placed in the retired segment
+        index.keySet().forEach(userId -> relocate(userId, segment));
+        return memory.release(segment);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void start() {
+        compactionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "off-heap-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactionExecutor.scheduleWithFixedDelay(this::compact, compactionInterval.toMillis(), compactionInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        // stopped without having been started if a later part of the application failed to start
+        if (compactionExecutor != null) {
+            compactionExecutor.shutdownNow();
+        }
+    }
+
+    private void relocate(UserId userId, int segment) {
+        var lock = lockOf(userId).writeLock();
+        lock.lock();
+        try {
+            var address = index.get(userId);
+            if (address != null && memory.segmentOf(address) == segment) {
+                write(userId, memory.read(address));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] read(UserId userId) {
+        var address = index.get(userId);
+        return address == null ? null : memory.read(address);
+    }
+
+    private void write(UserId userId, byte[] record) {
+        var address = index.get(userId);
+        if (address != null && memory.fits(address, record.length)) {
+            memory.write(address, record);
+            return;
+        }
+        long newAddress = memory.allocate(record.length);
+        memory.write(newAddress, record);
+        index.put(userId, newAddress);
+        if (address != null) {
+            memory.free(address);
+        }
+    }
+
+    private ReadWriteLock lockOf(UserId userId) {
+        return locks[stripeOf(userId)];
+    }
+
+    private static int stripeOf(UserId userId) {
+        return Math.floorMod(userId.hashCode(), LOCK_STRIPES);
+    }
+}
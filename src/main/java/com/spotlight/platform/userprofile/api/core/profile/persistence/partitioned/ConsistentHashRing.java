@@ -0,0 +1,101 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring. Every partition is placed on the ring at a number of virtual nodes derived from its name, and a user
+ * belongs to the partition of the first virtual node at or after the hash of the user id. Adding or removing a partition therefore only
+ * moves the users of the ring sections that partition gains or loses, about one in {@code partitions} of all users, and many virtual
+ * nodes per partition keep the shares of the partitions even.
+ */
+class ConsistentHashRing {
+    private static final int SECTIONS_PER_POSITION = 4;
+
+    private final List<UserProfilePartition> partitions;
+    private final int virtualNodes;
+    // sorted positions of the virtual nodes and the partition owning each
+    private final long[] positions;
+    private final UserProfilePartition[] owners;
+    // the ring is cut into equal sections, several per virtual node, and the index of the first position of every section is kept, so
+    // a lookup scans a position or two instead of a binary search with its unpredictable branches
+    private final int sectionShift;
+    private final int[] firstPositionOfSection;
+
+    ConsistentHashRing(List<UserProfilePartition> partitions, int virtualNodes) {
+        if (partitions.isEmpty()) {
+            throw new IllegalArgumentException("At least one partition is required");
+        }
+        if (partitions.stream().map(UserProfilePartition::name).distinct().count() != partitions.size()) {
+            throw new IllegalArgumentException("Partition names must be unique");
+        }
+        this.partitions = List.copyOf(partitions);
+        this.virtualNodes = virtualNodes;
+        Map<Long, UserProfilePartition> ring = new TreeMap<>();
+        for (var partition : partitions) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // on the unlikely collision of two positions, the smaller name wins, so the ring does not depend on the partition order
+                ring.merge(hash(partition.name() + "#" + i), partition,
+                        (first, second) -> first.name().compareTo(second.name()) <= 0 ? first : second);
+            }
+        }
+        positions = ring.keySet().stream().mapToLong(Long::longValue).toArray();
+        owners = ring.values().toArray(UserProfilePartition[]::new);
+        int sectionBits = Integer.SIZE - Integer.numberOfLeadingZeros(positions.length * SECTIONS_PER_POSITION - 1);
+        sectionShift = Long.SIZE - sectionBits;
+        firstPositionOfSection = new int[1 << sectionBits];
+        for (int section = 0, index = 0; section < firstPositionOfSection.length; section++) {
+            while (index < positions.length && sectionOf(positions[index]) < section) {
+                index++;
+            }
+            firstPositionOfSection[section] = index;
+        }
+    }
+
+    UserProfilePartition ownerOf(UserId userId) {
+        long hash = hash(userId.toString());
+        int index = firstPositionOfSection[sectionOf(hash)];
+        while (index < positions.length && positions[index] < hash) {
+            index++;
+        }
+        // the ring wraps around, users after the last virtual node belong to the first
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    List<UserProfilePartition> partitions() {
+        return partitions;
+    }
+
+    ConsistentHashRing with(UserProfilePartition partition) {
+        List<UserProfilePartition> grown = new ArrayList<>(partitions);
+        grown.add(partition);
+        return new ConsistentHashRing(grown, virtualNodes);
+    }
+
+    ConsistentHashRing without(UserProfilePartition partition) {
+        return new ConsistentHashRing(partitions.stream().filter(member -> member != partition).toList(), virtualNodes);
+    }
+
+    private int sectionOf(long position) {
+        // flipping the sign bit orders the sections like the signed positions
+        return (int) ((position ^ Long.MIN_VALUE) >>> sectionShift);
+    }
+
+    /**
+     * Spreads {@link String#hashCode()}, which is specified and so places users and partitions the same way in every process, over the
+     * ring with the MurmurHash3 mixer. Strings cache their hash code, so routing a user rarely has to read the characters of its id.
+     */
+    private static long hash(String value) {
+        long hash = value.hashCode();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,178 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Splits the users over partitions with a {@link ConsistentHashRing}. Lookups and writes of a single user go straight to the DAO of its
+ * partition on the calling thread; batch lookups spanning several partitions query them in parallel on their executors.
+ *
+ * <p>Partitions can be added and removed while the DAO is in use. Only the users whose partition changes are moved: every affected
+ * partition scans its profiles on its own executor and copies those of moved users to their new partition. Writes wait while users are
+ * moved, reads are served from the previous partitions until the move completed. Since a DAO cannot delete, a partition keeps a copy
+ * of the users moved away from it, which is never read again and overwritten should the user move back.
+ */
+public class UserProfileDaoPartitioned implements UserProfileDao, Managed {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    // writes share the lock, moving users takes it exclusively, so no write lands on a partition the user was already copied from
+    private final ReadWriteLock movingLock = new ReentrantReadWriteLock();
+    private volatile ConsistentHashRing ring;
+
+    public UserProfileDaoPartitioned(List<UserProfilePartition> partitions, int virtualNodes) {
+        this.ring = new ConsistentHashRing(partitions, virtualNodes);
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        return ring.ownerOf(userId).dao().get(userId);
+    }
+
+    @Override
+    public Map<UserId, UserProfile> getAll(Collection<UserId> userIds) {
+        var currentRing = ring;
+        Map<UserProfilePartition, List<UserId>> idsByPartition = new LinkedHashMap<>();
+        userIds.forEach(userId -> idsByPartition.computeIfAbsent(currentRing.ownerOf(userId), partition -> new ArrayList<>()).add(userId));
+        if (idsByPartition.size() == 1) {
+            var entry = idsByPartition.entrySet().iterator().next();
+            return entry.getKey().dao().getAll(entry.getValue());
+        }
+        var lookups = idsByPartition.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> entry.getKey().dao().getAll(entry.getValue()), entry.getKey().executor()))
+                .toList();
+        Map<UserId, UserProfile> userProfiles = new HashMap<>();
+        lookups.forEach(lookup -> userProfiles.putAll(join(lookup)));
+        return userProfiles;
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        var lock = movingLock.readLock();
+        lock.lock();
+        try {
+            ring.ownerOf(userProfile.userId()).dao().put(userProfile);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        var lock = movingLock.readLock();
+        lock.lock();
+        try {
+            return ring.ownerOf(userId).dao().update(userId, updater);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Visits the partitions one after another on the calling thread, skipping the copies left behind by moved users.
+     */
+    @Override
+    public void forEach(Consumer<UserProfile> action) {
+        var currentRing = ring;
+        currentRing.partitions().forEach(partition -> partition.dao().forEach(userProfile -> {
+            if (currentRing.ownerOf(userProfile.userId()) == partition) {
+                action.accept(userProfile);
+            }
+        }));
+    }
+
+    /**
+     * Starts the partition and moves the users it takes over from the other partitions to it.
+     */
+    public synchronized void addPartition(UserProfilePartition partition) throws Exception {
+        if (partition.dao() instanceof Managed managedDao) {
+            managedDao.start();
+        }
+        var currentRing = ring;
+        moveUsers(currentRing, currentRing.with(partition), currentRing.partitions());
+    }
+
+    /**
+     * Moves the users of the partition to the remaining partitions and stops it.
+     *
+     * @throws IllegalArgumentException if there is no partition of that name, or it is the last one
+     */
+    public synchronized void removePartition(String name) throws Exception {
+        var currentRing = ring;
+        var partition = currentRing.partitions().stream().filter(member -> member.name().equals(name)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown partition " + name));
+        moveUsers(currentRing, currentRing.without(partition), List.of(partition));
+        stop(partition);
+    }
+
+    @Override
+    public void start() throws Exception {
+        for (var partition : ring.partitions()) {
+            if (partition.dao() instanceof Managed managedDao) {
+                managedDao.start();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void stop() throws Exception {
+        for (var partition : ring.partitions()) {
+            stop(partition);
+        }
+    }
+
+    private void moveUsers(ConsistentHashRing currentRing, ConsistentHashRing nextRing, List<UserProfilePartition> sources) {
+        var lock = movingLock.writeLock();
+        lock.lock();
+        try {
+            var moves = sources.stream().map(source -> CompletableFuture.runAsync(() -> source.dao().forEach(userProfile -> {
+                var userId = userProfile.userId();
+                // copies left behind by earlier moves are skipped, the partition owning the user holds the current profile
+                if (currentRing.ownerOf(userId) == source && nextRing.ownerOf(userId) != source) {
+                    nextRing.ownerOf(userId).dao().put(userProfile);
+                }
+            }), source.executor())).toList();
+            // if a move fails the ring is kept, the copies made so far are overwritten by the next attempt
+            moves.forEach(UserProfileDaoPartitioned::join);
+            ring = nextRing;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void stop(UserProfilePartition partition) throws Exception {
+        partition.executor().shutdown();
+        partition.executor().awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (partition.dao() instanceof Managed managedDao) {
+            managedDao.stop();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A partition of the users. The name places the partition on the consistent-hash ring, so it must stay the same across restarts for
+ * users to keep their partition. Work spanning many users of the partition, like batch lookups and moving users between partitions, runs
+ * on its executor, so a slow partition only delays the work for its own users.
+ *
+ * <p>Local partitions wrap a DAO of this process; a remote partition only needs a DAO talking to another node.
+ */
+public record UserProfilePartition(String name, UserProfileDao dao, ExecutorService executor) {
+    private static final String THREAD_NAME_PREFIX = "partition-";
+
+    public static UserProfilePartition local(String name, UserProfileDao dao) {
+        return new UserProfilePartition(name, dao, Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, THREAD_NAME_PREFIX + name);
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+}
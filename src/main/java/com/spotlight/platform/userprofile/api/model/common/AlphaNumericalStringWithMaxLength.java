@@ -2,24 +2,50 @@ package com.spotlight.platform.userprofile.api.model.common;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import org.hibernate.validator.constraints.Length;
-
-import javax.validation.constraints.Pattern;
+import java.util.List;
 
 public class AlphaNumericalStringWithMaxLength extends WrappedString {
     private static final int MAX_LENGTH = 1024;
     private static final int MIN_LENGTH = 1;
     private static final String PATTERN_ALPHA_NUMERIC_ONLY = "[A-Za-z0-9_-]*";
+    private static final String LENGTH_VIOLATION = "length must be between %d and %d".formatted(MIN_LENGTH, MAX_LENGTH);
+    private static final String PATTERN_VIOLATION = "must match \"%s\"".formatted(PATTERN_ALPHA_NUMERIC_ONLY);
 
     protected AlphaNumericalStringWithMaxLength(String value) {
         super(value);
     }
 
     @Override
-    @Length(min = MIN_LENGTH, max = MAX_LENGTH)
-    @Pattern(regexp = PATTERN_ALPHA_NUMERIC_ONLY)
+    @AlphaNumericalWithMaxLength
     @JsonProperty
     protected String getValue() {
         return super.getValue();
     }
+
+    /**
+     * Checks length and characters of the value in a single scan, without a regular expression.
+     *
+     * @return the messages of the violated rules, empty if the value is valid
+     */
+    public static List<String> violationsOf(String value) {
+        boolean validLength = value.length() >= MIN_LENGTH && value.length() <= MAX_LENGTH;
+        boolean validCharacters = isAlphaNumerical(value);
+        if (validLength && validCharacters) {
+            return List.of();
+        }
+        if (validLength) {
+            return List.of(PATTERN_VIOLATION);
+        }
+        return validCharacters ? List.of(LENGTH_VIOLATION) : List.of(LENGTH_VIOLATION, PATTERN_VIOLATION);
+    }
+
+    private static boolean isAlphaNumerical(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,22 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must satisfy {@link AlphaNumericalStringWithMaxLength#violationsOf(String)}; {@code null} is valid.
+ */
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = AlphaNumericalWithMaxLengthValidator.class)
+public @interface AlphaNumericalWithMaxLength {
+    String message() default "";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
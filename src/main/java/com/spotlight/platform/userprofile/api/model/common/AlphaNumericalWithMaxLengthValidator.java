@@ -0,0 +1,21 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class AlphaNumericalWithMaxLengthValidator implements ConstraintValidator<AlphaNumericalWithMaxLength, String> {
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        var violations = AlphaNumericalStringWithMaxLength.violationsOf(value);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        // one violation per broken rule, worded like the @Length and @Pattern constraints this replaces
+        context.disableDefaultConstraintViolation();
+        violations.forEach(violation -> context.buildConstraintViolationWithTemplate(violation).addConstraintViolation());
+        return false;
+    }
+}
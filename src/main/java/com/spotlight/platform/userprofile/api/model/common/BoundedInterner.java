@@ -0,0 +1,43 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Concurrent pool of canonical instances keyed by their string value. Once the pool holds {@code maxSize} instances, values which are not
+ * pooled yet get a fresh instance instead, so a flood of distinct values cannot grow the pool without limit. The size check is not atomic
+ * with the insert, so concurrent callers may overshoot the limit by the number of racing threads.
+ */
+public class BoundedInterner<T> {
+    private final ConcurrentHashMap<String, T> pool = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Function<String, T> factory;
+
+    public BoundedInterner(int maxSize, Function<String, T> factory) {
+        this.maxSize = maxSize;
+        this.factory = factory;
+    }
+
+    public T intern(String value) {
+        var canonical = pool.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (pool.size() >= maxSize) {
+            return factory.apply(value);
+        }
+        return pool.computeIfAbsent(value, factory);
+    }
+
+    /**
+     * Returns the canonical instance if the value is pooled, otherwise a fresh instance which is not added to the pool.
+     */
+    public T lookup(String value) {
+        var canonical = pool.get(value);
+        return canonical != null ? canonical : factory.apply(value);
+    }
+
+    public int size() {
+        return pool.size();
+    }
+}
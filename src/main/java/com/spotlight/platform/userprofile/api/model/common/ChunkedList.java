@@ -0,0 +1,164 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable list optimized for appending at the end and dropping from the front, for long lists that grow by a few elements at a time.
+ * Elements are stored in chunks of 64 which versions of the list share. {@link #appendAll(List)} writes into free slots of the last
+ * chunk in place if no other version has claimed them yet, otherwise it copies that chunk only, so appending costs about the number of
+ * elements appended rather than the length of the list. {@link #dropFirst(int)} moves the start of the list and releases whole chunks.
+ *
+ * <p>A list of a few elements occupies a chunk just large enough to hold them, which grows until it reaches the full chunk size.
+ */
+public final class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final ChunkedList<?> EMPTY = new ChunkedList<>(new Chunk[0], 0, 0);
+
+    private final Chunk[] chunks;
+    // position of the first element in the first chunk
+    private final int offset;
+    private final int size;
+
+    private ChunkedList(Chunk[] chunks, int offset, int size) {
+        this.chunks = chunks;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> ChunkedList<E> empty() {
+        return (ChunkedList<E>) EMPTY;
+    }
+
+    /**
+     * @return the list itself if it is chunked already, otherwise a chunked copy
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> ChunkedList<E> copyOf(Collection<? extends E> values) {
+        if (values instanceof ChunkedList<?> chunkedList) {
+            return (ChunkedList<E>) chunkedList;
+        }
+        return ChunkedList.<E>empty().appendAll(List.copyOf(values));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        int position = offset + index;
+        return (E) chunks[position >>> CHUNK_SHIFT].elements[position & CHUNK_MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        // lists of different length are told apart without comparing their elements
+        if (o instanceof List<?> other && other.size() != size) {
+            return false;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * @return a list with the values appended, leaving this list unchanged
+     */
+    public ChunkedList<E> appendAll(List<? extends E> values) {
+        if (values.isEmpty()) {
+            return this;
+        }
+        var newChunks = chunks;
+        int appended = 0;
+        int end = offset + size;
+        int lastChunkUsed = end - (chunks.length - 1) * CHUNK_SIZE;
+        if (chunks.length > 0 && lastChunkUsed < CHUNK_SIZE) {
+            var lastChunk = chunks[chunks.length - 1];
+            appended = Math.min(CHUNK_SIZE - lastChunkUsed, values.size());
+            if (!lastChunk.claim(lastChunkUsed, appended)) {
+                // another version appended to the chunk already, or it is too small
+                lastChunk = lastChunk.copy(lastChunkUsed, Math.min(CHUNK_SIZE, Math.max(lastChunkUsed + appended, 2 * lastChunkUsed)),
+                        appended);
+                newChunks = chunks.clone();
+                newChunks[newChunks.length - 1] = lastChunk;
+            }
+            lastChunk.fill(lastChunkUsed, values, 0, appended);
+        }
+        int remaining = values.size() - appended;
+        if (remaining > 0) {
+            int firstNewChunk = newChunks.length;
+            newChunks = Arrays.copyOf(newChunks, firstNewChunk + (remaining + CHUNK_MASK) / CHUNK_SIZE);
+            for (int i = firstNewChunk; i < newChunks.length; i++) {
+                int filled = Math.min(CHUNK_SIZE, remaining);
+                // the first chunk of a list only as large as needed, lists of a few elements are common
+                var chunk = new Chunk(i == 0 ? filled : CHUNK_SIZE, filled);
+                chunk.fill(0, values, appended, filled);
+                newChunks[i] = chunk;
+                appended += filled;
+                remaining -= filled;
+            }
+        }
+        return new ChunkedList<>(newChunks, offset, size + values.size());
+    }
+
+    /**
+     * @return a list without its first elements, leaving this list unchanged
+     */
+    public ChunkedList<E> dropFirst(int count) {
+        if (count <= 0) {
+            return this;
+        }
+        if (count >= size) {
+            return empty();
+        }
+        int start = offset + count;
+        int droppedChunks = start >>> CHUNK_SHIFT;
+        var remainingChunks = droppedChunks == 0 ? chunks : Arrays.copyOfRange(chunks, droppedChunks, chunks.length);
+        return new ChunkedList<>(remainingChunks, start & CHUNK_MASK, size - count);
+    }
+
+    /**
+     * Slots of a chunk are written once, by the version which claimed them; versions read only the slots they claimed themselves or
+     * inherited, so no slot is read while it is written.
+     */
+    private static final class Chunk {
+        private final Object[] elements;
+        private final AtomicInteger claimed;
+
+        private Chunk(int capacity, int claimed) {
+            this.elements = new Object[capacity];
+            this.claimed = new AtomicInteger(claimed);
+        }
+
+        private boolean claim(int used, int count) {
+            return used + count <= elements.length && claimed.compareAndSet(used, used + count);
+        }
+
+        private Chunk copy(int used, int capacity, int claimedAfterUsed) {
+            var copy = new Chunk(capacity, used + claimedAfterUsed);
+            System.arraycopy(elements, 0, copy.elements, 0, used);
+            return copy;
+        }
+
+        private void fill(int position, List<?> values, int from, int count) {
+            for (int i = 0; i < count; i++) {
+                elements[position + i] = values.get(from + i);
+            }
+        }
+    }
+}
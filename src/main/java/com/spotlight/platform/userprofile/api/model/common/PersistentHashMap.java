@@ -0,0 +1,571 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable map sharing structure between versions, a hash array mapped trie. {@link #with(Object, Object)} and
+ * {@link #without(Object)} return a new version which copies only the nodes on the path to the key, at most seven nodes of up to 32
+ * entries, and shares every other node with this version. Lookups and updates take {@code O(log32 n)} steps, so changing one entry of a
+ * large map costs about as much as of a small one, and every version stays a consistent snapshot for its readers.
+ *
+ * <p>Keys must not be null, values may be. Iteration order depends on the hashes of the keys only.
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+    // seven levels consume the 32 bits of a hash, keys of equal hash end up in a collision node below them
+    private static final int MAX_DEPTH = 8;
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the map itself if it is persistent already, otherwise a persistent copy
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap<?, ?> persistentMap) {
+            return (PersistentHashMap<K, V>) persistentMap;
+        }
+        Builder<K, V> builder = new Builder<>(empty());
+        builder.putAll(map);
+        return builder.build();
+    }
+
+    /**
+     * @return a map with the key mapped to the value, or this map if it maps the key to that value already
+     */
+    public PersistentHashMap<K, V> with(K key, V value) {
+        var edit = new Edit(null);
+        var newRoot = root.with(Objects.requireNonNull(key), value, hash(key), 0, edit);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, size + edit.sizeDelta);
+    }
+
+    /**
+     * @return a map without the key, or this map if it does not contain the key
+     */
+    public PersistentHashMap<K, V> without(Object key) {
+        if (key == null) {
+            return this;
+        }
+        var edit = new Edit(null);
+        var newRoot = root.without(key, hash(key), 0, edit);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size + edit.sizeDelta);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        var value = find(root, key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(root, key) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entriesOf(root, size);
+    }
+
+    /**
+     * Passes the entries this map adds to, or changes in, an earlier version of it to the action. Subtrees both versions share are
+     * skipped without looking into them, so comparing versions which differ in a few entries takes about as long as changing them did.
+     * Keys the earlier version has and this map lacks are not reported.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachChangeSince(PersistentHashMap<K, V> previous, BiConsumer<? super K, ? super V> action) {
+        forEachChange(root, previous.root, previous.root, 0, (BiConsumer<Object, Object>) action);
+    }
+
+    private static Object find(Node root, Object key) {
+        return key == null ? NOT_FOUND : root.find(key, hash(key), 0);
+    }
+
+    private static <K, V> Set<Entry<K, V>> entriesOf(Node root, int size) {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static void forEachChange(Node current, Node previous, Node previousRoot, int shift, BiConsumer<Object, Object> action) {
+        if (current == previous) {
+            return;
+        }
+        if (!(current instanceof BitmapNode currentNode) || !(previous instanceof BitmapNode previousNode)) {
+            forEachChange(current, previousRoot, action);
+            return;
+        }
+        var currentArray = currentNode.array;
+        for (int remaining = currentNode.bitmap, index = 0; remaining != 0; remaining &= remaining - 1, index += 2) {
+            int bit = Integer.lowestOneBit(remaining);
+            var key = currentArray[index];
+            var value = currentArray[index + 1];
+            if ((previousNode.bitmap & bit) == 0) {
+                // the slot is new, so is everything in it
+                if (key == null) {
+                    ((Node) value).forEach(action);
+                } else {
+                    action.accept(key, value);
+                }
+                continue;
+            }
+            int previousIndex = 2 * Integer.bitCount(previousNode.bitmap & (bit - 1));
+            var previousKey = previousNode.array[previousIndex];
+            var previousValue = previousNode.array[previousIndex + 1];
+            if (key == null && previousKey == null) {
+                forEachChange((Node) value, (Node) previousValue, previousRoot, shift + BITS_PER_LEVEL, action);
+            } else if (key == null) {
+                forEachChange((Node) value, previousRoot, action);
+            } else if (!key.equals(previousKey)) {
+                reportIfChanged(key, value, find(previousRoot, key), action);
+            } else {
+                reportIfChanged(key, value, previousValue, action);
+            }
+        }
+    }
+
+    private static void forEachChange(Node current, Node previousRoot, BiConsumer<Object, Object> action) {
+        current.forEach((key, value) -> reportIfChanged(key, value, find(previousRoot, key), action));
+    }
+
+    private static void reportIfChanged(Object key, Object value, Object previousValue, BiConsumer<Object, Object> action) {
+        if (value != previousValue && !Objects.equals(value, previousValue)) {
+            action.accept(key, value);
+        }
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        // the low bits pick the slot of the root, so the high bits are mixed into them
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int slotBit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & LEVEL_MASK);
+    }
+
+    /**
+     * Mutable map building the next version, for code written against {@link Map}, like the command handlers and decoders. Nodes
+     * copied by the builder are changed in place by its later changes, so a series of changes copies each node on their paths once,
+     * not once per change. The map the builder started from is never changed, and neither is a built map by further changes.
+     *
+     * <p>A builder must not be shared between threads.
+     */
+    public static final class Builder<K, V> extends AbstractMap<K, V> {
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        public Builder(PersistentHashMap<K, V> map) {
+            root = map.root;
+            size = map.size;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            var edit = new Edit(owner);
+            root = root.with(Objects.requireNonNull(key), value, hash(key), 0, edit);
+            size += edit.sizeDelta;
+            return edit.previousValue();
+        }
+
+        @Override
+        public V remove(Object key) {
+            if (key == null) {
+                return null;
+            }
+            var edit = new Edit(owner);
+            var newRoot = root.without(key, hash(key), 0, edit);
+            root = newRoot == null ? BitmapNode.EMPTY : newRoot;
+            size += edit.sizeDelta;
+            return edit.previousValue();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            var value = find(root, key);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(root, key) != NOT_FOUND;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return entriesOf(root, size);
+        }
+
+        public PersistentHashMap<K, V> build() {
+            // the nodes handed out are owned by nobody from now on, so further changes copy them again
+            owner = new Object();
+            return size == 0 ? empty() : new PersistentHashMap<>(root, size);
+        }
+    }
+
+    /**
+     * A single change. Nodes owned by its owner may be changed in place; persistent changes have no owner.
+     */
+    private static final class Edit {
+        private final Object owner;
+        private int sizeDelta;
+        private Object previousValue = NOT_FOUND;
+
+        private Edit(Object owner) {
+            this.owner = owner;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <V> V previousValue() {
+            return previousValue == NOT_FOUND ? null : (V) previousValue;
+        }
+    }
+
+    private interface Node {
+        Object find(Object key, int hash, int shift);
+
+        Node with(Object key, Object value, int hash, int shift, Edit edit);
+
+        /**
+         * @return null if the node became empty
+         */
+        Node without(Object key, int hash, int shift, Edit edit);
+
+        void forEach(BiConsumer<Object, Object> action);
+
+        /**
+         * Key and value pairs; a null key marks a pair whose value is a child node.
+         */
+        Object[] array();
+    }
+
+    private static final class BitmapNode implements Node {
+        private static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        // changed in place by the builder owning the node only; maps reach nodes through final fields, so they are safely published
+        private final Object owner;
+        private int bitmap;
+        private Object[] array;
+
+        private BitmapNode(Object owner, int bitmap, Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            int bit = slotBit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            var slotKey = array[index];
+            if (slotKey == null) {
+                return ((Node) array[index + 1]).find(key, hash, shift + BITS_PER_LEVEL);
+            }
+            return key.equals(slotKey) ? array[index + 1] : NOT_FOUND;
+        }
+
+        @Override
+        public Node with(Object key, Object value, int hash, int shift, Edit edit) {
+            int bit = slotBit(hash, shift);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                edit.sizeDelta = 1;
+                var grown = new Object[array.length + 2];
+                System.arraycopy(array, 0, grown, 0, index);
+                grown[index] = key;
+                grown[index + 1] = value;
+                System.arraycopy(array, index, grown, index + 2, array.length - index);
+                return withArray(edit, bitmap | bit, grown);
+            }
+            var slotKey = array[index];
+            var slotValue = array[index + 1];
+            if (slotKey == null) {
+                var child = (Node) slotValue;
+                var newChild = child.with(key, value, hash, shift + BITS_PER_LEVEL, edit);
+                return newChild == child ? this : withSlot(edit, index, null, newChild);
+            }
+            if (key.equals(slotKey)) {
+                edit.previousValue = slotValue;
+                return slotValue == value ? this : withSlot(edit, index, slotKey, value);
+            }
+            var pair = pairNode(slotKey, slotValue, key, value, hash, shift + BITS_PER_LEVEL, edit);
+            edit.sizeDelta = 1;
+            return withSlot(edit, index, null, pair);
+        }
+
+        @Override
+        public Node without(Object key, int hash, int shift, Edit edit) {
+            int bit = slotBit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            var slotKey = array[index];
+            if (slotKey == null) {
+                var child = (Node) array[index + 1];
+                var newChild = child.without(key, hash, shift + BITS_PER_LEVEL, edit);
+                if (newChild == child) {
+                    return this;
+                }
+                return newChild == null ? withoutSlot(edit, bit, index) : withSlot(edit, index, null, newChild);
+            }
+            if (!key.equals(slotKey)) {
+                return this;
+            }
+            edit.sizeDelta = -1;
+            edit.previousValue = array[index + 1];
+            return withoutSlot(edit, bit, index);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        @Override
+        public Object[] array() {
+            return array;
+        }
+
+        private boolean isOwnedBy(Edit edit) {
+            return owner != null && owner == edit.owner;
+        }
+
+        private BitmapNode withSlot(Edit edit, int index, Object key, Object value) {
+            if (isOwnedBy(edit)) {
+                array[index] = key;
+                array[index + 1] = value;
+                return this;
+            }
+            var copy = array.clone();
+            copy[index] = key;
+            copy[index + 1] = value;
+            return new BitmapNode(edit.owner, bitmap, copy);
+        }
+
+        private BitmapNode withoutSlot(Edit edit, int bit, int index) {
+            if (bitmap == bit) {
+                return null;
+            }
+            var shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, index);
+            System.arraycopy(array, index + 2, shrunk, index, array.length - index - 2);
+            return withArray(edit, bitmap & ~bit, shrunk);
+        }
+
+        private BitmapNode withArray(Edit edit, int newBitmap, Object[] newArray) {
+            if (isOwnedBy(edit)) {
+                bitmap = newBitmap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(edit.owner, newBitmap, newArray);
+        }
+
+        private static Node pairNode(Object firstKey, Object firstValue, Object secondKey, Object secondValue, int secondHash, int shift,
+                Edit edit) {
+            int firstHash = hash(firstKey);
+            if (firstHash == secondHash) {
+                return new CollisionNode(firstHash, new Object[] {firstKey, firstValue, secondKey, secondValue});
+            }
+            return EMPTY.with(firstKey, firstValue, firstHash, shift, edit).with(secondKey, secondValue, secondHash, shift, edit);
+        }
+    }
+
+    /**
+     * Keys whose hashes are equal in all 32 bits, compared one after another.
+     */
+    private static final class CollisionNode implements Node {
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : array[index + 1];
+        }
+
+        @Override
+        public Node with(Object key, Object value, int hash, int shift, Edit edit) {
+            if (hash != this.hash) {
+                // nests this node one level down, next to the new key
+                return new BitmapNode(edit.owner, slotBit(this.hash, shift), new Object[] {null, this}).with(key, value, hash, shift, edit);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                edit.previousValue = array[index + 1];
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                var copy = array.clone();
+                copy[index + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            edit.sizeDelta = 1;
+            var grown = new Object[array.length + 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            return new CollisionNode(hash, grown);
+        }
+
+        @Override
+        public Node without(Object key, int hash, int shift, Edit edit) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            edit.sizeDelta = -1;
+            edit.previousValue = array[index + 1];
+            if (array.length == 2) {
+                return null;
+            }
+            var shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, index);
+            System.arraycopy(array, index + 2, shrunk, index, array.length - index - 2);
+            return new CollisionNode(hash, shrunk);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+
+        @Override
+        public Object[] array() {
+            return array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Depth-first walk with an explicit stack, which is never deeper than the trie.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth = -1;
+        private Entry<K, V> next;
+
+        private EntryIterator(Node root) {
+            push(root);
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            var entry = next;
+            advance();
+            return entry;
+        }
+
+        private void push(Node node) {
+            depth++;
+            arrays[depth] = node.array();
+            positions[depth] = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                var array = arrays[depth];
+                int position = positions[depth];
+                if (position == array.length) {
+                    depth--;
+                } else {
+                    positions[depth] = position + 2;
+                    if (array[position] == null) {
+                        push((Node) array[position + 1]);
+                    } else {
+                        next = new SimpleImmutableEntry<>((K) array[position], (V) array[position + 1]);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+
+public class AsyncCommandsConfiguration {
+    @JsonProperty
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    @JsonProperty
+    @Min(1)
+    private int maxBatchesInFlight = 64;
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getMaxBatchesInFlight() {
+        return maxBatchesInFlight;
+    }
+}
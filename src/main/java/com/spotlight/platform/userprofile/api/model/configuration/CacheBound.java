@@ -0,0 +1,12 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+public enum CacheBound {
+    /**
+     * The cache holds at most the configured number of profiles.
+     */
+    ENTRIES,
+    /**
+     * The estimated heap size of the cached profiles stays below the configured weight.
+     */
+    BYTES
+}
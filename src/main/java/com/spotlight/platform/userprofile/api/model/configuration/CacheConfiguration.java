@@ -0,0 +1,43 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MinDataSize;
+
+public class CacheConfiguration {
+    @JsonProperty
+    private boolean enabled = false;
+
+    @JsonProperty
+    @NotNull
+    private CacheBound bound = CacheBound.ENTRIES;
+
+    @JsonProperty
+    @Min(1)
+    private long maximumEntries = 1_000_000;
+
+    @JsonProperty
+    @NotNull
+    @MinDataSize(1)
+    private DataSize maximumWeight = DataSize.mebibytes(512);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CacheBound getBound() {
+        return bound;
+    }
+
+    public long getMaximumEntries() {
+        return maximumEntries;
+    }
+
+    public DataSize getMaximumWeight() {
+        return maximumWeight;
+    }
+}
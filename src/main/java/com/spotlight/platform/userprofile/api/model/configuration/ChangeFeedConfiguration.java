@@ -0,0 +1,71 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+public class ChangeFeedConfiguration {
+    /**
+     * Changes written within this interval are fanned out to the subscribers together.
+     */
+    @JsonProperty
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration batchInterval = Duration.milliseconds(50);
+
+    @JsonProperty
+    @Min(1)
+    private int maxBatchSize = 1000;
+
+    /**
+     * Changes waiting to be fanned out; changes beyond are dropped and every subscriber is asked to resync.
+     */
+    @JsonProperty
+    @Min(1)
+    private int queueCapacity = 100_000;
+
+    /**
+     * Changes waiting to be sent to a single subscriber; a subscriber falling further behind is asked to resync.
+     */
+    @JsonProperty
+    @Min(1)
+    private int subscriberBufferSize = 10_000;
+
+    @JsonProperty
+    @Min(1)
+    private int maxSubscribers = 32;
+
+    @JsonProperty
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration heartbeatInterval = Duration.seconds(15);
+
+    public Duration getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getSubscriberBufferSize() {
+        return subscriberBufferSize;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+}
@@ -0,0 +1,36 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+public class CoalescingConfiguration {
+    @JsonProperty
+    private boolean enabled = false;
+
+    @JsonProperty
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration window = Duration.milliseconds(10);
+
+    @JsonProperty
+    @Min(1)
+    private int maxCommandsPerUser = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public int getMaxCommandsPerUser() {
+        return maxCommandsPerUser;
+    }
+}
@@ -0,0 +1,27 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+
+public class CollectConfiguration {
+    @JsonProperty
+    @Valid
+    @NotNull
+    private CollectPropertyConfiguration defaults = new CollectPropertyConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private Map<UserProfilePropertyName, @Valid @NotNull CollectPropertyConfiguration> properties = Map.of();
+
+    /**
+     * @return the configuration of the property, or the defaults if it has none
+     */
+    public CollectPropertyConfiguration forProperty(UserProfilePropertyName propertyName) {
+        return properties.getOrDefault(propertyName, defaults);
+    }
+}
@@ -0,0 +1,12 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+public enum CollectMode {
+    /**
+     * Every collected value is appended, also if the list contains it already.
+     */
+    LIST,
+    /**
+     * Values the list contains already are skipped, so the list holds every value once in the order it was first collected.
+     */
+    SET
+}
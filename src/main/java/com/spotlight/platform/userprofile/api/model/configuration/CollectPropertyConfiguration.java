@@ -0,0 +1,27 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class CollectPropertyConfiguration {
+    @JsonProperty
+    @NotNull
+    private CollectMode mode = CollectMode.LIST;
+
+    /**
+     * The oldest values are removed from lists growing longer; unbounded if not set.
+     */
+    @JsonProperty
+    @Min(1)
+    private Integer maxLength;
+
+    public CollectMode getMode() {
+        return mode;
+    }
+
+    public int getMaxLength() {
+        return maxLength == null ? Integer.MAX_VALUE : maxLength;
+    }
+}
@@ -0,0 +1,62 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class CommandsConfiguration {
+    @JsonProperty
+    @Min(1)
+    private int shardCount = Runtime.getRuntime().availableProcessors();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private IngestionConfiguration ingestion = new IngestionConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private AsyncCommandsConfiguration async = new AsyncCommandsConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private DeduplicationConfiguration deduplication = new DeduplicationConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private CollectConfiguration collect = new CollectConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private CoalescingConfiguration coalescing = new CoalescingConfiguration();
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public IngestionConfiguration getIngestion() {
+        return ingestion;
+    }
+
+    public AsyncCommandsConfiguration getAsync() {
+        return async;
+    }
+
+    public DeduplicationConfiguration getDeduplication() {
+        return deduplication;
+    }
+
+    public CollectConfiguration getCollect() {
+        return collect;
+    }
+
+    public CoalescingConfiguration getCoalescing() {
+        return coalescing;
+    }
+}
@@ -0,0 +1,44 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+public class DeduplicationConfiguration {
+    @JsonProperty
+    @NotNull
+    @MinDuration(1)
+    private Duration window = Duration.minutes(10);
+
+    @JsonProperty
+    @Min(1)
+    private int buckets = 4;
+
+    @JsonProperty
+    @Min(1)
+    private int shards = 16;
+
+    @JsonProperty
+    @Min(1)
+    private int maxCommandIds = 1_000_000;
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public int getMaxCommandIds() {
+        return maxCommandIds;
+    }
+}
@@ -0,0 +1,63 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MaxDuration;
+import io.dropwizard.validation.MinDuration;
+
+public class DurabilityConfiguration {
+    @JsonProperty
+    private boolean enabled = false;
+
+    @JsonProperty
+    @NotEmpty
+    private String directory = "data";
+
+    @JsonProperty
+    @NotNull
+    private LogSyncMode syncMode = LogSyncMode.COMMIT;
+
+    @JsonProperty
+    @NotNull
+    @MinDuration(0)
+    @MaxDuration(1)
+    private Duration commitDelay = Duration.milliseconds(0);
+
+    @JsonProperty
+    @NotNull
+    @MinDuration(1)
+    private Duration syncInterval = Duration.seconds(1);
+
+    @JsonProperty
+    @NotNull
+    @MinDuration(1)
+    private Duration snapshotInterval = Duration.minutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public LogSyncMode getSyncMode() {
+        return syncMode;
+    }
+
+    public Duration getCommitDelay() {
+        return commitDelay;
+    }
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+}
@@ -0,0 +1,47 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.DataSizeUnit;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
+
+public class IngestionConfiguration {
+    @JsonProperty
+    @Min(1)
+    private int chunkSize = 1000;
+
+    @JsonProperty
+    @Min(1)
+    private int maxChunksInFlight = 4;
+
+    @JsonProperty
+    @Min(0)
+    private int maxReportedErrors = 1000;
+
+    @JsonProperty
+    @NotNull
+    @MinDataSize(1)
+    @MaxDataSize(value = 16, unit = DataSizeUnit.MEBIBYTES)
+    private DataSize maxLineLength = DataSize.kibibytes(64);
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxChunksInFlight() {
+        return maxChunksInFlight;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public DataSize getMaxLineLength() {
+        return maxLineLength;
+    }
+}
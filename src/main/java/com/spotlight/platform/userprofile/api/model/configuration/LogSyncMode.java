@@ -0,0 +1,13 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+public enum LogSyncMode {
+    /**
+     * Every commit group is forced to disk before its writes are acknowledged. Nothing acknowledged is lost, even on power failure.
+     */
+    COMMIT,
+    /**
+     * Writes are acknowledged once handed to the operating system and the log is forced to disk periodically. Survives a crash of the
+     * process, but a power failure loses the writes of the last sync interval.
+     */
+    PERIODIC
+}
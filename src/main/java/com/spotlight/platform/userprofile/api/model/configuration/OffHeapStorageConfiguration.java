@@ -0,0 +1,53 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.DataSizeUnit;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
+import io.dropwizard.validation.MinDuration;
+
+public class OffHeapStorageConfiguration {
+    @JsonProperty
+    @NotNull
+    @MinDataSize(1)
+    @MaxDataSize(value = 1, unit = DataSizeUnit.GIBIBYTES)
+    private DataSize segmentSize = DataSize.mebibytes(64);
+
+    @JsonProperty
+    @Min(1)
+    private int maxSegments = 1024;
+
+    @JsonProperty
+    @NotNull
+    @MinDuration(1)
+    private Duration compactionInterval = Duration.seconds(30);
+
+    @JsonProperty
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double compactionThreshold = 0.5;
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public Duration getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+}
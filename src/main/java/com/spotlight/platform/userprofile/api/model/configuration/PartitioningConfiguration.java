@@ -0,0 +1,23 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+
+public class PartitioningConfiguration {
+    @JsonProperty
+    @Min(1)
+    private int partitions = 1;
+
+    @JsonProperty
+    @Min(1)
+    private int virtualNodes = 128;
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+}
@@ -0,0 +1,26 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MinDataSize;
+
+public class SerializedProfileCacheConfiguration {
+    @JsonProperty
+    private boolean enabled = true;
+
+    @JsonProperty
+    @NotNull
+    @MinDataSize(1)
+    private DataSize maximumWeight = DataSize.mebibytes(64);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public DataSize getMaximumWeight() {
+        return maximumWeight;
+    }
+}
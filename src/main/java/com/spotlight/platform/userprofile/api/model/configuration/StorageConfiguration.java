@@ -0,0 +1,52 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+public class StorageConfiguration {
+    @JsonProperty
+    @NotNull
+    private StorageType type = StorageType.IN_MEMORY;
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private OffHeapStorageConfiguration offHeap = new OffHeapStorageConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private DurabilityConfiguration durability = new DurabilityConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private CacheConfiguration cache = new CacheConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private PartitioningConfiguration partitioning = new PartitioningConfiguration();
+
+    public StorageType getType() {
+        return type;
+    }
+
+    public OffHeapStorageConfiguration getOffHeap() {
+        return offHeap;
+    }
+
+    public DurabilityConfiguration getDurability() {
+        return durability;
+    }
+
+    public CacheConfiguration getCache() {
+        return cache;
+    }
+
+    public PartitioningConfiguration getPartitioning() {
+        return partitioning;
+    }
+}
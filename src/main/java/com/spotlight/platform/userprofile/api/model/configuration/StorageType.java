@@ -0,0 +1,6 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+public enum StorageType {
+    IN_MEMORY,
+    OFF_HEAP
+}
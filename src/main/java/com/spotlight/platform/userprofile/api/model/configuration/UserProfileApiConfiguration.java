@@ -1,7 +1,48 @@
 package com.spotlight.platform.userprofile.api.model.configuration;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
 import io.dropwizard.Configuration;
 
 public class UserProfileApiConfiguration extends Configuration {
     public static final String APPLICATION_NAME = "User Profile API";
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private CommandsConfiguration commands = new CommandsConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private StorageConfiguration storage = new StorageConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private ChangeFeedConfiguration changeFeed = new ChangeFeedConfiguration();
+
+    @JsonProperty
+    @Valid
+    @NotNull
+    private SerializedProfileCacheConfiguration serializedProfileCache = new SerializedProfileCacheConfiguration();
+
+    public CommandsConfiguration getCommands() {
+        return commands;
+    }
+
+    public StorageConfiguration getStorage() {
+        return storage;
+    }
+
+    public ChangeFeedConfiguration getChangeFeed() {
+        return changeFeed;
+    }
+
+    public SerializedProfileCacheConfiguration getSerializedProfileCache() {
+        return serializedProfileCache;
+    }
 }
@@ -0,0 +1,19 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Consecutive values of a list property, starting at {@code offset}, and the number of values the property has in total.
+ */
+public record PropertyValuesPage(@JsonProperty List<String> values, @JsonProperty int offset, @JsonProperty int total) {
+    /**
+     * @return the page of at most {@code limit} values from the offset on, which is empty if the offset is beyond the last value
+     */
+    public static PropertyValuesPage of(List<String> values, int offset, int limit) {
+        var from = Math.min(offset, values.size());
+        var to = (int) Math.min(values.size(), (long) from + limit);
+        return new PropertyValuesPage(values.subList(from, to), offset, values.size());
+    }
+}
@@ -2,6 +2,7 @@ package com.spotlight.platform.userprofile.api.model.profile;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.model.common.PersistentHashMap;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
@@ -11,4 +12,13 @@ import java.util.Map;
 
 public record UserProfile(@JsonProperty UserId userId, @JsonProperty @JsonFormat(shape = JsonFormat.Shape.STRING) Instant latestUpdateTime,
                           @JsonProperty Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties) {
+    /**
+     * The properties are kept in a {@link PersistentHashMap}, so an update of a few properties shares the others with the previous
+     * version of the profile instead of copying them, and readers holding a profile keep an unchanging snapshot.
+     */
+    public UserProfile {
+        if (userProfileProperties != null) {
+            userProfileProperties = PersistentHashMap.copyOf(userProfileProperties);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.model.common.PersistentHashMap;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The properties a write of a profile added or changed, with their new values.
+ */
+public record UserProfileChange(@JsonProperty UserId userId,
+                                @JsonProperty @JsonFormat(shape = JsonFormat.Shape.STRING) Instant latestUpdateTime,
+                                @JsonProperty Map<UserProfilePropertyName, UserProfilePropertyValue> changedProperties) {
+    /**
+     * @param previous the profile before the write, null if the user had none
+     * @return the change, which has no changed properties if the write changed none
+     */
+    public static UserProfileChange between(UserProfile previous, UserProfile current) {
+        if (previous == null) {
+            return new UserProfileChange(current.userId(), current.latestUpdateTime(), current.userProfileProperties());
+        }
+        Map<UserProfilePropertyName, UserProfilePropertyValue> changedProperties = new HashMap<>();
+        PersistentHashMap.copyOf(current.userProfileProperties())
+                .forEachChangeSince(PersistentHashMap.copyOf(previous.userProfileProperties()), changedProperties::put);
+        return new UserProfileChange(current.userId(), current.latestUpdateTime(), changedProperties);
+    }
+
+    /**
+     * @return the change of only the given properties, null if it changed none of them
+     */
+    public UserProfileChange only(Set<UserProfilePropertyName> propertyNames) {
+        Map<UserProfilePropertyName, UserProfilePropertyValue> selectedProperties = new HashMap<>();
+        changedProperties.forEach((name, value) -> {
+            if (propertyNames.contains(name)) {
+                selectedProperties.put(name, value);
+            }
+        });
+        if (selectedProperties.isEmpty()) {
+            return null;
+        }
+        return selectedProperties.size() == changedProperties.size() ? this
+                : new UserProfileChange(userId, latestUpdateTime, selectedProperties);
+    }
+}
@@ -0,0 +1,19 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+/**
+ * Result of looking up one user in a batch. The status is the one a single lookup of the user would have answered with; the profile is
+ * only present with status 200.
+ */
+public record UserProfileLookup(@JsonProperty UserId userId, @JsonProperty int status,
+                                @JsonProperty @JsonInclude(JsonInclude.Include.NON_NULL) UserProfile profile) {
+    public static final int FOUND = 200;
+    public static final int NOT_FOUND = 404;
+
+    public static UserProfileLookup of(UserId userId, UserProfile userProfile) {
+        return userProfile == null ? new UserProfileLookup(userId, NOT_FOUND, null) : new UserProfileLookup(userId, FOUND, userProfile);
+    }
+}
@@ -0,0 +1,13 @@
+package com.spotlight.platform.userprofile.api.model.profile.commands;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.List;
+
+/**
+ * Error of a batch which was applied in part: the commands of the users in {@code appliedUserIds} are stored, all other commands are
+ * not.
+ */
+public record CommandBatchError(@JsonProperty int code, @JsonProperty String message, @JsonProperty List<UserId> appliedUserIds) {
+}
@@ -0,0 +1,13 @@
+package com.spotlight.platform.userprofile.api.model.profile.commands;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Outcome of ingesting a stream of commands. {@code errors} lists the rejected lines in order, but is capped, so it may hold fewer
+ * entries than {@code rejected}.
+ */
+public record CommandIngestionSummary(@JsonProperty long lines, @JsonProperty long applied, @JsonProperty long rejected,
+                                      @JsonProperty List<CommandLineError> errors) {
+}
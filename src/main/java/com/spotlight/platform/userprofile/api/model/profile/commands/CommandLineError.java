@@ -0,0 +1,6 @@
+package com.spotlight.platform.userprofile.api.model.profile.commands;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record CommandLineError(@JsonProperty long line, @JsonProperty String error) {
+}
@@ -0,0 +1,11 @@
+package com.spotlight.platform.userprofile.api.model.profile.commands;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+/**
+ * Acknowledges a batch of commands accepted for asynchronous application. The receipt id is logged if the batch cannot be applied.
+ */
+public record CommandReceipt(@JsonProperty String receiptId, @JsonProperty int commands, @JsonProperty Instant acceptedAt) {
+}
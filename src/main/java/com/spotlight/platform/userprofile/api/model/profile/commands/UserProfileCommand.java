@@ -0,0 +1,28 @@
+package com.spotlight.platform.userprofile.api.model.profile.commands;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+
+/**
+ * User id, command id and property names are not cascaded into by bean validation, the JSON mapper already rejects invalid ones while
+ * parsing.
+ *
+ * <p>The optional command id makes a command idempotent: a command with the id of a command already applied to the same user within
+ * the deduplication window is skipped, so producers can retry whole batches.
+ */
+public record UserProfileCommand(@JsonProperty @NotNull UserId userId, @JsonProperty @NotNull UserProfileCommandType type,
+                                 @JsonProperty @NotEmpty Map<UserProfilePropertyName, @NotNull UserProfilePropertyValue> properties,
+                                 @JsonProperty @JsonInclude(JsonInclude.Include.NON_NULL) CommandId commandId) {
+    public UserProfileCommand(UserId userId, UserProfileCommandType type,
+            Map<UserProfilePropertyName, UserProfilePropertyValue> properties) {
+        this(userId, type, properties, null);
+    }
+}
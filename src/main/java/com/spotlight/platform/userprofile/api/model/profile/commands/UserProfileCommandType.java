@@ -0,0 +1,31 @@
+package com.spotlight.platform.userprofile.api.model.profile.commands;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+
+public enum UserProfileCommandType {
+    REPLACE("replace"),
+    INCREMENT("increment"),
+    COLLECT("collect");
+
+    private final String value;
+
+    UserProfileCommandType(String value) {
+        this.value = value;
+    }
+
+    @JsonCreator
+    public static UserProfileCommandType fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(type -> type.value.equals(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown command type: " + value));
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
+
+public class CommandId extends AlphaNumericalStringWithMaxLength {
+    @JsonCreator
+    protected CommandId(String value) {
+        super(value);
+    }
+
+    public static CommandId valueOf(String commandId) {
+        return new CommandId(commandId);
+    }
+}
@@ -0,0 +1,43 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+public final class DoublePropertyValue extends UserProfilePropertyValue {
+    private final double value;
+
+    DoublePropertyValue(double value) {
+        this.value = value;
+    }
+
+    public static DoublePropertyValue of(double value) {
+        return new DoublePropertyValue(value);
+    }
+
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    protected Object getValue() {
+        return value;
+    }
+
+    @Override
+    public UserProfilePropertyValue add(UserProfilePropertyValue delta) {
+        if (delta instanceof DoublePropertyValue doubleDelta) {
+            return new DoublePropertyValue(value + doubleDelta.value);
+        }
+        if (delta instanceof LongPropertyValue longDelta) {
+            return new DoublePropertyValue(value + longDelta.longValue());
+        }
+        return super.add(delta);
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof DoublePropertyValue other && Double.compare(value, other.value) == 0;
+    }
+}
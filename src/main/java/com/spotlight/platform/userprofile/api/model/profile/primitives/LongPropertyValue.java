@@ -0,0 +1,56 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+/**
+ * Integral counter. Frequently used small values are cached, so incrementing a counter within that range does not allocate.
+ */
+public final class LongPropertyValue extends UserProfilePropertyValue {
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final LongPropertyValue[] CACHE = new LongPropertyValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new LongPropertyValue(CACHE_LOW + i);
+        }
+    }
+
+    private final long value;
+
+    private LongPropertyValue(long value) {
+        this.value = value;
+    }
+
+    public static LongPropertyValue of(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return new LongPropertyValue(value);
+    }
+
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    protected Object getValue() {
+        return value;
+    }
+
+    @Override
+    public UserProfilePropertyValue add(UserProfilePropertyValue delta) {
+        if (delta instanceof LongPropertyValue longDelta) {
+            return of(Math.addExact(value, longDelta.value));
+        }
+        return super.add(delta);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof LongPropertyValue other && value == other.value;
+    }
+}
@@ -0,0 +1,34 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import java.util.Objects;
+
+/**
+ * Holds values without a specialized representation, such as booleans, nested objects, numbers outside of the long range and lists with
+ * non-string elements.
+ */
+public final class ObjectPropertyValue extends UserProfilePropertyValue {
+    private final Object value;
+
+    ObjectPropertyValue(Object value) {
+        this.value = value;
+    }
+
+    public Object objectValue() {
+        return value;
+    }
+
+    @Override
+    protected Object getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ObjectPropertyValue other && Objects.equals(value, other.value);
+    }
+}
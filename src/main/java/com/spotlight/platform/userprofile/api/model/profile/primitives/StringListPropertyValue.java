@@ -0,0 +1,126 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import com.spotlight.platform.userprofile.api.model.common.ChunkedList;
+import com.spotlight.platform.userprofile.api.model.common.PersistentHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List of strings, stored in a {@link ChunkedList} so that collecting a few values into a long list neither copies the list nor
+ * changes the previous version of it.
+ */
+public final class StringListPropertyValue extends UserProfilePropertyValue {
+    private final ChunkedList<String> values;
+    // how often every value occurs in the list, built by the first distinct append and kept up to date by the following ones, so these
+    // do not have to scan the list; null until then
+    private final PersistentHashMap<String, Integer> occurrences;
+    // total length of all values, kept up to date by appends so that weighing the list does not have to scan it
+    private final long characterCount;
+
+    StringListPropertyValue(List<String> values) {
+        this(ChunkedList.copyOf(values), null, characterCountOf(values, 0, values.size()));
+    }
+
+    private StringListPropertyValue(ChunkedList<String> values, PersistentHashMap<String, Integer> occurrences, long characterCount) {
+        this.values = values;
+        this.occurrences = occurrences;
+        this.characterCount = characterCount;
+    }
+
+    public static StringListPropertyValue of(List<String> values) {
+        return new StringListPropertyValue(values);
+    }
+
+    public List<String> values() {
+        return values;
+    }
+
+    /**
+     * @return the total length of all values
+     */
+    public long characterCount() {
+        return characterCount;
+    }
+
+    /**
+     * Appends the values and removes the oldest values beyond the maximum length.
+     *
+     * @param distinct  whether values the list contains already, or which occur earlier in the appended values, are skipped
+     * @param maxLength the maximum length of the list, {@link Integer#MAX_VALUE} for unbounded lists
+     */
+    public StringListPropertyValue append(List<String> added, boolean distinct, int maxLength) {
+        var appended = added;
+        PersistentHashMap.Builder<String, Integer> counts = null;
+        if (distinct) {
+            counts = new PersistentHashMap.Builder<>(occurrences == null ? countOccurrences(values) : occurrences);
+            appended = new ArrayList<>(added.size());
+            for (var value : added) {
+                if (!counts.containsKey(value)) {
+                    counts.put(value, 1);
+                    appended.add(value);
+                }
+            }
+        }
+        var excess = values.size() + appended.size() - maxLength;
+        if (appended.isEmpty() && excess <= 0) {
+            return this;
+        }
+        var collected = values.appendAll(appended);
+        var collectedCharacterCount = characterCount + characterCountOf(appended, 0, appended.size());
+        if (excess > 0) {
+            collectedCharacterCount -= characterCountOf(collected, 0, excess);
+            if (counts != null) {
+                for (int i = 0; i < excess; i++) {
+                    counts.merge(collected.get(i), -1, (count, decrement) -> count == 1 ? null : count + decrement);
+                }
+            }
+            collected = collected.dropFirst(excess);
+        }
+        // a plain append would leave the occurrences behind, they are counted again on the next distinct append
+        return new StringListPropertyValue(collected, counts == null ? null : counts.build(), collectedCharacterCount);
+    }
+
+    /**
+     * Appends lists of strings and strings without copying this list, see {@link #append(List, boolean, int)}.
+     */
+    @Override
+    public UserProfilePropertyValue append(UserProfilePropertyValue values) {
+        if (values instanceof StringListPropertyValue stringListValue) {
+            return append(stringListValue.values, false, Integer.MAX_VALUE);
+        }
+        if (values instanceof StringPropertyValue stringValue) {
+            return append(List.of(stringValue.stringValue()), false, Integer.MAX_VALUE);
+        }
+        return super.append(values);
+    }
+
+    @Override
+    protected List<String> getValue() {
+        return values;
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof StringListPropertyValue other && values.equals(other.values);
+    }
+
+    private static long characterCountOf(List<String> values, int from, int to) {
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            count += values.get(i).length();
+        }
+        return count;
+    }
+
+    private static PersistentHashMap<String, Integer> countOccurrences(List<String> values) {
+        var counts = new PersistentHashMap.Builder<>(PersistentHashMap.<String, Integer>empty());
+        values.forEach(value -> counts.merge(value, 1, Integer::sum));
+        return counts.build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+public final class StringPropertyValue extends UserProfilePropertyValue {
+    private final String value;
+
+    StringPropertyValue(String value) {
+        this.value = value;
+    }
+
+    public static StringPropertyValue of(String value) {
+        return new StringPropertyValue(value);
+    }
+
+    public String stringValue() {
+        return value;
+    }
+
+    @Override
+    protected String getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof StringPropertyValue other && value.equals(other.value);
+    }
+}
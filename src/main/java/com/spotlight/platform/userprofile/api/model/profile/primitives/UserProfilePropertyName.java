@@ -1,17 +1,47 @@
 package com.spotlight.platform.userprofile.api.model.profile.primitives;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
+import com.spotlight.platform.userprofile.api.model.common.BoundedInterner;
 
 public class UserProfilePropertyName extends AlphaNumericalStringWithMaxLength implements Comparable<UserProfilePropertyName> {
+    // only a few hundred distinct names exist, the limit protects the pool from clients sending random names
+    private static final int POOL_MAX_SIZE = 10_000;
+    private static final BoundedInterner<UserProfilePropertyName> POOL = new BoundedInterner<>(POOL_MAX_SIZE, UserProfilePropertyName::new);
+
+    // created on first use; racing threads may each create one, which is harmless as SerializedString is safely published
+    private SerializedString serializedValue;
 
-    @JsonCreator
     protected UserProfilePropertyName(String value) {
         super(value);
     }
 
+    @JsonCreator
     public static UserProfilePropertyName valueOf(String value) {
-        return new UserProfilePropertyName(value);
+        return POOL.intern(value);
+    }
+
+    /**
+     * For names which are only compared with stored ones, such as projections and filters: unknown names are not pooled, so clients
+     * asking for random names cannot fill the pool.
+     */
+    public static UserProfilePropertyName lookup(String value) {
+        return POOL.lookup(value);
+    }
+
+    /**
+     * The name as written by JSON generators. It keeps its quoted and encoded forms once computed, and as names are pooled, a name
+     * written again is copied into the output rather than escaped and encoded again.
+     */
+    public SerializableString serializedValue() {
+        var serialized = serializedValue;
+        if (serialized == null) {
+            serialized = new SerializedString(getValue());
+            serializedValue = serialized;
+        }
+        return serialized;
     }
 
     @Override
@@ -21,7 +51,7 @@ public class UserProfilePropertyName extends AlphaNumericalStringWithMaxLength i
 
     @Override
     public boolean equals(Object obj) {
-        return super.equals(obj);
+        return this == obj || super.equals(obj);
     }
 
     @Override
@@ -29,4 +59,3 @@ public class UserProfilePropertyName extends AlphaNumericalStringWithMaxLength i
         return super.hashCode();
     }
 }
-
@@ -3,35 +3,69 @@ package com.spotlight.platform.userprofile.api.model.profile.primitives;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
-public class UserProfilePropertyValue {
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
-    private final Object value;
+/**
+ * Value of a profile property. Counters, decimals, strings and lists of strings are held in specialized subclasses that store their
+ * value without boxing; anything else the JSON of a command may contain is kept as is. Values are immutable and may be shared between
+ * profiles.
+ */
+public abstract sealed class UserProfilePropertyValue
+        permits LongPropertyValue, DoublePropertyValue, StringPropertyValue, StringListPropertyValue, ObjectPropertyValue {
 
-    @JsonCreator
-    private UserProfilePropertyValue(Object value) {
-        this.value = value;
+    private static final UserProfilePropertyValue EMPTY_LIST = new StringListPropertyValue(List.of());
+
+    UserProfilePropertyValue() {
     }
 
+    @JsonCreator
     public static UserProfilePropertyValue valueOf(Object value) {
-        return new UserProfilePropertyValue(value);
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return LongPropertyValue.of(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+            return new DoublePropertyValue(((Number) value).doubleValue());
+        }
+        if (value instanceof String string) {
+            return new StringPropertyValue(string);
+        }
+        if (value instanceof Collection<?> collection && collection.stream().allMatch(String.class::isInstance)) {
+            return new StringListPropertyValue(collection.stream().map(String.class::cast).toList());
+        }
+        if (value instanceof Collection<?> collection) {
+            return new ObjectPropertyValue(Collections.unmodifiableList(new ArrayList<>(collection)));
+        }
+        return new ObjectPropertyValue(value);
     }
 
-    @JsonValue
-    protected Object getValue() {
-        return value;
+    public static UserProfilePropertyValue emptyList() {
+        return EMPTY_LIST;
     }
 
-    @Override
-    public int hashCode() {
-        return value.hashCode();
+    @JsonValue
+    protected abstract Object getValue();
+
+    public UserProfilePropertyValue add(UserProfilePropertyValue delta) {
+        if (!(getValue() instanceof Number current) || !(delta.getValue() instanceof Number increment)) {
+            throw new IllegalArgumentException("Only numeric values can be incremented");
+        }
+        return new DoublePropertyValue(current.doubleValue() + increment.doubleValue());
     }
 
-    @Override
-    public boolean equals(Object obj) {
-        if (obj == null || this.getClass() != obj.getClass()) {
-            return false;
+    public UserProfilePropertyValue append(UserProfilePropertyValue values) {
+        if (!(getValue() instanceof Collection<?> current)) {
+            throw new IllegalArgumentException("Only list values can be collected into");
+        }
+        var collected = new ArrayList<Object>(current);
+        if (values.getValue() instanceof Collection<?> added) {
+            collected.addAll(added);
+        } else {
+            collected.add(values.getValue());
         }
-        return value.equals(((UserProfilePropertyValue) obj).getValue());
+        return valueOf(collected);
     }
 }
-
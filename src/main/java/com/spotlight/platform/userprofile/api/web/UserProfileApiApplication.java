@@ -1,12 +1,29 @@
 package com.spotlight.platform.userprofile.api.web;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.jaxrs.cbor.JacksonCBORProvider;
+import com.fasterxml.jackson.jaxrs.smile.JacksonSmileProvider;
+import com.spotlight.platform.userprofile.api.core.concurrent.ShardedExecutor;
 import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.changes.ProfileChangeFeed;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCoalescer;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandQueue;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
 import com.spotlight.platform.userprofile.api.model.configuration.UserProfileApiConfiguration;
+import com.spotlight.platform.userprofile.api.web.cache.SerializedProfileWriterInterceptor;
 import com.spotlight.platform.userprofile.api.web.exceptionmappers.EntityNotFoundExceptionMapper;
+import com.spotlight.platform.userprofile.api.web.exceptionmappers.InvalidAlphaNumericalStringExceptionMapper;
+import com.spotlight.platform.userprofile.api.web.exceptionmappers.InvalidCommandExceptionMapper;
+import com.spotlight.platform.userprofile.api.web.exceptionmappers.ServiceUnavailableExceptionMapper;
 import com.spotlight.platform.userprofile.api.web.healthchecks.PreventStartupWarningHealthCheck;
+import com.spotlight.platform.userprofile.api.web.metrics.UserProfileSizeWriterInterceptor;
 import com.spotlight.platform.userprofile.api.web.modules.UserProfileApiModule;
 
+import org.eclipse.jetty.util.component.LifeCycle;
+
 import io.dropwizard.Application;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import ru.vyarus.dropwizard.guice.GuiceBundle;
@@ -36,6 +53,10 @@ public class UserProfileApiApplication extends Application<UserProfileApiConfigu
     public void run(UserProfileApiConfiguration configuration, Environment environment) {
         registerHealthChecks(environment);
         registerExceptionMappers(environment);
+        registerBinaryFormatProviders(environment);
+        registerMetricsInterceptors(environment);
+        registerSerializedProfileCache(configuration, environment);
+        registerManagedObjects(environment);
     }
 
     public static void main(String[] args) throws Exception {
@@ -48,6 +69,43 @@ public class UserProfileApiApplication extends Application<UserProfileApiConfigu
 
     private void registerExceptionMappers(Environment environment) {
         environment.jersey().register(getInstance(EntityNotFoundExceptionMapper.class));
+        environment.jersey().register(getInstance(InvalidCommandExceptionMapper.class));
+        environment.jersey().register(getInstance(InvalidAlphaNumericalStringExceptionMapper.class));
+        environment.jersey().register(getInstance(ServiceUnavailableExceptionMapper.class));
+    }
+
+    private void registerBinaryFormatProviders(Environment environment) {
+        environment.jersey().register(new JacksonSmileProvider(JsonMapper.createInstance(new SmileFactory())));
+        environment.jersey().register(new JacksonCBORProvider(JsonMapper.createInstance(new CBORFactory())));
+    }
+
+    private void registerMetricsInterceptors(Environment environment) {
+        environment.jersey().register(getInstance(UserProfileSizeWriterInterceptor.class));
+    }
+
+    private void registerSerializedProfileCache(UserProfileApiConfiguration configuration, Environment environment) {
+        if (configuration.getSerializedProfileCache().isEnabled()) {
+            environment.jersey().register(getInstance(SerializedProfileWriterInterceptor.class));
+        }
+    }
+
+    private void registerManagedObjects(Environment environment) {
+        environment.lifecycle().manage(getInstance(ShardedExecutor.class));
+        if (getInstance(UserProfileDao.class) instanceof Managed managedDao) {
+            environment.lifecycle().manage(managedDao);
+        }
+        // managed objects stop in reverse order, so queued commands are applied while the executor and the DAO are still running
+        environment.lifecycle().manage(getInstance(IncrementCoalescer.class));
+        environment.lifecycle().manage(getInstance(CommandQueue.class));
+        var changeFeed = getInstance(ProfileChangeFeed.class);
+        environment.lifecycle().manage(changeFeed);
+        // subscribers hold their requests open, which would keep the server from stopping until its grace period ran out
+        environment.lifecycle().addLifeCycleListener(new LifeCycle.Listener() {
+            @Override
+            public void lifeCycleStopping(LifeCycle event) {
+                changeFeed.closeSubscriptions();
+            }
+        });
     }
 
     private <T> T getInstance(Class<T> clazz) {
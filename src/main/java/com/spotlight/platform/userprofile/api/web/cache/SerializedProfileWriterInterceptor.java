@@ -0,0 +1,61 @@
+package com.spotlight.platform.userprofile.api.web.cache;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.SerializedProfileCache;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes profiles from the {@link SerializedProfileCache} when this version of the profile was serialized in the negotiated format
+ * before, straight to the response without serializing it again, and caches the bytes of profiles it has to serialize. Only whole
+ * profiles are cached; a resource marks them by setting {@link #CACHEABLE} on the request, since a profile limited to some properties
+ * has the same user and version.
+ *
+ * <p>The interceptor runs after the other interceptors, so that the size of cached profiles is measured like that of serialized ones.
+ */
+@Priority(Priorities.USER + 100)
+public class SerializedProfileWriterInterceptor implements WriterInterceptor {
+    public static final String CACHEABLE = SerializedProfileWriterInterceptor.class.getName() + ".cacheable";
+
+    private final SerializedProfileCache serializedProfileCache;
+
+    @Inject
+    public SerializedProfileWriterInterceptor(SerializedProfileCache serializedProfileCache) {
+        this.serializedProfileCache = serializedProfileCache;
+    }
+
+    /**
+     * Marks the profile of the response to the request as a whole profile, which may be written from the cache.
+     */
+    public static void markCacheable(ContainerRequestContext requestContext) {
+        requestContext.setProperty(CACHEABLE, Boolean.TRUE);
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!(context.getEntity() instanceof UserProfile userProfile) || context.getProperty(CACHEABLE) != Boolean.TRUE) {
+            context.proceed();
+            return;
+        }
+        var mediaType = context.getMediaType();
+        var format = mediaType.getType() + "/" + mediaType.getSubtype();
+        var bytes = serializedProfileCache.get(userProfile, format);
+        if (bytes == null) {
+            var output = context.getOutputStream();
+            var serialized = new ByteArrayOutputStream();
+            context.setOutputStream(serialized);
+            context.proceed();
+            context.setOutputStream(output);
+            bytes = serialized.toByteArray();
+            serializedProfileCache.put(userProfile, format, bytes);
+        }
+        context.getOutputStream().write(bytes);
+    }
+}
@@ -0,0 +1,24 @@
+package com.spotlight.platform.userprofile.api.web.exceptionmappers;
+
+import com.spotlight.platform.userprofile.api.core.json.InvalidAlphaNumericalStringException;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import io.dropwizard.jersey.validation.ValidationErrorMessage;
+
+/**
+ * Answers identifiers rejected while parsing the request body like a failed bean validation of the body.
+ */
+public class InvalidAlphaNumericalStringExceptionMapper implements ExceptionMapper<InvalidAlphaNumericalStringException> {
+    private static final int UNPROCESSABLE_ENTITY = 422;
+
+    @Override
+    public Response toResponse(InvalidAlphaNumericalStringException exception) {
+        return Response.status(UNPROCESSABLE_ENTITY)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .entity(new ValidationErrorMessage(exception.validationErrors()))
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.spotlight.platform.userprofile.api.web.exceptionmappers;
+
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.core.exceptions.PartiallyAppliedCommandsException;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandBatchError;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import io.dropwizard.jersey.errors.ErrorMessage;
+
+public class InvalidCommandExceptionMapper implements ExceptionMapper<InvalidCommandException> {
+    @Override
+    public Response toResponse(InvalidCommandException exception) {
+        var status = Response.Status.BAD_REQUEST.getStatusCode();
+        return Response.status(status)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .entity(exception instanceof PartiallyAppliedCommandsException partiallyApplied
+                        ? new CommandBatchError(status, exception.getMessage(), partiallyApplied.getAppliedUserIds())
+                        : new ErrorMessage(status, exception.getMessage()))
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.spotlight.platform.userprofile.api.web.exceptionmappers;
+
+import com.spotlight.platform.userprofile.api.core.exceptions.ServiceUnavailableException;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import io.dropwizard.jersey.errors.ErrorMessage;
+
+public class ServiceUnavailableExceptionMapper implements ExceptionMapper<ServiceUnavailableException> {
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    @Override
+    public Response toResponse(ServiceUnavailableException exception) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .entity(new ErrorMessage(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), exception.getMessage()))
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.spotlight.platform.userprofile.api.web.metrics;
+
+import com.codahale.metrics.LockFreeExponentiallyDecayingReservoir;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import javax.inject.Inject;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records a {@link Timer} of every call and a {@link Meter} of the calls which threw, per method, named after the class and the method.
+ * Overloads of a method share their metrics.
+ *
+ * <p>Guice applies the interceptor to the classes it constructs. Objects created by hand, like the DAOs, are wrapped with
+ * {@link #instrument(Class, Object)} instead, so every layer of a DAO chain is measured under the name of its implementation.
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+    private final ConcurrentMap<Method, MethodMetrics> interceptedMethods = new ConcurrentHashMap<>();
+    private MetricRegistry metrics;
+
+    /**
+     * The interceptor is bound while the injector is configured, before the registry can be provided.
+     */
+    @Inject
+    public void setMetrics(MetricRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod();
+        return metricsOf(interceptedMethods, method.getDeclaringClass(), method).measure(invocation::proceed);
+    }
+
+    /**
+     * @return a proxy implementing every interface of the target, which records the metrics of the interface methods of the given type
+     */
+    public <T> T instrument(Class<T> type, T target) {
+        ConcurrentMap<Method, MethodMetrics> targetMethods = new ConcurrentHashMap<>();
+        var interfaces = interfacesOf(target.getClass());
+        var proxy = Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces, (instance, method, args) -> {
+            // methods of Object and of other interfaces, like the lifecycle, are passed through
+            var declaringClass = method.getDeclaringClass();
+            if (!declaringClass.isInterface() || !declaringClass.isAssignableFrom(type)) {
+                return invokeTarget(target, method, args);
+            }
+            return metricsOf(targetMethods, target.getClass(), method).measure(() -> invokeTarget(target, method, args));
+        });
+        return type.cast(proxy);
+    }
+
+    private MethodMetrics metricsOf(ConcurrentMap<Method, MethodMetrics> methods, Class<?> type, Method method) {
+        // a plain read first, computeIfAbsent locks the bin even if the metrics exist
+        var methodMetrics = methods.get(method);
+        return methodMetrics != null ? methodMetrics : methods.computeIfAbsent(method, key -> new MethodMetrics(metrics, type, method));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Class<?>[] interfacesOf(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (var current = type; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return interfaces.toArray(Class<?>[]::new);
+    }
+
+    private static class MethodMetrics {
+        private final Timer timer;
+        private final Meter errors;
+
+        private MethodMetrics(MetricRegistry metrics, Class<?> type, Method method) {
+            timer = metrics.timer(MetricRegistry.name(type, method.getName()),
+                    () -> new Timer(LockFreeExponentiallyDecayingReservoir.builder().build()));
+            errors = metrics.meter(MetricRegistry.name(type, method.getName(), "errors"));
+        }
+
+        private Object measure(Call call) throws Throwable {
+            var context = timer.time();
+            try {
+                return call.proceed();
+            } catch (Throwable e) {
+                errors.mark();
+                throw e;
+            } finally {
+                context.stop();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object proceed() throws Throwable;
+    }
+}
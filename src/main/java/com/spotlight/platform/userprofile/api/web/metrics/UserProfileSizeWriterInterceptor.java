@@ -0,0 +1,61 @@
+package com.spotlight.platform.userprofile.api.web.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+
+import javax.inject.Inject;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records histograms of the number of properties and the serialized size of profiles read one at a time, that is of responses whose
+ * entity is a single profile. The size is counted while the profile is written, in whichever format was negotiated, so profiles are
+ * not serialized a second time for measuring. Profiles streamed by the bulk lookup are not measured.
+ */
+public class UserProfileSizeWriterInterceptor implements WriterInterceptor {
+    private final Histogram propertyCounts;
+    private final Histogram serializedBytes;
+
+    @Inject
+    public UserProfileSizeWriterInterceptor(MetricRegistry metrics) {
+        propertyCounts = metrics.histogram(MetricRegistry.name(UserProfile.class, "propertyCount"));
+        serializedBytes = metrics.histogram(MetricRegistry.name(UserProfile.class, "serializedBytes"));
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!(context.getEntity() instanceof UserProfile userProfile)) {
+            context.proceed();
+            return;
+        }
+        var countingOutput = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(countingOutput);
+        context.proceed();
+        propertyCounts.update(userProfile.userProfileProperties().size());
+        serializedBytes.update(countingOutput.count);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.spotlight.platform.userprofile.api.web.modules;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.multibindings.Multibinder;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.core.concurrent.ShardedExecutor;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CollectCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandDeduplicator;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCoalescer;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.ReplaceCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.UserProfileCommandApplier;
+import com.spotlight.platform.userprofile.api.core.profile.commands.UserProfileCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandQueue;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandStreamIngester;
+import com.spotlight.platform.userprofile.api.model.configuration.UserProfileApiConfiguration;
+
+import javax.validation.Validator;
+import java.time.Clock;
+
+public class CommandModule extends AbstractModule {
+    private static final String COMMAND_SHARD_THREAD_NAME = "command-shard";
+
+    @Override
+    protected void configure() {
+        var handlers = Multibinder.newSetBinder(binder(), UserProfileCommandHandler.class);
+        handlers.addBinding().to(ReplaceCommandHandler.class);
+        handlers.addBinding().to(IncrementCommandHandler.class);
+        handlers.addBinding().to(CollectCommandHandler.class);
+
+        bind(Clock.class).toInstance(Clock.systemUTC());
+        bind(UserProfileCommandApplier.class).in(Singleton.class);
+    }
+
+    @Provides
+    @Singleton
+    public ShardedExecutor getCommandShards(UserProfileApiConfiguration configuration) {
+        return new ShardedExecutor(COMMAND_SHARD_THREAD_NAME, configuration.getCommands().getShardCount());
+    }
+
+    @Provides
+    @Singleton
+    public CollectCommandHandler getCollectCommandHandler(UserProfileApiConfiguration configuration) {
+        return new CollectCommandHandler(configuration.getCommands().getCollect());
+    }
+
+    @Provides
+    @Singleton
+    public CommandDeduplicator getCommandDeduplicator(UserProfileApiConfiguration configuration, Clock clock, MetricRegistry metrics) {
+        var deduplication = configuration.getCommands().getDeduplication();
+        var commandDeduplicator = new CommandDeduplicator(clock, deduplication.getWindow().toJavaDuration(), deduplication.getBuckets(),
+                deduplication.getShards(), deduplication.getMaxCommandIds());
+        commandDeduplicator.registerMetrics(metrics);
+        return commandDeduplicator;
+    }
+
+    @Provides
+    @Singleton
+    public IncrementCoalescer getIncrementCoalescer(UserProfileApiConfiguration configuration, ShardedExecutor commandShards,
+            MetricRegistry metrics) {
+        var coalescing = configuration.getCommands().getCoalescing();
+        if (!coalescing.isEnabled()) {
+            return IncrementCoalescer.disabled();
+        }
+        var incrementCoalescer = new IncrementCoalescer(commandShards, coalescing.getWindow().toJavaDuration(),
+                coalescing.getMaxCommandsPerUser());
+        incrementCoalescer.registerMetrics(metrics);
+        return incrementCoalescer;
+    }
+
+    @Provides
+    @Singleton
+    public CommandStreamIngester getCommandStreamIngester(UserProfileApiConfiguration configuration, ObjectMapper objectMapper,
+            Validator validator, UserProfileService userProfileService) {
+        return new CommandStreamIngester(objectMapper, validator, userProfileService, configuration.getCommands().getIngestion());
+    }
+
+    @Provides
+    @Singleton
+    public CommandQueue getCommandQueue(UserProfileApiConfiguration configuration, UserProfileService userProfileService, Clock clock,
+            MetricRegistry metrics) {
+        var async = configuration.getCommands().getAsync();
+        var commandQueue = new CommandQueue(userProfileService, clock, async.getQueueCapacity(), async.getMaxBatchesInFlight());
+        commandQueue.registerMetrics(metrics);
+        return commandQueue;
+    }
+}
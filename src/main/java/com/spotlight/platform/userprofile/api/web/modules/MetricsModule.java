@@ -0,0 +1,18 @@
+package com.spotlight.platform.userprofile.api.web.modules;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+
+import com.codahale.metrics.MetricRegistry;
+
+import javax.inject.Singleton;
+
+import io.dropwizard.setup.Environment;
+
+public class MetricsModule extends AbstractModule {
+    @Provides
+    @Singleton
+    public MetricRegistry getMetricRegistry(Environment environment) {
+        return environment.metrics();
+    }
+}
@@ -1,17 +1,123 @@
 package com.spotlight.platform.userprofile.api.web.modules;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 
+import com.codahale.metrics.MetricRegistry;
 import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.changes.ProfileChangeFeed;
+import com.spotlight.platform.userprofile.api.core.profile.changes.UserProfileDaoPublishing;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.SerializedProfileCache;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.UserProfileDaoCaching;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.UserProfileDaoInvalidating;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.durable.SnapshotStore;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.durable.UserProfileDaoDurable;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.durable.WriteAheadLog;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.offheap.OffHeapMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.offheap.UserProfileDaoOffHeap;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned.UserProfileDaoPartitioned;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned.UserProfilePartition;
+import com.spotlight.platform.userprofile.api.model.configuration.CacheBound;
+import com.spotlight.platform.userprofile.api.model.configuration.CacheConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.DurabilityConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.OffHeapStorageConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.StorageConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.UserProfileApiConfiguration;
+import com.spotlight.platform.userprofile.api.web.metrics.MethodMetricsInterceptor;
 
 import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
 
 public class ProfileModule extends AbstractModule {
+    private static final String PARTITION_NAME_PREFIX = "partition-";
+
     @Override
     protected void configure() {
-        bind(UserProfileDao.class).to(UserProfileDaoInMemory.class).in(Singleton.class);
+        bind(UserProfileBinaryCodec.class).in(Singleton.class);
         bind(UserProfileService.class).in(Singleton.class);
     }
+
+    @Provides
+    @Singleton
+    public UserProfileDao getUserProfileDao(UserProfileApiConfiguration configuration, UserProfileBinaryCodec codec,
+            MetricRegistry metrics, MethodMetricsInterceptor methodMetrics, ProfileChangeFeed changeFeed,
+            SerializedProfileCache serializedProfileCache) {
+        var storage = configuration.getStorage();
+        // every layer is instrumented, so the time spent in a layer is its own timer minus the timer of the layer below
+        UserProfileDao dao = storage.getPartitioning().getPartitions() == 1 ? createStorageDao(storage, codec, methodMetrics)
+                : methodMetrics.instrument(UserProfileDao.class, createPartitionedDao(storage, codec, methodMetrics));
+        if (storage.getDurability().isEnabled()) {
+            dao = methodMetrics.instrument(UserProfileDao.class, createDurableDao(dao, storage.getDurability(), codec));
+        }
+        if (storage.getCache().isEnabled()) {
+            dao = methodMetrics.instrument(UserProfileDao.class, createCachingDao(dao, storage.getCache(), metrics));
+        }
+        if (configuration.getSerializedProfileCache().isEnabled()) {
+            dao = methodMetrics.instrument(UserProfileDao.class, new UserProfileDaoInvalidating(dao, serializedProfileCache));
+        }
+        return methodMetrics.instrument(UserProfileDao.class, new UserProfileDaoPublishing(dao, changeFeed));
+    }
+
+    @Provides
+    @Singleton
+    public SerializedProfileCache getSerializedProfileCache(UserProfileApiConfiguration configuration, MetricRegistry metrics) {
+        var serializedProfileCache = new SerializedProfileCache(configuration.getSerializedProfileCache().getMaximumWeight().toBytes());
+        serializedProfileCache.registerMetrics(metrics);
+        return serializedProfileCache;
+    }
+
+    @Provides
+    @Singleton
+    public ProfileChangeFeed getProfileChangeFeed(UserProfileApiConfiguration configuration, MetricRegistry metrics) {
+        var changeFeed = configuration.getChangeFeed();
+        var profileChangeFeed = new ProfileChangeFeed(changeFeed.getBatchInterval().toJavaDuration(), changeFeed.getMaxBatchSize(),
+                changeFeed.getQueueCapacity(), changeFeed.getSubscriberBufferSize(), changeFeed.getMaxSubscribers());
+        profileChangeFeed.registerMetrics(metrics);
+        return profileChangeFeed;
+    }
+
+    private static UserProfileDao createStorageDao(StorageConfiguration storage, UserProfileBinaryCodec codec,
+            MethodMetricsInterceptor methodMetrics) {
+        UserProfileDao dao = switch (storage.getType()) {
+            case IN_MEMORY -> new UserProfileDaoInMemory();
+            case OFF_HEAP -> createOffHeapDao(storage.getOffHeap(), codec);
+        };
+        return methodMetrics.instrument(UserProfileDao.class, dao);
+    }
+
+    private static UserProfileDao createPartitionedDao(StorageConfiguration storage, UserProfileBinaryCodec codec,
+            MethodMetricsInterceptor methodMetrics) {
+        var partitioning = storage.getPartitioning();
+        var partitions = IntStream.range(0, partitioning.getPartitions())
+                .mapToObj(i -> UserProfilePartition.local(PARTITION_NAME_PREFIX + i, createStorageDao(storage, codec, methodMetrics)))
+                .toList();
+        return new UserProfileDaoPartitioned(partitions, partitioning.getVirtualNodes());
+    }
+
+    private static UserProfileDao createOffHeapDao(OffHeapStorageConfiguration configuration, UserProfileBinaryCodec codec) {
+        var memory = new OffHeapMemory((int) configuration.getSegmentSize().toBytes(), configuration.getMaxSegments());
+        return new UserProfileDaoOffHeap(codec, memory, configuration.getCompactionInterval().toJavaDuration(),
+                configuration.getCompactionThreshold());
+    }
+
+    private static UserProfileDao createDurableDao(UserProfileDao dao, DurabilityConfiguration configuration,
+            UserProfileBinaryCodec codec) {
+        var directory = Path.of(configuration.getDirectory());
+        var log = new WriteAheadLog(directory, configuration.getSyncMode(), configuration.getCommitDelay().toJavaDuration(),
+                configuration.getSyncInterval().toJavaDuration());
+        return new UserProfileDaoDurable(dao, codec, log, new SnapshotStore(directory, codec),
+                configuration.getSnapshotInterval().toJavaDuration());
+    }
+
+    private static UserProfileDao createCachingDao(UserProfileDao dao, CacheConfiguration configuration, MetricRegistry metrics) {
+        long maximum = configuration.getBound() == CacheBound.BYTES ? configuration.getMaximumWeight().toBytes()
+                : configuration.getMaximumEntries();
+        var cachingDao = new UserProfileDaoCaching(dao, configuration.getBound(), maximum);
+        cachingDao.registerMetrics(metrics);
+        return cachingDao;
+    }
 }
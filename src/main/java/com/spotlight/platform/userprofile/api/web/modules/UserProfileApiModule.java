@@ -2,11 +2,39 @@ package com.spotlight.platform.userprofile.api.web.modules;
 
 import com.google.inject.Binder;
 import com.google.inject.Module;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.matcher.Matchers;
+
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.web.metrics.MethodMetricsInterceptor;
+
+import javax.ws.rs.Path;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 public class UserProfileApiModule implements Module {
     @Override
     public void configure(Binder binder) {
         binder.install(new JsonModule());
+        binder.install(new MetricsModule());
+        binder.install(new ValidationModule());
         binder.install(new ProfileModule());
+        binder.install(new CommandModule());
+        bindMethodMetrics(binder);
+    }
+
+    private static void bindMethodMetrics(Binder binder) {
+        var methodMetrics = new MethodMetricsInterceptor();
+        binder.requestInjection(methodMetrics);
+        binder.bind(MethodMetricsInterceptor.class).toInstance(methodMetrics);
+        binder.bindInterceptor(Matchers.subclassesOf(UserProfileService.class).or(Matchers.annotatedWith(Path.class)),
+                new PublicMethodMatcher(), methodMetrics);
+    }
+
+    private static class PublicMethodMatcher extends AbstractMatcher<Method> {
+        @Override
+        public boolean matches(Method method) {
+            return Modifier.isPublic(method.getModifiers()) && !method.isSynthetic() && method.getDeclaringClass() != Object.class;
+        }
     }
 }
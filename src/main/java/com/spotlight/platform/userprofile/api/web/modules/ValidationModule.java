@@ -0,0 +1,17 @@
+package com.spotlight.platform.userprofile.api.web.modules;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+
+import javax.inject.Singleton;
+import javax.validation.Validator;
+
+import io.dropwizard.setup.Environment;
+
+public class ValidationModule extends AbstractModule {
+    @Provides
+    @Singleton
+    public Validator getValidator(Environment environment) {
+        return environment.getValidator();
+    }
+}
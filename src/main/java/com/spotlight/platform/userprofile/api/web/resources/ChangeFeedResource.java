@@ -0,0 +1,95 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.spotlight.platform.userprofile.api.core.profile.changes.ChangeSubscription;
+import com.spotlight.platform.userprofile.api.core.profile.changes.ProfileChangeFeed;
+import com.spotlight.platform.userprofile.api.model.configuration.UserProfileApiConfiguration;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileChange;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Path("/users/changes")
+@Produces(MediaType.SERVER_SENT_EVENTS)
+public class ChangeFeedResource {
+    private static final String HEARTBEAT = ":\n\n";
+    private static final String STREAM_THREAD_NAME = "change-feed-stream";
+    private static final String CHANGES_EVENT = "changes";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final ProfileChangeFeed changeFeed;
+    private final ObjectWriter changesWriter;
+    private final Duration heartbeatInterval;
+    // one thread per subscriber, their number is bounded by the feed
+    private final ExecutorService streams = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, STREAM_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Inject
+    public ChangeFeedResource(ProfileChangeFeed changeFeed, ObjectMapper objectMapper, UserProfileApiConfiguration configuration) {
+        this.changeFeed = changeFeed;
+        this.changesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+                UserProfileChange.class));
+        this.heartbeatInterval = configuration.getChangeFeed().getHeartbeatInterval().toJavaDuration();
+    }
+
+    /**
+     * Streams the changes of profiles as server-sent events until the client disconnects. A {@code changes} event carries a JSON array
+     * of the changes written since the previous event, limited to the properties listed in {@code properties} as comma-separated names
+     * if given. A {@code resync} event carries the number of changes the subscriber missed because it fell too far behind; it should
+     * read the profiles it cares about again. Comment lines are sent while nothing changes, so proxies keep the connection open.
+     */
+    @GET
+    public ChunkedOutput<String> getChanges(@QueryParam("properties") List<String> properties) {
+        var subscription = changeFeed.subscribe(UserResource.parsePropertyNames(properties));
+        // unlike other responses, chunked output is not buffered, so every event reaches the client as soon as it is written
+        var output = new ChunkedOutput<String>(String.class);
+        streams.execute(() -> stream(subscription, output));
+        return output;
+    }
+
+    private void stream(ChangeSubscription subscription, ChunkedOutput<String> output) {
+        try (subscription; output) {
+            // sends the headers right away, so the client knows it is subscribed
+            output.write(HEARTBEAT);
+            while (true) {
+                var delivery = subscription.poll(heartbeatInterval);
+                if (subscription.isClosed()) {
+                    return;
+                }
+                if (delivery == null) {
+                    output.write(HEARTBEAT);
+                } else if (delivery.isResync()) {
+                    output.write(event(RESYNC_EVENT, Long.toString(delivery.droppedChanges())));
+                } else {
+                    output.write(event(CHANGES_EVENT, changesWriter.writeValueAsString(delivery.changes())));
+                }
+            }
+        } catch (IOException e) {
+            // the client disconnected
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The data is a single line, as JSON written without indentation escapes line breaks within strings.
+     */
+    private static String event(String event, String data) {
+        return "event: " + event + "\ndata: " + data + "\n\n";
+    }
+}
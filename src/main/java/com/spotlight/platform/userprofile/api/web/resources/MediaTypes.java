@@ -0,0 +1,13 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+/**
+ * Media types the resources support in addition to {@link javax.ws.rs.core.MediaType#APPLICATION_JSON}.
+ */
+public final class MediaTypes {
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    private MediaTypes() {
+    }
+}
@@ -0,0 +1,78 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandQueue;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandStreamIngester;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandIngestionSummary;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+
+import javax.inject.Inject;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Path("/users/commands")
+@Consumes({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE, MediaTypes.APPLICATION_CBOR})
+@Produces(MediaType.APPLICATION_JSON)
+public class UserCommandResource {
+    static final String PREFER = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String RESPOND_ASYNC = "respond-async";
+
+    private final UserProfileService userProfileService;
+    private final CommandStreamIngester commandStreamIngester;
+    private final CommandQueue commandQueue;
+
+    @Inject
+    public UserCommandResource(UserProfileService userProfileService, CommandStreamIngester commandStreamIngester,
+            CommandQueue commandQueue) {
+        this.userProfileService = userProfileService;
+        this.commandStreamIngester = commandStreamIngester;
+        this.commandQueue = commandQueue;
+    }
+
+    /**
+     * Applies the commands before responding, unless the caller sends {@code Prefer: respond-async}; then the validated commands are
+     * queued and {@code 202 Accepted} is returned with a receipt right away. The commands of every user are applied independently: if
+     * those of some users are rejected while others were applied, {@code 400} lists the users whose commands were applied, so that only
+     * the commands of the other users are retried.
+     */
+    @POST
+    public Response applyCommands(@HeaderParam(PREFER) String prefer, @Valid @NotNull List<@Valid @NotNull UserProfileCommand> commands) {
+        if (prefersAsync(prefer)) {
+            return Response.accepted(commandQueue.enqueue(commands)).header(PREFERENCE_APPLIED, RESPOND_ASYNC).build();
+        }
+        userProfileService.apply(commands);
+        return Response.noContent().build();
+    }
+
+    /**
+     * Applies one command per line while the body is still being received, for batches too large to buffer.
+     */
+    @POST
+    @Consumes(MediaTypes.APPLICATION_NDJSON)
+    public CommandIngestionSummary ingestCommands(InputStream commands) throws IOException {
+        return commandStreamIngester.ingest(commands);
+    }
+
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (var preference : prefer.split(",")) {
+            if (preference.split(";", 2)[0].trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileLookup;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import javax.inject.Inject;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.List;
+
+@Path("/users/profiles")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class UserProfilesResource {
+    private static final int MAX_USER_IDS = 1000;
+
+    private final UserProfileService userProfileService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lookupWriter;
+
+    @Inject
+    public UserProfilesResource(UserProfileService userProfileService, ObjectMapper objectMapper) {
+        this.userProfileService = userProfileService;
+        this.objectMapper = objectMapper;
+        // the generator flushes whenever its buffer is full, flushing after every profile would send tiny chunks
+        this.lookupWriter = objectMapper.writerFor(UserProfileLookup.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Looks up the profiles of all listed users with one batch lookup and streams a JSON array with one {@link UserProfileLookup} per
+     * listed user, in the order of the request. Users without profile are reported in their entry with status 404.
+     */
+    @POST
+    public StreamingOutput getUserProfiles(@NotNull @Size(max = MAX_USER_IDS) List<@NotNull UserId> userIds) {
+        var userProfiles = userProfileService.getAll(userIds);
+        return output -> {
+            try (var generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.writeStartArray();
+                for (var userId : userIds) {
+                    lookupWriter.writeValue(generator, UserProfileLookup.of(userId, userProfiles.get(userId)));
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+}
@@ -1,22 +1,41 @@
 package com.spotlight.platform.userprofile.api.web.resources;
 
 import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
+import com.spotlight.platform.userprofile.api.model.profile.PropertyValuesPage;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.StringListPropertyValue;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.web.cache.SerializedProfileWriterInterceptor;
 
 import javax.inject.Inject;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Path("/users/{userId}")
 @Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE, MediaTypes.APPLICATION_CBOR})
 public class UserResource {
+    private static final int MAX_PAGE_SIZE = 1000;
 
     private final UserProfileService userProfileService;
 
@@ -25,9 +44,86 @@ public class UserResource {
         this.userProfileService = userProfileService;
     }
 
+    /**
+     * Returns the profile, or only the properties listed in {@code properties} as comma-separated names. The response carries an entity
+     * tag derived from the latest update time of the profile and the requested properties; a request whose {@code If-None-Match} header
+     * holds that tag is answered with 304 and no body. Whole profiles may be written from the cache of serialized profiles.
+     */
     @Path("profile")
     @GET
-    public UserProfile getUserProfile(@Valid @PathParam("userId") UserId userId) {
-        return userProfileService.get(userId);
+    public Response getUserProfile(@Valid @PathParam("userId") UserId userId, @QueryParam("properties") List<String> properties,
+            @Context Request request, @Context ContainerRequestContext requestContext) {
+        var propertyNames = parsePropertyNames(properties);
+        var userProfile = propertyNames.isEmpty() ? userProfileService.get(userId) : userProfileService.get(userId, propertyNames);
+        var entityTag = entityTagOf(userProfile, propertyNames);
+        var notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        if (propertyNames.isEmpty()) {
+            SerializedProfileWriterInterceptor.markCacheable(requestContext);
+        }
+        return Response.ok(userProfile).tag(entityTag).build();
+    }
+
+    /**
+     * Returns a page of the values of a list property, so that long lists can be read in parts. Answers with 404 if the user does not
+     * have the property and with 400 if the name is invalid or the property is not a list of strings. The name is taken as a string
+     * and looked up rather than pooled, like projected names.
+     */
+    @Path("profile/properties/{propertyName}")
+    @GET
+    public PropertyValuesPage getPropertyValues(@Valid @PathParam("userId") UserId userId, @PathParam("propertyName") String name,
+            @QueryParam("offset") @DefaultValue("0") @Min(0) int offset,
+            @QueryParam("limit") @DefaultValue("100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        var propertyName = parsePropertyName(name);
+        if (!(userProfileService.getProperty(userId, propertyName) instanceof StringListPropertyValue stringListValue)) {
+            throw new BadRequestException("Property \"%s\" is not a list".formatted(propertyName));
+        }
+        return PropertyValuesPage.of(stringListValue.values(), offset, limit);
+    }
+
+    /**
+     * Parses query parameters of comma-separated property names.
+     *
+     * @throws BadRequestException if a name is invalid
+     */
+    static Set<UserProfilePropertyName> parsePropertyNames(List<String> properties) {
+        Set<UserProfilePropertyName> propertyNames = new HashSet<>();
+        for (var commaSeparatedNames : properties) {
+            for (var name : commaSeparatedNames.split(",")) {
+                if (name.isEmpty()) {
+                    continue;
+                }
+                propertyNames.add(parsePropertyName(name));
+            }
+        }
+        return propertyNames;
+    }
+
+    /**
+     * Parses a property name sent by a client. Unknown names are not pooled, see {@link UserProfilePropertyName#lookup(String)}.
+     *
+     * @throws BadRequestException if the name is invalid
+     */
+    static UserProfilePropertyName parsePropertyName(String name) {
+        var violations = AlphaNumericalStringWithMaxLength.violationsOf(name);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException("Invalid property name \"%s\": %s".formatted(name, String.join(", ", violations)));
+        }
+        return UserProfilePropertyName.lookup(name);
+    }
+
+    /**
+     * Weak, because the tag is shared by all encodings of the profile. Every write advances the latest update time of the profile, so
+     * it identifies the version. The hash of a set of names does not depend on their order.
+     */
+    private static EntityTag entityTagOf(UserProfile userProfile, Set<UserProfilePropertyName> propertyNames) {
+        var latestUpdateTime = userProfile.latestUpdateTime();
+        var value = Long.toHexString(latestUpdateTime.getEpochSecond()) + "." + Integer.toHexString(latestUpdateTime.getNano());
+        if (!propertyNames.isEmpty()) {
+            value += "-" + Integer.toHexString(propertyNames.hashCode());
+        }
+        return new EntityTag(value, true);
     }
 }
@@ -0,0 +1,59 @@
+package com.spotlight.platform.userprofile.api.core.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedExecutorTest {
+    private static final int SHARD_COUNT = 4;
+
+    private final ShardedExecutor executor = new ShardedExecutor("test-shard", SHARD_COUNT);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.stop();
+    }
+
+    @Test
+    void shardCount_isConfigured() {
+        assertThat(executor.getShardCount()).isEqualTo(SHARD_COUNT);
+    }
+
+    @Test
+    void zeroShards_throwsException() {
+        assertThatThrownBy(() -> new ShardedExecutor("test-shard", 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sameKey_alwaysRunsOnSameThread() {
+        var threadNames = IntStream.range(0, 100)
+                .mapToObj(i -> executor.submit("key", () -> Thread.currentThread().getName()))
+                .map(CompletableFuture::join)
+                .distinct()
+                .toList();
+
+        assertThat(threadNames).hasSize(1).allSatisfy(name -> assertThat(name).startsWith("test-shard-"));
+    }
+
+    @Test
+    void sameKey_tasksRunInSubmissionOrder() {
+        List<Integer> executionOrder = new ArrayList<>();
+
+        var futures = IntStream.range(0, 1000).mapToObj(i -> executor.submit("key", () -> executionOrder.add(i))).toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(executionOrder).isEqualTo(IntStream.range(0, 1000).boxed().toList());
+    }
+
+    @Test
+    void shardOf_isWithinRange() {
+        IntStream.range(-500, 500).forEach(key -> assertThat(executor.shardOf(key)).isBetween(0, SHARD_COUNT - 1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdentifiersModuleTest {
+    private static final TypeReference<List<UserProfileCommand>> COMMANDS = new TypeReference<>() {};
+
+    @Test
+    void deserializeUserId_validValue_returnsUserId() throws Exception {
+        assertThat(JsonMapper.getInstance().readValue("\"user-1\"", UserId.class)).isEqualTo(UserId.valueOf("user-1"));
+    }
+
+    @Test
+    void deserializeUserId_invalidValue_throwsWithValidationErrors() {
+        assertThatThrownBy(() -> JsonMapper.getInstance().readValue("\"user$\"", UserId.class)).isInstanceOfSatisfying(
+                InvalidAlphaNumericalStringException.class,
+                exception -> assertThat(exception.validationErrors()).containsExactly("value must match \"[A-Za-z0-9_-]*\""));
+    }
+
+    @Test
+    void deserializeUserId_number_isNotCoerced() {
+        assertThatThrownBy(() -> JsonMapper.getInstance().readValue("5", UserId.class)).isInstanceOf(MismatchedInputException.class);
+    }
+
+    @Test
+    void deserializePropertyName_validValue_returnsPooledInstance() throws Exception {
+        assertThat(JsonMapper.getInstance().readValue("\"property1\"", UserProfilePropertyName.class)).isSameAs(
+                UserProfilePropertyName.valueOf("property1"));
+    }
+
+    @Test
+    void deserializeCommands_invalidUserId_reportsField() {
+        var json = """
+                [{"userId": "", "type": "replace", "properties": {"property1": 1}}]""";
+
+        assertThatThrownBy(() -> JsonMapper.getInstance().readValue(json, COMMANDS)).isInstanceOfSatisfying(
+                InvalidAlphaNumericalStringException.class,
+                exception -> assertThat(exception.validationErrors()).containsExactly("userId.value length must be between 1 and 1024"));
+    }
+
+    @Test
+    void deserializeCommands_invalidPropertyName_reportsMapKey() {
+        var json = """
+                [{"userId": "user-1", "type": "replace", "properties": {"prop$": 1}}]""";
+
+        assertThatThrownBy(() -> JsonMapper.getInstance().readValue(json, COMMANDS)).isInstanceOfSatisfying(
+                InvalidAlphaNumericalStringException.class, exception -> assertThat(exception.validationErrors()).containsExactly(
+                        "properties<K>[prop$].value must match \"[A-Za-z0-9_-]*\""));
+    }
+}
@@ -1,5 +1,6 @@
 package com.spotlight.platform.userprofile.api.core.json;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.spotlight.platform.helpers.FixtureHelpers;
 
 import org.junit.jupiter.api.Test;
@@ -23,4 +24,16 @@ class JsonMapperTest {
 
         assertThat(deserializedEntity).usingRecursiveComparison().isEqualTo(new TestEntityWithInstants());
     }
-}
\ No newline at end of file
+
+    @Test
+    void createInstanceForFactory_sharesSettingsOfJsonMapper() throws Exception {
+        var smileMapper = JsonMapper.createInstance(new SmileFactory());
+
+        var deserializedEntity = smileMapper.readValue(smileMapper.writeValueAsBytes(new TestEntityWithInstants()),
+                TestEntityWithInstants.class);
+
+        assertThat(deserializedEntity).usingRecursiveComparison().isEqualTo(new TestEntityWithInstants());
+        assertThat(smileMapper.getRegisteredModuleIds()).containsAll(JsonMapper.getInstance().getRegisteredModuleIds());
+        assertThat(smileMapper.getVisibilityChecker().toString()).isEqualTo(JsonMapper.getInstance().getVisibilityChecker().toString());
+    }
+}
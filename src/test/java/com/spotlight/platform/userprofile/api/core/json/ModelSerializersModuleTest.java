@@ -0,0 +1,188 @@
+package com.spotlight.platform.userprofile.api.core.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.ObjectPropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import io.dropwizard.jackson.Jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelSerializersModuleTest {
+    private static final String ALL_VALUE_TYPES = """
+            {"userId":"user-1","latestUpdateTime":"2021-06-01T09:16:36Z","userProfileProperties":{"counter":-3,"big":12345678901234567890,\
+            "decimal":1.5,"name":"knight","inventory":["sword","shield"],"empty":[],"mixed":["sword",1,null],"flag":true,\
+            "nested":{"a":[1,2]},"nothing":null}}""";
+
+    private final ObjectMapper mapper = JsonMapper.createInstance();
+    private final ObjectMapper reflectiveMapper = reflectiveMapper(new JsonFactory());
+
+    static Stream<UserProfile> profiles() {
+        Map<UserProfilePropertyName, UserProfilePropertyValue> properties = new LinkedHashMap<>();
+        properties.put(UserProfilePropertyName.valueOf("counter"), UserProfilePropertyValue.valueOf(Long.MIN_VALUE));
+        properties.put(UserProfilePropertyName.valueOf("decimal"), UserProfilePropertyValue.valueOf(0.1));
+        properties.put(UserProfilePropertyName.valueOf("nan"), UserProfilePropertyValue.valueOf(Double.NaN));
+        properties.put(UserProfilePropertyName.valueOf("name"), UserProfilePropertyValue.valueOf("\"quoted\" é"));
+        properties.put(UserProfilePropertyName.valueOf("inventory"), UserProfilePropertyValue.valueOf(List.of("sword", "shield")));
+        properties.put(UserProfilePropertyName.valueOf("empty"), UserProfilePropertyValue.emptyList());
+        properties.put(UserProfilePropertyName.valueOf("mixed"), UserProfilePropertyValue.valueOf(Arrays.asList("sword", 1, null)));
+        properties.put(UserProfilePropertyName.valueOf("nested"), UserProfilePropertyValue.valueOf(Map.of("a", List.of(1, 2))));
+        properties.put(UserProfilePropertyName.valueOf("big"), UserProfilePropertyValue.valueOf(new BigInteger("12345678901234567890")));
+        properties.put(UserProfilePropertyName.valueOf("nothing"), null);
+        return Stream.of(UserProfileFixtures.USER_PROFILE,
+                new UserProfile(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP, properties),
+                new UserProfile(null, null, null));
+    }
+
+    @Test
+    void serializeProfile_matchesFixture() throws Exception {
+        assertThat(mapper.writeValueAsString(UserProfileFixtures.USER_PROFILE)).isEqualToIgnoringWhitespace(
+                UserProfileFixtures.SERIALIZED_USER_PROFILE);
+    }
+
+    @ParameterizedTest
+    @MethodSource("profiles")
+    void serializeProfile_isByteIdenticalToReflectiveSerialization(UserProfile profile) throws Exception {
+        assertThat(mapper.writeValueAsBytes(profile)).isEqualTo(reflectiveMapper.writeValueAsBytes(profile));
+    }
+
+    @ParameterizedTest
+    @MethodSource("profiles")
+    void serializeProfileAsSmileAndCbor_isByteIdenticalToReflectiveSerialization(UserProfile profile) throws Exception {
+        for (var factory : List.of(new SmileFactory(), new CBORFactory())) {
+            assertThat(JsonMapper.createInstance(factory).writeValueAsBytes(profile)).isEqualTo(
+                    reflectiveMapper(factory).writeValueAsBytes(profile));
+        }
+    }
+
+    @Test
+    void serializeCommands_isByteIdenticalToReflectiveSerialization() throws Exception {
+        var commands = List.of(UserProfileFixtures.REPLACE_COMMAND, UserProfileFixtures.INCREMENT_COMMAND,
+                UserProfileFixtures.COLLECT_COMMAND);
+
+        assertThat(mapper.writeValueAsBytes(commands)).isEqualTo(reflectiveMapper.writeValueAsBytes(commands));
+    }
+
+    @Test
+    void serializeProfile_orderedByKeysIfEnabled() throws Exception {
+        var properties = new HashMap<UserProfilePropertyName, UserProfilePropertyValue>();
+        for (var name : List.of("b", "c", "a", "e", "d")) {
+            properties.put(UserProfilePropertyName.valueOf(name), UserProfilePropertyValue.valueOf(name));
+        }
+        var profile = new UserProfile(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP, properties);
+
+        assertThat(mapper.writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsString(profile)).contains(
+                "{\"a\":\"a\",\"b\":\"b\",\"c\":\"c\",\"d\":\"d\",\"e\":\"e\"}");
+    }
+
+    @Test
+    void deserializeProfile_equalsReflectiveDeserialization() throws Exception {
+        var profile = mapper.readValue(ALL_VALUE_TYPES, UserProfile.class);
+
+        assertThat(profile).isEqualTo(reflectiveMapper.readValue(ALL_VALUE_TYPES, UserProfile.class));
+        assertThat(profile.userProfileProperties().get(UserProfilePropertyName.valueOf("mixed"))).isInstanceOf(ObjectPropertyValue.class);
+    }
+
+    @Test
+    void deserializeProfile_withFeatureForUntypedNumbers_equalsReflectiveDeserialization() throws Exception {
+        var feature = DeserializationFeature.USE_BIG_INTEGER_FOR_INTS;
+
+        assertThat(mapper.readerFor(UserProfile.class).with(feature).<UserProfile>readValue(ALL_VALUE_TYPES)).isEqualTo(
+                reflectiveMapper.readerFor(UserProfile.class).with(feature).readValue(ALL_VALUE_TYPES));
+    }
+
+    @Test
+    void deserializeProfile_missingAndNullFields_areNull() throws Exception {
+        var profile = mapper.readValue("{\"latestUpdateTime\":null}", UserProfile.class);
+
+        assertThat(profile).isEqualTo(new UserProfile(null, null, null));
+    }
+
+    @Test
+    void deserializeProfile_unknownFields_areHandledAsByReflectiveDeserialization() throws Exception {
+        var json = "{\"userId\":\"user-1\",\"unknown\":{\"nested\":[1]},\"latestUpdateTime\":\"2021-06-01T09:16:36Z\"}";
+
+        assertThat(mapper.readValue(json, UserProfile.class)).isEqualTo(reflectiveMapper.readValue(json, UserProfile.class));
+        assertThatThrownBy(() -> reflectiveMapper.readerFor(UserProfile.class).with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(json)).isInstanceOf(UnrecognizedPropertyException.class);
+        assertThatThrownBy(() -> mapper.readerFor(UserProfile.class).with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(json)).isInstanceOf(UnrecognizedPropertyException.class);
+    }
+
+    @Test
+    void deserializeProfile_invalidPropertyName_reportsMapKey() {
+        var json = "{\"userId\":\"user-1\",\"userProfileProperties\":{\"prop$\":1}}";
+
+        assertThatThrownBy(() -> mapper.readValue(json, UserProfile.class)).isInstanceOfSatisfying(
+                InvalidAlphaNumericalStringException.class,
+                exception -> assertThat(exception.validationErrors()).containsExactly(
+                        "userProfileProperties<K>[prop$].value must match \"[A-Za-z0-9_-]*\""));
+    }
+
+    @Test
+    void deserializeProfile_invalidUserId_reportsField() {
+        var json = "{\"userId\":\"\"}";
+
+        assertThatThrownBy(() -> mapper.readValue(json, UserProfile.class)).isInstanceOfSatisfying(
+                InvalidAlphaNumericalStringException.class,
+                exception -> assertThat(exception.validationErrors()).containsExactly("userId.value length must be between 1 and 1024"));
+    }
+
+    @Test
+    void deserializeProfile_invalidTokens_areRejected() {
+        assertThatThrownBy(() -> mapper.readValue("[]", UserProfile.class)).isInstanceOf(MismatchedInputException.class);
+        assertThatThrownBy(() -> mapper.readValue("{\"userProfileProperties\":[]}", UserProfile.class)).isInstanceOfSatisfying(
+                MismatchedInputException.class, exception -> assertThat(exception.getPathReference()).contains("userProfileProperties"));
+    }
+
+    @Test
+    void deserializeProfile_fromFirstField_readsRemainingFields() throws Exception {
+        try (var parser = mapper.createParser("{\"userId\":\"user-1\",\"userProfileProperties\":{\"gold\":1}}")) {
+            parser.nextToken();
+            parser.nextToken();
+
+            assertThat(mapper.readValue(parser, UserProfile.class)).isEqualTo(new UserProfile(UserId.valueOf("user-1"), null,
+                    Map.of(UserProfilePropertyName.valueOf("gold"), UserProfilePropertyValue.valueOf(1))));
+        }
+    }
+
+    @Test
+    void deserializeProfile_fromSmile_equalsOriginal() throws Exception {
+        var smileMapper = JsonMapper.createInstance(new SmileFactory());
+        var profile = mapper.readValue(ALL_VALUE_TYPES, UserProfile.class);
+
+        assertThat(smileMapper.readValue(smileMapper.writeValueAsBytes(profile), UserProfile.class)).isEqualTo(profile);
+    }
+
+    private static ObjectMapper reflectiveMapper(JsonFactory factory) {
+        var objectMapper = Jackson.newObjectMapper(factory);
+        JsonMapper.toggleFeatures(objectMapper);
+        JsonMapper.setVisibilities(objectMapper);
+        objectMapper.registerModule(new IdentifiersModule());
+        return objectMapper;
+    }
+}
@@ -1,25 +1,64 @@
 package com.spotlight.platform.userprofile.api.core.profile;
 
+import com.spotlight.platform.userprofile.api.core.concurrent.ShardedExecutor;
 import com.spotlight.platform.userprofile.api.core.exceptions.EntityNotFoundException;
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.core.exceptions.PartiallyAppliedCommandsException;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandDeduplicator;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCoalescer;
+import com.spotlight.platform.userprofile.api.core.profile.commands.UserProfileCommandApplier;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UserProfileServiceTest {
+    private static final UserId OTHER_USER_ID = UserId.valueOf("other-user-id");
+
     private final UserProfileDao userProfileDaoMock = mock(UserProfileDao.class);
-    private final UserProfileService userProfileService = new UserProfileService(userProfileDaoMock);
+    private final UserProfileCommandApplier commandApplierMock = mock(UserProfileCommandApplier.class);
+    private final ShardedExecutor commandShards = new ShardedExecutor("test-command-shard", 2);
+    private final CommandDeduplicator commandDeduplicator = new CommandDeduplicator(Clock.systemUTC(), Duration.ofMinutes(10), 4, 2, 1000);
+    private final UserProfileService userProfileService = new UserProfileService(userProfileDaoMock, commandApplierMock, commandShards,
+            commandDeduplicator, IncrementCoalescer.disabled());
+
+    @AfterEach
+    void tearDown() throws Exception {
+        commandShards.stop();
+    }
 
     @Nested
     @DisplayName("get")
@@ -40,4 +79,248 @@ class UserProfileServiceTest {
                     EntityNotFoundException.class);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("getAll")
+    class GetAll {
+        @Test
+        void duplicateUsers_areLookedUpOnce() {
+            when(userProfileDaoMock.getAll(anyCollection())).thenReturn(
+                    Map.of(UserProfileFixtures.USER_ID, UserProfileFixtures.USER_PROFILE));
+
+            var userProfiles = userProfileService.getAll(List.of(UserProfileFixtures.USER_ID, OTHER_USER_ID, UserProfileFixtures.USER_ID));
+
+            assertThat(userProfiles).containsOnlyKeys(UserProfileFixtures.USER_ID);
+            verify(userProfileDaoMock).getAll(Set.of(UserProfileFixtures.USER_ID, OTHER_USER_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("get with projection")
+    class GetWithProjection {
+        private final UserProfilePropertyName property1 = UserProfilePropertyName.valueOf("property1");
+
+        @Test
+        void requestedProperties_onlyExistingOnesAreReturned() {
+            when(userProfileDaoMock.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            var userProfile = userProfileService.get(UserProfileFixtures.USER_ID,
+                    Set.of(property1, UserProfilePropertyName.valueOf("unknownProperty")));
+
+            assertThat(userProfile.userId()).isEqualTo(UserProfileFixtures.USER_ID);
+            assertThat(userProfile.latestUpdateTime()).isEqualTo(UserProfileFixtures.LAST_UPDATE_TIMESTAMP);
+            assertThat(userProfile.userProfileProperties()).containsOnlyKeys(property1);
+        }
+
+        @Test
+        void nonExistingUser_throwsException() {
+            when(userProfileDaoMock.get(any(UserId.class))).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> userProfileService.get(UserProfileFixtures.NON_EXISTING_USER_ID, Set.of(property1)))
+                    .isExactlyInstanceOf(EntityNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("getProperty")
+    class GetProperty {
+        @Test
+        void existingProperty_isReturned() {
+            when(userProfileDaoMock.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            assertThat(userProfileService.getProperty(UserProfileFixtures.USER_ID, UserProfilePropertyName.valueOf("property1"))).isEqualTo(
+                    UserProfilePropertyValue.valueOf("property1Value"));
+        }
+
+        @Test
+        void nonExistingProperty_throwsException() {
+            when(userProfileDaoMock.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            assertThatThrownBy(() -> userProfileService.getProperty(UserProfileFixtures.USER_ID,
+                    UserProfilePropertyName.valueOf("unknownProperty"))).isExactlyInstanceOf(EntityNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("apply")
+    class Apply {
+        private final UserProfileCommand otherUserCommand = new UserProfileCommand(OTHER_USER_ID, UserProfileCommandType.REPLACE,
+                UserProfileFixtures.REPLACE_COMMAND.properties());
+
+        @BeforeEach
+        void setUp() {
+            when(userProfileDaoMock.update(any(UserId.class), any())).thenAnswer(
+                    invocation -> invocation.<Function<Optional<UserProfile>, UserProfile>>getArgument(1)
+                            .apply(Optional.of(UserProfileFixtures.USER_PROFILE)));
+        }
+
+        @Test
+        void commandsOfSameUser_areAppliedTogetherInOrderAndStoredOnce() {
+            when(commandApplierMock.apply(any(UserId.class), any(), anyList())).thenReturn(UserProfileFixtures.USER_PROFILE);
+
+            userProfileService.apply(List.of(UserProfileFixtures.REPLACE_COMMAND, otherUserCommand, UserProfileFixtures.INCREMENT_COMMAND));
+
+            verify(commandApplierMock).apply(UserProfileFixtures.USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE),
+                    List.of(UserProfileFixtures.REPLACE_COMMAND, UserProfileFixtures.INCREMENT_COMMAND));
+            verify(commandApplierMock).apply(OTHER_USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE), List.of(otherUserCommand));
+            verify(userProfileDaoMock).update(eq(UserProfileFixtures.USER_ID), any());
+            verify(userProfileDaoMock).update(eq(OTHER_USER_ID), any());
+        }
+
+        @Test
+        void invalidCommand_isRethrown() {
+            when(commandApplierMock.apply(eq(UserProfileFixtures.USER_ID), any(), anyList())).thenThrow(
+                    new InvalidCommandException("invalid", null));
+
+            assertThatThrownBy(() -> userProfileService.apply(List.of(UserProfileFixtures.INCREMENT_COMMAND))).isExactlyInstanceOf(
+                    InvalidCommandException.class);
+        }
+
+        @Test
+        void invalidCommandOfOneUser_reportsUsersWhoseCommandsWereApplied() {
+            when(commandApplierMock.apply(eq(UserProfileFixtures.USER_ID), any(), anyList())).thenThrow(
+                    new InvalidCommandException("invalid", null));
+            when(commandApplierMock.apply(eq(OTHER_USER_ID), any(), anyList())).thenReturn(UserProfileFixtures.USER_PROFILE);
+
+            assertThatThrownBy(() -> userProfileService.apply(List.of(UserProfileFixtures.INCREMENT_COMMAND, otherUserCommand)))
+                    .isInstanceOfSatisfying(PartiallyAppliedCommandsException.class, exception -> {
+                        assertThat(exception).hasMessage("invalid");
+                        assertThat(exception.getAppliedUserIds()).containsExactly(OTHER_USER_ID);
+                    });
+            verify(userProfileDaoMock).update(eq(OTHER_USER_ID), any());
+        }
+
+        @Test
+        void emptyBatch_doesNothing() {
+            userProfileService.apply(List.of());
+
+            verify(userProfileDaoMock, never()).update(any(UserId.class), any());
+        }
+
+        @Test
+        void nonRuntimeFailure_isRethrownWrapped() {
+            when(userProfileDaoMock.update(any(UserId.class), any())).thenAnswer(invocation -> {
+                throw new StackOverflowError();
+            });
+
+            assertThatThrownBy(() -> userProfileService.apply(List.of(UserProfileFixtures.INCREMENT_COMMAND))).hasCauseExactlyInstanceOf(
+                    StackOverflowError.class);
+        }
+
+        @Test
+        void applyAsync_returnsPendingUpdatePerUser() {
+            when(commandApplierMock.apply(eq(OTHER_USER_ID), any(), anyList())).thenThrow(new InvalidCommandException("invalid", null));
+            when(commandApplierMock.apply(eq(UserProfileFixtures.USER_ID), any(), anyList())).thenReturn(UserProfileFixtures.USER_PROFILE);
+
+            var pendingUpdates = userProfileService.applyAsync(List.of(UserProfileFixtures.REPLACE_COMMAND, otherUserCommand));
+
+            assertThat(pendingUpdates).containsOnlyKeys(UserProfileFixtures.USER_ID, OTHER_USER_ID);
+            assertThat(pendingUpdates.get(UserProfileFixtures.USER_ID).join()).isEqualTo(UserProfileFixtures.USER_PROFILE);
+            assertThat(pendingUpdates.get(OTHER_USER_ID)).failsWithin(Duration.ofSeconds(5))
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseExactlyInstanceOf(InvalidCommandException.class);
+        }
+
+        @Test
+        void retriedCommandsWithId_areSkipped() {
+            when(commandApplierMock.apply(any(UserId.class), any(), anyList())).thenReturn(UserProfileFixtures.USER_PROFILE);
+            var increment = withCommandId(UserProfileFixtures.INCREMENT_COMMAND, "increment-1");
+            var replace = withCommandId(UserProfileFixtures.REPLACE_COMMAND, "replace-1");
+
+            userProfileService.apply(List.of(increment));
+            userProfileService.apply(List.of(increment, replace, UserProfileFixtures.COLLECT_COMMAND));
+
+            verify(commandApplierMock).apply(UserProfileFixtures.USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE),
+                    List.of(increment));
+            verify(commandApplierMock).apply(UserProfileFixtures.USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE),
+                    List.of(replace, UserProfileFixtures.COLLECT_COMMAND));
+        }
+
+        @Test
+        void onlyDuplicateCommands_returnCurrentProfileWithoutUpdate() {
+            when(commandApplierMock.apply(any(UserId.class), any(), anyList())).thenReturn(UserProfileFixtures.USER_PROFILE);
+            when(userProfileDaoMock.get(UserProfileFixtures.USER_ID)).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+            var increment = withCommandId(UserProfileFixtures.INCREMENT_COMMAND, "increment-1");
+            userProfileService.apply(List.of(increment));
+
+            var pendingUpdates = userProfileService.applyAsync(List.of(increment));
+
+            assertThat(pendingUpdates.get(UserProfileFixtures.USER_ID).join()).isEqualTo(UserProfileFixtures.USER_PROFILE);
+            verify(userProfileDaoMock, times(1)).update(eq(UserProfileFixtures.USER_ID), any());
+        }
+
+        @Test
+        void failedCommandsWithId_areNotRememberedAndCanBeRetried() {
+            when(commandApplierMock.apply(any(UserId.class), any(), anyList())).thenThrow(new InvalidCommandException("invalid", null))
+                    .thenReturn(UserProfileFixtures.USER_PROFILE);
+            var increment = withCommandId(UserProfileFixtures.INCREMENT_COMMAND, "increment-1");
+
+            assertThatThrownBy(() -> userProfileService.apply(List.of(increment))).isExactlyInstanceOf(InvalidCommandException.class);
+            userProfileService.apply(List.of(increment));
+
+            verify(commandApplierMock, times(2)).apply(UserProfileFixtures.USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE),
+                    List.of(increment));
+        }
+
+        private static UserProfileCommand withCommandId(UserProfileCommand command, String commandId) {
+            return new UserProfileCommand(command.userId(), command.type(), command.properties(), CommandId.valueOf(commandId));
+        }
+    }
+
+    @Nested
+    @DisplayName("apply with coalescing")
+    class ApplyWithCoalescing {
+        private final IncrementCoalescer incrementCoalescer = new IncrementCoalescer(commandShards, Duration.ofHours(1), 100);
+        private final UserProfileService coalescingService = new UserProfileService(userProfileDaoMock, commandApplierMock, commandShards,
+                commandDeduplicator, incrementCoalescer);
+
+        @BeforeEach
+        void setUp() {
+            when(userProfileDaoMock.update(any(UserId.class), any())).thenAnswer(
+                    invocation -> invocation.<Function<Optional<UserProfile>, UserProfile>>getArgument(1)
+                            .apply(Optional.of(UserProfileFixtures.USER_PROFILE)));
+            when(commandApplierMock.apply(any(UserId.class), any(), anyList())).thenReturn(UserProfileFixtures.USER_PROFILE);
+            when(userProfileDaoMock.get(UserProfileFixtures.USER_ID)).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+        }
+
+        @AfterEach
+        void tearDown() {
+            incrementCoalescer.stop();
+        }
+
+        @Test
+        void pendingIncrements_areStoredBeforeRead() {
+            var pendingUpdates = coalescingService.applyAsync(List.of(UserProfileFixtures.INCREMENT_COMMAND));
+            coalescingService.applyAsync(List.of(UserProfileFixtures.INCREMENT_COMMAND));
+
+            coalescingService.get(UserProfileFixtures.USER_ID);
+
+            assertThat(pendingUpdates.get(UserProfileFixtures.USER_ID)).isCompletedWithValue(UserProfileFixtures.USER_PROFILE);
+            var merged = new UserProfileCommand(UserProfileFixtures.USER_ID, UserProfileCommandType.INCREMENT,
+                    Map.of(UserProfilePropertyName.valueOf("battleFought"), UserProfilePropertyValue.valueOf(20)));
+            verify(commandApplierMock).apply(UserProfileFixtures.USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE), List.of(merged));
+        }
+
+        @Test
+        void pendingIncrements_areStoredBeforeReadOfSeveralUsers() {
+            var pendingUpdates = coalescingService.applyAsync(List.of(UserProfileFixtures.INCREMENT_COMMAND));
+
+            coalescingService.getAll(List.of(UserProfileFixtures.USER_ID));
+
+            assertThat(pendingUpdates.get(UserProfileFixtures.USER_ID)).isCompletedWithValue(UserProfileFixtures.USER_PROFILE);
+        }
+
+        @Test
+        void otherCommands_areAppliedAfterPendingIncrements() {
+            coalescingService.applyAsync(List.of(UserProfileFixtures.INCREMENT_COMMAND));
+
+            coalescingService.apply(List.of(UserProfileFixtures.REPLACE_COMMAND));
+
+            var inOrder = inOrder(commandApplierMock);
+            inOrder.verify(commandApplierMock).apply(UserProfileFixtures.USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE),
+                    List.of(UserProfileFixtures.INCREMENT_COMMAND));
+            inOrder.verify(commandApplierMock).apply(UserProfileFixtures.USER_ID, Optional.of(UserProfileFixtures.USER_PROFILE),
+                    List.of(UserProfileFixtures.REPLACE_COMMAND));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.spotlight.platform.userprofile.api.core.profile.changes;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileChange;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ChangeSubscriptionTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+    private static final UserProfilePropertyName LEVEL = UserProfilePropertyName.valueOf("level");
+
+    private final ProfileChangeFeed feed = mock(ProfileChangeFeed.class);
+
+    @Test
+    void poll_returnsAllBufferedBatchesAtOnce() throws Exception {
+        var subscription = new ChangeSubscription(feed, Set.of(), 10);
+        subscription.offer(List.of(change(GOLD, 1)));
+        subscription.offer(List.of(change(GOLD, 2), change(LEVEL, 3)));
+
+        var delivery = subscription.poll(TIMEOUT);
+
+        assertThat(delivery.isResync()).isFalse();
+        assertThat(delivery.changes()).containsExactly(change(GOLD, 1), change(GOLD, 2), change(LEVEL, 3));
+        assertThat(subscription.poll(Duration.ofMillis(1))).isNull();
+    }
+
+    @Test
+    void offer_filtersByPropertyName() throws Exception {
+        var subscription = new ChangeSubscription(feed, Set.of(LEVEL), 10);
+
+        subscription.offer(List.of(change(GOLD, 1)));
+        subscription.offer(List.of(change(GOLD, 2), change(LEVEL, 3)));
+
+        assertThat(subscription.poll(TIMEOUT).changes()).containsExactly(change(LEVEL, 3));
+    }
+
+    @Test
+    void offer_bufferFull_dropsBufferedChangesAndAsksToResync() throws Exception {
+        var subscription = new ChangeSubscription(feed, Set.of(), 2);
+        subscription.offer(List.of(change(GOLD, 1)));
+
+        var dropped = subscription.offer(List.of(change(GOLD, 2), change(GOLD, 3)));
+        subscription.offer(List.of(change(GOLD, 4)));
+
+        assertThat(dropped).isTrue();
+        var resync = subscription.poll(TIMEOUT);
+        assertThat(resync.isResync()).isTrue();
+        assertThat(resync.droppedChanges()).isEqualTo(3);
+        assertThat(subscription.poll(TIMEOUT).changes()).containsExactly(change(GOLD, 4));
+    }
+
+    @Test
+    void poll_waitsForChanges() throws Exception {
+        var subscription = new ChangeSubscription(feed, Set.of(), 10);
+
+        var delivery = CompletableFuture.supplyAsync(() -> {
+            try {
+                return subscription.poll(TIMEOUT);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        subscription.offer(List.of(change(GOLD, 1)));
+
+        assertThat(delivery.get().changes()).containsExactly(change(GOLD, 1));
+    }
+
+    @Test
+    void close_unsubscribesAndEndsPolling() throws Exception {
+        var subscription = new ChangeSubscription(feed, Set.of(), 10);
+
+        subscription.close();
+        subscription.offer(List.of(change(GOLD, 1)));
+
+        verify(feed).unsubscribe(subscription);
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(subscription.poll(TIMEOUT)).isNull();
+    }
+
+    private static UserProfileChange change(UserProfilePropertyName propertyName, int value) {
+        return new UserProfileChange(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(propertyName, UserProfilePropertyValue.valueOf(value)));
+    }
+}
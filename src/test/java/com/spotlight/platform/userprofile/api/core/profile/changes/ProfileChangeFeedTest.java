@@ -0,0 +1,129 @@
+package com.spotlight.platform.userprofile.api.core.profile.changes;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.exceptions.ServiceUnavailableException;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileChange;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfileChangeFeedTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private ProfileChangeFeed feed;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        feed.stop();
+    }
+
+    @Test
+    void publish_changesAreDeliveredToEverySubscriberInOrder() throws Exception {
+        feed = startedFeed(100, 10);
+        var first = feed.subscribe(Set.of());
+        var second = feed.subscribe(Set.of(GOLD));
+
+        for (int i = 0; i < 5; i++) {
+            feed.publish(change(i));
+        }
+
+        assertThat(receive(first, 5)).containsExactlyElementsOf(changes(5));
+        assertThat(receive(second, 5)).containsExactlyElementsOf(changes(5));
+        assertThat(metrics.meter(metricName("published")).getCount()).isEqualTo(5);
+        assertThat(metrics.histogram(metricName("batchSize")).getCount()).isPositive();
+    }
+
+    @Test
+    void publish_queueFull_subscribersAreAskedToResync() throws Exception {
+        feed = new ProfileChangeFeed(Duration.ofMillis(1), 100, 1, 100, 10);
+        feed.registerMetrics(metrics);
+        var subscription = feed.subscribe(Set.of());
+
+        feed.publish(change(0));
+        feed.publish(change(1));
+        feed.start();
+
+        var delivery = subscription.poll(TIMEOUT);
+        assertThat(delivery.isResync()).isTrue();
+        assertThat(delivery.droppedChanges()).isEqualTo(1);
+        assertThat(subscription.poll(TIMEOUT).changes()).containsExactly(change(0));
+        assertThat(metrics.meter(metricName("lost")).getCount()).isEqualTo(1);
+        assertThat(metrics.meter(metricName("resyncs")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_tooManySubscribers_throwsException() {
+        feed = startedFeed(100, 1);
+        feed.subscribe(Set.of());
+
+        assertThatThrownBy(() -> feed.subscribe(Set.of())).isExactlyInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void close_subscriptionIsRemoved() {
+        feed = startedFeed(100, 1);
+
+        feed.subscribe(Set.of()).close();
+
+        assertThat(feed.hasSubscribers()).isFalse();
+        assertThat(feed.subscribe(Set.of())).isNotNull();
+        assertThat(metrics.getGauges().get(metricName("subscribers")).getValue()).isEqualTo(1);
+    }
+
+    @Test
+    void closeSubscriptions_closesSubscriptionsAndRejectsNewOnes() {
+        feed = startedFeed(100, 10);
+        var subscription = feed.subscribe(Set.of());
+
+        feed.closeSubscriptions();
+
+        assertThat(subscription.isClosed()).isTrue();
+        assertThatThrownBy(() -> feed.subscribe(Set.of())).isExactlyInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private ProfileChangeFeed startedFeed(int queueCapacity, int maxSubscribers) {
+        var changeFeed = new ProfileChangeFeed(Duration.ofMillis(1), 100, queueCapacity, 100, maxSubscribers);
+        changeFeed.registerMetrics(metrics);
+        changeFeed.start();
+        return changeFeed;
+    }
+
+    private static List<UserProfileChange> receive(ChangeSubscription subscription, int count) throws InterruptedException {
+        List<UserProfileChange> received = new ArrayList<>();
+        while (received.size() < count) {
+            received.addAll(subscription.poll(TIMEOUT).changes());
+        }
+        return received;
+    }
+
+    private static List<UserProfileChange> changes(int count) {
+        List<UserProfileChange> changes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            changes.add(change(i));
+        }
+        return changes;
+    }
+
+    private static UserProfileChange change(int value) {
+        return new UserProfileChange(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(GOLD, UserProfilePropertyValue.valueOf(value)));
+    }
+
+    private static String metricName(String name) {
+        return MetricRegistry.name(ProfileChangeFeed.class, name);
+    }
+}
@@ -0,0 +1,104 @@
+package com.spotlight.platform.userprofile.api.core.profile.changes;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfileChange;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.dropwizard.lifecycle.Managed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class UserProfileDaoPublishingTest {
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+
+    private final ProfileChangeFeed changeFeedMock = mock(ProfileChangeFeed.class);
+    private final UserProfileDao delegate = new UserProfileDaoInMemory();
+    private final UserProfileDaoPublishing dao = new UserProfileDaoPublishing(delegate, changeFeedMock);
+
+    @Test
+    void put_publishesAllProperties() {
+        when(changeFeedMock.hasSubscribers()).thenReturn(true);
+
+        dao.put(UserProfileFixtures.USER_PROFILE);
+
+        verify(changeFeedMock).publish(UserProfileChange.between(null, UserProfileFixtures.USER_PROFILE));
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).contains(UserProfileFixtures.USER_PROFILE);
+        assertThat(dao.getAll(List.of(UserProfileFixtures.USER_ID))).containsOnlyKeys(UserProfileFixtures.USER_ID);
+    }
+
+    @Test
+    void update_publishesChangedProperties() {
+        when(changeFeedMock.hasSubscribers()).thenReturn(true);
+        dao.put(UserProfileFixtures.USER_PROFILE);
+
+        var updated = dao.update(UserProfileFixtures.USER_ID, current -> withGold(current.orElseThrow(), 10));
+
+        verify(changeFeedMock).publish(new UserProfileChange(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(GOLD, UserProfilePropertyValue.valueOf(10))));
+        assertThat(updated.userProfileProperties()).containsKey(GOLD);
+    }
+
+    @Test
+    void update_nothingChanged_publishesNothing() {
+        delegate.put(UserProfileFixtures.USER_PROFILE);
+        when(changeFeedMock.hasSubscribers()).thenReturn(true);
+
+        dao.update(UserProfileFixtures.USER_ID, current -> current.orElseThrow());
+
+        verify(changeFeedMock, never()).publish(any());
+    }
+
+    @Test
+    void noSubscribers_publishesNothing() {
+        dao.put(UserProfileFixtures.USER_PROFILE);
+        dao.update(UserProfileFixtures.USER_ID, current -> withGold(current.orElseThrow(), 10));
+
+        verify(changeFeedMock, never()).publish(any());
+        assertThat(delegate.get(UserProfileFixtures.USER_ID).orElseThrow().userProfileProperties()).containsKey(GOLD);
+    }
+
+    @Test
+    void forEach_isDelegated() {
+        delegate.put(UserProfileFixtures.USER_PROFILE);
+
+        var visited = new ArrayList<UserProfile>();
+        dao.forEach(visited::add);
+
+        assertThat(visited).containsExactly(UserProfileFixtures.USER_PROFILE);
+    }
+
+    @Test
+    void startAndStop_areDelegatedToManagedDelegate() throws Exception {
+        var managedDelegate = mock(UserProfileDao.class, withSettings().extraInterfaces(Managed.class));
+        var publishingDao = new UserProfileDaoPublishing(managedDelegate, changeFeedMock);
+
+        publishingDao.start();
+        publishingDao.stop();
+
+        verify((Managed) managedDelegate).start();
+        verify((Managed) managedDelegate).stop();
+    }
+
+    private static UserProfile withGold(UserProfile userProfile, int gold) {
+        var properties = new HashMap<>(userProfile.userProfileProperties());
+        properties.put(GOLD, UserProfilePropertyValue.valueOf(gold));
+        return new UserProfile(userProfile.userId(), userProfile.latestUpdateTime(), properties);
+    }
+}
@@ -0,0 +1,74 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.configuration.CollectConfiguration;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CollectCommandHandlerTest {
+    private static final UserProfilePropertyName INVENTORY = UserProfilePropertyName.valueOf("inventory");
+    private static final UserProfilePropertyName TOOLS = UserProfilePropertyName.valueOf("tools");
+
+    private final CollectCommandHandler handler = new CollectCommandHandler();
+
+    @Test
+    void type_IsCollect() {
+        assertThat(handler.getType()).isEqualTo(UserProfileCommandType.COLLECT);
+    }
+
+    @Test
+    void apply_AppendsToExistingAndCreatesMissingLists() {
+        var properties = new HashMap<>(Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1"))));
+
+        handler.apply(properties, Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword2", "shield1")), TOOLS,
+                UserProfilePropertyValue.valueOf(List.of("tool1"))));
+
+        assertThat(properties).containsExactlyInAnyOrderEntriesOf(
+                Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1", "sword2", "shield1")), TOOLS,
+                        UserProfilePropertyValue.valueOf(List.of("tool1"))));
+    }
+
+    @Test
+    void apply_NonListProperty_throwsException() {
+        var properties = new HashMap<>(Map.of(INVENTORY, UserProfilePropertyValue.valueOf(1)));
+
+        assertThatThrownBy(() -> handler.apply(properties, Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1")))))
+                .isExactlyInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @Test
+    void apply_ConfiguredProperties_areDeduplicatedAndBounded() throws Exception {
+        var configuredHandler = new CollectCommandHandler(JsonMapper.getInstance().readValue("""
+                {"defaults": {"maxLength": 3}, "properties": {"inventory": {"mode": "SET"}}}""", CollectConfiguration.class));
+        var properties = new HashMap<>(Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1")), TOOLS,
+                UserProfilePropertyValue.valueOf(List.of("tool1", "tool2"))));
+
+        configuredHandler.apply(properties, Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1", "shield1", "shield1")),
+                TOOLS, UserProfilePropertyValue.valueOf(List.of("tool1", "tool3"))));
+        configuredHandler.apply(properties, Map.of(INVENTORY, UserProfilePropertyValue.valueOf("sword2")));
+
+        assertThat(properties).containsExactlyInAnyOrderEntriesOf(
+                Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1", "shield1", "sword2")), TOOLS,
+                        UserProfilePropertyValue.valueOf(List.of("tool2", "tool1", "tool3"))));
+    }
+
+    @Test
+    void apply_NonStringValues_areAppendedAsTheyAre() {
+        var properties = new HashMap<>(Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1"))));
+
+        handler.apply(properties, Map.of(INVENTORY, UserProfilePropertyValue.valueOf(List.of(1, "sword2"))));
+
+        assertThat(properties).containsExactly(Map.entry(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1", 1, "sword2"))));
+    }
+}
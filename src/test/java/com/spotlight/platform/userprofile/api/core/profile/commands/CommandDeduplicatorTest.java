@@ -0,0 +1,145 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CommandDeduplicatorTest {
+    private static final long START_MILLIS = 1_672_531_200_000L;
+    private static final UserId OTHER_USER_ID = UserId.valueOf("other-user-id");
+
+    private final Clock clock = mock(Clock.class);
+    private final CommandDeduplicator deduplicator = new CommandDeduplicator(clock, Duration.ofMinutes(4), 4, 2, 1000);
+
+    CommandDeduplicatorTest() {
+        when(clock.millis()).thenReturn(START_MILLIS);
+    }
+
+    @Test
+    void commandsWithoutId_areAlwaysKept() {
+        var commands = List.of(UserProfileFixtures.REPLACE_COMMAND, UserProfileFixtures.INCREMENT_COMMAND);
+        deduplicator.record(UserProfileFixtures.USER_ID, commands);
+
+        assertThat(deduplicator.unseen(UserProfileFixtures.USER_ID, commands)).isSameAs(commands);
+        assertThat(deduplicator.size()).isZero();
+    }
+
+    @Test
+    void recordedCommandIds_areDroppedForSameUserOnly() {
+        var first = command(UserProfileFixtures.USER_ID, "command-1");
+        var second = command(UserProfileFixtures.USER_ID, "command-2");
+        deduplicator.record(UserProfileFixtures.USER_ID, List.of(first));
+
+        assertThat(deduplicator.unseen(UserProfileFixtures.USER_ID, List.of(first, second, UserProfileFixtures.REPLACE_COMMAND)))
+                .containsExactly(second, UserProfileFixtures.REPLACE_COMMAND);
+        var otherUserCommands = List.of(command(OTHER_USER_ID, "command-1"));
+        assertThat(deduplicator.unseen(OTHER_USER_ID, otherUserCommands)).isSameAs(otherUserCommands);
+    }
+
+    @Test
+    void repeatedCommandIdsInBatch_areKeptOnce() {
+        var first = command(UserProfileFixtures.USER_ID, "command-1");
+
+        assertThat(deduplicator.unseen(UserProfileFixtures.USER_ID, List.of(first, first))).containsExactly(first);
+    }
+
+    @Test
+    void commandIds_areForgottenAfterWindow() {
+        var first = command(UserProfileFixtures.USER_ID, "command-1");
+        deduplicator.record(UserProfileFixtures.USER_ID, List.of(first));
+
+        when(clock.millis()).thenReturn(START_MILLIS + Duration.ofMinutes(3).toMillis());
+        assertThat(deduplicator.unseen(UserProfileFixtures.USER_ID, List.of(first))).isEmpty();
+
+        when(clock.millis()).thenReturn(START_MILLIS + Duration.ofMinutes(4).toMillis());
+        assertThat(deduplicator.unseen(UserProfileFixtures.USER_ID, List.of(first))).containsExactly(first);
+    }
+
+    @Test
+    void expiredBucket_isReusedWithoutOldIds() {
+        var first = command(UserProfileFixtures.USER_ID, "command-1");
+        var second = command(UserProfileFixtures.USER_ID, "command-2");
+        deduplicator.record(UserProfileFixtures.USER_ID, List.of(first));
+
+        when(clock.millis()).thenReturn(START_MILLIS + Duration.ofMinutes(4).toMillis());
+        deduplicator.record(UserProfileFixtures.USER_ID, List.of(second));
+
+        assertThat(deduplicator.unseen(UserProfileFixtures.USER_ID, List.of(first, second))).containsExactly(first);
+        assertThat(deduplicator.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fullBucket_stopsRememberingAndCountsOverflows() {
+        var metrics = new MetricRegistry();
+        var smallDeduplicator = new CommandDeduplicator(clock, Duration.ofMinutes(4), 1, 1, 3);
+        smallDeduplicator.registerMetrics(metrics);
+        var commands = IntStream.range(0, 5).mapToObj(i -> command(UserProfileFixtures.USER_ID, "command-" + i)).toList();
+
+        smallDeduplicator.record(UserProfileFixtures.USER_ID, commands);
+
+        assertThat(smallDeduplicator.unseen(UserProfileFixtures.USER_ID, commands)).containsExactlyElementsOf(commands.subList(3, 5));
+        assertThat(metrics.getGauges().get(metricName("overflows")).getValue()).isEqualTo(2L);
+        assertThat(metrics.getGauges().get(metricName("size")).getValue()).isEqualTo(3L);
+    }
+
+    @Test
+    void manyCommandIds_growTablesAndAreAllRemembered() {
+        var largeDeduplicator = new CommandDeduplicator(clock, Duration.ofMinutes(4), 4, 2, 100_000);
+        var commands = IntStream.range(0, 900).mapToObj(i -> command(UserProfileFixtures.USER_ID, "command-" + i)).toList();
+
+        largeDeduplicator.record(UserProfileFixtures.USER_ID, commands);
+        largeDeduplicator.record(UserProfileFixtures.USER_ID, commands.subList(0, 10));
+
+        assertThat(largeDeduplicator.unseen(UserProfileFixtures.USER_ID, commands)).isEmpty();
+        assertThat(largeDeduplicator.size()).isEqualTo(900);
+        assertThat(largeDeduplicator.memoryBytes()).isBetween(900L * 2 * Long.BYTES, 900L * 4 * Long.BYTES + 8L * 16 * Long.BYTES);
+    }
+
+    @Test
+    void metrics_reportLookupsAndHitRate() {
+        var metrics = new MetricRegistry();
+        deduplicator.registerMetrics(metrics);
+        var first = command(UserProfileFixtures.USER_ID, "command-1");
+        deduplicator.record(UserProfileFixtures.USER_ID, List.of(first));
+
+        deduplicator.unseen(UserProfileFixtures.USER_ID, List.of(first, command(UserProfileFixtures.USER_ID, "command-2")));
+
+        assertThat(metrics.getGauges().get(metricName("lookups")).getValue()).isEqualTo(2L);
+        assertThat(metrics.getGauges().get(metricName("hits")).getValue()).isEqualTo(1L);
+        assertThat(metrics.getGauges().get(metricName("hitRate")).getValue()).isEqualTo(0.5);
+        assertThat((Long) metrics.getGauges().get(metricName("memoryBytes")).getValue()).isPositive();
+    }
+
+    @Test
+    void hitRate_isZeroWithoutLookups() {
+        assertThat(deduplicator.hitRate()).isZero();
+    }
+
+    @Test
+    void hash_separatesUserIdAndCommandId() {
+        assertThat(CommandDeduplicator.hash(UserId.valueOf("ab"), CommandId.valueOf("c"))).isNotEqualTo(
+                CommandDeduplicator.hash(UserId.valueOf("a"), CommandId.valueOf("bc")));
+    }
+
+    private static UserProfileCommand command(UserId userId, String commandId) {
+        var increment = UserProfileFixtures.INCREMENT_COMMAND;
+        return new UserProfileCommand(userId, increment.type(), increment.properties(), CommandId.valueOf(commandId));
+    }
+
+    private static String metricName(String name) {
+        return MetricRegistry.name(CommandDeduplicator.class, name);
+    }
+}
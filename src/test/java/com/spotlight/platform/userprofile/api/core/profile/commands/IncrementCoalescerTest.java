@@ -0,0 +1,196 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.concurrent.ShardedExecutor;
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementCoalescerTest {
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+    private static final UserProfilePropertyName SCORE = UserProfilePropertyName.valueOf("score");
+    // long enough that only explicit flushes write, unless a test waits for the window
+    private static final Duration LONG_WINDOW = Duration.ofHours(1);
+
+    private final ShardedExecutor commandShards = new ShardedExecutor("test-coalescer-shard", 2);
+    private final List<List<UserProfileCommand>> appliedBatches = new CopyOnWriteArrayList<>();
+    private final Function<List<UserProfileCommand>, UserProfile> applier = commands -> {
+        appliedBatches.add(commands);
+        return UserProfileFixtures.USER_PROFILE;
+    };
+
+    @AfterEach
+    void tearDown() throws Exception {
+        commandShards.stop();
+    }
+
+    @Test
+    void disabledCoalescer_acceptsNothing() {
+        var coalescer = IncrementCoalescer.disabled();
+
+        assertThat(coalescer.accepts(List.of(increment(GOLD, 1)))).isFalse();
+        coalescer.flush(UserProfileFixtures.USER_ID);
+        coalescer.awaitApplied(UserProfileFixtures.USER_ID);
+        coalescer.stop();
+    }
+
+    @Test
+    void onlyNumericIncrementsWithoutId_areAccepted() {
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 10);
+
+        assertThat(coalescer.accepts(List.of(increment(GOLD, 1), increment(SCORE, 0.5)))).isTrue();
+        assertThat(coalescer.accepts(List.of(increment(GOLD, 1), UserProfileFixtures.REPLACE_COMMAND))).isFalse();
+        assertThat(coalescer.accepts(List.of(new UserProfileCommand(UserProfileFixtures.USER_ID, UserProfileCommandType.INCREMENT,
+                Map.of(GOLD, UserProfilePropertyValue.valueOf(1)), CommandId.valueOf("increment-1"))))).isFalse();
+        assertThat(coalescer.accepts(List.of(new UserProfileCommand(UserProfileFixtures.USER_ID, UserProfileCommandType.INCREMENT,
+                Map.of(GOLD, UserProfilePropertyValue.valueOf("1")))))).isFalse();
+        coalescer.stop();
+    }
+
+    @Test
+    void incrementsWithinWindow_areSummedIntoOneWrite() {
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 10);
+
+        var first = coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1), increment(SCORE, 2)), applier);
+        var second = coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 3)), applier);
+        coalescer.awaitApplied(UserProfileFixtures.USER_ID);
+
+        assertThat(first).isCompletedWithValue(UserProfileFixtures.USER_PROFILE);
+        assertThat(second).isCompletedWithValue(UserProfileFixtures.USER_PROFILE);
+        var merged = new UserProfileCommand(UserProfileFixtures.USER_ID, UserProfileCommandType.INCREMENT,
+                Map.of(GOLD, UserProfilePropertyValue.valueOf(4), SCORE, UserProfilePropertyValue.valueOf(2)));
+        assertThat(appliedBatches).containsExactly(List.of(merged));
+        coalescer.stop();
+    }
+
+    @Test
+    void singleGroup_isAppliedAsItIs() {
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 10);
+        var commands = List.of(increment(GOLD, 1), increment(GOLD, 2));
+
+        coalescer.add(UserProfileFixtures.USER_ID, commands, applier);
+        coalescer.awaitApplied(UserProfileFixtures.USER_ID);
+
+        assertThat(appliedBatches).containsExactly(commands);
+        coalescer.stop();
+    }
+
+    @Test
+    void pendingIncrements_areWrittenAfterWindow() {
+        var coalescer = new IncrementCoalescer(commandShards, Duration.ofMillis(1), 10);
+
+        var pendingUpdate = coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1)), applier);
+
+        assertThat(pendingUpdate).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(UserProfileFixtures.USER_PROFILE);
+        coalescer.stop();
+    }
+
+    @Test
+    void maxCommandsPerUser_flushesEarly() {
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 2);
+
+        coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1)), applier);
+        var flushed = coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 2)), applier);
+        var stillPending = coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 4)), applier);
+
+        assertThat(flushed).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(stillPending).isNotDone();
+        coalescer.stop();
+        assertThat(stillPending).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(appliedBatches).containsExactly(List.of(increment(GOLD, 3)), List.of(increment(GOLD, 4)));
+    }
+
+    @Test
+    void failingMergedWrite_isRetriedPerCaller() {
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 10);
+        var invalid = increment(SCORE, 1);
+        Function<List<UserProfileCommand>, UserProfile> failingApplier = commands -> {
+            if (commands.stream().anyMatch(command -> command.properties().containsKey(SCORE))) {
+                throw new InvalidCommandException("invalid", null);
+            }
+            return applier.apply(commands);
+        };
+
+        var valid = coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1)), failingApplier);
+        var failing = coalescer.add(UserProfileFixtures.USER_ID, List.of(invalid), failingApplier);
+        coalescer.awaitApplied(UserProfileFixtures.USER_ID);
+
+        assertThat(valid).isCompletedWithValue(UserProfileFixtures.USER_PROFILE);
+        assertThat(failing).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseExactlyInstanceOf(InvalidCommandException.class);
+        assertThat(appliedBatches).containsExactly(List.of(increment(GOLD, 1)));
+        coalescer.stop();
+    }
+
+    @Test
+    void overflowingSum_isAppliedOneByOne() {
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 10);
+
+        coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, Long.MAX_VALUE)), applier);
+        coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1)), applier);
+        coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 2)), applier);
+        coalescer.awaitApplied(UserProfileFixtures.USER_ID);
+
+        assertThat(appliedBatches).containsExactly(List.of(increment(GOLD, Long.MAX_VALUE)), List.of(increment(GOLD, 1)),
+                List.of(increment(GOLD, 2)));
+        coalescer.stop();
+    }
+
+    @Test
+    void flush_submitsWithoutWaiting() {
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 10);
+
+        var pendingUpdate = coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1)), applier);
+        coalescer.flush(UserProfileFixtures.USER_ID);
+
+        assertThat(pendingUpdate).succeedsWithin(Duration.ofSeconds(5));
+        coalescer.stop();
+    }
+
+    @Test
+    void metrics_reportCoalescingRatio() {
+        var metrics = new MetricRegistry();
+        var coalescer = new IncrementCoalescer(commandShards, LONG_WINDOW, 10);
+        coalescer.registerMetrics(metrics);
+
+        coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1)), applier);
+        coalescer.add(UserProfileFixtures.USER_ID, List.of(increment(GOLD, 1), increment(SCORE, 1)), applier);
+        assertThat(gauge(metrics, "pendingUsers").getValue()).isEqualTo(1);
+        coalescer.awaitApplied(UserProfileFixtures.USER_ID);
+        coalescer.stop();
+
+        assertThat(metrics.meter(MetricRegistry.name(IncrementCoalescer.class, "coalescedCommands")).getCount()).isEqualTo(3);
+        assertThat(metrics.meter(MetricRegistry.name(IncrementCoalescer.class, "writes")).getCount()).isEqualTo(1);
+        assertThat(metrics.meter(MetricRegistry.name(IncrementCoalescer.class, "readFlushes")).getCount()).isEqualTo(1);
+        assertThat(gauge(metrics, "coalescingRatio").getValue()).isEqualTo(3.0);
+        assertThat(gauge(metrics, "pendingUsers").getValue()).isEqualTo(0);
+    }
+
+    private static Gauge<?> gauge(MetricRegistry metrics, String name) {
+        return metrics.getGauges().get(MetricRegistry.name(IncrementCoalescer.class, name));
+    }
+
+    private static UserProfileCommand increment(UserProfilePropertyName propertyName, Number delta) {
+        return new UserProfileCommand(UserProfileFixtures.USER_ID, UserProfileCommandType.INCREMENT,
+                Map.of(propertyName, UserProfilePropertyValue.valueOf(delta)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementCommandHandlerTest {
+    private static final UserProfilePropertyName BATTLE_FOUGHT = UserProfilePropertyName.valueOf("battleFought");
+    private static final UserProfilePropertyName QUESTS_NOT_COMPLETED = UserProfilePropertyName.valueOf("questsNotCompleted");
+
+    private final IncrementCommandHandler handler = new IncrementCommandHandler();
+
+    @Test
+    void type_IsIncrement() {
+        assertThat(handler.getType()).isEqualTo(UserProfileCommandType.INCREMENT);
+    }
+
+    @Test
+    void apply_IncrementsExistingAndInitializesMissingProperties() {
+        var properties = new HashMap<>(Map.of(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(5)));
+
+        handler.apply(properties,
+                Map.of(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(10), QUESTS_NOT_COMPLETED, UserProfilePropertyValue.valueOf(-1)));
+
+        assertThat(properties).containsExactlyInAnyOrderEntriesOf(
+                Map.of(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(15L), QUESTS_NOT_COMPLETED, UserProfilePropertyValue.valueOf(-1)));
+    }
+
+    @Test
+    void apply_NonNumericProperty_throwsException() {
+        var properties = new HashMap<>(Map.of(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf("many")));
+
+        assertThatThrownBy(() -> handler.apply(properties, Map.of(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(10))))
+                .isExactlyInstanceOf(
+                IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplaceCommandHandlerTest {
+    private static final UserProfilePropertyName CURRENT_GOLD = UserProfilePropertyName.valueOf("currentGold");
+    private static final UserProfilePropertyName CURRENT_GEMS = UserProfilePropertyName.valueOf("currentGems");
+
+    private final ReplaceCommandHandler handler = new ReplaceCommandHandler();
+
+    @Test
+    void type_IsReplace() {
+        assertThat(handler.getType()).isEqualTo(UserProfileCommandType.REPLACE);
+    }
+
+    @Test
+    void apply_ReplacesExistingAndAddsNewProperties() {
+        var properties = new HashMap<>(Map.of(CURRENT_GOLD, UserProfilePropertyValue.valueOf(100)));
+
+        handler.apply(properties,
+                Map.of(CURRENT_GOLD, UserProfilePropertyValue.valueOf(500), CURRENT_GEMS, UserProfilePropertyValue.valueOf(800)));
+
+        assertThat(properties).containsExactlyInAnyOrderEntriesOf(
+                Map.of(CURRENT_GOLD, UserProfilePropertyValue.valueOf(500), CURRENT_GEMS, UserProfilePropertyValue.valueOf(800)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.COLLECT_COMMAND;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.INCREMENT_COMMAND;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.REPLACE_COMMAND;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_ID;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserProfileCommandApplierTest {
+    private static final Instant NOW = Instant.parse("2023-01-01T00:00:00Z");
+
+    private final UserProfileCommandApplier applier = new UserProfileCommandApplier(
+            Set.of(new ReplaceCommandHandler(), new IncrementCommandHandler(), new CollectCommandHandler()),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void applyToNonExistingProfile_createsProfile() {
+        var profile = applier.apply(USER_ID, Optional.empty(), List.of(REPLACE_COMMAND, INCREMENT_COMMAND, COLLECT_COMMAND));
+
+        assertThat(profile).isEqualTo(new UserProfile(USER_ID, NOW,
+                Map.of(UserProfilePropertyName.valueOf("currentGold"), UserProfilePropertyValue.valueOf(500),
+                        UserProfilePropertyName.valueOf("battleFought"), UserProfilePropertyValue.valueOf(10),
+                        UserProfilePropertyName.valueOf("inventory"), UserProfilePropertyValue.valueOf(List.of("sword1", "shield1")))));
+    }
+
+    @Test
+    void applyToExistingProfile_keepsOtherPropertiesAndAppliesInOrder() {
+        var profile = applier.apply(USER_ID, Optional.of(USER_PROFILE), List.of(INCREMENT_COMMAND, INCREMENT_COMMAND));
+
+        assertThat(profile.userProfileProperties()).containsExactlyInAnyOrderEntriesOf(
+                Map.of(UserProfilePropertyName.valueOf("property1"), UserProfilePropertyValue.valueOf("property1Value"),
+                        UserProfilePropertyName.valueOf("battleFought"), UserProfilePropertyValue.valueOf(20L)));
+        assertThat(profile.latestUpdateTime()).isEqualTo(NOW);
+    }
+
+    @Test
+    void applyWithinOneClockTick_updateTimeIncreasesPerWrite() {
+        var first = applier.apply(USER_ID, Optional.empty(), List.of(INCREMENT_COMMAND));
+        var second = applier.apply(USER_ID, Optional.of(first), List.of(INCREMENT_COMMAND));
+        var third = applier.apply(USER_ID, Optional.of(second), List.of(INCREMENT_COMMAND));
+
+        assertThat(first.latestUpdateTime()).isEqualTo(NOW);
+        assertThat(second.latestUpdateTime()).isEqualTo(NOW.plus(1, ChronoUnit.MICROS));
+        assertThat(third.latestUpdateTime()).isEqualTo(NOW.plus(2, ChronoUnit.MICROS));
+    }
+
+    @Test
+    void applyToProfileUpdatedAfterClockTime_updateTimeStillIncreases() {
+        var later = NOW.plusSeconds(60);
+        var current = new UserProfile(USER_ID, later, Map.of());
+
+        assertThat(applier.apply(USER_ID, Optional.of(current), List.of(INCREMENT_COMMAND)).latestUpdateTime()).isEqualTo(
+                later.plus(1, ChronoUnit.MICROS));
+    }
+
+    @Test
+    void handlerRejectsCommand_throwsInvalidCommandException() {
+        var incrementString = new UserProfileCommand(USER_ID, UserProfileCommandType.INCREMENT,
+                Map.of(UserProfilePropertyName.valueOf("property1"), UserProfilePropertyValue.valueOf(1)));
+
+        assertThatThrownBy(() -> applier.apply(USER_ID, Optional.of(USER_PROFILE), List.of(incrementString))).isExactlyInstanceOf(
+                InvalidCommandException.class).hasMessageContaining("increment").hasMessageContaining(USER_ID.toString());
+    }
+
+    @Test
+    void noHandlerForType_throwsInvalidCommandException() {
+        var applierWithoutHandlers = new UserProfileCommandApplier(Set.of(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThatThrownBy(() -> applierWithoutHandlers.apply(USER_ID, Optional.empty(), List.of(REPLACE_COMMAND))).isExactlyInstanceOf(
+                InvalidCommandException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.spotlight.platform.userprofile.api.core.profile.ingestion;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.core.exceptions.ServiceUnavailableException;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommandQueueTest {
+    private static final Instant NOW = Instant.parse("2023-01-01T00:00:00Z");
+    private static final List<UserProfileCommand> COMMANDS = List.of(UserProfileFixtures.REPLACE_COMMAND,
+            UserProfileFixtures.INCREMENT_COMMAND);
+
+    private final UserProfileService userProfileServiceMock = mock(UserProfileService.class);
+    private final MetricRegistry metrics = new MetricRegistry();
+    private CommandQueue commandQueue;
+
+    @BeforeEach
+    void setUp() {
+        when(userProfileServiceMock.applyAsync(anyList())).thenReturn(applied());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        commandQueue.stop();
+    }
+
+    @Test
+    void enqueue_returnsReceiptAndAppliesCommandsInBackground() {
+        commandQueue = startedQueue(10, 2);
+
+        var receipt = commandQueue.enqueue(COMMANDS);
+
+        assertThat(receipt.receiptId()).isNotBlank();
+        assertThat(receipt.commands()).isEqualTo(2);
+        assertThat(receipt.acceptedAt()).isEqualTo(NOW);
+        verify(userProfileServiceMock, timeout(5000)).applyAsync(COMMANDS);
+        assertThat(metrics.meter(metricName("accepted")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_batchesAreSubmittedInQueueOrder() {
+        var batches = List.of(List.of(UserProfileFixtures.REPLACE_COMMAND), List.of(UserProfileFixtures.INCREMENT_COMMAND),
+                List.of(UserProfileFixtures.COLLECT_COMMAND));
+        commandQueue = startedQueue(10, 2);
+
+        batches.forEach(commandQueue::enqueue);
+
+        var inOrder = inOrder(userProfileServiceMock);
+        batches.forEach(batch -> inOrder.verify(userProfileServiceMock, timeout(5000)).applyAsync(batch));
+    }
+
+    @Test
+    void enqueue_maxBatchesInFlight_keepsBacklogInQueueUntilFull() {
+        var pendingUpdate = new CompletableFuture<UserProfile>();
+        when(userProfileServiceMock.applyAsync(anyList())).thenReturn(Map.of(UserProfileFixtures.USER_ID, pendingUpdate))
+                .thenReturn(applied());
+        commandQueue = startedQueue(1, 1);
+
+        commandQueue.enqueue(COMMANDS);
+        verify(userProfileServiceMock, timeout(5000)).applyAsync(COMMANDS);
+        commandQueue.enqueue(COMMANDS);
+
+        assertThatThrownBy(() -> commandQueue.enqueue(COMMANDS)).isExactlyInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Command queue is full");
+        assertThat(gauge("depth")).isEqualTo(1);
+        assertThat(metrics.meter(metricName("rejected")).getCount()).isEqualTo(1);
+        pendingUpdate.complete(UserProfileFixtures.USER_PROFILE);
+        verify(userProfileServiceMock, timeout(5000).times(2)).applyAsync(COMMANDS);
+    }
+
+    @Test
+    void apply_fails_isCountedAndNextBatchIsApplied() {
+        var failedUpdate = CompletableFuture.<UserProfile>failedFuture(new InvalidCommandException("invalid", null));
+        when(userProfileServiceMock.applyAsync(anyList())).thenReturn(Map.of(UserProfileFixtures.USER_ID, failedUpdate))
+                .thenThrow(new IllegalStateException("Shards are stopped"))
+                .thenReturn(applied());
+        commandQueue = startedQueue(10, 1);
+
+        commandQueue.enqueue(COMMANDS);
+        commandQueue.enqueue(COMMANDS);
+        commandQueue.enqueue(COMMANDS);
+
+        verify(userProfileServiceMock, timeout(5000).times(3)).applyAsync(COMMANDS);
+        assertThat(metrics.timer(metricName("queueWait")).getCount()).isEqualTo(3);
+        assertThat(metrics.meter(metricName("failed")).getCount()).isEqualTo(2);
+        assertThat(metrics.timer(metricName("enqueueToApplied")).getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void stop_appliesAcceptedBatchesAndRejectsNewOnes() throws Exception {
+        commandQueue = new CommandQueue(userProfileServiceMock, Clock.fixed(NOW, ZoneOffset.UTC), 10, 1);
+        commandQueue.registerMetrics(metrics);
+        commandQueue.enqueue(COMMANDS);
+        commandQueue.enqueue(COMMANDS);
+        verify(userProfileServiceMock, never()).applyAsync(anyList());
+
+        commandQueue.stop();
+
+        verify(userProfileServiceMock, times(2)).applyAsync(COMMANDS);
+        assertThat(metrics.timer(metricName("enqueueToApplied")).getCount()).isEqualTo(2);
+        assertThatThrownBy(() -> commandQueue.enqueue(COMMANDS)).isExactlyInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Command queue is stopped");
+    }
+
+    private static Map<UserId, CompletableFuture<UserProfile>> applied() {
+        return Map.of(UserProfileFixtures.USER_ID, CompletableFuture.completedFuture(UserProfileFixtures.USER_PROFILE));
+    }
+
+    private CommandQueue startedQueue(int capacity, int maxBatchesInFlight) {
+        var queue = new CommandQueue(userProfileServiceMock, Clock.fixed(NOW, ZoneOffset.UTC), capacity, maxBatchesInFlight);
+        queue.registerMetrics(metrics);
+        queue.start();
+        return queue;
+    }
+
+    private Object gauge(String name) {
+        return metrics.getGauges().get(metricName(name)).getValue();
+    }
+
+    private static String metricName(String name) {
+        return MetricRegistry.name(CommandQueue.class, name);
+    }
+}
@@ -0,0 +1,177 @@
+package com.spotlight.platform.userprofile.api.core.profile.ingestion;
+
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.model.configuration.IngestionConfiguration;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandLineError;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.dropwizard.jersey.validation.Validators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CommandStreamIngesterTest {
+    private final UserProfileService userProfileServiceMock = mock(UserProfileService.class);
+    private final List<List<UserProfileCommand>> appliedChunks = new ArrayList<>();
+    private final ScheduledExecutorService completions = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        completions.shutdownNow();
+    }
+
+    @Test
+    void ingest_validLines_areAppliedInChunks() throws Exception {
+        givenAppliedSuccessfully();
+        var ingester = ingester(2, 4);
+
+        var summary = ingester.ingest(stream(replace("user-1", "a"), replace("user-2", "b"), "", replace("user-1", "c")));
+
+        assertThat(summary.lines()).isEqualTo(4);
+        assertThat(summary.applied()).isEqualTo(3);
+        assertThat(summary.rejected()).isZero();
+        assertThat(summary.errors()).isEmpty();
+        assertThat(appliedChunks).extracting(List::size).containsExactly(2, 1);
+    }
+
+    @Test
+    void ingest_invalidLines_areReportedAndSkipped() throws Exception {
+        givenAppliedSuccessfully();
+        var ingester = ingester(10, 4);
+
+        var summary = ingester.ingest(stream(replace("user$", "a"), "{not json", replace("user-1", "a"), """
+                {"userId": "user-1", "type": "multiply", "properties": {"a": 1}}""", """
+                {"type": "replace", "properties": {"a": 1}}""", "null", replace("user-1", "a") + " {}"));
+
+        assertThat(summary.applied()).isEqualTo(1);
+        assertThat(summary.rejected()).isEqualTo(6);
+        assertThat(summary.errors()).extracting(CommandLineError::line).containsExactly(1L, 2L, 4L, 5L, 6L, 7L);
+        assertThat(summary.errors().get(0).error()).isEqualTo("userId.value must match \"[A-Za-z0-9_-]*\"");
+        assertThat(summary.errors().get(3).error()).isEqualTo("userId must not be null");
+        assertThat(summary.errors().get(4).error()).isEqualTo("command must not be null");
+    }
+
+    @Test
+    void ingest_commandsOfUserCannotBeApplied_allLinesOfUserInChunkAreRejected() throws Exception {
+        var failingUser = UserId.valueOf("failing-user");
+        when(userProfileServiceMock.applyAsync(anyList())).thenAnswer(invocation -> {
+            List<UserProfileCommand> commands = invocation.getArgument(0);
+            return commands.stream().map(UserProfileCommand::userId).distinct().collect(Collectors.toMap(userId -> userId,
+                    userId -> userId.equals(failingUser) ? CompletableFuture.<UserProfile>failedFuture(
+                            new InvalidCommandException("Command cannot be applied", null)) : CompletableFuture.completedFuture(
+                            UserProfileFixtures.USER_PROFILE)));
+        });
+        var ingester = ingester(10, 4);
+
+        var summary = ingester.ingest(stream(replace("failing-user", "a"), replace("user-1", "a"), replace("failing-user", "b")));
+
+        assertThat(summary.applied()).isEqualTo(1);
+        assertThat(summary.errors()).containsExactly(new CommandLineError(1, "Command cannot be applied"),
+                new CommandLineError(3, "Command cannot be applied"));
+    }
+
+    @Test
+    void ingest_lineLongerThanMaximum_isRejectedAndFollowingLinesAreRead() throws Exception {
+        givenAppliedSuccessfully();
+        var ingester = ingester(10, 4, 1000, "80B");
+        var longLine = replace("user-1", "a".repeat(20_000));
+
+        var summary = ingester.ingest(stream(replace("user-1", "a"), longLine, replace("user-2", "b") + "\r", " \t"));
+
+        assertThat(summary.lines()).isEqualTo(4);
+        assertThat(summary.applied()).isEqualTo(2);
+        assertThat(summary.errors()).containsExactly(new CommandLineError(2, "line is longer than 80 bytes"));
+        assertThat(appliedChunks).singleElement().asList().hasSize(2);
+    }
+
+    @Test
+    void ingest_manyErrors_reportsOnlyTheFirst() throws Exception {
+        var ingester = ingester(10, 4, 2);
+
+        var summary = ingester.ingest(stream("x", "y", "z"));
+
+        assertThat(summary.rejected()).isEqualTo(3);
+        assertThat(summary.errors()).extracting(CommandLineError::line).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ingest_applyFallsBehind_boundsChunksInFlight() throws Exception {
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        when(userProfileServiceMock.applyAsync(anyList())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            var pendingUpdate = new CompletableFuture<UserProfile>();
+            completions.schedule(() -> {
+                inFlight.decrementAndGet();
+                pendingUpdate.complete(UserProfileFixtures.USER_PROFILE);
+            }, 5, TimeUnit.MILLISECONDS);
+            return Map.of(UserProfileFixtures.USER_ID, pendingUpdate);
+        });
+        var ingester = ingester(1, 2);
+
+        var summary = ingester.ingest(stream(IntStream.range(0, 20).mapToObj(i -> replace("user-" + i, "a")).toArray(String[]::new)));
+
+        assertThat(summary.applied()).isEqualTo(20);
+        assertThat(maxInFlight).hasValueLessThanOrEqualTo(2);
+    }
+
+    private void givenAppliedSuccessfully() {
+        when(userProfileServiceMock.applyAsync(anyList())).thenAnswer(invocation -> {
+            List<UserProfileCommand> commands = invocation.getArgument(0);
+            appliedChunks.add(List.copyOf(commands));
+            Map<UserId, CompletableFuture<UserProfile>> pendingUpdates = new LinkedHashMap<>();
+            commands.forEach(
+                    command -> pendingUpdates.put(command.userId(), CompletableFuture.completedFuture(UserProfileFixtures.USER_PROFILE)));
+            return pendingUpdates;
+        });
+    }
+
+    private CommandStreamIngester ingester(int chunkSize, int maxChunksInFlight) throws Exception {
+        return ingester(chunkSize, maxChunksInFlight, 1000);
+    }
+
+    private CommandStreamIngester ingester(int chunkSize, int maxChunksInFlight, int maxReportedErrors) throws Exception {
+        return ingester(chunkSize, maxChunksInFlight, maxReportedErrors, "64KiB");
+    }
+
+    private CommandStreamIngester ingester(int chunkSize, int maxChunksInFlight, int maxReportedErrors, String maxLineLength)
+            throws Exception {
+        var configuration = JsonMapper.getInstance().readValue("""
+                {"chunkSize": %d, "maxChunksInFlight": %d, "maxReportedErrors": %d, "maxLineLength": "%s"}""".formatted(chunkSize,
+                maxChunksInFlight, maxReportedErrors, maxLineLength), IngestionConfiguration.class);
+        return new CommandStreamIngester(JsonMapper.getInstance(), Validators.newValidator(), userProfileServiceMock, configuration);
+    }
+
+    private static String replace(String userId, String propertyName) {
+        return """
+                {"userId": "%s", "type": "replace", "properties": {"%s": 1}}""".formatted(userId, propertyName);
+    }
+
+    private static ByteArrayInputStream stream(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
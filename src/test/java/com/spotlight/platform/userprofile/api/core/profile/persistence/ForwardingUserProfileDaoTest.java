@@ -0,0 +1,63 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.dropwizard.lifecycle.Managed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+class ForwardingUserProfileDaoTest {
+    private final UserProfileDao delegate = new UserProfileDaoInMemory();
+    private final ForwardingUserProfileDao dao = new ForwardingUserProfileDao(delegate) {};
+
+    @Test
+    void writes_areForwardedToDelegate() {
+        dao.put(UserProfileFixtures.USER_PROFILE);
+        var updated = dao.update(UserProfileFixtures.USER_ID, current -> current.orElseThrow());
+
+        assertThat(updated).isEqualTo(UserProfileFixtures.USER_PROFILE);
+        assertThat(delegate.get(UserProfileFixtures.USER_ID)).contains(UserProfileFixtures.USER_PROFILE);
+    }
+
+    @Test
+    void reads_areForwardedToDelegate() {
+        delegate.put(UserProfileFixtures.USER_PROFILE);
+
+        var visited = new ArrayList<UserProfile>();
+        dao.forEach(visited::add);
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).contains(UserProfileFixtures.USER_PROFILE);
+        assertThat(dao.getAll(List.of(UserProfileFixtures.USER_ID))).containsOnlyKeys(UserProfileFixtures.USER_ID);
+        assertThat(visited).containsExactly(UserProfileFixtures.USER_PROFILE);
+    }
+
+    @Test
+    void startAndStop_areForwardedToManagedDelegate() throws Exception {
+        var managedDelegate = mock(UserProfileDao.class, withSettings().extraInterfaces(Managed.class));
+        var forwardingDao = new ForwardingUserProfileDao(managedDelegate) {};
+
+        forwardingDao.start();
+        forwardingDao.stop();
+
+        verify((Managed) managedDelegate).start();
+        verify((Managed) managedDelegate).stop();
+    }
+
+    @Test
+    void startAndStop_unmanagedDelegate_doNothing() {
+        assertThatNoException().isThrownBy(() -> {
+            dao.start();
+            dao.stop();
+        });
+    }
+}
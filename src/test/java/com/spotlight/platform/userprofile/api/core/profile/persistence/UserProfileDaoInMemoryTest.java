@@ -1,13 +1,25 @@
 package com.spotlight.platform.userprofile.api.core.profile.persistence;
 
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
 import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class UserProfileDaoInMemoryTest {
+    private static final UserProfilePropertyName COUNTER = UserProfilePropertyName.valueOf("counter");
 
     private final UserProfileDao dao = new UserProfileDaoInMemory();
 
@@ -23,4 +35,57 @@ class UserProfileDaoInMemoryTest {
         assertThat(dao.get(UserProfileFixtures.USER_ID)).hasValueSatisfying(
                 userProfile -> assertThat(userProfile).usingRecursiveComparison().isEqualTo(USER_PROFILE));
     }
-}
\ No newline at end of file
+
+    @Test
+    void forEach_VisitsStoredProfiles() {
+        dao.put(USER_PROFILE);
+        List<UserProfile> visited = new ArrayList<>();
+
+        dao.forEach(visited::add);
+
+        assertThat(visited).containsExactly(USER_PROFILE);
+    }
+
+    @Test
+    void getAll_ReturnsProfilesOfExistingUsers() {
+        dao.put(USER_PROFILE);
+
+        assertThat(dao.getAll(List.of(UserProfileFixtures.USER_ID, UserProfileFixtures.NON_EXISTING_USER_ID))).containsExactly(
+                Map.entry(UserProfileFixtures.USER_ID, USER_PROFILE));
+    }
+
+    @Test
+    void updateNonExistingUser_UpdaterReceivesEmptyAndResultIsStored() {
+        var updated = dao.update(UserProfileFixtures.USER_ID, currentProfile -> {
+            assertThat(currentProfile).isEmpty();
+            return USER_PROFILE;
+        });
+
+        assertThat(updated).isEqualTo(USER_PROFILE);
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).hasValue(USER_PROFILE);
+    }
+
+    @Test
+    void concurrentUpdatesOfSameUser_NoUpdateIsLost() throws Exception {
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var updates = IntStream.range(0, 1000)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> dao.update(UserProfileFixtures.USER_ID, this::incrementCounter),
+                            executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(updates).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).map(UserProfile::userProfileProperties)
+                .hasValue(Map.of(COUNTER, UserProfilePropertyValue.valueOf(1000L)));
+    }
+
+    private UserProfile incrementCounter(Optional<UserProfile> currentProfile) {
+        var counter = currentProfile.map(profile -> profile.userProfileProperties().get(COUNTER))
+                .orElse(UserProfilePropertyValue.valueOf(0L));
+        return new UserProfile(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(COUNTER, counter.add(UserProfilePropertyValue.valueOf(1))));
+    }
+}
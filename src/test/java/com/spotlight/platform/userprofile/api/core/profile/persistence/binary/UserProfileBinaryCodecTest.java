@@ -0,0 +1,69 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.binary;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_ID;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileBinaryCodecTest {
+    private final UserProfileBinaryCodec codec = new UserProfileBinaryCodec(JsonMapper.getInstance());
+
+    @Test
+    void roundTrip_FixtureProfile() {
+        assertThat(codec.decode(codec.encode(USER_PROFILE))).isEqualTo(USER_PROFILE);
+    }
+
+    @Test
+    void roundTrip_AllValueTypes() {
+        var profile = new UserProfile(USER_ID, Instant.parse("1969-12-31T23:59:59.999999999Z"),
+                Map.of(name("counter"), UserProfilePropertyValue.valueOf(-5_000_000_000L),
+                        name("ratio"), UserProfilePropertyValue.valueOf(0.25),
+                        name("nickname"), UserProfilePropertyValue.valueOf("äöü"),
+                        name("inventory"), UserProfilePropertyValue.valueOf(List.of("sword1", "shield1")),
+                        name("flag"), UserProfilePropertyValue.valueOf(true),
+                        name("mixed"), UserProfilePropertyValue.valueOf(List.of(true, "two"))));
+
+        assertThat(codec.decode(codec.encode(profile))).isEqualTo(profile);
+    }
+
+    @Test
+    void roundTrip_ProfileWithoutUpdateTimeAndProperties() {
+        var profile = new UserProfile(USER_ID, null, null);
+
+        assertThat(codec.decode(codec.encode(profile))).isEqualTo(new UserProfile(USER_ID, null, Map.of()));
+    }
+
+    @Test
+    void decode_LeavesBufferPositionAfterRecord() {
+        var first = codec.encode(USER_PROFILE);
+        var buffer = ByteBuffer.allocate(first.length * 2).put(first).put(first).flip();
+
+        codec.decode(buffer);
+
+        assertThat(buffer.position()).isEqualTo(first.length);
+        assertThat(codec.decode(buffer)).isEqualTo(USER_PROFILE);
+    }
+
+    @Test
+    void encode_IsCompact() {
+        var profile = new UserProfile(USER_ID, USER_PROFILE.latestUpdateTime(),
+                Map.of(name("battleFought"), UserProfilePropertyValue.valueOf(10)));
+
+        assertThat(codec.encode(profile)).hasSizeLessThan(48);
+    }
+
+    private static UserProfilePropertyName name(String name) {
+        return UserProfilePropertyName.valueOf(name);
+    }
+}
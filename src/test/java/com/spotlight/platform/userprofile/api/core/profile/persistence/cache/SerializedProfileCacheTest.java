@@ -0,0 +1,128 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedProfileCacheTest {
+    private static final String JSON = "application/json";
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final byte[] BYTES = "profile".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEWER_BYTES = "newer profile".getBytes(StandardCharsets.UTF_8);
+    private static final UserProfile NEWER_PROFILE = new UserProfile(UserProfileFixtures.USER_ID,
+            UserProfileFixtures.LAST_UPDATE_TIMESTAMP.plusMillis(1), Map.of());
+
+    private final SerializedProfileCache cache = new SerializedProfileCache(1024, Runnable::run);
+
+    @Nested
+    class Get {
+        @Test
+        void cachedVersion_returnsBytes() {
+            cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+
+            assertThat(cache.get(UserProfileFixtures.USER_PROFILE, JSON)).isEqualTo(BYTES);
+        }
+
+        @Test
+        void otherFormat_returnsNull() {
+            cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+
+            assertThat(cache.get(UserProfileFixtures.USER_PROFILE, SMILE)).isNull();
+        }
+
+        @Test
+        void otherVersion_returnsNull() {
+            cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+
+            assertThat(cache.get(NEWER_PROFILE, JSON)).isNull();
+        }
+
+        @Test
+        void invalidatedUser_returnsNull() {
+            cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+
+            cache.invalidate(UserProfileFixtures.USER_ID);
+
+            assertThat(cache.get(UserProfileFixtures.USER_PROFILE, JSON)).isNull();
+        }
+    }
+
+    @Nested
+    class Put {
+        @Test
+        void severalFormats_areCachedTogether() {
+            cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+            cache.put(UserProfileFixtures.USER_PROFILE, SMILE, NEWER_BYTES);
+
+            assertThat(cache.get(UserProfileFixtures.USER_PROFILE, JSON)).isEqualTo(BYTES);
+            assertThat(cache.get(UserProfileFixtures.USER_PROFILE, SMILE)).isEqualTo(NEWER_BYTES);
+        }
+
+        @Test
+        void newerVersion_replacesOlderVersion() {
+            cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+            cache.put(UserProfileFixtures.USER_PROFILE, SMILE, BYTES);
+
+            cache.put(NEWER_PROFILE, JSON, NEWER_BYTES);
+
+            assertThat(cache.get(NEWER_PROFILE, JSON)).isEqualTo(NEWER_BYTES);
+            assertThat(cache.get(NEWER_PROFILE, SMILE)).isNull();
+        }
+
+        @Test
+        void olderVersion_keepsNewerVersion() {
+            cache.put(NEWER_PROFILE, JSON, NEWER_BYTES);
+
+            cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+
+            assertThat(cache.get(NEWER_PROFILE, JSON)).isEqualTo(NEWER_BYTES);
+            assertThat(cache.get(UserProfileFixtures.USER_PROFILE, JSON)).isNull();
+        }
+
+        @Test
+        void beyondByteBudget_evictsProfiles() {
+            var largeBytes = new byte[400];
+            for (int i = 0; i < 10; i++) {
+                cache.put(new UserProfile(UserId.valueOf("user-" + i), Instant.EPOCH, Map.of()), JSON, largeBytes);
+            }
+            cache.cleanUp();
+
+            var metrics = new MetricRegistry();
+            cache.registerMetrics(metrics);
+            assertThat(gaugeValue(metrics, "bytes")).isLessThanOrEqualTo(1024L);
+            assertThat(gaugeValue(metrics, "size")).isLessThan(10L);
+            assertThat(gaugeValue(metrics, "evictions")).isPositive();
+        }
+    }
+
+    @Test
+    void metrics_countHitsAndMisses() {
+        var metrics = new MetricRegistry();
+        cache.registerMetrics(metrics);
+        cache.put(UserProfileFixtures.USER_PROFILE, JSON, BYTES);
+
+        cache.get(UserProfileFixtures.USER_PROFILE, JSON);
+        cache.get(UserProfileFixtures.USER_PROFILE, JSON);
+        cache.get(UserProfileFixtures.USER_PROFILE, SMILE);
+        cache.get(NEWER_PROFILE, JSON);
+
+        assertThat(metrics.meter(MetricRegistry.name(SerializedProfileCache.class, "hits")).getCount()).isEqualTo(2);
+        assertThat(metrics.meter(MetricRegistry.name(SerializedProfileCache.class, "misses")).getCount()).isEqualTo(2);
+        assertThat(metrics.getGauges().get(MetricRegistry.name(SerializedProfileCache.class, "hitRatio")).getValue()).isEqualTo(0.5);
+    }
+
+    private static Long gaugeValue(MetricRegistry metrics, String name) {
+        return (Long) ((Gauge<?>) metrics.getGauges().get(MetricRegistry.name(SerializedProfileCache.class, name))).getValue();
+    }
+}
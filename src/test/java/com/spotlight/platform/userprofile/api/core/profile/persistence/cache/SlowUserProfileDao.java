@@ -0,0 +1,73 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Stand-in for a remote store: every read, single or batch, takes a while and is counted.
+ */
+class SlowUserProfileDao implements UserProfileDao {
+    private final UserProfileDao storage = new UserProfileDaoInMemory();
+    private final Duration latency;
+    private final AtomicInteger gets = new AtomicInteger();
+    private final AtomicInteger batchGets = new AtomicInteger();
+
+    SlowUserProfileDao(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        gets.incrementAndGet();
+        sleep();
+        return storage.get(userId);
+    }
+
+    @Override
+    public Map<UserId, UserProfile> getAll(Collection<UserId> userIds) {
+        batchGets.incrementAndGet();
+        sleep();
+        return storage.getAll(userIds);
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        storage.put(userProfile);
+    }
+
+    @Override
+    public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+        return storage.update(userId, updater);
+    }
+
+    @Override
+    public void forEach(Consumer<UserProfile> action) {
+        storage.forEach(action);
+    }
+
+    int getGets() {
+        return gets.get();
+    }
+
+    int getBatchGets() {
+        return batchGets.get();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
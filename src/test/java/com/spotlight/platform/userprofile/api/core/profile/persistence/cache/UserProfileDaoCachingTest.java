@@ -0,0 +1,247 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.configuration.CacheBound;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import io.dropwizard.lifecycle.Managed;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_ID;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+class UserProfileDaoCachingTest {
+    private static final UserProfilePropertyName COUNTER = UserProfilePropertyName.valueOf("counter");
+
+    private final SlowUserProfileDao slowDao = new SlowUserProfileDao(Duration.ofMillis(50));
+    private final UserProfileDaoCaching dao = new UserProfileDaoCaching(slowDao, CacheBound.ENTRIES, 100);
+
+    @Test
+    void repeatedGet_IsServedFromCache() {
+        slowDao.put(USER_PROFILE);
+
+        assertThat(dao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(dao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(slowDao.getGets()).isEqualTo(1);
+    }
+
+    @Test
+    void missingUser_IsCached() {
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+        assertThat(slowDao.getGets()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMissesOfSameUser_LoadOnce() {
+        slowDao.put(USER_PROFILE);
+        var executor = Executors.newFixedThreadPool(16);
+        try {
+            var gets = IntStream.range(0, 16)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> dao.get(USER_ID), executor))
+                    .toList();
+
+            gets.forEach(get -> assertThat(get.join()).hasValue(USER_PROFILE));
+            assertThat(slowDao.getGets()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getAll_LoadsMissingUsersWithOneBatchAndCachesThem() {
+        slowDao.put(USER_PROFILE);
+        dao.get(UserProfileFixtures.NON_EXISTING_USER_ID);
+        var otherUserId = UserId.valueOf("other-user");
+
+        var userProfiles = dao.getAll(List.of(USER_ID, UserProfileFixtures.NON_EXISTING_USER_ID, otherUserId));
+
+        assertThat(userProfiles).containsExactly(Map.entry(USER_ID, USER_PROFILE));
+        assertThat(slowDao.getBatchGets()).isEqualTo(1);
+        assertThat(dao.get(otherUserId)).isEmpty();
+        assertThat(dao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(slowDao.getGets()).isEqualTo(1);
+    }
+
+    @Test
+    void put_WritesThroughToDelegateAndCache() {
+        dao.put(USER_PROFILE);
+
+        assertThat(slowDao.update(USER_ID, Optional::orElseThrow)).isEqualTo(USER_PROFILE);
+        assertThat(dao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(slowDao.getGets()).isZero();
+    }
+
+    @Test
+    void update_WritesThroughToDelegateAndCache() {
+        assertThat(dao.get(USER_ID)).isEmpty();
+
+        var updated = dao.update(USER_ID, currentProfile -> profileWithCounter(USER_ID, 1));
+
+        assertThat(updated).isEqualTo(profileWithCounter(USER_ID, 1));
+        assertThat(dao.get(USER_ID)).hasValue(updated);
+        assertThat(slowDao.getGets()).isEqualTo(1);
+    }
+
+    @Test
+    void failedUpdate_KeepsCachedProfile() {
+        dao.put(USER_PROFILE);
+
+        assertThatThrownBy(() -> dao.update(USER_ID, currentProfile -> {
+            throw new IllegalArgumentException("invalid");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(dao.get(USER_ID)).hasValue(USER_PROFILE);
+    }
+
+    @Test
+    void delegateWrite_DoesNotHoldCacheLock() {
+        var readsDuringWrite = new ArrayList<Optional<UserProfile>>();
+        var cachingDao = new AtomicReference<UserProfileDaoCaching>();
+        cachingDao.set(new UserProfileDaoCaching(new UserProfileDaoInMemory() {
+            @Override
+            public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+                // a read missing the same user would block on its cache entry if the write computed it
+                var read = CompletableFuture.supplyAsync(() -> cachingDao.get().get(userId));
+                readsDuringWrite.add(read.orTimeout(5, TimeUnit.SECONDS).join());
+                return super.update(userId, updater);
+            }
+        }, CacheBound.ENTRIES, 100));
+
+        cachingDao.get().update(USER_ID, currentProfile -> USER_PROFILE);
+
+        assertThat(readsDuringWrite).containsExactly(Optional.empty());
+        assertThat(cachingDao.get().get(USER_ID)).hasValue(USER_PROFILE);
+    }
+
+    @Test
+    void concurrentUpdatesOfDifferentUsers_NoUpdateIsLost() {
+        var userIds = IntStream.range(0, 8).mapToObj(i -> UserId.valueOf("user-" + i)).toList();
+        var executor = Executors.newFixedThreadPool(userIds.size());
+        try {
+            // like the command shards, every user is written by one thread at a time
+            var updates = userIds.stream()
+                    .map(userId -> CompletableFuture.runAsync(() -> IntStream.range(0, 25)
+                            .forEach(i -> dao.update(userId, currentProfile -> incrementCounter(userId, currentProfile))), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(updates).join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (var userId : userIds) {
+            assertThat(dao.get(userId)).hasValue(profileWithCounter(userId, 25));
+            assertThat(slowDao.update(userId, Optional::orElseThrow)).isEqualTo(profileWithCounter(userId, 25));
+        }
+    }
+
+    @Test
+    void entriesBound_EvictsBeyondMaximum() {
+        var boundedDao = new UserProfileDaoCaching(slowDao, CacheBound.ENTRIES, 10, Runnable::run);
+
+        IntStream.range(0, 100).forEach(i -> boundedDao.put(profileWithCounter(UserId.valueOf("user-" + i), i)));
+        boundedDao.cleanUp();
+
+        var metrics = new MetricRegistry();
+        boundedDao.registerMetrics(metrics);
+        assertThat(gauge(metrics, "size")).isEqualTo(10L);
+        assertThat(gauge(metrics, "evictions")).isEqualTo(90L);
+    }
+
+    @Test
+    void bytesBound_EvictsBeyondMaximumWeight() {
+        long profileWeight = new UserProfileWeigher().weigh(UserId.valueOf("user-0"), Optional.of(profileWithCounter(USER_ID, 0)));
+        var boundedDao = new UserProfileDaoCaching(slowDao, CacheBound.BYTES, 20 * profileWeight, Runnable::run);
+
+        IntStream.range(0, 100).forEach(i -> boundedDao.put(profileWithCounter(UserId.valueOf("user-" + i), i)));
+        boundedDao.cleanUp();
+
+        var metrics = new MetricRegistry();
+        boundedDao.registerMetrics(metrics);
+        assertThat((Long) gauge(metrics, "size")).isBetween(1L, 20L);
+    }
+
+    @Test
+    void metrics_CountHitsAndMisses() {
+        var metrics = new MetricRegistry();
+        dao.registerMetrics(metrics);
+        slowDao.put(USER_PROFILE);
+
+        dao.get(USER_ID);
+        dao.get(USER_ID);
+        dao.get(USER_ID);
+
+        assertThat(gauge(metrics, "hits")).isEqualTo(2L);
+        assertThat(gauge(metrics, "misses")).isEqualTo(1L);
+        assertThat((Double) gauge(metrics, "hitRate")).isCloseTo(2.0 / 3, Offset.offset(0.001));
+    }
+
+    @Test
+    void forEach_VisitsDelegateProfiles() {
+        slowDao.put(USER_PROFILE);
+        List<UserProfile> visited = new ArrayList<>();
+
+        dao.forEach(visited::add);
+
+        assertThat(visited).containsExactly(USER_PROFILE);
+    }
+
+    @Test
+    void lifecycle_IsForwardedToManagedDelegate() throws Exception {
+        var managedDelegate = mock(UserProfileDao.class, withSettings().extraInterfaces(Managed.class));
+        var cachingDao = new UserProfileDaoCaching(managedDelegate, CacheBound.ENTRIES, 10);
+
+        cachingDao.start();
+        cachingDao.stop();
+
+        verify((Managed) managedDelegate).start();
+        verify((Managed) managedDelegate).stop();
+    }
+
+    @Test
+    void lifecycle_UnmanagedDelegateIsIgnored() throws Exception {
+        dao.start();
+        dao.stop();
+
+        assertThat(slowDao.getGets()).isZero();
+    }
+
+    private static Object gauge(MetricRegistry metrics, String name) {
+        return metrics.getGauges().get(MetricRegistry.name(UserProfileDaoCaching.class, name)).getValue();
+    }
+
+    private static UserProfile incrementCounter(UserId userId, Optional<UserProfile> currentProfile) {
+        var counter = currentProfile.map(profile -> profile.userProfileProperties().get(COUNTER))
+                .orElse(UserProfilePropertyValue.valueOf(0));
+        return new UserProfile(userId, null, Map.of(COUNTER, counter.add(UserProfilePropertyValue.valueOf(1))));
+    }
+
+    private static UserProfile profileWithCounter(UserId userId, long counter) {
+        return new UserProfile(userId, null, Map.of(COUNTER, UserProfilePropertyValue.valueOf(counter)));
+    }
+}
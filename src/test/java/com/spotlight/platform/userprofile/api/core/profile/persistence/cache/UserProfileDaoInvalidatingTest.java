@@ -0,0 +1,66 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.dropwizard.lifecycle.Managed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+class UserProfileDaoInvalidatingTest {
+    private final SerializedProfileCache serializedProfileCacheMock = mock(SerializedProfileCache.class);
+    private final UserProfileDao delegate = new UserProfileDaoInMemory();
+    private final UserProfileDaoInvalidating dao = new UserProfileDaoInvalidating(delegate, serializedProfileCacheMock);
+
+    @Test
+    void put_invalidatesUser() {
+        dao.put(UserProfileFixtures.USER_PROFILE);
+
+        verify(serializedProfileCacheMock).invalidate(UserProfileFixtures.USER_ID);
+        assertThat(delegate.get(UserProfileFixtures.USER_ID)).contains(UserProfileFixtures.USER_PROFILE);
+    }
+
+    @Test
+    void update_invalidatesUser() {
+        var updated = dao.update(UserProfileFixtures.USER_ID, current -> UserProfileFixtures.USER_PROFILE);
+
+        verify(serializedProfileCacheMock).invalidate(UserProfileFixtures.USER_ID);
+        assertThat(updated).isEqualTo(UserProfileFixtures.USER_PROFILE);
+    }
+
+    @Test
+    void reads_areDelegatedWithoutInvalidating() {
+        delegate.put(UserProfileFixtures.USER_PROFILE);
+
+        var visited = new ArrayList<UserProfile>();
+        dao.forEach(visited::add);
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).contains(UserProfileFixtures.USER_PROFILE);
+        assertThat(dao.getAll(List.of(UserProfileFixtures.USER_ID))).containsOnlyKeys(UserProfileFixtures.USER_ID);
+        assertThat(visited).containsExactly(UserProfileFixtures.USER_PROFILE);
+        verify(serializedProfileCacheMock, never()).invalidate(UserProfileFixtures.USER_ID);
+    }
+
+    @Test
+    void startAndStop_areDelegatedToManagedDelegate() throws Exception {
+        var managedDelegate = mock(UserProfileDao.class, withSettings().extraInterfaces(Managed.class));
+        var invalidatingDao = new UserProfileDaoInvalidating(managedDelegate, serializedProfileCacheMock);
+
+        invalidatingDao.start();
+        invalidatingDao.stop();
+
+        verify((Managed) managedDelegate).start();
+        verify((Managed) managedDelegate).stop();
+    }
+}
@@ -0,0 +1,56 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.cache;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileWeigherTest {
+    private static final UserProfilePropertyName PROPERTY = UserProfilePropertyName.valueOf("property");
+
+    private final UserProfileWeigher weigher = new UserProfileWeigher();
+
+    @Test
+    void missingProfile_WeighsLessThanStoredProfile() {
+        var emptyProfile = new UserProfile(USER_ID, null, null);
+
+        assertThat(weigher.weigh(USER_ID, Optional.empty())).isPositive().isLessThan(weigher.weigh(USER_ID, Optional.of(emptyProfile)));
+    }
+
+    @Test
+    void weight_GrowsWithStringLength() {
+        assertThat(weigh(UserProfilePropertyValue.valueOf("x".repeat(1000)))).isGreaterThan(
+                weigh(UserProfilePropertyValue.valueOf("x")) + 900);
+    }
+
+    @Test
+    void weight_GrowsWithListSize() {
+        assertThat(weigh(UserProfilePropertyValue.valueOf(List.of("a", "b", "c")))).isGreaterThan(
+                weigh(UserProfilePropertyValue.valueOf(List.of("a"))));
+    }
+
+    @Test
+    void weight_GrowsWithLengthOfListValues() {
+        assertThat(weigh(UserProfilePropertyValue.valueOf(List.of("x".repeat(1000))))).isGreaterThan(
+                weigh(UserProfilePropertyValue.valueOf(List.of("x"))) + 900);
+    }
+
+    @Test
+    void numbersAndOtherValues_HaveFixedWeight() {
+        assertThat(weigh(UserProfilePropertyValue.valueOf(1))).isEqualTo(weigh(UserProfilePropertyValue.valueOf(Long.MAX_VALUE)))
+                .isEqualTo(weigh(UserProfilePropertyValue.valueOf(1.5)));
+        assertThat(weigh(UserProfilePropertyValue.valueOf(Map.of("a", 1)))).isGreaterThan(weigh(UserProfilePropertyValue.valueOf(1)));
+    }
+
+    private int weigh(UserProfilePropertyValue value) {
+        return weigher.weigh(USER_ID, Optional.of(new UserProfile(USER_ID, null, Map.of(PROPERTY, value))));
+    }
+}
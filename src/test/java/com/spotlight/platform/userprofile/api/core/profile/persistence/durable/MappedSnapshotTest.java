@@ -0,0 +1,109 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_ID;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedSnapshotTest {
+    private final UserProfileBinaryCodec codec = new UserProfileBinaryCodec(JsonMapper.getInstance());
+    private final UserProfileDaoInMemory contents = new UserProfileDaoInMemory();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void get_DecodesStoredProfile() throws IOException {
+        contents.put(USER_PROFILE);
+
+        var snapshot = writeAndOpen(MappedSnapshot.DEFAULT_REGION_BYTES);
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(snapshot.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+    }
+
+    @Test
+    void getOfEmptySnapshot_OptionalEmptyReturned() throws IOException {
+        var snapshot = writeAndOpen(MappedSnapshot.DEFAULT_REGION_BYTES);
+
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.get(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void usersWithCollidingHashes_AreBothFound() throws IOException {
+        // "Aa" and "BB" have the same String hash code
+        var first = profile("Aa", 1);
+        var second = profile("BB", 2);
+        contents.put(first);
+        contents.put(second);
+
+        var snapshot = writeAndOpen(MappedSnapshot.DEFAULT_REGION_BYTES);
+
+        assertThat(snapshot.get(UserId.valueOf("Aa"))).hasValue(first);
+        assertThat(snapshot.get(UserId.valueOf("BB"))).hasValue(second);
+    }
+
+    @Test
+    void recordsSpanningRegions_AreDecoded() throws IOException {
+        var profiles = IntStream.range(0, 2000).mapToObj(i -> profile("user-" + i, i)).toList();
+        profiles.forEach(contents::put);
+
+        var snapshot = writeAndOpen(64);
+
+        profiles.forEach(profile -> assertThat(snapshot.get(profile.userId())).hasValue(profile));
+        List<UserProfile> visited = new ArrayList<>();
+        snapshot.forEach(visited::add);
+        assertThat(visited).containsExactlyInAnyOrderElementsOf(profiles);
+    }
+
+    @Test
+    void corruptRecord_IsRejected() throws IOException {
+        contents.put(USER_PROFILE);
+        new SnapshotStore(directory, codec).write(1, contents);
+        var file = snapshotFile();
+        var content = Files.readAllBytes(file);
+        content[SnapshotFormat.HEADER_BYTES + LogRecords.HEADER_BYTES] ^= 1;
+        Files.write(file, content);
+
+        var snapshot = MappedSnapshot.open(file, codec);
+
+        assertThatThrownBy(() -> snapshot.get(USER_ID)).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Corrupt snapshot record");
+    }
+
+    private MappedSnapshot writeAndOpen(int regionBytes) throws IOException {
+        new SnapshotStore(directory, codec).write(1, contents);
+        return new MappedSnapshot(snapshotFile(), codec, regionBytes);
+    }
+
+    private Path snapshotFile() {
+        return directory.resolve("snapshot-%020d.bin".formatted(1));
+    }
+
+    private static UserProfile profile(String userId, long counter) {
+        return new UserProfile(UserId.valueOf(userId), UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(UserProfilePropertyName.valueOf("counter"), UserProfilePropertyValue.valueOf(counter)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotStoreTest {
+    private static final UserProfile OTHER_PROFILE = new UserProfile(UserId.valueOf("other"), null, Map.of());
+
+    @TempDir
+    Path directory;
+
+    private final UserProfileDaoInMemory contents = new UserProfileDaoInMemory();
+
+    private SnapshotStore snapshots;
+
+    @Test
+    void writtenSnapshot_LoadsAllProfiles() throws IOException {
+        contents.put(USER_PROFILE);
+        contents.put(OTHER_PROFILE);
+        snapshots = new SnapshotStore(directory, codec());
+
+        snapshots.write(3, contents);
+
+        assertThat(load(3)).containsExactlyInAnyOrder(USER_PROFILE, OTHER_PROFILE);
+    }
+
+    @Test
+    void openedSnapshot_LooksUpProfiles() throws IOException {
+        contents.put(USER_PROFILE);
+        snapshots = new SnapshotStore(directory, codec());
+        snapshots.write(1, contents);
+
+        var snapshot = snapshots.open(1);
+
+        assertThat(snapshot.get(USER_PROFILE.userId())).hasValue(USER_PROFILE);
+        assertThat(snapshot.get(OTHER_PROFILE.userId())).isEmpty();
+    }
+
+    @Test
+    void latestSequence_ReturnsNewestSnapshot() throws IOException {
+        snapshots = new SnapshotStore(directory, codec());
+        assertThat(snapshots.latestSequence()).isEmpty();
+
+        snapshots.write(1, contents);
+        snapshots.write(12, contents);
+
+        assertThat(snapshots.latestSequence()).hasValue(12);
+    }
+
+    @Test
+    void deleteBefore_KeepsLaterSnapshots() throws IOException {
+        snapshots = new SnapshotStore(directory, codec());
+        snapshots.write(1, contents);
+        snapshots.write(2, contents);
+
+        snapshots.deleteBefore(2);
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactly("snapshot-%020d.bin".formatted(2));
+        }
+    }
+
+    @Test
+    void snapshotOfUnknownFormat_IsRejected() throws IOException {
+        snapshots = new SnapshotStore(directory, codec());
+        Files.write(directory.resolve("snapshot-%020d.bin".formatted(1)), new byte[] {0, 0, 0, 0, 0, 0, 0, 1});
+
+        assertThatThrownBy(() -> load(1)).isInstanceOf(IllegalStateException.class).hasMessageContaining("Unsupported snapshot format");
+    }
+
+    @Test
+    void corruptSnapshot_IsRejected() throws IOException {
+        contents.put(USER_PROFILE);
+        snapshots = new SnapshotStore(directory, codec());
+        snapshots.write(1, contents);
+        var snapshot = directory.resolve("snapshot-%020d.bin".formatted(1));
+        var content = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(content, content.length - 1));
+
+        assertThatThrownBy(() -> load(1)).isInstanceOf(IllegalStateException.class).hasMessageContaining("Corrupt snapshot");
+    }
+
+    private List<UserProfile> load(long sequence) throws IOException {
+        List<UserProfile> loaded = new ArrayList<>();
+        snapshots.load(sequence, loaded::add);
+        return loaded;
+    }
+
+    private static UserProfileBinaryCodec codec() {
+        return new UserProfileBinaryCodec(JsonMapper.getInstance());
+    }
+}
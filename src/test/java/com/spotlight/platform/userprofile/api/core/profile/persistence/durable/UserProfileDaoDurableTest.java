@@ -0,0 +1,255 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.offheap.OffHeapMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.offheap.UserProfileDaoOffHeap;
+import com.spotlight.platform.userprofile.api.model.configuration.LogSyncMode;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_ID;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserProfileDaoDurableTest {
+    private static final UserProfilePropertyName COUNTER = UserProfilePropertyName.valueOf("counter");
+
+    private final UserProfileBinaryCodec codec = new UserProfileBinaryCodec(JsonMapper.getInstance());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void getNonExistingUser_OptionalEmptyReturned() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+        dao.stop();
+    }
+
+    @Test
+    void writes_AreRecoveredAfterRestart() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+        dao.put(USER_PROFILE);
+        incrementCounter(dao, UserId.valueOf("counter-user"));
+        incrementCounter(dao, UserId.valueOf("counter-user"));
+        dao.stop();
+
+        var recoveredDao = startDao(new UserProfileDaoInMemory());
+
+        assertThat(recoveredDao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(recoveredDao.get(UserId.valueOf("counter-user"))).hasValue(profileWithCounter(UserId.valueOf("counter-user"), 2));
+        recoveredDao.stop();
+    }
+
+    @Test
+    void snapshot_TruncatesLogAndIsRecovered() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+        incrementCounter(dao, USER_ID);
+        dao.snapshot();
+        incrementCounter(dao, USER_ID);
+        dao.stop();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactlyInAnyOrder("snapshot-%020d.bin".formatted(1),
+                    "wal-%020d.log".formatted(1));
+        }
+        var recoveredDao = startDao(new UserProfileDaoInMemory());
+
+        assertThat(recoveredDao.get(USER_ID)).hasValue(profileWithCounter(USER_ID, 2));
+        recoveredDao.stop();
+    }
+
+    @Test
+    void profilesOfRecoveredSnapshot_AreServedAndUpdated() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+        dao.put(USER_PROFILE);
+        incrementCounter(dao, UserId.valueOf("counter-user"));
+        dao.snapshot();
+        dao.stop();
+
+        var delegate = new UserProfileDaoInMemory();
+        var recoveredDao = startDao(delegate);
+
+        assertThat(delegate.get(USER_ID)).isEmpty();
+        assertThat(recoveredDao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(delegate.get(USER_ID)).hasValue(USER_PROFILE);
+        incrementCounter(recoveredDao, UserId.valueOf("counter-user"));
+        assertThat(recoveredDao.get(UserId.valueOf("counter-user"))).hasValue(profileWithCounter(UserId.valueOf("counter-user"), 2));
+        recoveredDao.stop();
+    }
+
+    @Test
+    void getAll_ServesDelegateAndRecoveredSnapshot() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+        dao.put(USER_PROFILE);
+        dao.snapshot();
+        dao.stop();
+        var recoveredDao = startDao(new UserProfileDaoInMemory());
+        incrementCounter(recoveredDao, UserId.valueOf("counter-user"));
+
+        var userProfiles = recoveredDao.getAll(List.of(USER_ID, UserId.valueOf("counter-user"), UserId.valueOf("unknown-user")));
+
+        assertThat(userProfiles).containsOnly(Map.entry(USER_ID, USER_PROFILE),
+                Map.entry(UserId.valueOf("counter-user"), profileWithCounter(UserId.valueOf("counter-user"), 1)));
+        assertThat(recoveredDao.getAll(List.of(USER_ID))).containsOnly(Map.entry(USER_ID, USER_PROFILE));
+        recoveredDao.stop();
+    }
+
+    @Test
+    void snapshotAfterRecovery_KeepsProfilesNotAccessedYet() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+        dao.put(USER_PROFILE);
+        dao.snapshot();
+        dao.stop();
+        var recoveredDao = startDao(new UserProfileDaoInMemory());
+        incrementCounter(recoveredDao, UserId.valueOf("counter-user"));
+        List<UserProfile> visited = new ArrayList<>();
+        recoveredDao.forEach(visited::add);
+        recoveredDao.snapshot();
+        recoveredDao.stop();
+
+        var secondRecoveredDao = startDao(new UserProfileDaoInMemory());
+
+        assertThat(visited).containsExactlyInAnyOrder(USER_PROFILE, profileWithCounter(UserId.valueOf("counter-user"), 1));
+        assertThat(secondRecoveredDao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(secondRecoveredDao.get(UserId.valueOf("counter-user"))).hasValue(profileWithCounter(UserId.valueOf("counter-user"), 1));
+        secondRecoveredDao.stop();
+    }
+
+    @Test
+    void concurrentUpdatesDuringSnapshots_AreAllRecovered() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+
+        var updates = IntStream.range(0, 1000)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> incrementCounter(dao, UserId.valueOf("user-" + i % 10))))
+                .toArray(CompletableFuture[]::new);
+        for (int i = 0; i < 5; i++) {
+            dao.snapshot();
+        }
+        CompletableFuture.allOf(updates).join();
+        dao.stop();
+        var recoveredDao = startDao(new UserProfileDaoInMemory());
+
+        IntStream.range(0, 10)
+                .forEach(i -> assertThat(recoveredDao.get(UserId.valueOf("user-" + i))).hasValue(
+                        profileWithCounter(UserId.valueOf("user-" + i), 100)));
+        recoveredDao.stop();
+    }
+
+    @Test
+    void forEach_VisitsDelegateProfiles() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+        dao.put(USER_PROFILE);
+        List<UserProfile> visited = new ArrayList<>();
+
+        dao.forEach(visited::add);
+
+        assertThat(visited).containsExactly(USER_PROFILE);
+        dao.stop();
+    }
+
+    @Test
+    void failingUpdater_IsNotLogged() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+
+        assertThatThrownBy(() -> dao.update(USER_ID, currentProfile -> {
+            throw new IllegalArgumentException("invalid");
+        })).isInstanceOf(IllegalArgumentException.class);
+        dao.stop();
+
+        var recoveredDao = startDao(new UserProfileDaoInMemory());
+        assertThat(recoveredDao.get(USER_ID)).isEmpty();
+        recoveredDao.stop();
+    }
+
+    @Test
+    void writeRejectedByDelegate_IsNotLogged() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory() {
+            @Override
+            public UserProfile update(UserId userId, Function<Optional<UserProfile>, UserProfile> updater) {
+                updater.apply(Optional.empty());
+                throw new IllegalStateException("Off-heap storage is full");
+            }
+        });
+
+        assertThatThrownBy(() -> dao.put(USER_PROFILE)).isInstanceOf(IllegalStateException.class);
+        dao.stop();
+
+        var recoveredDao = startDao(new UserProfileDaoInMemory());
+        assertThat(recoveredDao.get(USER_ID)).isEmpty();
+        recoveredDao.stop();
+    }
+
+    @Test
+    void writeAfterStop_Fails() throws Exception {
+        var dao = startDao(new UserProfileDaoInMemory());
+        dao.stop();
+
+        assertThatThrownBy(() -> dao.put(USER_PROFILE)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void stopWithoutStart_DoesNotFail() {
+        var dao = new UserProfileDaoDurable(new UserProfileDaoInMemory(), codec,
+                new WriteAheadLog(directory, LogSyncMode.COMMIT, Duration.ZERO, Duration.ofSeconds(1)),
+                new SnapshotStore(directory, codec), Duration.ofHours(1));
+
+        assertThatNoException().isThrownBy(dao::stop);
+    }
+
+    @Test
+    void managedDelegate_IsStartedAndStopped() throws Exception {
+        var offHeapDao = new UserProfileDaoOffHeap(codec, new OffHeapMemory(4096, 16), Duration.ofSeconds(1), 0.5);
+        var dao = startDao(offHeapDao);
+        dao.put(USER_PROFILE);
+        dao.stop();
+
+        var recoveredDao = startDao(new UserProfileDaoOffHeap(codec, new OffHeapMemory(4096, 16), Duration.ofSeconds(1), 0.5));
+
+        assertThat(recoveredDao.get(USER_ID)).hasValue(USER_PROFILE);
+        recoveredDao.stop();
+    }
+
+    private UserProfileDaoDurable startDao(UserProfileDao delegate) throws Exception {
+        var dao = new UserProfileDaoDurable(delegate, codec,
+                new WriteAheadLog(directory, LogSyncMode.COMMIT, Duration.ZERO, Duration.ofSeconds(1)),
+                new SnapshotStore(directory, codec), Duration.ofHours(1));
+        dao.start();
+        return dao;
+    }
+
+    private static void incrementCounter(UserProfileDao dao, UserId userId) {
+        dao.update(userId, currentProfile -> {
+            var counter = currentProfile.map(profile -> profile.userProfileProperties().get(COUNTER))
+                    .orElse(UserProfilePropertyValue.valueOf(0));
+            return new UserProfile(userId, null, Map.of(COUNTER, counter.add(UserProfilePropertyValue.valueOf(1))));
+        });
+    }
+
+    private static UserProfile profileWithCounter(UserId userId, long counter) {
+        return new UserProfile(userId, null, Map.of(COUNTER, UserProfilePropertyValue.valueOf(counter)));
+    }
+}
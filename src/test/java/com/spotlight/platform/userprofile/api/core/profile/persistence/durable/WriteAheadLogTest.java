@@ -0,0 +1,166 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.durable;
+
+import com.spotlight.platform.userprofile.api.model.configuration.LogSyncMode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteAheadLogTest {
+    @TempDir
+    Path directory;
+
+    private WriteAheadLog log;
+
+    @AfterEach
+    void afterEach() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    @Test
+    void appendedRecords_AreReplayedInOrder() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ZERO);
+
+        log.append(bytes("first")).join();
+        log.append(bytes("second")).join();
+        log.close();
+
+        assertThat(replay(0)).containsExactly("first", "second");
+    }
+
+    @Test
+    void concurrentAppends_AreAllCommitted() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ofMillis(5));
+
+        var appends = IntStream.range(0, 1000)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> log.append(bytes("record-" + i)).join()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(appends).join();
+        log.close();
+
+        assertThat(replay(0)).hasSize(1000).contains("record-0", "record-999");
+    }
+
+    @Test
+    void periodicSyncMode_CommitsRecords() throws IOException {
+        log = new WriteAheadLog(directory, LogSyncMode.PERIODIC, Duration.ZERO, Duration.ofMillis(1));
+        log.open(0);
+
+        log.append(bytes("first")).join();
+        log.append(bytes("second")).join();
+        log.close();
+
+        assertThat(replay(0)).containsExactly("first", "second");
+    }
+
+    @Test
+    void roll_ContinuesInNewSegment() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ZERO);
+        log.append(bytes("first")).join();
+
+        long sequence = log.roll();
+        log.append(bytes("second")).join();
+
+        assertThat(sequence).isEqualTo(1);
+        assertThat(log.segmentSequences()).containsExactly(0L, 1L);
+        assertThat(replay(1)).containsExactly("second");
+    }
+
+    @Test
+    void deleteSegmentsBefore_KeepsLaterSegments() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ZERO);
+        log.roll();
+        log.roll();
+
+        log.deleteSegmentsBefore(2);
+
+        assertThat(log.segmentSequences()).containsExactly(2L);
+    }
+
+    @Test
+    void replay_ReturnsLastSegmentSequence() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ZERO);
+        log.roll();
+
+        assertThat(log.replay(0, record -> {})).isEqualTo(1);
+        assertThat(log.replay(5, record -> {})).isEqualTo(4);
+    }
+
+    @Test
+    void replayOfMissingDirectory_ReplaysNothing() throws IOException {
+        var missingLog = new WriteAheadLog(directory.resolve("missing"), LogSyncMode.COMMIT, Duration.ZERO, Duration.ofSeconds(1));
+
+        assertThat(missingLog.replay(0, record -> {})).isEqualTo(-1);
+    }
+
+    @Test
+    void replay_StopsAtTornRecord() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ZERO);
+        log.append(bytes("first")).join();
+        log.append(bytes("second")).join();
+        log.close();
+        var segment = directory.resolve("wal-%020d.log".formatted(0));
+        try (var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(segment) - 2);
+        }
+
+        assertThat(replay(0)).containsExactly("first");
+    }
+
+    @Test
+    void replay_StopsAtCorruptRecord() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ZERO);
+        log.append(bytes("first")).join();
+        log.append(bytes("second")).join();
+        log.close();
+        var segment = directory.resolve("wal-%020d.log".formatted(0));
+        var content = Files.readAllBytes(segment);
+        content[content.length - 1] ^= 1;
+        Files.write(segment, content);
+
+        assertThat(replay(0)).containsExactly("first");
+    }
+
+    @Test
+    void appendAfterClose_Fails() throws IOException {
+        log = openLog(LogSyncMode.COMMIT, Duration.ZERO);
+        log.close();
+
+        assertThatThrownBy(() -> log.append(bytes("late")).join()).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private WriteAheadLog openLog(LogSyncMode syncMode, Duration commitDelay) throws IOException {
+        var openedLog = new WriteAheadLog(directory, syncMode, commitDelay, Duration.ofSeconds(1));
+        openedLog.open(0);
+        return openedLog;
+    }
+
+    private List<String> replay(long fromSequence) throws IOException {
+        List<String> records = new ArrayList<>();
+        new WriteAheadLog(directory, LogSyncMode.COMMIT, Duration.ZERO, Duration.ofSeconds(1)).replay(fromSequence,
+                record -> records.add(new String(record, StandardCharsets.UTF_8)));
+        return records;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.offheap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapMemoryTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    private final OffHeapMemory memory = new OffHeapMemory(SEGMENT_SIZE, 2);
+
+    @Test
+    void writeAndRead_ReturnsRecord() {
+        long address = memory.allocate(3);
+        memory.write(address, new byte[]{1, 2, 3});
+
+        assertThat(memory.read(address)).containsExactly(1, 2, 3);
+        assertThat(memory.getLiveBytes()).isEqualTo(32);
+    }
+
+    @Test
+    void fits_RecordsUpToSlotCapacity() {
+        long address = memory.allocate(40);
+
+        assertThat(memory.fits(address, 60)).isTrue();
+        assertThat(memory.fits(address, 61)).isFalse();
+    }
+
+    @Test
+    void free_SlotIsReusedForRecordOfSameSizeClass() {
+        long address = memory.allocate(100);
+        memory.free(address);
+
+        assertThat(memory.allocate(90)).isEqualTo(address);
+        assertThat(memory.getUsedBytes()).isEqualTo(128);
+    }
+
+    @Test
+    void allocate_NewSegmentWhenCurrentIsFull() {
+        long first = memory.allocate(SEGMENT_SIZE - 4);
+        long second = memory.allocate(10);
+
+        assertThat(memory.segmentOf(first)).isZero();
+        assertThat(memory.segmentOf(second)).isEqualTo(1);
+        assertThat(memory.getSegmentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void allocate_AllSegmentsFull_throwsException() {
+        memory.allocate(SEGMENT_SIZE - 4);
+        memory.allocate(SEGMENT_SIZE - 4);
+
+        assertThatThrownBy(() -> memory.allocate(10)).isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void allocate_RecordLargerThanSegment_throwsException() {
+        assertThatThrownBy(() -> memory.allocate(SEGMENT_SIZE)).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidSegmentSize_throwsException() {
+        assertThatThrownBy(() -> new OffHeapMemory(1000, 1)).isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OffHeapMemory(16, 1)).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mostFragmentedSegment_IgnoresCurrentAndDenseSegments() {
+        long fragmented = memory.allocate(SEGMENT_SIZE / 2 - 4);
+        memory.allocate(SEGMENT_SIZE / 2 - 4);
+        memory.allocate(10);
+        memory.free(fragmented);
+
+        assertThat(memory.mostFragmentedSegment(0.5)).isEqualTo(-1);
+        assertThat(memory.mostFragmentedSegment(0.75)).isZero();
+    }
+
+    @Test
+    void retireAndRelease_SegmentIsReusedOnceEmpty() {
+        long moved = memory.allocate(SEGMENT_SIZE / 2 - 4);
+        long freed = memory.allocate(SEGMENT_SIZE / 2 - 4);
+        memory.allocate(10);
+        memory.free(freed);
+
+        memory.retire(0);
+        assertThat(memory.fits(moved, 10)).isFalse();
+        assertThat(memory.release(0)).isFalse();
+        memory.free(moved);
+        assertThat(memory.release(0)).isTrue();
+
+        assertThat(memory.segmentOf(memory.allocate(SEGMENT_SIZE - 4))).isZero();
+    }
+}
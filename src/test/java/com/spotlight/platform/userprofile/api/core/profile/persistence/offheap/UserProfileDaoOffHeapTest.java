@@ -0,0 +1,170 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.offheap;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.binary.UserProfileBinaryCodec;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_ID;
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+class UserProfileDaoOffHeapTest {
+    private static final UserProfilePropertyName COUNTER = UserProfilePropertyName.valueOf("counter");
+
+    private final OffHeapMemory memory = new OffHeapMemory(4096, 16);
+    private final UserProfileDaoOffHeap dao = new UserProfileDaoOffHeap(new UserProfileBinaryCodec(JsonMapper.getInstance()), memory,
+            Duration.ofMillis(10), 0.5);
+
+    @Test
+    void getNonExistingUser_OptionalEmptyReturned() {
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+    }
+
+    @Test
+    void putAndGetUser_ReturnsCorrectValues() {
+        dao.put(USER_PROFILE);
+
+        assertThat(dao.get(USER_ID)).hasValue(USER_PROFILE);
+        assertThat(dao.size()).isEqualTo(1);
+    }
+
+    @Test
+    void forEach_VisitsStoredProfiles() {
+        dao.put(USER_PROFILE);
+        List<UserProfile> visited = new ArrayList<>();
+
+        dao.forEach(visited::add);
+
+        assertThat(visited).containsExactly(USER_PROFILE);
+    }
+
+    @Test
+    void getAll_ReturnsProfilesOfExistingUsers() {
+        var userIds = IntStream.range(0, 200).mapToObj(i -> UserId.valueOf("user-" + i)).toList();
+        userIds.stream().filter(userId -> userId.hashCode() % 2 == 0).forEach(userId -> dao.put(profileWithCounter(userId, 1)));
+
+        var userProfiles = dao.getAll(userIds);
+
+        assertThat(userProfiles.keySet()).containsExactlyInAnyOrderElementsOf(
+                userIds.stream().filter(userId -> userId.hashCode() % 2 == 0).toList());
+        userProfiles.forEach((userId, userProfile) -> assertThat(userProfile).isEqualTo(profileWithCounter(userId, 1)));
+    }
+
+    @Test
+    void rewriteOfSimilarSize_ReusesSlot() {
+        dao.put(profileWithCounter(USER_ID, 1));
+        long usedBytes = memory.getUsedBytes();
+
+        dao.put(profileWithCounter(USER_ID, 2));
+
+        assertThat(memory.getUsedBytes()).isEqualTo(usedBytes);
+        assertThat(dao.get(USER_ID)).hasValue(profileWithCounter(USER_ID, 2));
+    }
+
+    @Test
+    void rewriteOfGrownProfile_MovesRecordAndFreesOldSlot() {
+        dao.put(profileWithCounter(USER_ID, 1));
+        long liveBytes = memory.getLiveBytes();
+        var grownProfile = new UserProfile(USER_ID, null, Map.of(COUNTER, UserProfilePropertyValue.valueOf("x".repeat(200))));
+
+        dao.put(grownProfile);
+
+        assertThat(dao.get(USER_ID)).hasValue(grownProfile);
+        assertThat(memory.getLiveBytes()).isGreaterThan(liveBytes).isEqualTo(256);
+    }
+
+    @Test
+    void update_AppliesUpdaterToCurrentProfile() {
+        dao.update(USER_ID, currentProfile -> profileWithCounter(USER_ID, 1));
+        var updated = dao.update(USER_ID, this::incrementCounter);
+
+        assertThat(updated).isEqualTo(profileWithCounter(USER_ID, 2));
+        assertThat(dao.get(USER_ID)).hasValue(updated);
+    }
+
+    @Test
+    void concurrentUpdatesOfSameUser_NoUpdateIsLost() {
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var updates = IntStream.range(0, 1000)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> dao.update(USER_ID, this::incrementCounter), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(updates).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(dao.get(USER_ID)).hasValue(profileWithCounter(USER_ID, 1000));
+    }
+
+    @Test
+    void compact_MovesLiveRecordsOutOfFragmentedSegment() {
+        var userIds = IntStream.range(0, 200).mapToObj(i -> UserId.valueOf("user-" + i)).toList();
+        userIds.forEach(userId -> dao.put(profileWithCounter(userId, 1)));
+        int segmentsBefore = memory.getSegmentCount();
+        userIds.stream().filter(userId -> userId.hashCode() % 3 != 0).forEach(userId -> dao.put(grownProfile(userId)));
+
+        while (dao.compact()) {
+            assertThat(memory.getSegmentCount()).isGreaterThanOrEqualTo(segmentsBefore);
+        }
+
+        userIds.forEach(userId -> assertThat(dao.get(userId)).hasValue(
+                userId.hashCode() % 3 != 0 ? grownProfile(userId) : profileWithCounter(userId, 1)));
+        assertThat(memory.mostFragmentedSegment(0.5)).isEqualTo(-1);
+    }
+
+    @Test
+    void compact_NothingToCompact_ReturnsFalse() {
+        dao.put(USER_PROFILE);
+
+        assertThat(dao.compact()).isFalse();
+    }
+
+    @Test
+    void startAndStop_RunsCompactionInBackground() throws Exception {
+        dao.start();
+        dao.put(USER_PROFILE);
+        Thread.sleep(50);
+        dao.stop();
+
+        assertThat(dao.get(USER_ID)).hasValue(USER_PROFILE);
+    }
+
+    @Test
+    void stopWithoutStart_DoesNotFail() {
+        assertThatNoException().isThrownBy(dao::stop);
+    }
+
+    private UserProfile incrementCounter(Optional<UserProfile> currentProfile) {
+        var counter = currentProfile.map(profile -> profile.userProfileProperties().get(COUNTER))
+                .orElse(UserProfilePropertyValue.valueOf(0));
+        return new UserProfile(USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(COUNTER, counter.add(UserProfilePropertyValue.valueOf(1))));
+    }
+
+    private static UserProfile profileWithCounter(UserId userId, long counter) {
+        return new UserProfile(userId, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(COUNTER, UserProfilePropertyValue.valueOf(counter)));
+    }
+
+    private static UserProfile grownProfile(UserId userId) {
+        return new UserProfile(userId, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(COUNTER, UserProfilePropertyValue.valueOf("x".repeat(100))));
+    }
+}
@@ -0,0 +1,81 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+    private static final int VIRTUAL_NODES = 128;
+    private static final int USER_COUNT = 10_000;
+    private static final List<UserId> USER_IDS = IntStream.range(0, USER_COUNT).mapToObj(i -> UserId.valueOf("user-" + i)).toList();
+
+    private final List<UserProfilePartition> partitions = IntStream.range(0, 4).mapToObj(i -> partition("partition-" + i)).toList();
+    private final ConsistentHashRing ring = new ConsistentHashRing(partitions, VIRTUAL_NODES);
+
+    @Test
+    void noPartitions_throwsException() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), VIRTUAL_NODES)).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void duplicatePartitionNames_throwsException() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(partition("same"), partition("same")), VIRTUAL_NODES)).isExactlyInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @Test
+    void ownerOf_dependsOnPartitionNamesOnly() {
+        var reorderedRing = new ConsistentHashRing(List.of(partitions.get(3), partitions.get(1), partitions.get(0), partitions.get(2)),
+                VIRTUAL_NODES);
+
+        USER_IDS.forEach(userId -> assertThat(reorderedRing.ownerOf(userId)).isSameAs(ring.ownerOf(userId)));
+    }
+
+    @Test
+    void ownerOf_spreadsUsersEvenly() {
+        var usersPerPartition = owners(ring);
+
+        assertThat(usersPerPartition.values()).hasSize(partitions.size())
+                .allSatisfy(count -> assertThat(count).isBetween(USER_COUNT / 4 * 7 / 10L, USER_COUNT / 4 * 13 / 10L));
+    }
+
+    @Test
+    void with_onlyMovesUsersToAddedPartition() {
+        var added = partition("partition-4");
+        var grownRing = ring.with(added);
+
+        var movedUsers = USER_IDS.stream().filter(userId -> grownRing.ownerOf(userId) != ring.ownerOf(userId)).toList();
+
+        assertThat(grownRing.partitions()).hasSize(5).contains(added);
+        assertThat(movedUsers).allSatisfy(userId -> assertThat(grownRing.ownerOf(userId)).isSameAs(added));
+        assertThat(movedUsers.size()).isBetween(USER_COUNT / 5 * 7 / 10, USER_COUNT / 5 * 13 / 10);
+    }
+
+    @Test
+    void without_onlyMovesUsersOfRemovedPartition() {
+        var removed = partitions.get(2);
+        var shrunkRing = ring.without(removed);
+
+        assertThat(shrunkRing.partitions()).hasSize(3).doesNotContain(removed);
+        USER_IDS.stream().filter(userId -> ring.ownerOf(userId) != removed)
+                .forEach(userId -> assertThat(shrunkRing.ownerOf(userId)).isSameAs(ring.ownerOf(userId)));
+    }
+
+    private static Map<UserProfilePartition, Long> owners(ConsistentHashRing ring) {
+        return USER_IDS.stream().map(ring::ownerOf).collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    private static UserProfilePartition partition(String name) {
+        return new UserProfilePartition(name, new UserProfileDaoInMemory(), null);
+    }
+}
@@ -0,0 +1,223 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import io.dropwizard.lifecycle.Managed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class UserProfileDaoPartitionedTest {
+    private static final int VIRTUAL_NODES = 64;
+    private static final UserProfilePropertyName COUNTER = UserProfilePropertyName.valueOf("counter");
+    private static final List<UserId> USER_IDS = IntStream.range(0, 1000).mapToObj(i -> UserId.valueOf("user-" + i)).toList();
+
+    private final List<UserProfilePartition> partitions = new ArrayList<>(
+            IntStream.range(0, 3).mapToObj(i -> UserProfilePartition.local("partition-" + i, new UserProfileDaoInMemory())).toList());
+    private final UserProfileDaoPartitioned dao = new UserProfileDaoPartitioned(partitions, VIRTUAL_NODES);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dao.stop();
+    }
+
+    @Test
+    void getNonExistingUser_OptionalEmptyReturned() {
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+    }
+
+    @Test
+    void put_storesProfileInOnePartitionOnly() {
+        dao.put(UserProfileFixtures.USER_PROFILE);
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).hasValue(UserProfileFixtures.USER_PROFILE);
+        assertThat(partitions).filteredOn(partition -> partition.dao().get(UserProfileFixtures.USER_ID).isPresent()).hasSize(1);
+    }
+
+    @Test
+    void users_areSpreadOverAllPartitions() {
+        USER_IDS.forEach(userId -> dao.put(profileWithCounter(userId, 0)));
+
+        assertThat(partitions).allSatisfy(partition -> assertThat(countProfiles(partition.dao())).isPositive());
+    }
+
+    @Test
+    void concurrentUpdates_AreNotLost() {
+        var updates = IntStream.range(0, 1000)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> incrementCounter(dao, USER_IDS.get(i % 10))))
+                .toList();
+        updates.forEach(CompletableFuture::join);
+
+        USER_IDS.subList(0, 10).forEach(userId -> assertThat(dao.get(userId)).hasValue(profileWithCounter(userId, 100)));
+    }
+
+    @Test
+    void getAll_returnsProfilesOfAllPartitions() {
+        USER_IDS.forEach(userId -> dao.put(profileWithCounter(userId, 1)));
+
+        var userProfiles = dao.getAll(List.of(USER_IDS.get(0), USER_IDS.get(1), USER_IDS.get(2), USER_IDS.get(3),
+                UserProfileFixtures.NON_EXISTING_USER_ID));
+
+        assertThat(userProfiles).containsOnlyKeys(USER_IDS.subList(0, 4))
+                .allSatisfy((userId, userProfile) -> assertThat(userProfile).isEqualTo(profileWithCounter(userId, 1)));
+    }
+
+    @Test
+    void getAllOfOneUser_returnsProfile() {
+        dao.put(UserProfileFixtures.USER_PROFILE);
+
+        assertThat(dao.getAll(List.of(UserProfileFixtures.USER_ID))).containsExactly(
+                Map.entry(UserProfileFixtures.USER_ID, UserProfileFixtures.USER_PROFILE));
+    }
+
+    @Test
+    void getAll_failingPartition_throwsException() {
+        var failingDao = mock(UserProfileDao.class);
+        when(failingDao.getAll(any())).thenThrow(new IllegalStateException("Partition is down"));
+        var partitionedDao = new UserProfileDaoPartitioned(List.of(UserProfilePartition.local("failing", failingDao), partitions.get(0)),
+                VIRTUAL_NODES);
+
+        assertThatThrownBy(() -> partitionedDao.getAll(USER_IDS)).isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void addPartition_movesOnlyUsersOfAddedPartition() throws Exception {
+        USER_IDS.forEach(userId -> dao.put(profileWithCounter(userId, 1)));
+        var added = UserProfilePartition.local("partition-3", new UserProfileDaoInMemory());
+
+        dao.addPartition(added);
+
+        assertThat(countProfiles(added.dao())).isBetween(150, 350);
+        USER_IDS.forEach(userId -> assertThat(dao.get(userId)).hasValue(profileWithCounter(userId, 1)));
+        assertThat(countProfiles(dao)).isEqualTo(USER_IDS.size());
+    }
+
+    @Test
+    void addPartition_writesAfterMove_goToAddedPartition() throws Exception {
+        USER_IDS.forEach(userId -> dao.put(profileWithCounter(userId, 1)));
+        var added = UserProfilePartition.local("partition-3", new UserProfileDaoInMemory());
+        dao.addPartition(added);
+
+        USER_IDS.forEach(userId -> incrementCounter(dao, userId));
+
+        assertThat(USER_IDS).allSatisfy(userId -> assertThat(dao.get(userId)).hasValue(profileWithCounter(userId, 2)));
+        assertThat(countProfiles(dao)).isEqualTo(USER_IDS.size());
+    }
+
+    @Test
+    void addPartition_startsManagedDao() throws Exception {
+        var managedDao = mock(UserProfileDao.class, withSettings().extraInterfaces(Managed.class));
+
+        dao.addPartition(UserProfilePartition.local("managed", managedDao));
+
+        verify((Managed) managedDao).start();
+    }
+
+    @Test
+    void removePartition_movesItsUsersToRemainingPartitions() throws Exception {
+        USER_IDS.forEach(userId -> dao.put(profileWithCounter(userId, 1)));
+        var removed = partitions.get(1);
+
+        dao.removePartition("partition-1");
+
+        assertThat(removed.executor().isShutdown()).isTrue();
+        USER_IDS.forEach(userId -> assertThat(dao.get(userId)).hasValue(profileWithCounter(userId, 1)));
+        assertThat(countProfiles(dao)).isEqualTo(USER_IDS.size());
+    }
+
+    @Test
+    void removeAddedPartition_usersMovedBackKeepLatestProfile() throws Exception {
+        USER_IDS.forEach(userId -> dao.put(profileWithCounter(userId, 1)));
+        dao.addPartition(UserProfilePartition.local("partition-3", new UserProfileDaoInMemory()));
+        USER_IDS.forEach(userId -> incrementCounter(dao, userId));
+
+        dao.removePartition("partition-3");
+
+        USER_IDS.forEach(userId -> assertThat(dao.get(userId)).hasValue(profileWithCounter(userId, 2)));
+    }
+
+    @Test
+    void removeUnknownPartition_throwsException() {
+        assertThatThrownBy(() -> dao.removePartition("unknown")).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void removeLastPartition_throwsException() throws Exception {
+        dao.removePartition("partition-0");
+        dao.removePartition("partition-1");
+
+        assertThatThrownBy(() -> dao.removePartition("partition-2")).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void updatesWhileAddingPartition_AreNotLost() throws Exception {
+        var userIds = USER_IDS.subList(0, 20);
+        var stopped = new AtomicBoolean();
+        var updates = CompletableFuture.supplyAsync(() -> {
+            long rounds = 0;
+            while (!stopped.get() || rounds == 0) {
+                userIds.forEach(userId -> incrementCounter(dao, userId));
+                rounds++;
+            }
+            return rounds;
+        });
+
+        dao.addPartition(UserProfilePartition.local("partition-3", new UserProfileDaoInMemory()));
+        dao.addPartition(UserProfilePartition.local("partition-4", new UserProfileDaoInMemory()));
+        stopped.set(true);
+        long rounds = updates.join();
+
+        userIds.forEach(userId -> assertThat(dao.get(userId)).hasValue(profileWithCounter(userId, rounds)));
+    }
+
+    @Test
+    void startAndStop_areForwardedToManagedDaos() throws Exception {
+        var managedDao = mock(UserProfileDao.class, withSettings().extraInterfaces(Managed.class));
+        var partitionedDao = new UserProfileDaoPartitioned(List.of(UserProfilePartition.local("managed", managedDao)), VIRTUAL_NODES);
+
+        partitionedDao.start();
+        partitionedDao.stop();
+
+        verify((Managed) managedDao).start();
+        verify((Managed) managedDao).stop();
+    }
+
+    private static int countProfiles(UserProfileDao dao) {
+        List<UserProfile> userProfiles = new ArrayList<>();
+        dao.forEach(userProfiles::add);
+        return userProfiles.size();
+    }
+
+    private static void incrementCounter(UserProfileDao dao, UserId userId) {
+        dao.update(userId, currentProfile -> {
+            var counter = currentProfile.map(profile -> profile.userProfileProperties().get(COUNTER))
+                    .orElse(UserProfilePropertyValue.valueOf(0));
+            return new UserProfile(userId, null, Map.of(COUNTER, counter.add(UserProfilePropertyValue.valueOf(1))));
+        });
+    }
+
+    private static UserProfile profileWithCounter(UserId userId, long counter) {
+        return new UserProfile(userId, null, Map.of(COUNTER, UserProfilePropertyValue.valueOf(counter)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlphaNumericalStringWithMaxLengthTest {
+    @Test
+    void violationsOf_validValue_isEmpty() {
+        assertThat(AlphaNumericalStringWithMaxLength.violationsOf("Some_value-09")).isEmpty();
+    }
+
+    @Test
+    void violationsOf_maxLength_isEmpty() {
+        assertThat(AlphaNumericalStringWithMaxLength.violationsOf("a".repeat(1024))).isEmpty();
+    }
+
+    @Test
+    void violationsOf_emptyValue_violatesLength() {
+        assertThat(AlphaNumericalStringWithMaxLength.violationsOf("")).containsExactly("length must be between 1 and 1024");
+    }
+
+    @Test
+    void violationsOf_invalidCharacters_violatesPattern() {
+        assertThat(AlphaNumericalStringWithMaxLength.violationsOf("a b")).containsExactly("must match \"[A-Za-z0-9_-]*\"");
+    }
+
+    @Test
+    void violationsOf_longValueWithInvalidCharacters_violatesBoth() {
+        assertThat(AlphaNumericalStringWithMaxLength.violationsOf("$".repeat(1025))).containsExactly("length must be between 1 and 1024",
+                "must match \"[A-Za-z0-9_-]*\"");
+    }
+}
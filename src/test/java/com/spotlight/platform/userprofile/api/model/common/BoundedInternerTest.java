@@ -0,0 +1,34 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedInternerTest {
+    private final BoundedInterner<StringBuilder> interner = new BoundedInterner<>(2, StringBuilder::new);
+
+    @Test
+    void intern_ReturnsCanonicalInstance() {
+        assertThat(interner.intern("a")).isSameAs(interner.intern("a"));
+        assertThat(interner.size()).isEqualTo(1);
+    }
+
+    @Test
+    void intern_FullPool_ReturnsFreshInstances() {
+        interner.intern("a");
+        interner.intern("b");
+
+        assertThat(interner.intern("c")).isNotSameAs(interner.intern("c")).hasToString("c");
+        assertThat(interner.intern("a")).isSameAs(interner.intern("a"));
+        assertThat(interner.size()).isEqualTo(2);
+    }
+
+    @Test
+    void lookup_ReturnsPooledInstanceWithoutPoolingNewValues() {
+        var pooled = interner.intern("a");
+
+        assertThat(interner.lookup("a")).isSameAs(pooled);
+        assertThat(interner.lookup("b")).isNotSameAs(interner.lookup("b")).hasToString("b");
+        assertThat(interner.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkedListTest {
+    @Test
+    void appendAll_leavesPreviousVersionUnchanged() {
+        var first = ChunkedList.<String>empty().appendAll(List.of("a", "b"));
+
+        var second = first.appendAll(List.of("c"));
+
+        assertThat(first).containsExactly("a", "b");
+        assertThat(second).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void appendAll_toSameVersionTwice_versionsDoNotSeeEachOther() {
+        var base = ChunkedList.copyOf(numbers(0, 100));
+
+        var first = base.appendAll(List.of(-1, -2));
+        var second = base.appendAll(List.of(-3));
+        var third = first.appendAll(List.of(-4));
+
+        assertThat(base).isEqualTo(numbers(0, 100));
+        assertThat(first).hasSize(102).endsWith(-1, -2);
+        assertThat(second).hasSize(101).endsWith(99, -3);
+        assertThat(third).hasSize(103).endsWith(-1, -2, -4);
+    }
+
+    @Test
+    void appendAll_empty_returnsSameList() {
+        var list = ChunkedList.copyOf(List.of("a"));
+
+        assertThat(list.appendAll(List.of())).isSameAs(list);
+    }
+
+    @Test
+    void appendAll_manyValues_spansChunks() {
+        var list = ChunkedList.<Integer>empty().appendAll(numbers(0, 3)).appendAll(numbers(3, 200)).appendAll(numbers(200, 1000));
+
+        assertThat(list).isEqualTo(numbers(0, 1000)).hasSameHashCodeAs(numbers(0, 1000));
+        assertThat(list.get(999)).isEqualTo(999);
+    }
+
+    @Test
+    void dropFirst_removesOldestValues() {
+        var list = ChunkedList.copyOf(numbers(0, 200));
+
+        var dropped = list.dropFirst(130);
+
+        assertThat(dropped).isEqualTo(numbers(130, 200));
+        assertThat(dropped.appendAll(numbers(200, 300))).isEqualTo(numbers(130, 300));
+        assertThat(list).isEqualTo(numbers(0, 200));
+        assertThat(list.dropFirst(0)).isSameAs(list);
+        assertThat(list.dropFirst(200)).isSameAs(ChunkedList.empty());
+    }
+
+    @Test
+    void equals_comparesElements() {
+        var list = ChunkedList.copyOf(numbers(0, 100));
+
+        assertThat(list).isEqualTo(numbers(0, 100)).isNotEqualTo(numbers(0, 99)).isNotEqualTo(numbers(1, 101)).isNotEqualTo(Set.of(1));
+    }
+
+    @Test
+    void get_outOfRange_throwsException() {
+        var list = ChunkedList.copyOf(numbers(0, 10)).dropFirst(5);
+
+        assertThatThrownBy(() -> list.get(5)).isExactlyInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.get(-1)).isExactlyInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void copyOf_chunkedList_returnsSameList() {
+        var list = ChunkedList.copyOf(List.of("a"));
+
+        assertThat(ChunkedList.copyOf(list)).isSameAs(list);
+    }
+
+    @Test
+    void randomChanges_matchArrayList() {
+        var random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        var list = ChunkedList.<Integer>empty();
+
+        for (int i = 0; i < 2000; i++) {
+            if (random.nextInt(5) == 0) {
+                int count = random.nextInt(expected.size() + 1);
+                expected.subList(0, count).clear();
+                list = list.dropFirst(count);
+            } else {
+                var values = numbers(i, i + random.nextInt(80));
+                expected.addAll(values);
+                list = list.appendAll(values);
+            }
+            assertThat(list).hasSize(expected.size());
+        }
+
+        assertThat(list).isEqualTo(expected);
+    }
+
+    private static List<Integer> numbers(int from, int to) {
+        return IntStream.range(from, to).boxed().toList();
+    }
+}
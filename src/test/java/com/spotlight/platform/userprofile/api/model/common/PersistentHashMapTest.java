@@ -0,0 +1,258 @@
+package com.spotlight.platform.userprofile.api.model.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersistentHashMapTest {
+    // equal hash codes, so they can only be told apart by equals
+    private static final String COLLIDING_KEY_1 = "Aa";
+    private static final String COLLIDING_KEY_2 = "BB";
+    private static final String COLLIDING_KEY_3 = "AaAa";
+    private static final String COLLIDING_KEY_4 = "BBBB";
+
+    @Test
+    void with_leavesPreviousVersionUnchanged() {
+        var first = PersistentHashMap.<String, Integer>empty().with("a", 1);
+
+        var second = first.with("a", 2).with("b", 3);
+
+        assertThat(first).containsExactly(Map.entry("a", 1));
+        assertThat(second).containsOnly(Map.entry("a", 2), Map.entry("b", 3)).hasSize(2);
+    }
+
+    @Test
+    void with_sameValue_returnsSameMap() {
+        var map = PersistentHashMap.<String, Integer>empty().with("a", 1);
+
+        assertThat(map.with("a", 1)).isSameAs(map);
+    }
+
+    @Test
+    void with_nullKey_throwsException() {
+        assertThatThrownBy(() -> PersistentHashMap.empty().with(null, 1)).isExactlyInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void nullValue_isMapped() {
+        var map = PersistentHashMap.<String, Integer>empty().with("a", null);
+
+        assertThat(map.containsKey("a")).isTrue();
+        assertThat(map.get("a")).isNull();
+        assertThat(map.containsKey(null)).isFalse();
+        assertThat(map.get("b")).isNull();
+    }
+
+    @Test
+    void without_removesKeyAndLeavesPreviousVersionUnchanged() {
+        var map = PersistentHashMap.<String, Integer>empty().with("a", 1).with("b", 2);
+
+        var removed = map.without("a");
+
+        assertThat(removed).containsExactly(Map.entry("b", 2));
+        assertThat(map).hasSize(2);
+        assertThat(removed.without("b")).isSameAs(PersistentHashMap.empty());
+    }
+
+    @Test
+    void without_missingKey_returnsSameMap() {
+        var map = PersistentHashMap.<String, Integer>empty().with("a", 1);
+
+        assertThat(map.without("b")).isSameAs(map);
+        assertThat(map.without(null)).isSameAs(map);
+    }
+
+    @Test
+    void collidingKeys_areKeptApart() {
+        var map = PersistentHashMap.<String, Integer>empty().with(COLLIDING_KEY_1, 1).with(COLLIDING_KEY_2, 2).with("other", 3);
+
+        assertThat(map).containsOnly(Map.entry(COLLIDING_KEY_1, 1), Map.entry(COLLIDING_KEY_2, 2), Map.entry("other", 3));
+        assertThat(map.with(COLLIDING_KEY_2, 2)).isSameAs(map);
+        assertThat(map.with(COLLIDING_KEY_2, 4).get(COLLIDING_KEY_2)).isEqualTo(4);
+        assertThat(map.without(COLLIDING_KEY_1)).containsOnly(Map.entry(COLLIDING_KEY_2, 2), Map.entry("other", 3));
+        assertThat(map.without(COLLIDING_KEY_1).without(COLLIDING_KEY_2)).containsOnly(Map.entry("other", 3));
+        assertThat(map.without(COLLIDING_KEY_3)).isSameAs(map);
+    }
+
+    @Test
+    void collidingKeys_withKeyOfOtherHash_areNestedDeeper() {
+        var map = PersistentHashMap.<String, Integer>empty().with(COLLIDING_KEY_3, 1).with(COLLIDING_KEY_4, 2);
+        var collisionHash = COLLIDING_KEY_3.hashCode();
+        // the same slot at the root, but a different hash
+        var sameRootSlotKey = findKey(key -> key.hashCode() != collisionHash && sameRootSlot(key.hashCode(), collisionHash));
+
+        var nested = map.with(sameRootSlotKey, 3).with("AaBB", 4);
+
+        assertThat(nested).containsOnly(Map.entry(COLLIDING_KEY_3, 1), Map.entry(COLLIDING_KEY_4, 2), Map.entry(sameRootSlotKey, 3),
+                Map.entry("AaBB", 4));
+        assertThat(nested.without(COLLIDING_KEY_4).without("AaBB")).containsOnly(Map.entry(COLLIDING_KEY_3, 1),
+                Map.entry(sameRootSlotKey, 3));
+    }
+
+    @Test
+    void randomChanges_matchHashMap() {
+        var random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        var map = PersistentHashMap.<Integer, Integer>empty();
+
+        for (int i = 0; i < 20_000; i++) {
+            // keys spread over the whole int range, so the trie gets deep
+            int key = random.nextInt(2000) * 0x9E3779B9;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+        }
+
+        assertThat(map).isEqualTo(expected).hasSameHashCodeAs(expected).hasSize(expected.size());
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void copyOf_persistentMap_returnsSameMap() {
+        var map = PersistentHashMap.<String, Integer>empty().with("a", 1);
+
+        assertThat(PersistentHashMap.copyOf(map)).isSameAs(map);
+        assertThat(PersistentHashMap.copyOf(Map.of("a", 1, "b", 2))).isEqualTo(Map.of("a", 1, "b", 2));
+    }
+
+    @Test
+    void iterator_exhausted_throwsException() {
+        var iterator = PersistentHashMap.empty().entrySet().iterator();
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isExactlyInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void builder_appliesChangesToNewVersionOnly() {
+        var map = PersistentHashMap.<String, Integer>empty().with("a", 1).with("b", 2);
+        var builder = new PersistentHashMap.Builder<>(map);
+
+        assertThat(builder.put("a", 3)).isEqualTo(1);
+        assertThat(builder.remove("b")).isEqualTo(2);
+        builder.merge("c", 1, Integer::sum);
+        builder.merge("c", 1, Integer::sum);
+
+        assertThat(builder).hasSize(2).containsKey("c").doesNotContainKey("b");
+        assertThat(builder.get("c")).isEqualTo(2);
+        assertThat(builder.build()).containsOnly(Map.entry("a", 3), Map.entry("c", 2));
+        assertThat(map).containsOnly(Map.entry("a", 1), Map.entry("b", 2));
+    }
+
+    @Test
+    void builder_changesAfterBuild_doNotChangeBuiltMap() {
+        var original = PersistentHashMap.<Integer, Integer>empty();
+        for (int i = 0; i < 1000; i++) {
+            original = original.with(i, i);
+        }
+        var builder = new PersistentHashMap.Builder<>(original);
+        for (int i = 0; i < 1000; i += 2) {
+            builder.put(i, -i);
+        }
+        var built = builder.build();
+
+        for (int i = 0; i < 1000; i++) {
+            builder.remove(i);
+        }
+        builder.put(COLLIDING_KEY_1.hashCode(), 0);
+
+        assertThat(builder.build()).containsExactly(Map.entry(COLLIDING_KEY_1.hashCode(), 0));
+        assertThat(built).hasSize(1000).allSatisfy((key, value) -> assertThat(value).isEqualTo(key % 2 == 0 ? -key : key));
+        assertThat(original).hasSize(1000).allSatisfy((key, value) -> assertThat(value).isEqualTo(key));
+        assertThat(builder.remove(null)).isNull();
+    }
+
+    @Test
+    void builder_collidingKeys_areKeptApart() {
+        var builder = new PersistentHashMap.Builder<>(PersistentHashMap.<String, Integer>empty());
+
+        builder.put(COLLIDING_KEY_3, 1);
+        builder.put(COLLIDING_KEY_4, 2);
+        assertThat(builder.put(COLLIDING_KEY_4, 3)).isEqualTo(2);
+        builder.put("AaBB", 4);
+
+        assertThat(builder.remove(COLLIDING_KEY_3)).isEqualTo(1);
+        assertThat(builder.build()).containsOnly(Map.entry(COLLIDING_KEY_4, 3), Map.entry("AaBB", 4));
+        assertThat(builder.entrySet()).hasSize(2);
+    }
+
+    @Test
+    void forEachChangeSince_reportsAddedAndChangedEntries() {
+        var random = new Random(42);
+        var previous = PersistentHashMap.<Integer, Integer>empty();
+        for (int i = 0; i < 5000; i++) {
+            previous = previous.with(random.nextInt(), i);
+        }
+        var builder = new PersistentHashMap.Builder<>(previous);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (var key : previous.keySet().stream().limit(50).toList()) {
+            builder.put(key, -key);
+            expected.put(key, -key);
+        }
+        for (int i = 0; i < 50; i++) {
+            int key = random.nextInt();
+            builder.put(key, i);
+            expected.put(key, i);
+        }
+        // an equal value is no change
+        var unchangedKey = previous.keySet().stream().skip(100).findFirst().orElseThrow();
+        builder.put(unchangedKey, Integer.valueOf(previous.get(unchangedKey) + 1000) - 1000);
+        var current = builder.build();
+
+        Map<Integer, Integer> changes = new HashMap<>();
+        current.forEachChangeSince(previous, changes::put);
+
+        assertThat(changes).isEqualTo(expected);
+    }
+
+    @Test
+    void forEachChangeSince_collidingKeys_reportsChangedEntries() {
+        var previous = PersistentHashMap.<String, Integer>empty().with(COLLIDING_KEY_3, 1).with(COLLIDING_KEY_4, 2).with("a", 3);
+
+        Map<String, Integer> changes = new HashMap<>();
+        previous.with(COLLIDING_KEY_4, 4).with("AaBB", 5).with("b", 6).forEachChangeSince(previous, changes::put);
+
+        assertThat(changes).containsOnly(Map.entry(COLLIDING_KEY_4, 4), Map.entry("AaBB", 5), Map.entry("b", 6));
+    }
+
+    @Test
+    void forEachChangeSince_entryReplacedBySubtree_reportsNewEntriesOnly() {
+        var collisionHash = COLLIDING_KEY_1.hashCode();
+        var sameRootSlotKey = findKey(key -> key.hashCode() != collisionHash && sameRootSlot(key.hashCode(), collisionHash));
+        var previous = PersistentHashMap.<String, Integer>empty().with(COLLIDING_KEY_1, 1).with("b", 2);
+        var nested = previous.with(sameRootSlotKey, 3);
+
+        Map<String, Integer> added = new HashMap<>();
+        nested.forEachChangeSince(previous, added::put);
+        Map<String, Integer> changedBack = new HashMap<>();
+        previous.with(COLLIDING_KEY_1, 4).forEachChangeSince(nested, changedBack::put);
+
+        assertThat(added).containsExactly(Map.entry(sameRootSlotKey, 3));
+        assertThat(changedBack).containsExactly(Map.entry(COLLIDING_KEY_1, 4));
+    }
+
+    private static boolean sameRootSlot(int firstHashCode, int secondHashCode) {
+        return ((firstHashCode ^ (firstHashCode >>> 16)) & 31) == ((secondHashCode ^ (secondHashCode >>> 16)) & 31);
+    }
+
+    private static String findKey(Predicate<String> condition) {
+        for (int i = 0; ; i++) {
+            if (condition.test("key-" + i)) {
+                return "key-" + i;
+            }
+        }
+    }
+}
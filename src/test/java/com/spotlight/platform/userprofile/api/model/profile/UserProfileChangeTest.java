@@ -0,0 +1,57 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileChangeTest {
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+    private static final UserProfilePropertyName LEVEL = UserProfilePropertyName.valueOf("level");
+    private static final UserProfile PROFILE = new UserProfile(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+            Map.of(GOLD, UserProfilePropertyValue.valueOf(10), LEVEL, UserProfilePropertyValue.valueOf(1)));
+
+    @Test
+    void between_newProfile_allPropertiesChanged() {
+        var change = UserProfileChange.between(null, PROFILE);
+
+        assertThat(change.changedProperties()).isEqualTo(PROFILE.userProfileProperties());
+    }
+
+    @Test
+    void between_updatedProfile_onlyChangedPropertiesAreIncluded() {
+        var updated = new UserProfile(PROFILE.userId(), PROFILE.latestUpdateTime().plusSeconds(1),
+                Map.of(GOLD, UserProfilePropertyValue.valueOf(20), LEVEL, UserProfilePropertyValue.valueOf(1)));
+
+        var change = UserProfileChange.between(PROFILE, updated);
+
+        assertThat(change.userId()).isEqualTo(PROFILE.userId());
+        assertThat(change.latestUpdateTime()).isEqualTo(updated.latestUpdateTime());
+        assertThat(change.changedProperties()).containsExactly(Map.entry(GOLD, UserProfilePropertyValue.valueOf(20)));
+    }
+
+    @Test
+    void only_keepsSelectedProperties() {
+        var change = UserProfileChange.between(null, PROFILE);
+
+        assertThat(change.only(Set.of(GOLD)).changedProperties()).containsOnlyKeys(GOLD);
+        assertThat(change.only(Set.of(GOLD, LEVEL))).isSameAs(change);
+        assertThat(change.only(Set.of(UserProfilePropertyName.valueOf("other")))).isNull();
+    }
+
+    @Test
+    void serialization_WorksAsExpected() {
+        var change = UserProfileChange.between(null, PROFILE).only(Set.of(GOLD));
+
+        assertThatJson(change).isEqualTo("""
+                {"userId": "%s", "latestUpdateTime": "%s", "changedProperties": {"gold": 10}}""".formatted(UserProfileFixtures.USER_ID,
+                UserProfileFixtures.LAST_UPDATE_TIMESTAMP));
+    }
+}
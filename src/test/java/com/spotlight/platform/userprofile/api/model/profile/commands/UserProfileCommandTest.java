@@ -0,0 +1,50 @@
+package com.spotlight.platform.userprofile.api.model.profile.commands;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.CommandId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserProfileCommandTest {
+
+    @Test
+    void serialization_WorksAsExpected() {
+        assertThatJson(List.of(UserProfileFixtures.REPLACE_COMMAND, UserProfileFixtures.INCREMENT_COMMAND,
+                UserProfileFixtures.COLLECT_COMMAND)).isEqualTo(UserProfileFixtures.SERIALIZED_COMMANDS);
+    }
+
+    @Test
+    void deserialization_WorksAsExpected() throws Exception {
+        var commands = JsonMapper.getInstance()
+                .readValue(UserProfileFixtures.SERIALIZED_COMMANDS, new TypeReference<List<UserProfileCommand>>() {
+                });
+
+        assertThat(commands).containsExactly(UserProfileFixtures.REPLACE_COMMAND, UserProfileFixtures.INCREMENT_COMMAND,
+                UserProfileFixtures.COLLECT_COMMAND);
+    }
+
+    @Test
+    void commandId_IsDeserializedAndSerializedWhenPresent() throws Exception {
+        var json = """
+                {"userId": "existing-user-id", "type": "increment", "properties": {"battleFought": 10}, "commandId": "retry-safe-1"}""";
+
+        var command = JsonMapper.getInstance().readValue(json, UserProfileCommand.class);
+
+        assertThat(command.commandId()).isEqualTo(CommandId.valueOf("retry-safe-1"));
+        assertThatJson(command).isEqualTo(json);
+    }
+
+    @Test
+    void unknownType_CannotBeDeserialized() {
+        assertThatThrownBy(() -> JsonMapper.getInstance().convertValue("unknown", UserProfileCommandType.class)).isInstanceOf(
+                IllegalArgumentException.class);
+    }
+}
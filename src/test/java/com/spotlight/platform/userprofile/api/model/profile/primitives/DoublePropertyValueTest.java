@@ -0,0 +1,36 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DoublePropertyValueTest {
+    private final DoublePropertyValue value = new DoublePropertyValue(1.5);
+
+    @Test
+    void add_Decimal_ReturnsSum() {
+        assertThat(value.add(new DoublePropertyValue(0.25))).isEqualTo(new DoublePropertyValue(1.75));
+    }
+
+    @Test
+    void add_Counter_ReturnsSum() {
+        assertThat(value.add(LongPropertyValue.of(2))).isEqualTo(new DoublePropertyValue(3.5));
+    }
+
+    @Test
+    void add_NonNumeric_throwsException() {
+        assertThatThrownBy(() -> value.add(UserProfilePropertyValue.valueOf("1"))).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void doubleValue_ReturnsPrimitive() {
+        assertThat(value.doubleValue()).isEqualTo(1.5);
+    }
+
+    @Test
+    void equals_UsesValue() {
+        assertThat(value).isEqualTo(new DoublePropertyValue(1.5)).hasSameHashCodeAs(new DoublePropertyValue(1.5))
+                .isNotEqualTo(new DoublePropertyValue(2.5));
+    }
+}
@@ -0,0 +1,47 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongPropertyValueTest {
+
+    @Test
+    void of_SmallValuesAreCached() {
+        assertThat(LongPropertyValue.of(-128)).isSameAs(LongPropertyValue.of(-128));
+        assertThat(LongPropertyValue.of(1024)).isSameAs(LongPropertyValue.of(1024));
+    }
+
+    @Test
+    void of_LargeValuesAreNotCached() {
+        assertThat(LongPropertyValue.of(1025)).isNotSameAs(LongPropertyValue.of(1025)).isEqualTo(LongPropertyValue.of(1025));
+        assertThat(LongPropertyValue.of(-129)).isNotSameAs(LongPropertyValue.of(-129)).isEqualTo(LongPropertyValue.of(-129));
+    }
+
+    @Test
+    void add_CounterWithinCachedRange_DoesNotAllocate() {
+        assertThat(LongPropertyValue.of(10).add(LongPropertyValue.of(-1))).isSameAs(LongPropertyValue.of(9));
+    }
+
+    @Test
+    void add_ReturnsSum() {
+        assertThat(LongPropertyValue.of(5_000_000_000L).add(LongPropertyValue.of(1))).isEqualTo(LongPropertyValue.of(5_000_000_001L));
+    }
+
+    @Test
+    void add_Decimal_ReturnsDecimal() {
+        assertThat(LongPropertyValue.of(1).add(UserProfilePropertyValue.valueOf(0.5))).isEqualTo(UserProfilePropertyValue.valueOf(1.5));
+    }
+
+    @Test
+    void add_Overflow_throwsException() {
+        assertThatThrownBy(() -> LongPropertyValue.of(Long.MIN_VALUE).add(LongPropertyValue.of(-1))).isExactlyInstanceOf(
+                ArithmeticException.class);
+    }
+
+    @Test
+    void longValue_ReturnsPrimitive() {
+        assertThat(LongPropertyValue.of(42).longValue()).isEqualTo(42L);
+    }
+}
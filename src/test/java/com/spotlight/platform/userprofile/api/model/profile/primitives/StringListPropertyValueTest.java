@@ -0,0 +1,80 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringListPropertyValueTest {
+    private static final StringListPropertyValue LIST = new StringListPropertyValue(List.of("one", "two", "one"));
+
+    @Test
+    void append_keepsDuplicatesAndPreviousVersion() {
+        var appended = LIST.append(List.of("two", "three"), false, Integer.MAX_VALUE);
+
+        assertThat(appended.values()).containsExactly("one", "two", "one", "two", "three");
+        assertThat(LIST.values()).containsExactly("one", "two", "one");
+    }
+
+    @Test
+    void append_distinct_skipsContainedAndRepeatedValues() {
+        var appended = LIST.append(List.of("two", "three", "four", "three"), true, Integer.MAX_VALUE);
+
+        assertThat(appended.values()).containsExactly("one", "two", "one", "three", "four");
+    }
+
+    @Test
+    void append_distinctNothingNew_returnsSameValue() {
+        var appended = LIST.append(List.of("one"), true, Integer.MAX_VALUE);
+
+        assertThat(appended).isSameAs(LIST);
+    }
+
+    @Test
+    void append_beyondMaxLength_removesOldestValues() {
+        var appended = LIST.append(List.of("three", "four"), false, 3);
+
+        assertThat(appended.values()).containsExactly("one", "three", "four");
+    }
+
+    @Test
+    void append_distinctBeyondMaxLength_removedValuesCanBeCollectedAgain() {
+        var set = LIST.append(List.of("three"), true, 3);
+        var trimmedTwice = set.append(List.of("four"), true, 3);
+
+        var collectedAgain = trimmedTwice.append(List.of("two", "one"), true, 3).append(List.of("one"), true, 3);
+
+        assertThat(set.values()).containsExactly("two", "one", "three");
+        assertThat(trimmedTwice.values()).containsExactly("one", "three", "four");
+        assertThat(collectedAgain.values()).containsExactly("four", "two", "one");
+    }
+
+    @Test
+    void append_distinctAfterPlainAppend_countsValuesAgain() {
+        var set = LIST.append(List.of("three"), true, Integer.MAX_VALUE);
+        var list = set.append(List.of("three"), false, Integer.MAX_VALUE);
+
+        var appended = list.append(List.of("three", "four"), true, Integer.MAX_VALUE);
+
+        assertThat(appended.values()).containsExactly("one", "two", "one", "three", "three", "four");
+    }
+
+    @Test
+    void characterCount_isKeptUpToDateByAppends() {
+        var appended = LIST.append(List.of("three", "four"), false, 3);
+        var distinctAppended = appended.append(List.of("three", "seven"), true, 4);
+
+        assertThat(LIST.characterCount()).isEqualTo(9);
+        assertThat(appended.characterCount()).isEqualTo(12);
+        assertThat(distinctAppended.characterCount()).isEqualTo(17);
+        assertThat(distinctAppended.characterCount()).isEqualTo(
+                StringListPropertyValue.of(distinctAppended.values()).characterCount());
+    }
+
+    @Test
+    void append_stringValue_isAppended() {
+        assertThat(LIST.append(UserProfilePropertyValue.valueOf("two"))).isEqualTo(
+                UserProfilePropertyValue.valueOf(List.of("one", "two", "one", "two")));
+    }
+}
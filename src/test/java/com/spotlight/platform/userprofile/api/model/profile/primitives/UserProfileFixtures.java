@@ -2,8 +2,11 @@ package com.spotlight.platform.userprofile.api.model.profile.primitives;
 
 import com.spotlight.platform.helpers.FixtureHelpers;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.commands.UserProfileCommandType;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 public class UserProfileFixtures {
@@ -17,4 +20,15 @@ public class UserProfileFixtures {
             Map.of(UserProfilePropertyName.valueOf("property1"), UserProfilePropertyValue.valueOf("property1Value")));
 
     public static final String SERIALIZED_USER_PROFILE = FixtureHelpers.fixture("/fixtures/model/profile/userProfile.json");
+
+    public static final UserProfileCommand REPLACE_COMMAND = new UserProfileCommand(USER_ID, UserProfileCommandType.REPLACE,
+            Map.of(UserProfilePropertyName.valueOf("currentGold"), UserProfilePropertyValue.valueOf(500)));
+
+    public static final UserProfileCommand INCREMENT_COMMAND = new UserProfileCommand(USER_ID, UserProfileCommandType.INCREMENT,
+            Map.of(UserProfilePropertyName.valueOf("battleFought"), UserProfilePropertyValue.valueOf(10)));
+
+    public static final UserProfileCommand COLLECT_COMMAND = new UserProfileCommand(USER_ID, UserProfileCommandType.COLLECT,
+            Map.of(UserProfilePropertyName.valueOf("inventory"), UserProfilePropertyValue.valueOf(List.of("sword1", "shield1"))));
+
+    public static final String SERIALIZED_COMMANDS = FixtureHelpers.fixture("/fixtures/model/profile/commands/commands.json");
 }
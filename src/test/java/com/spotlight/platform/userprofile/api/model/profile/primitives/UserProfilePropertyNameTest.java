@@ -1,9 +1,13 @@
 package com.spotlight.platform.userprofile.api.model.profile.primitives;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
 import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLengthAbstractTest;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class UserProfilePropertyNameTest extends AlphaNumericalStringWithMaxLengthAbstractTest<UserProfilePropertyName> {
@@ -27,4 +31,41 @@ class UserProfilePropertyNameTest extends AlphaNumericalStringWithMaxLengthAbstr
     void comparable_equals() {
         assertThat(UserProfilePropertyName.valueOf("a")).isEqualTo(UserProfilePropertyName.valueOf("a"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void valueOf_ReturnsCanonicalInstance() {
+        assertThat(UserProfilePropertyName.valueOf("canonical")).isSameAs(UserProfilePropertyName.valueOf("canonical"));
+    }
+
+    @Test
+    void lookup_ReturnsCanonicalInstanceOfPooledName() {
+        var pooled = UserProfilePropertyName.valueOf("pooled");
+
+        assertThat(UserProfilePropertyName.lookup("pooled")).isSameAs(pooled);
+        assertThat(UserProfilePropertyName.lookup("notPooled")).isEqualTo(UserProfilePropertyName.lookup("notPooled"))
+                .isNotSameAs(UserProfilePropertyName.lookup("notPooled"));
+    }
+
+    @Test
+    void serializedValue_IsKeptByName() {
+        var name = UserProfilePropertyName.valueOf("serialized");
+
+        assertThat(name.serializedValue().getValue()).isEqualTo("serialized");
+        assertThat(name.serializedValue()).isSameAs(UserProfilePropertyName.valueOf("serialized").serializedValue());
+    }
+
+    @Test
+    void deserialization_ReturnsCanonicalInstance() {
+        assertThat(JsonMapper.getInstance().convertValue("canonical", UserProfilePropertyName.class)).isSameAs(
+                UserProfilePropertyName.valueOf("canonical"));
+    }
+
+    @Test
+    void deserializedMapKeys_AreCanonicalInstances() throws Exception {
+        var properties = JsonMapper.getInstance()
+                .readValue("{\"canonical\": 1}", new TypeReference<Map<UserProfilePropertyName, UserProfilePropertyValue>>() {
+                });
+
+        assertThat(properties.keySet()).singleElement().isSameAs(UserProfilePropertyName.valueOf("canonical"));
+    }
+}
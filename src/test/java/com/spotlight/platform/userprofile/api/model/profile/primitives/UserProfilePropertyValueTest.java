@@ -1,13 +1,19 @@
 package com.spotlight.platform.userprofile.api.model.profile.primitives;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
 import java.util.List;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class UserProfilePropertyValueTest {
+    private static final ObjectMapper JSON_MAPPER = JsonMapper.getInstance();
     private static final String STRING_VALUE = "someString";
     private static final int INTEGER_VALUE = 5;
     private static final List<String> LIST_VALUE = List.of("one", "two");
@@ -17,6 +23,14 @@ class UserProfilePropertyValueTest {
         assertThat(UserProfilePropertyValue.valueOf(STRING_VALUE)).isEqualTo(UserProfilePropertyValue.valueOf(STRING_VALUE));
         assertThat(UserProfilePropertyValue.valueOf(INTEGER_VALUE)).isEqualTo(UserProfilePropertyValue.valueOf(INTEGER_VALUE));
         assertThat(UserProfilePropertyValue.valueOf(LIST_VALUE)).isEqualTo(UserProfilePropertyValue.valueOf(LIST_VALUE));
+        assertThat(UserProfilePropertyValue.valueOf(true)).isEqualTo(UserProfilePropertyValue.valueOf(true));
+    }
+
+    @Test
+    void hashCode_IsEqualForEqualValues() {
+        assertThat(UserProfilePropertyValue.valueOf(STRING_VALUE)).hasSameHashCodeAs(UserProfilePropertyValue.valueOf(STRING_VALUE));
+        assertThat(UserProfilePropertyValue.valueOf(LIST_VALUE)).hasSameHashCodeAs(UserProfilePropertyValue.valueOf(LIST_VALUE));
+        assertThat(UserProfilePropertyValue.valueOf(true)).hasSameHashCodeAs(UserProfilePropertyValue.valueOf(true));
     }
 
     @Test
@@ -25,4 +39,101 @@ class UserProfilePropertyValueTest {
         assertThatJson(UserProfilePropertyValue.valueOf(INTEGER_VALUE)).isEqualTo("5");
         assertThatJson(UserProfilePropertyValue.valueOf(LIST_VALUE)).isEqualTo("[\"one\",\"two\"]");
     }
+
+    @Test
+    void equals_IntegralValuesOfDifferentWidthAreEqual() {
+        assertThat(UserProfilePropertyValue.valueOf(INTEGER_VALUE)).isEqualTo(UserProfilePropertyValue.valueOf((long) INTEGER_VALUE))
+                .hasSameHashCodeAs(UserProfilePropertyValue.valueOf((long) INTEGER_VALUE));
+    }
+
+    @Test
+    void valueOf_CreatesSpecializedValues() {
+        assertThat(UserProfilePropertyValue.valueOf(INTEGER_VALUE)).isExactlyInstanceOf(LongPropertyValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(1.5)).isExactlyInstanceOf(DoublePropertyValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(STRING_VALUE)).isExactlyInstanceOf(StringPropertyValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(LIST_VALUE)).isExactlyInstanceOf(StringListPropertyValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(true)).isExactlyInstanceOf(ObjectPropertyValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(List.of(1, "two"))).isExactlyInstanceOf(ObjectPropertyValue.class);
+    }
+
+    @Test
+    void deserialization_CreatesSpecializedValues() {
+        assertThat(JSON_MAPPER.convertValue(5, UserProfilePropertyValue.class)).isEqualTo(LongPropertyValue.of(5));
+        assertThat(JSON_MAPPER.convertValue(1.5, UserProfilePropertyValue.class)).isExactlyInstanceOf(DoublePropertyValue.class);
+        assertThat(JSON_MAPPER.convertValue(STRING_VALUE, UserProfilePropertyValue.class)).isExactlyInstanceOf(StringPropertyValue.class);
+        assertThat(JSON_MAPPER.convertValue(LIST_VALUE, UserProfilePropertyValue.class)).isExactlyInstanceOf(StringListPropertyValue.class);
+    }
+
+    @Test
+    void serialization_OtherValuesKeepTheirShape() {
+        assertThatJson(UserProfilePropertyValue.valueOf(true)).isEqualTo("true");
+        assertThatJson(UserProfilePropertyValue.valueOf(1.5)).isEqualTo("1.5");
+        assertThatJson(UserProfilePropertyValue.valueOf(List.of(1, "two"))).isEqualTo("[1,\"two\"]");
+    }
+
+    @Test
+    void equals_DifferentTypesAreNotEqual() {
+        assertThat(UserProfilePropertyValue.valueOf("5")).isNotEqualTo(UserProfilePropertyValue.valueOf(5));
+        assertThat(UserProfilePropertyValue.valueOf(5.0)).isNotEqualTo(UserProfilePropertyValue.valueOf(5));
+        assertThat(UserProfilePropertyValue.valueOf(List.of())).isNotEqualTo(UserProfilePropertyValue.valueOf(false));
+        assertThat(UserProfilePropertyValue.valueOf(false)).isNotEqualTo(UserProfilePropertyValue.valueOf(true)).isNotEqualTo(null);
+    }
+
+    @Test
+    void add_IntegralValuesAreSummedAsLong() {
+        assertThat(UserProfilePropertyValue.valueOf(INTEGER_VALUE).add(UserProfilePropertyValue.valueOf(-7))).isEqualTo(
+                UserProfilePropertyValue.valueOf(-2L));
+    }
+
+    @Test
+    void add_FractionalValuesAreSummedAsDouble() {
+        assertThat(UserProfilePropertyValue.valueOf(INTEGER_VALUE).add(UserProfilePropertyValue.valueOf(0.5))).isEqualTo(
+                UserProfilePropertyValue.valueOf(5.5));
+    }
+
+    @Test
+    void add_ValuesOutsideOfLongRangeAreSummedAsDouble() {
+        var hugeValue = BigInteger.TWO.pow(70);
+
+        assertThat(UserProfilePropertyValue.valueOf(hugeValue).add(UserProfilePropertyValue.valueOf(1))).isEqualTo(
+                UserProfilePropertyValue.valueOf(hugeValue.doubleValue() + 1));
+    }
+
+    @Test
+    void add_NonNumericValue_throwsException() {
+        assertThatThrownBy(() -> UserProfilePropertyValue.valueOf(STRING_VALUE).add(UserProfilePropertyValue.valueOf(1)))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserProfilePropertyValue.valueOf(1).add(UserProfilePropertyValue.valueOf(STRING_VALUE)))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void add_Overflow_throwsException() {
+        assertThatThrownBy(() -> UserProfilePropertyValue.valueOf(Long.MAX_VALUE).add(UserProfilePropertyValue.valueOf(1)))
+                .isExactlyInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void append_ListIsAppended() {
+        assertThat(UserProfilePropertyValue.valueOf(LIST_VALUE).append(UserProfilePropertyValue.valueOf(List.of("three")))).isEqualTo(
+                UserProfilePropertyValue.valueOf(List.of("one", "two", "three")));
+    }
+
+    @Test
+    void append_SingleValueIsAppended() {
+        assertThat(UserProfilePropertyValue.emptyList().append(UserProfilePropertyValue.valueOf(STRING_VALUE))).isEqualTo(
+                UserProfilePropertyValue.valueOf(List.of(STRING_VALUE)));
+    }
+
+    @Test
+    void append_NonStringValuesAreCollected() {
+        assertThat(UserProfilePropertyValue.valueOf(LIST_VALUE).append(UserProfilePropertyValue.valueOf(3))).isEqualTo(
+                UserProfilePropertyValue.valueOf(List.of("one", "two", 3L)));
+    }
+
+    @Test
+    void append_ToNonListValue_throwsException() {
+        assertThatThrownBy(() -> UserProfilePropertyValue.valueOf(STRING_VALUE).append(UserProfilePropertyValue.valueOf(LIST_VALUE)))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.spotlight.platform.userprofile.api.web;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCoalescer;
+
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
+import ru.vyarus.dropwizard.guice.test.jupiter.TestDropwizardApp;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestDropwizardApp(value = UserProfileApiApplication.class, randomPorts = true, configOverride = {
+        "commands.coalescing.enabled: true", "commands.coalescing.window: 50ms"})
+class UserProfileApiApplicationCoalescingTest {
+    private static final String USER_ID = "coalescing-user";
+    private static final int CONCURRENT_INCREMENTS = 8;
+
+    @Test
+    void concurrentIncrements_areAllVisibleToNextRead(ClientSupport client, MetricRegistry metrics) {
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_INCREMENTS; i++) {
+            responses.add(CompletableFuture.supplyAsync(() -> client.targetRest().path("/users/commands").request()
+                    .post(Entity.entity("[{\"userId\":\"%s\",\"type\":\"increment\",\"properties\":{\"gold\":5}}]".formatted(USER_ID),
+                            MediaType.APPLICATION_JSON_TYPE))));
+        }
+        responses.forEach(response -> assertThat(response.join().getStatus()).isEqualTo(204));
+
+        var profile = client.targetRest().path("/users/%s/profile".formatted(USER_ID)).request().get(String.class);
+
+        assertThatJson(profile).node("userProfileProperties.gold").isEqualTo(5 * CONCURRENT_INCREMENTS);
+        assertThat(metrics.meter(MetricRegistry.name(IncrementCoalescer.class, "coalescedCommands")).getCount())
+                .isEqualTo(CONCURRENT_INCREMENTS);
+    }
+}
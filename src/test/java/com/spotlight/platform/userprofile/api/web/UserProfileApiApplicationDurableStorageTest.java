@@ -0,0 +1,49 @@
+package com.spotlight.platform.userprofile.api.web;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.durable.UserProfileDaoDurable;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import ru.vyarus.dropwizard.guice.test.jupiter.ext.TestDropwizardAppExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileApiApplicationDurableStorageTest {
+    @RegisterExtension
+    static TestDropwizardAppExtension APP = TestDropwizardAppExtension.forApp(UserProfileApiApplication.class)
+            .randomPorts()
+            .configOverrides("storage.durability.enabled: true", "storage.durability.directory: " + createDataDirectory())
+            .create();
+
+    @Test
+    void userProfileDao_IsDurable(UserProfileDao userProfileDao, MetricRegistry metrics) {
+        userProfileDao.get(UserProfileFixtures.NON_EXISTING_USER_ID);
+
+        assertThat(metrics.getTimers()).containsKeys(MetricRegistry.name(UserProfileDaoDurable.class, "get"),
+                MetricRegistry.name(UserProfileDaoInMemory.class, "get"));
+    }
+
+    @Test
+    void userProfileDao_StoresProfiles(UserProfileDao userProfileDao) {
+        userProfileDao.put(UserProfileFixtures.USER_PROFILE);
+
+        assertThat(userProfileDao.get(UserProfileFixtures.USER_ID)).hasValue(UserProfileFixtures.USER_PROFILE);
+    }
+
+    private static String createDataDirectory() {
+        try {
+            return Files.createTempDirectory("user-profile-api").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.spotlight.platform.userprofile.api.web;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.partitioned.UserProfileDaoPartitioned;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+
+import ru.vyarus.dropwizard.guice.test.jupiter.TestDropwizardApp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestDropwizardApp(value = UserProfileApiApplication.class, randomPorts = true, configOverride = "storage.partitioning.partitions: 4")
+class UserProfileApiApplicationPartitionedStorageTest {
+
+    @Test
+    void userProfileDao_IsPartitioned(UserProfileDao userProfileDao, MetricRegistry metrics) {
+        userProfileDao.get(UserProfileFixtures.NON_EXISTING_USER_ID);
+
+        assertThat(metrics.getTimers()).containsKeys(MetricRegistry.name(UserProfileDaoPartitioned.class, "get"),
+                MetricRegistry.name(UserProfileDaoInMemory.class, "get"));
+    }
+
+    @Test
+    void userProfileDao_StoresProfiles(UserProfileDao userProfileDao) {
+        userProfileDao.put(UserProfileFixtures.USER_PROFILE);
+
+        assertThat(userProfileDao.get(UserProfileFixtures.USER_ID)).hasValue(UserProfileFixtures.USER_PROFILE);
+    }
+}
@@ -0,0 +1,70 @@
+package com.spotlight.platform.userprofile.api.web;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.SerializedProfileCache;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.UserProfileDaoInvalidating;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
+import ru.vyarus.dropwizard.guice.test.jupiter.TestDropwizardApp;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestDropwizardApp(value = UserProfileApiApplication.class, randomPorts = true)
+class UserProfileApiApplicationSerializedProfileCacheTest {
+    private static final UserId USER_ID = UserId.valueOf("serialized-cache-user");
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+
+    @Test
+    void repeatedReads_areServedFromCache_untilProfileIsWritten(ClientSupport client, UserProfileDao userProfileDao,
+            MetricRegistry metrics) {
+        var hits = metrics.meter(MetricRegistry.name(SerializedProfileCache.class, "hits"));
+        userProfileDao.put(profileWithGold(Instant.parse("2023-01-01T00:00:00Z"), 1));
+
+        var first = getProfile(client);
+        long hitsBefore = hits.getCount();
+        var second = getProfile(client);
+        assertThat(hits.getCount()).isEqualTo(hitsBefore + 1);
+        assertThat(second).isEqualTo(first);
+
+        userProfileDao.put(profileWithGold(Instant.parse("2023-01-01T00:00:01Z"), 2));
+
+        assertThatJson(getProfile(client)).node("userProfileProperties.gold").isEqualTo(2);
+    }
+
+    @Test
+    void limitedReads_areNotCached(ClientSupport client, UserProfileDao userProfileDao) {
+        userProfileDao.put(profileWithGold(Instant.parse("2023-01-01T00:00:00Z"), 1));
+
+        var limited = client.targetRest().path("/users/%s/profile".formatted(USER_ID)).queryParam("properties", "level").request()
+                .get(String.class);
+
+        assertThatJson(limited).node("userProfileProperties").isObject().isEmpty();
+        assertThatJson(getProfile(client)).node("userProfileProperties.gold").isEqualTo(1);
+    }
+
+    @Test
+    void invalidatingLayer_isInstrumented(UserProfileDao userProfileDao, MetricRegistry metrics) {
+        userProfileDao.get(USER_ID);
+
+        assertThat(metrics.getTimers()).containsKey(MetricRegistry.name(UserProfileDaoInvalidating.class, "get"));
+    }
+
+    private static String getProfile(ClientSupport client) {
+        return client.targetRest().path("/users/%s/profile".formatted(USER_ID)).request().get(String.class);
+    }
+
+    private static UserProfile profileWithGold(Instant latestUpdateTime, int gold) {
+        return new UserProfile(USER_ID, latestUpdateTime, Map.of(GOLD, UserProfilePropertyValue.valueOf(gold)));
+    }
+}
@@ -1,8 +1,18 @@
 package com.spotlight.platform.userprofile.api.web;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.UserProfileDaoCaching;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.durable.UserProfileDaoDurable;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
 import com.spotlight.platform.userprofile.api.web.exceptionmappers.EntityNotFoundExceptionMapper;
+import com.spotlight.platform.userprofile.api.web.exceptionmappers.InvalidCommandExceptionMapper;
+import com.spotlight.platform.userprofile.api.web.metrics.UserProfileSizeWriterInterceptor;
+import com.spotlight.platform.userprofile.api.web.resources.UserResource;
 
 import org.junit.jupiter.api.Test;
 
@@ -10,9 +20,11 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import io.dropwizard.setup.Environment;
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
 import ru.vyarus.dropwizard.guice.test.jupiter.TestDropwizardApp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @TestDropwizardApp(value = UserProfileApiApplication.class, randomPorts = true)
 class UserProfileApiApplicationTest {
@@ -24,7 +36,37 @@ class UserProfileApiApplicationTest {
 
     @Test
     void exceptionMappers_AreRegistered(Environment environment) {
-        assertThat(getRegisteredSingletonClasses(environment)).containsOnlyOnce(EntityNotFoundExceptionMapper.class);
+        assertThat(getRegisteredSingletonClasses(environment)).containsOnlyOnce(EntityNotFoundExceptionMapper.class,
+                InvalidCommandExceptionMapper.class);
+    }
+
+    @Test
+    void userProfileDao_IsInMemoryByDefault(UserProfileDao userProfileDao, MetricRegistry metrics) {
+        userProfileDao.get(UserProfileFixtures.USER_ID);
+
+        assertThat(metrics.getTimers()).containsKey(MetricRegistry.name(UserProfileDaoInMemory.class, "get"))
+                .doesNotContainKeys(MetricRegistry.name(UserProfileDaoCaching.class, "get"),
+                        MetricRegistry.name(UserProfileDaoDurable.class, "get"));
+    }
+
+    @Test
+    void methodMetrics_AreRecorded(UserProfileService userProfileService, MetricRegistry metrics) {
+        assertThatThrownBy(() -> userProfileService.get(UserProfileFixtures.NON_EXISTING_USER_ID));
+
+        assertThat(metrics.getTimers()).containsKey(MetricRegistry.name(UserProfileService.class, "get"));
+        assertThat(metrics.getMeters().get(MetricRegistry.name(UserProfileService.class, "get", "errors")).getCount()).isPositive();
+    }
+
+    @Test
+    void resourceMethodMetrics_AreRecorded(ClientSupport client, MetricRegistry metrics) {
+        client.targetRest().path("/users/non-existing-user-id/profile").request().get().close();
+
+        assertThat(metrics.timer(MetricRegistry.name(UserResource.class, "getUserProfile")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userProfileSizeWriterInterceptor_IsRegistered(Environment environment) {
+        assertThat(getRegisteredSingletonClasses(environment)).contains(UserProfileSizeWriterInterceptor.class);
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.spotlight.platform.userprofile.api.web.cache;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.SerializedProfileCache;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import java.nio.charset.StandardCharsets;
+
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.testing.junit5.ResourceExtension;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class SerializedProfileWriterInterceptorTest {
+    private static final SerializedProfileCache CACHE_MOCK = mock(SerializedProfileCache.class);
+
+    private static final ResourceExtension EXT = ResourceExtension.builder()
+            .setMapper(JsonMapper.getInstance())
+            .addResource(new MockResource())
+            .addProvider(new SerializedProfileWriterInterceptor(CACHE_MOCK))
+            .build();
+
+    @BeforeEach
+    void beforeEach() {
+        reset(CACHE_MOCK);
+    }
+
+    @Test
+    void cachedProfile_isWrittenFromCache() {
+        when(CACHE_MOCK.get(UserProfileFixtures.USER_PROFILE, MediaType.APPLICATION_JSON)).thenReturn(
+                "{\"cached\": true}".getBytes(StandardCharsets.UTF_8));
+
+        var body = EXT.target(MockResource.RESOURCE_URLS.CACHEABLE).request().get(String.class);
+
+        assertThatJson(body).isEqualTo("{\"cached\": true}");
+        verify(CACHE_MOCK, never()).put(any(), anyString(), any());
+    }
+
+    @Test
+    void uncachedProfile_isSerializedAndCached() {
+        var body = EXT.target(MockResource.RESOURCE_URLS.CACHEABLE).request().get(String.class);
+
+        assertThatJson(body).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        verify(CACHE_MOCK).put(UserProfileFixtures.USER_PROFILE, MediaType.APPLICATION_JSON, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void unmarkedProfile_isNeitherReadFromNorWrittenToCache() {
+        var body = EXT.target(MockResource.RESOURCE_URLS.NOT_CACHEABLE).request().get(String.class);
+
+        assertThatJson(body).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        verify(CACHE_MOCK, never()).get(any(), anyString());
+        verify(CACHE_MOCK, never()).put(any(), anyString(), any());
+    }
+
+    @Test
+    void otherEntity_isNotCached() {
+        var body = EXT.target(MockResource.RESOURCE_URLS.OTHER).request().get(String.class);
+
+        assertThat(body).isEqualTo("\"other\"");
+        verify(CACHE_MOCK, never()).get(any(), anyString());
+    }
+
+    @Path("/")
+    @Produces(MediaType.APPLICATION_JSON)
+    public static class MockResource {
+        public static class RESOURCE_URLS {
+            public static final String CACHEABLE = "/cacheable-profile";
+            public static final String NOT_CACHEABLE = "/not-cacheable-profile";
+            public static final String OTHER = "/cacheable-other";
+        }
+
+        @GET
+        @Path(RESOURCE_URLS.CACHEABLE)
+        public UserProfile getCacheable(@Context ContainerRequestContext requestContext) {
+            SerializedProfileWriterInterceptor.markCacheable(requestContext);
+            return UserProfileFixtures.USER_PROFILE;
+        }
+
+        @GET
+        @Path(RESOURCE_URLS.NOT_CACHEABLE)
+        public UserProfile getNotCacheable() {
+            return UserProfileFixtures.USER_PROFILE;
+        }
+
+        @GET
+        @Path(RESOURCE_URLS.OTHER)
+        public String getOther(@Context ContainerRequestContext requestContext) {
+            SerializedProfileWriterInterceptor.markCacheable(requestContext);
+            return "\"other\"";
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.spotlight.platform.userprofile.api.web.exceptionmappers;
+
+import com.spotlight.platform.userprofile.api.core.json.InvalidAlphaNumericalStringException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+import io.dropwizard.jersey.validation.ValidationErrorMessage;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.testing.junit5.ResourceExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class InvalidAlphaNumericalStringExceptionMapperTest {
+
+    private static final String VIOLATION = "must match \"[A-Za-z0-9_-]*\"";
+
+    private static final ResourceExtension EXT = ResourceExtension.builder()
+            .addResource(new MockResource())
+            .setRegisterDefaultExceptionMappers(false)
+            .addProvider(new InvalidAlphaNumericalStringExceptionMapper())
+            .build();
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = EXT.client();
+    }
+
+    @Test
+    void invalidIdentifier_ResultsIn422WithErrors() {
+        Response response = client.target(MockResource.RESOURCE_URLS.THROW_EXCEPTION).request().post(Entity.json("{}"));
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.readEntity(ValidationErrorMessage.class).getErrors()).containsExactly("value " + VIOLATION);
+    }
+
+    @Path("/")
+    public static class MockResource {
+        public static class RESOURCE_URLS {
+            public static final String THROW_EXCEPTION = "/throwInvalidAlphaNumericalStringException";
+        }
+
+        @POST
+        @Path(RESOURCE_URLS.THROW_EXCEPTION)
+        public void throwException() throws InvalidAlphaNumericalStringException {
+            throw new InvalidAlphaNumericalStringException(null, "$", false, List.of(VIOLATION));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.spotlight.platform.userprofile.api.web.exceptionmappers;
+
+import com.spotlight.platform.userprofile.api.core.exceptions.InvalidCommandException;
+import com.spotlight.platform.userprofile.api.core.exceptions.PartiallyAppliedCommandsException;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandBatchError;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+
+import java.util.List;
+
+import io.dropwizard.jersey.errors.ErrorMessage;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.testing.junit5.ResourceExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class InvalidCommandExceptionMapperTest {
+
+    private static final String ERROR_MESSAGE = "Command cannot be applied";
+
+    private static final ResourceExtension EXT = ResourceExtension.builder()
+            .addResource(new MockResource())
+            .setRegisterDefaultExceptionMappers(false)
+            .addProvider(new InvalidCommandExceptionMapper())
+            .build();
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = EXT.client();
+    }
+
+    @Test
+    void invalidCommand_ResultsIn400WithMessage() {
+        Response response = client.target(MockResource.RESOURCE_URLS.THROW_EXCEPTION).request().post(Entity.json("{}"));
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+        assertThat(response.readEntity(ErrorMessage.class).getMessage()).isEqualTo(ERROR_MESSAGE);
+    }
+
+    @Test
+    void partiallyAppliedCommands_ResultsIn400WithAppliedUsers() {
+        Response response = client.target(MockResource.RESOURCE_URLS.THROW_PARTIAL_EXCEPTION).request().post(Entity.json("{}"));
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+        assertThat(response.readEntity(CommandBatchError.class)).isEqualTo(
+                new CommandBatchError(Response.Status.BAD_REQUEST.getStatusCode(), ERROR_MESSAGE, List.of(UserProfileFixtures.USER_ID)));
+    }
+
+    @Path("/")
+    public static class MockResource {
+        public static class RESOURCE_URLS {
+            public static final String THROW_EXCEPTION = "/throwInvalidCommandException";
+            public static final String THROW_PARTIAL_EXCEPTION = "/throwPartiallyAppliedCommandsException";
+        }
+
+        @POST
+        @Path(RESOURCE_URLS.THROW_EXCEPTION)
+        public void throwException() {
+            throw new InvalidCommandException(ERROR_MESSAGE, null);
+        }
+
+        @POST
+        @Path(RESOURCE_URLS.THROW_PARTIAL_EXCEPTION)
+        public void throwPartialException() {
+            throw new PartiallyAppliedCommandsException(new InvalidCommandException(ERROR_MESSAGE, null),
+                    List.of(UserProfileFixtures.USER_ID));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.spotlight.platform.userprofile.api.web.exceptionmappers;
+
+import com.spotlight.platform.userprofile.api.core.exceptions.ServiceUnavailableException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import io.dropwizard.jersey.errors.ErrorMessage;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.testing.junit5.ResourceExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class ServiceUnavailableExceptionMapperTest {
+
+    private static final String ERROR_MESSAGE = "Command queue is full";
+
+    private static final ResourceExtension EXT = ResourceExtension.builder()
+            .addResource(new MockResource())
+            .setRegisterDefaultExceptionMappers(false)
+            .addProvider(new ServiceUnavailableExceptionMapper())
+            .build();
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = EXT.client();
+    }
+
+    @Test
+    void serviceUnavailable_ResultsIn503WithRetryAfter() {
+        Response response = client.target(MockResource.RESOURCE_URLS.THROW_EXCEPTION).request().post(Entity.json("{}"));
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
+        assertThat(response.getHeaderString(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.readEntity(ErrorMessage.class).getMessage()).isEqualTo(ERROR_MESSAGE);
+    }
+
+    @Path("/")
+    public static class MockResource {
+        public static class RESOURCE_URLS {
+            public static final String THROW_EXCEPTION = "/throwServiceUnavailableException";
+        }
+
+        @POST
+        @Path(RESOURCE_URLS.THROW_EXCEPTION)
+        public void throwException() {
+            throw new ServiceUnavailableException(ERROR_MESSAGE);
+        }
+    }
+}
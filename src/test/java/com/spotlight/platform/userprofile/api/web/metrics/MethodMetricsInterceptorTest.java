@@ -0,0 +1,99 @@
+package com.spotlight.platform.userprofile.api.web.metrics;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.matcher.Matchers;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.cache.UserProfileDaoCaching;
+import com.spotlight.platform.userprofile.api.model.configuration.CacheBound;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import io.dropwizard.lifecycle.Managed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MethodMetricsInterceptorTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final MethodMetricsInterceptor interceptor = new MethodMetricsInterceptor();
+
+    MethodMetricsInterceptorTest() {
+        interceptor.setMetrics(metrics);
+    }
+
+    @Test
+    void invoke_recordsTimerAndErrorsOfInterceptedMethods() {
+        var service = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bindInterceptor(Matchers.subclassesOf(InterceptedService.class), Matchers.any(), interceptor);
+            }
+        }).getInstance(InterceptedService.class);
+
+        assertThat(service.succeed()).isEqualTo("result");
+        assertThat(service.succeed()).isEqualTo("result");
+        assertThatThrownBy(service::fail).isExactlyInstanceOf(IllegalStateException.class);
+
+        assertThat(metrics.timer(MetricRegistry.name(InterceptedService.class, "succeed")).getCount()).isEqualTo(2);
+        assertThat(metrics.meter(MetricRegistry.name(InterceptedService.class, "succeed", "errors")).getCount()).isZero();
+        assertThat(metrics.timer(MetricRegistry.name(InterceptedService.class, "fail")).getCount()).isEqualTo(1);
+        assertThat(metrics.meter(MetricRegistry.name(InterceptedService.class, "fail", "errors")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void instrument_recordsMetricsPerImplementation() {
+        var inMemoryDao = interceptor.instrument(UserProfileDao.class, new UserProfileDaoInMemory());
+        var cachingDao = interceptor.instrument(UserProfileDao.class, new UserProfileDaoCaching(inMemoryDao, CacheBound.ENTRIES, 10));
+
+        cachingDao.put(UserProfileFixtures.USER_PROFILE);
+        assertThat(cachingDao.get(UserProfileFixtures.USER_ID)).hasValue(UserProfileFixtures.USER_PROFILE);
+        assertThat(cachingDao.getAll(List.of(UserProfileFixtures.USER_ID))).containsOnlyKeys(UserProfileFixtures.USER_ID);
+
+        assertThat(metrics.timer(MetricRegistry.name(UserProfileDaoCaching.class, "put")).getCount()).isEqualTo(1);
+        assertThat(metrics.timer(MetricRegistry.name(UserProfileDaoCaching.class, "get")).getCount()).isEqualTo(1);
+        assertThat(metrics.timer(MetricRegistry.name(UserProfileDaoCaching.class, "getAll")).getCount()).isEqualTo(1);
+        assertThat(metrics.timer(MetricRegistry.name(UserProfileDaoInMemory.class, "put")).getCount()).isEqualTo(1);
+        // served from the cache
+        assertThat(metrics.timer(MetricRegistry.name(UserProfileDaoInMemory.class, "get")).getCount()).isZero();
+    }
+
+    @Test
+    void instrument_recordsErrors() {
+        var dao = interceptor.instrument(UserProfileDao.class, new UserProfileDaoInMemory());
+
+        assertThatThrownBy(() -> dao.update(UserProfileFixtures.USER_ID, currentProfile -> {
+            throw new IllegalStateException("update failed");
+        })).isExactlyInstanceOf(IllegalStateException.class).hasMessage("update failed");
+
+        assertThat(metrics.meter(MetricRegistry.name(UserProfileDaoInMemory.class, "update", "errors")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void instrument_keepsOtherInterfacesAndPassesThemThrough() throws Exception {
+        var cachingDao = new UserProfileDaoCaching(new UserProfileDaoInMemory(), CacheBound.ENTRIES, 10);
+        var dao = interceptor.instrument(UserProfileDao.class, cachingDao);
+
+        assertThat(dao).isInstanceOf(Managed.class);
+        ((Managed) dao).start();
+        assertThat(dao.toString()).startsWith(UserProfileDaoCaching.class.getName());
+
+        assertThat(metrics.getTimers()).isEmpty();
+    }
+
+    public static class InterceptedService {
+        public String succeed() {
+            return "result";
+        }
+
+        public String fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.spotlight.platform.userprofile.api.web.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.testing.junit5.ResourceExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class UserProfileSizeWriterInterceptorTest {
+    private static final MetricRegistry METRICS = new MetricRegistry();
+
+    private static final ResourceExtension EXT = ResourceExtension.builder()
+            .setMapper(JsonMapper.getInstance())
+            .addResource(new MockResource())
+            .addProvider(new UserProfileSizeWriterInterceptor(METRICS))
+            .build();
+
+    @Test
+    void writtenProfiles_areMeasured() {
+        var body = EXT.target(MockResource.RESOURCE_URLS.PROFILE).request().get(String.class);
+        EXT.target(MockResource.RESOURCE_URLS.OTHER).request().get(String.class);
+
+        var propertyCounts = METRICS.histogram(MetricRegistry.name(UserProfile.class, "propertyCount"));
+        var serializedBytes = METRICS.histogram(MetricRegistry.name(UserProfile.class, "serializedBytes"));
+        assertThat(propertyCounts.getCount()).isEqualTo(1);
+        assertThat(propertyCounts.getSnapshot().getMax()).isEqualTo(UserProfileFixtures.USER_PROFILE.userProfileProperties().size());
+        assertThat(serializedBytes.getCount()).isEqualTo(1);
+        assertThat(serializedBytes.getSnapshot().getMax()).isEqualTo(body.length());
+    }
+
+    @Path("/")
+    @Produces(MediaType.APPLICATION_JSON)
+    public static class MockResource {
+        public static class RESOURCE_URLS {
+            public static final String PROFILE = "/profile";
+            public static final String OTHER = "/other";
+        }
+
+        @GET
+        @Path(RESOURCE_URLS.PROFILE)
+        public UserProfile getProfile() {
+            return UserProfileFixtures.USER_PROFILE;
+        }
+
+        @GET
+        @Path(RESOURCE_URLS.OTHER)
+        public String getOther() {
+            return "\"other\"";
+        }
+    }
+}
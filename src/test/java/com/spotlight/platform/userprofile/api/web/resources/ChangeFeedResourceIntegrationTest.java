@@ -0,0 +1,67 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
+
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
+import ru.vyarus.dropwizard.guice.test.jupiter.TestDropwizardApp;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestDropwizardApp(value = UserProfileApiApplication.class, randomPorts = true,
+        configOverride = {"changeFeed.batchInterval: 1ms", "changeFeed.heartbeatInterval: 100ms"})
+class ChangeFeedResourceIntegrationTest {
+    private static final String URL = "/users/changes";
+
+    @Test
+    @Timeout(30)
+    void subscribed_receivesChangesOfSelectedProperties(ClientSupport client) throws IOException {
+        var response = client.targetRest().path(URL).queryParam("properties", "gold").request(MediaType.SERVER_SENT_EVENTS).get();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.getMediaType().isCompatible(MediaType.SERVER_SENT_EVENTS_TYPE)).isTrue();
+
+        try (var events = new BufferedReader(new InputStreamReader(response.readEntity(InputStream.class), StandardCharsets.UTF_8))) {
+            applyCommand(client, """
+                    [{"userId": "feed-user", "type": "replace", "properties": {"level": 1}}]""");
+            applyCommand(client, """
+                    [{"userId": "feed-user", "type": "replace", "properties": {"gold": 10, "level": 2}}]""");
+
+            assertThat(nextLineStartingWith(events, "event: ")).isEqualTo("event: changes");
+            assertThatJson(events.readLine().substring("data: ".length())).isEqualTo("""
+                    [{"userId": "feed-user", "latestUpdateTime": "${json-unit.any-string}", "changedProperties": {"gold": 10}}]""");
+        }
+    }
+
+    @Test
+    void invalidPropertyName_returns400(ClientSupport client) {
+        var response = client.targetRest().path(URL).queryParam("properties", "gold$").request(MediaType.SERVER_SENT_EVENTS).get();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+    }
+
+    private static void applyCommand(ClientSupport client, String commands) {
+        var response = client.targetRest().path("/users/commands").request().post(Entity.json(commands));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT_204);
+    }
+
+    private static String nextLineStartingWith(BufferedReader events, String prefix) throws IOException {
+        String line;
+        do {
+            line = events.readLine();
+        } while (line != null && !line.startsWith(prefix));
+        return line;
+    }
+}
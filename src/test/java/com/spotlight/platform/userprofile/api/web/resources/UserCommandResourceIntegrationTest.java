@@ -0,0 +1,268 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandIngestionSummary;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandReceipt;
+import com.spotlight.platform.userprofile.api.model.profile.commands.CommandLineError;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
+
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.ws.rs.client.Entity;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import io.dropwizard.jersey.validation.ValidationErrorMessage;
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
+import ru.vyarus.dropwizard.guice.test.jupiter.ext.TestDropwizardAppExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Execution(ExecutionMode.SAME_THREAD)
+class UserCommandResourceIntegrationTest {
+    @RegisterExtension
+    static TestDropwizardAppExtension APP = TestDropwizardAppExtension.forApp(UserProfileApiApplication.class)
+            .randomPorts()
+            .hooks(builder -> builder.modulesOverride(new AbstractModule() {
+                @Provides
+                @Singleton
+                public UserProfileDao getUserProfileDao() {
+                    return mock(UserProfileDao.class);
+                }
+            }))
+            .create();
+
+    private final AtomicReference<UserProfile> storedProfile = new AtomicReference<>();
+
+    @BeforeEach
+    void beforeEach(UserProfileDao userProfileDao) {
+        reset(userProfileDao);
+    }
+
+    private void givenStoredProfile(UserProfileDao userProfileDao) {
+        storedProfile.set(UserProfileFixtures.USER_PROFILE);
+        when(userProfileDao.update(any(UserId.class), any())).thenAnswer(invocation -> storedProfile.updateAndGet(
+                profile -> invocation.<Function<Optional<UserProfile>, UserProfile>>getArgument(1).apply(Optional.of(profile))));
+    }
+
+    @Nested
+    @DisplayName("applyCommands")
+    class ApplyCommands {
+        private static final String URL = "/users/commands";
+
+        @Test
+        void validCommands_areAppliedAndStored(ClientSupport client, UserProfileDao userProfileDao) {
+            givenStoredProfile(userProfileDao);
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(UserProfileFixtures.SERIALIZED_COMMANDS));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT_204);
+            assertThat(storedProfile.get().userProfileProperties()).containsExactlyInAnyOrderEntriesOf(
+                    Map.of(UserProfilePropertyName.valueOf("property1"), UserProfilePropertyValue.valueOf("property1Value"),
+                            UserProfilePropertyName.valueOf("currentGold"), UserProfilePropertyValue.valueOf(500),
+                            UserProfilePropertyName.valueOf("battleFought"), UserProfilePropertyValue.valueOf(10),
+                            UserProfilePropertyName.valueOf("inventory"), UserProfilePropertyValue.valueOf(List.of("sword1", "shield1"))));
+        }
+
+        @Test
+        void cborCommands_areAppliedAndStored(ClientSupport client, UserProfileDao userProfileDao) throws Exception {
+            givenStoredProfile(userProfileDao);
+            var commands = JsonMapper.createInstance(new CBORFactory())
+                    .writeValueAsBytes(List.of(UserProfileFixtures.REPLACE_COMMAND, UserProfileFixtures.INCREMENT_COMMAND));
+
+            var response = client.targetRest().path(URL).request().post(Entity.entity(commands, MediaTypes.APPLICATION_CBOR));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT_204);
+            verify(userProfileDao).update(eq(UserProfileFixtures.USER_ID), any());
+        }
+
+        @Test
+        void invalidSmileCommand_returns422(ClientSupport client, UserProfileDao userProfileDao) throws Exception {
+            var invalidUserId = JsonMapper.createInstance(new SmileFactory())
+                    .writeValueAsBytes(List.of(Map.of("userId", "invalid-user-id-%", "type", "replace", "properties", Map.of("a", 1))));
+
+            var response = client.targetRest().path(URL).request().post(Entity.entity(invalidUserId, MediaTypes.APPLICATION_SMILE));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+            verify(userProfileDao, never()).update(any(UserId.class), any());
+        }
+
+        @Test
+        void commandCannotBeApplied_returns400(ClientSupport client, UserProfileDao userProfileDao) {
+            givenStoredProfile(userProfileDao);
+            var incrementString = """
+                    [{"userId": "existing-user-id", "type": "increment", "properties": {"property1": 1}}]""";
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(incrementString));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+            assertThat(storedProfile).hasValue(UserProfileFixtures.USER_PROFILE);
+        }
+
+        @Test
+        void validationFailed_returns422(ClientSupport client, UserProfileDao userProfileDao) {
+            var invalidUserId = """
+                    [{"userId": "invalid-user-id-%", "type": "replace", "properties": {"property1": 1}}]""";
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(invalidUserId));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+            assertThat(response.readEntity(ValidationErrorMessage.class).getErrors()).containsExactly(
+                    "userId.value must match \"[A-Za-z0-9_-]*\"");
+            verify(userProfileDao, never()).update(any(UserId.class), any());
+        }
+
+        @Test
+        void invalidPropertyName_returns422(ClientSupport client, UserProfileDao userProfileDao) {
+            var invalidPropertyName = """
+                    [{"userId": "existing-user-id", "type": "replace", "properties": {"prop$": 1}}]""";
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(invalidPropertyName));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+            assertThat(response.readEntity(ValidationErrorMessage.class).getErrors()).containsExactly(
+                    "properties<K>[prop$].value must match \"[A-Za-z0-9_-]*\"");
+            verify(userProfileDao, never()).update(any(UserId.class), any());
+        }
+
+        @Test
+        void missingUserId_returns422(ClientSupport client) {
+            var missingUserId = """
+                    [{"type": "replace", "properties": {"property1": 1}}]""";
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(missingUserId));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+            assertThat(response.readEntity(ValidationErrorMessage.class).getErrors()).containsExactly("userId must not be null");
+        }
+
+        @Test
+        void unknownCommandType_returns400(ClientSupport client) {
+            var unknownType = """
+                    [{"userId": "existing-user-id", "type": "multiply", "properties": {"property1": 2}}]""";
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(unknownType));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        }
+
+        @Test
+        void retriedBatchWithCommandIds_isAppliedOnce(ClientSupport client, UserProfileDao userProfileDao) {
+            givenStoredProfile(userProfileDao);
+            var incrementWithId = """
+                    [{"userId": "existing-user-id", "type": "increment", "properties": {"battleFought": 10}, "commandId": "batch-7-0"}]""";
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                var response = client.targetRest().path(URL).request().post(Entity.json(incrementWithId));
+                assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT_204);
+            }
+
+            assertThat(storedProfile.get().userProfileProperties()).containsEntry(UserProfilePropertyName.valueOf("battleFought"),
+                    UserProfilePropertyValue.valueOf(10));
+        }
+
+        @Test
+        void invalidCommandId_returns422(ClientSupport client, UserProfileDao userProfileDao) {
+            var invalidCommandId = """
+                    [{"userId": "existing-user-id", "type": "increment", "properties": {"battleFought": 10}, "commandId": "batch 7"}]""";
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(invalidCommandId));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+            assertThat(response.readEntity(ValidationErrorMessage.class).getErrors()).containsExactly(
+                    "commandId.value must match \"[A-Za-z0-9_-]*\"");
+            verify(userProfileDao, never()).update(any(UserId.class), any());
+        }
+
+        @Test
+        void respondAsyncPreferred_returns202WithReceiptAndAppliesLater(ClientSupport client, UserProfileDao userProfileDao) {
+            givenStoredProfile(userProfileDao);
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .request()
+                    .header(UserCommandResource.PREFER, "wait=5, respond-async")
+                    .post(Entity.json(UserProfileFixtures.SERIALIZED_COMMANDS));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.ACCEPTED_202);
+            assertThat(response.getHeaderString(UserCommandResource.PREFERENCE_APPLIED)).isEqualTo(UserCommandResource.RESPOND_ASYNC);
+            var receipt = response.readEntity(CommandReceipt.class);
+            assertThat(receipt.receiptId()).isNotBlank();
+            assertThat(receipt.commands()).isEqualTo(3);
+            verify(userProfileDao, timeout(5000)).update(eq(UserProfileFixtures.USER_ID), any());
+        }
+
+        @Test
+        void respondAsyncPreferredWithInvalidCommand_returns422(ClientSupport client, UserProfileDao userProfileDao) {
+            var invalidUserId = """
+                    [{"userId": "invalid-user-id-%", "type": "replace", "properties": {"property1": 1}}]""";
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .request()
+                    .header(UserCommandResource.PREFER, UserCommandResource.RESPOND_ASYNC)
+                    .post(Entity.json(invalidUserId));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+        }
+    }
+
+    @Nested
+    @DisplayName("ingestCommands")
+    class IngestCommands {
+        private static final String URL = "/users/commands";
+
+        @Test
+        void ndjsonCommands_areAppliedAndSummarized(ClientSupport client, UserProfileDao userProfileDao) {
+            givenStoredProfile(userProfileDao);
+            var commands = """
+                    {"userId": "existing-user-id", "type": "replace", "properties": {"currentGold": 500}}
+                    {"userId": "existing-user-id", "type": "multiply", "properties": {"currentGold": 2}}
+                    {"userId": "existing-user-id", "type": "increment", "properties": {"currentGold": 10}}
+                    """;
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .request()
+                    .post(Entity.entity(commands, MediaTypes.APPLICATION_NDJSON));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            var summary = response.readEntity(CommandIngestionSummary.class);
+            assertThat(summary.lines()).isEqualTo(3);
+            assertThat(summary.applied()).isEqualTo(2);
+            assertThat(summary.errors()).extracting(CommandLineError::line).containsExactly(2L);
+            assertThat(storedProfile.get().userProfileProperties()).containsEntry(UserProfilePropertyName.valueOf("currentGold"),
+                    UserProfilePropertyValue.valueOf(510));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
+
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.ws.rs.client.Entity;
+import java.util.Collections;
+import java.util.Map;
+
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
+import ru.vyarus.dropwizard.guice.test.jupiter.ext.TestDropwizardAppExtension;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Execution(ExecutionMode.SAME_THREAD)
+class UserProfilesResourceIntegrationTest {
+    @RegisterExtension
+    static TestDropwizardAppExtension APP = TestDropwizardAppExtension.forApp(UserProfileApiApplication.class)
+            .randomPorts()
+            .hooks(builder -> builder.modulesOverride(new AbstractModule() {
+                @Provides
+                @Singleton
+                public UserProfileDao getUserProfileDao() {
+                    return mock(UserProfileDao.class);
+                }
+            }))
+            .create();
+
+    @BeforeEach
+    void beforeEach(UserProfileDao userProfileDao) {
+        reset(userProfileDao);
+    }
+
+    @Nested
+    @DisplayName("getUserProfiles")
+    class GetUserProfiles {
+        private static final String URL = "/users/profiles";
+
+        @Test
+        void existingAndMissingUsers_areReportedInRequestOrder(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.getAll(anyCollection())).thenReturn(Map.of(UserProfileFixtures.USER_ID, UserProfileFixtures.USER_PROFILE));
+            var userIds = """
+                    ["non-existing-user-id", "existing-user-id"]""";
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(userIds));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).isEqualTo("""
+                    [
+                      {"userId": "non-existing-user-id", "status": 404},
+                      {"userId": "existing-user-id", "status": 200, "profile": %s}
+                    ]""".formatted(UserProfileFixtures.SERIALIZED_USER_PROFILE));
+        }
+
+        @Test
+        void invalidUserId_returns422(ClientSupport client, UserProfileDao userProfileDao) {
+            var response = client.targetRest().path(URL).request().post(Entity.json("""
+                    ["existing-user-id", "invalid-user-id-%"]"""));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+            verify(userProfileDao, never()).getAll(anyCollection());
+        }
+
+        @Test
+        void tooManyUserIds_returns422(ClientSupport client, UserProfileDao userProfileDao) {
+            var userIds = "[%s]".formatted(String.join(",", Collections.nCopies(1001, "\"existing-user-id\"")));
+
+            var response = client.targetRest().path(URL).request().post(Entity.json(userIds));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+            verify(userProfileDao, never()).getAll(anyCollection());
+        }
+    }
+}
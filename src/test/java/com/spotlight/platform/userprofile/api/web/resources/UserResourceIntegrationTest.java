@@ -4,10 +4,16 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
 import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
 
 import org.eclipse.jetty.http.HttpStatus;
@@ -19,6 +25,11 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import ru.vyarus.dropwizard.guice.test.ClientSupport;
@@ -54,6 +65,11 @@ class UserResourceIntegrationTest {
     @Nested
     @DisplayName("getUserProfile")
     class GetUserProfile {
+        private static final UserProfile PROFILE_WITH_TWO_PROPERTIES = new UserProfile(UserProfileFixtures.USER_ID,
+                UserProfileFixtures.LAST_UPDATE_TIMESTAMP.plusSeconds(1),
+                Map.of(UserProfilePropertyName.valueOf("property1"), UserProfilePropertyValue.valueOf("property1Value"),
+                        UserProfilePropertyName.valueOf("property2"), UserProfilePropertyValue.valueOf(2)));
+
         private static final String USER_ID_PATH_PARAM = "userId";
         private static final String URL = "/users/{%s}/profile".formatted(USER_ID_PATH_PARAM);
 
@@ -67,6 +83,119 @@ class UserResourceIntegrationTest {
             assertThatJson(response.readEntity(UserProfile.class)).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
         }
 
+        @Test
+        void smileAccepted_profileIsEncodedAsSmile(ClientSupport client, UserProfileDao userProfileDao) throws Exception {
+            assertProfileEncodedAs(MediaTypes.APPLICATION_SMILE, new SmileFactory(), client, userProfileDao);
+        }
+
+        @Test
+        void cborAccepted_profileIsEncodedAsCbor(ClientSupport client, UserProfileDao userProfileDao) throws Exception {
+            assertProfileEncodedAs(MediaTypes.APPLICATION_CBOR, new CBORFactory(), client, userProfileDao);
+        }
+
+        @Test
+        void anyFormatAccepted_profileIsEncodedAsJson(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request(MediaType.WILDCARD)
+                    .get();
+
+            assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+        }
+
+        @Test
+        void propertiesRequested_onlyTheseAreReturned(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(PROFILE_WITH_TWO_PROPERTIES));
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .queryParam("properties", "property1,unknownProperty")
+                    .request()
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).node("userProfileProperties").isEqualTo("""
+                    {"property1": "property1Value"}""");
+        }
+
+        @Test
+        void invalidPropertyRequested_returns400(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .queryParam("properties", "property1,prop$")
+                    .request()
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        }
+
+        @Test
+        void entityTagMatches_returns304WithoutBody(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+            var entityTag = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request()
+                    .get()
+                    .getEntityTag();
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                    .get();
+
+            assertThat(entityTag.isWeak()).isTrue();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED_304);
+            assertThat(response.hasEntity()).isFalse();
+        }
+
+        @Test
+        void profileUpdatedSinceEntityTag_returnsProfile(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+            var entityTag = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request()
+                    .get()
+                    .getEntityTag();
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(PROFILE_WITH_TWO_PROPERTIES));
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThat(response.getEntityTag()).isNotEqualTo(entityTag);
+        }
+
+        @Test
+        void differentPropertiesRequested_entityTagsDiffer(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(PROFILE_WITH_TWO_PROPERTIES));
+            var target = client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID);
+
+            var fullProfileTag = target.request().get().getEntityTag();
+            var projectedTag = target.queryParam("properties", "property1,property2").request().get().getEntityTag();
+            var reorderedTag = target.queryParam("properties", "property2")
+                    .queryParam("properties", "property1")
+                    .request()
+                    .get()
+                    .getEntityTag();
+
+            assertThat(projectedTag).isNotEqualTo(fullProfileTag).isEqualTo(reorderedTag);
+        }
+
         @Test
         void nonExistingUser_returns404(ClientSupport client, UserProfileDao userProfileDao) {
             when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.empty());
@@ -95,5 +224,104 @@ class UserResourceIntegrationTest {
 
             assertThat(response.getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR_500);
         }
+
+        private void assertProfileEncodedAs(String mediaType, JsonFactory factory, ClientSupport client, UserProfileDao userProfileDao)
+                throws Exception {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request(mediaType)
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThat(response.getMediaType().toString()).isEqualTo(mediaType);
+            var profile = JsonMapper.createInstance(factory).readValue(response.readEntity(byte[].class), UserProfile.class);
+            assertThat(profile).usingRecursiveComparison().isEqualTo(UserProfileFixtures.USER_PROFILE);
+        }
+    }
+
+    @Nested
+    @DisplayName("getPropertyValues")
+    class GetPropertyValues {
+        private static final UserProfile PROFILE_WITH_LIST = new UserProfile(UserProfileFixtures.USER_ID,
+                UserProfileFixtures.LAST_UPDATE_TIMESTAMP, Map.of(UserProfilePropertyName.valueOf("inventory"),
+                UserProfilePropertyValue.valueOf(List.of("sword1", "sword2", "shield1")), UserProfilePropertyName.valueOf("gold"),
+                UserProfilePropertyValue.valueOf(2)));
+
+        private static final String USER_ID_PATH_PARAM = "userId";
+        private static final String PROPERTY_NAME_PATH_PARAM = "propertyName";
+        private static final String URL = "/users/{%s}/profile/properties/{%s}".formatted(USER_ID_PATH_PARAM, PROPERTY_NAME_PATH_PARAM);
+
+        @BeforeEach
+        void setUp(UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(PROFILE_WITH_LIST));
+        }
+
+        @Test
+        void noPageRequested_firstValuesAreReturned(ClientSupport client) {
+            var response = target(client, "inventory").request().get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).isEqualTo("""
+                    {"values": ["sword1", "sword2", "shield1"], "offset": 0, "total": 3}""");
+        }
+
+        @Test
+        void pageRequested_pageIsReturned(ClientSupport client) {
+            var response = target(client, "inventory").queryParam("offset", 1).queryParam("limit", 1).request().get();
+
+            assertThatJson(response.readEntity(String.class)).isEqualTo("""
+                    {"values": ["sword2"], "offset": 1, "total": 3}""");
+        }
+
+        @Test
+        void offsetBeyondLastValue_emptyPageIsReturned(ClientSupport client) {
+            var response = target(client, "inventory").queryParam("offset", 5).request().get();
+
+            assertThatJson(response.readEntity(String.class)).isEqualTo("""
+                    {"values": [], "offset": 5, "total": 3}""");
+        }
+
+        @Test
+        void invalidPage_returns400(ClientSupport client) {
+            assertThat(target(client, "inventory").queryParam("offset", -1).request().get().getStatus()).isEqualTo(
+                    HttpStatus.BAD_REQUEST_400);
+            assertThat(target(client, "inventory").queryParam("limit", 0).request().get().getStatus()).isEqualTo(
+                    HttpStatus.BAD_REQUEST_400);
+            assertThat(target(client, "inventory").queryParam("limit", 1001).request().get().getStatus()).isEqualTo(
+                    HttpStatus.BAD_REQUEST_400);
+        }
+
+        @Test
+        void nonListProperty_returns400(ClientSupport client) {
+            assertThat(target(client, "gold").request().get().getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        }
+
+        @Test
+        void invalidPropertyName_returns400(ClientSupport client) {
+            assertThat(target(client, "gold$").request().get().getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        }
+
+        @Test
+        void nonExistingProperty_returns404(ClientSupport client) {
+            assertThat(target(client, "unknownProperty").request().get().getStatus()).isEqualTo(HttpStatus.NOT_FOUND_404);
+        }
+
+        @Test
+        void unknownPropertyName_isNotPooled(ClientSupport client) {
+            var name = "unknownPathProperty";
+
+            assertThat(target(client, name).request().get().getStatus()).isEqualTo(HttpStatus.NOT_FOUND_404);
+            assertThat(UserProfilePropertyName.lookup(name)).isNotSameAs(UserProfilePropertyName.lookup(name));
+        }
+
+        private WebTarget target(ClientSupport client, String propertyName) {
+            return client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .resolveTemplate(PROPERTY_NAME_PATH_PARAM, propertyName);
+        }
     }
-}
\ No newline at end of file
+}